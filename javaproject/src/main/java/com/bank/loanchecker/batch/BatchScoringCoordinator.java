@@ -0,0 +1,284 @@
+package com.bank.loanchecker.batch;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Scores a newline-delimited file of applications across several local worker JVMs, so a
+ * full-book re-score is not limited by the heap and GC of a single process.
+ * <p>
+ * The input is split into byte-range partitions that idle workers pull from a shared queue.
+ * Once the queue is empty, an idle worker speculatively re-runs the partition that has been
+ * running longest elsewhere; whichever attempt finishes first wins. A worker that dies has
+ * its partition put back at the head of the queue and is replaced. Workers talk to the
+ * coordinator over their stdin/stdout and hand results back as files in the work directory,
+ * which are concatenated in partition order into the output once every partition is done.
+ * Each result line carries the byte {@code offset} of its input line. Lines are decided under
+ * the default rates and policy unless {@code --rates} (a rate file, as for
+ * {@code loanchecker.rates.file}) or {@code --policy} (the JSON of {@code GET /api/admin/policy})
+ * is given; a running server's published terms are not picked up.
+ * <pre>
+ * java -Dloader.main=com.bank.loanchecker.batch.BatchScoringCoordinator -cp loan-eligibility-checker.jar \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher --input book.ndjson --output scored.ndjson --workers 8
+ * </pre>
+ */
+public final class BatchScoringCoordinator {
+
+    private static final String BOOT_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+
+    private final BatchScoringOptions options;
+    private final BlockingQueue<WorkerProcess.Event> events = new LinkedBlockingQueue<>();
+    private final List<WorkerProcess> workers = new ArrayList<>();
+    private final Deque<Partition> pending = new ArrayDeque<>();
+    private Path termsFile;
+    private List<Partition> partitions;
+    private int remaining;
+    private int workersStarted;
+    private int reassigned;
+    private int speculative;
+
+    BatchScoringCoordinator(BatchScoringOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BatchScoringOptions options = BatchScoringOptions.parse(args);
+        BatchSummary summary = new BatchScoringCoordinator(options).run();
+        System.out.printf("Scored %d lines in %d partitions: %d approved, %d rejected, %d invalid "
+                        + "(%d reassigned, %d speculative attempts)%n",
+                summary.lines(), summary.partitions(), summary.approved(), summary.rejected(), summary.invalid(),
+                summary.reassigned(), summary.speculative());
+    }
+
+    BatchSummary run() throws IOException, InterruptedException {
+        ScoringTerms terms = ScoringTerms.load(options.rates, options.policy);
+        Files.createDirectories(options.workDir);
+        termsFile = options.workDir.resolve(ScoringTerms.FILE);
+        terms.write(termsFile);
+        partitions = split(Files.size(options.input), options.partitionSize);
+        for (Partition partition : partitions) {
+            partition.queued = true;
+            pending.add(partition);
+        }
+        remaining = partitions.size();
+
+        try {
+            for (int i = 0; i < Math.min(options.workers, partitions.size()); i++) {
+                startWorker();
+            }
+            while (remaining > 0) {
+                dispatch();
+                WorkerProcess.Event event = events.poll(100, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    continue;
+                }
+                if (event.line() == null) {
+                    handleExit(event.worker());
+                } else {
+                    handleMessage(event.worker(), event.line());
+                }
+            }
+        } finally {
+            stopWorkers();
+        }
+
+        PartitionResult total = merge();
+        deleteWorkDir();
+        return new BatchSummary(partitions.size(), total.lines(), total.approved(), total.rejected(),
+                total.invalid(), reassigned, speculative);
+    }
+
+    static List<Partition> split(long size, long partitionSize) {
+        List<Partition> partitions = new ArrayList<>();
+        for (long start = 0; start < size; start += partitionSize) {
+            partitions.add(new Partition(partitions.size(), start, Math.min(size, start + partitionSize)));
+        }
+        return partitions;
+    }
+
+    private void dispatch() {
+        for (WorkerProcess worker : workers) {
+            if (!worker.isIdle()) {
+                continue;
+            }
+            Partition partition = pending.poll();
+            if (partition != null) {
+                partition.queued = false;
+            } else {
+                partition = stealCandidate();
+                if (partition == null) {
+                    return;
+                }
+                speculative++;
+            }
+            partition.attempts++;
+            if (partition.running++ == 0) {
+                partition.runningSince = System.nanoTime();
+            }
+            try {
+                worker.assign(partition, partition.attempts, resultFile(partition, partition.attempts).toString());
+            } catch (IOException e) {
+                // The worker is gone; its exit event puts the partition back
+            }
+        }
+    }
+
+    private Partition stealCandidate() {
+        long now = System.nanoTime();
+        long stealAfter = TimeUnit.MILLISECONDS.toNanos(options.stealAfterMillis);
+        Partition oldest = null;
+        for (Partition partition : partitions) {
+            if (!partition.isDone() && partition.running == 1 && now - partition.runningSince >= stealAfter
+                    && (oldest == null || partition.runningSince < oldest.runningSince)) {
+                oldest = partition;
+            }
+        }
+        return oldest;
+    }
+
+    private void handleMessage(WorkerProcess worker, String message) throws IOException {
+        String[] parts = message.split(" ");
+        switch (parts[0]) {
+            case "READY" -> worker.ready = true;
+            case "DONE" -> {
+                Partition partition = partitions.get(Integer.parseInt(parts[1]));
+                int attempt = Integer.parseInt(parts[2]);
+                worker.partition = null;
+                partition.running--;
+                if (partition.isDone()) {
+                    Files.deleteIfExists(resultFile(partition, attempt));
+                    return;
+                }
+                partition.resultFile = resultFile(partition, attempt);
+                partition.result = new PartitionResult(Long.parseLong(parts[3]), Long.parseLong(parts[4]),
+                        Long.parseLong(parts[5]), Long.parseLong(parts[6]));
+                remaining--;
+            }
+            default -> throw new IOException("Unexpected message from worker " + worker.number + ": " + message);
+        }
+    }
+
+    private void handleExit(WorkerProcess worker) throws IOException {
+        workers.remove(worker);
+        if (!worker.ready) {
+            throw new IOException("Worker " + worker.number + " exited during start-up");
+        }
+        Partition partition = worker.partition;
+        if (partition != null) {
+            partition.running--;
+            if (!partition.isDone()) {
+                if (++partition.failures >= options.maxAttempts) {
+                    throw new IOException("Partition " + partition.id + " failed " + partition.failures + " times");
+                }
+                if (partition.running == 0 && !partition.queued) {
+                    partition.queued = true;
+                    pending.addFirst(partition);
+                    reassigned++;
+                }
+            }
+        }
+        if (remaining > 0) {
+            startWorker();
+        }
+    }
+
+    private void startWorker() throws IOException {
+        workers.add(WorkerProcess.start(++workersStarted, workerCommand(), events));
+    }
+
+    private List<String> workerCommand() {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options.workerJvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        if (isRunningFromBootJar()) {
+            command.add("-Dloader.main=" + options.workerMainClass);
+            command.add(BOOT_LAUNCHER);
+        } else {
+            command.add(options.workerMainClass);
+        }
+        command.add(options.input.toAbsolutePath().toString());
+        command.add(termsFile.toAbsolutePath().toString());
+        return command;
+    }
+
+    private static boolean isRunningFromBootJar() {
+        return String.valueOf(BatchScoringWorker.class.getResource("BatchScoringWorker.class")).startsWith("jar:nested:");
+    }
+
+    private void stopWorkers() throws InterruptedException {
+        for (WorkerProcess worker : workers) {
+            if (worker.isIdle()) {
+                worker.exit();
+            } else {
+                worker.destroy();
+            }
+        }
+        for (WorkerProcess worker : workers) {
+            if (!worker.awaitExit(5_000)) {
+                worker.destroy();
+            }
+        }
+        workers.clear();
+    }
+
+    private PartitionResult merge() throws IOException {
+        Path temp = options.output.resolveSibling(options.output.getFileName() + ".tmp");
+        PartitionResult total = PartitionResult.EMPTY;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Partition partition : partitions) {
+                try (FileChannel in = FileChannel.open(partition.resultFile, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    for (long position = 0; position < size; ) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+                total = total.plus(partition.result);
+            }
+            out.force(false);
+        }
+        Files.move(temp, options.output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writeSummary(total);
+        return total;
+    }
+
+    private void writeSummary(PartitionResult total) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("partitions", Integer.toString(partitions.size()));
+        properties.setProperty("lines", Long.toString(total.lines()));
+        properties.setProperty("approvedCount", Long.toString(total.approved()));
+        properties.setProperty("rejectedCount", Long.toString(total.rejected()));
+        properties.setProperty("invalidCount", Long.toString(total.invalid()));
+        properties.setProperty("reassigned", Integer.toString(reassigned));
+        properties.setProperty("speculative", Integer.toString(speculative));
+        try (OutputStream out = Files.newOutputStream(
+                options.output.resolveSibling(options.output.getFileName() + ".summary.properties"))) {
+            properties.store(out, null);
+        }
+    }
+
+    private void deleteWorkDir() throws IOException {
+        try (Stream<Path> files = Files.list(options.workDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(options.workDir);
+    }
+
+    private Path resultFile(Partition partition, int attempt) {
+        return options.workDir.resolve("part-" + partition.id + "-" + attempt + ".ndjson");
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.loanchecker.batch;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line options for {@link BatchScoringCoordinator}, given as {@code --name value} pairs.
+ */
+final class BatchScoringOptions {
+
+    Path input;
+    Path output;
+    Path workDir;
+    Path rates;
+    Path policy;
+    int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+    long partitionSize = 64L * 1024 * 1024;
+    int maxAttempts = 3;
+    long stealAfterMillis = 2_000;
+    List<String> workerJvmOptions = new ArrayList<>();
+    // Not an option; tests substitute a worker that fails on purpose
+    String workerMainClass = BatchScoringWorker.class.getName();
+
+    static BatchScoringOptions parse(String[] args) {
+        BatchScoringOptions options = new BatchScoringOptions();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--input" -> options.input = Path.of(value);
+                case "--output" -> options.output = Path.of(value);
+                case "--work-dir" -> options.workDir = Path.of(value);
+                case "--rates" -> options.rates = Path.of(value);
+                case "--policy" -> options.policy = Path.of(value);
+                case "--workers" -> options.workers = Integer.parseInt(value);
+                case "--partition-size" -> options.partitionSize = Long.parseLong(value);
+                case "--max-attempts" -> options.maxAttempts = Integer.parseInt(value);
+                case "--steal-after-ms" -> options.stealAfterMillis = Long.parseLong(value);
+                case "--worker-jvm-opt" -> options.workerJvmOptions.add(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        return options.validate();
+    }
+
+    BatchScoringOptions validate() {
+        if (input == null || output == null) {
+            throw new IllegalArgumentException("--input and --output are required");
+        }
+        if (workers <= 0 || partitionSize <= 0 || maxAttempts <= 0 || stealAfterMillis < 0) {
+            throw new IllegalArgumentException("Workers, partition size and attempts must be positive");
+        }
+        if (workDir == null) {
+            workDir = output.resolveSibling(output.getFileName() + ".parts");
+        }
+        return this;
+    }
+}
@@ -0,0 +1,123 @@
+package com.bank.loanchecker.batch;
+
+import com.bank.loanchecker.json.LoanJsonModule;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.scoring.LineReader;
+import com.bank.loanchecker.scoring.LineScorer;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+/**
+ * Worker JVM for {@link BatchScoringCoordinator}. Reads commands from stdin and answers on
+ * stdout, one line each:
+ * <pre>
+ * READY                                       (once, on start-up)
+ * PARTITION id attempt start end resultFile   -&gt; DONE id attempt lines approved rejected invalid
+ * EXIT
+ * </pre>
+ * Its arguments are the input file and the {@link ScoringTerms} file to decide under.
+ * Results are written to a temporary file that is forced to disk and renamed on completion,
+ * so a result file only ever exists whole. Anything else the JVM prints goes to stderr.
+ */
+public class BatchScoringWorker {
+
+    private final LineScorer lineScorer;
+    private final ObjectMapper objectMapper;
+
+    BatchScoringWorker(ScoringTerms terms) {
+        this.objectMapper = JsonMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .addModule(new LoanJsonModule())
+                .build();
+        this.lineScorer = new LineScorer(terms.service(), new LoanApplicationValidator(), objectMapper);
+    }
+
+    public static void main(String[] args) throws IOException {
+        serve(args, BatchScoringWorker::new);
+    }
+
+    static void serve(String[] args, Function<ScoringTerms, BatchScoringWorker> workers) throws IOException {
+        PrintStream protocol = new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+        BufferedReader commands = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+
+        // Only now, so that whatever it logs goes to stderr
+        BatchScoringWorker worker = workers.apply(ScoringTerms.read(Path.of(args[1])));
+        protocol.println("READY");
+        String command;
+        while ((command = commands.readLine()) != null) {
+            String[] parts = command.split(" ", 6);
+            if (parts[0].equals("EXIT")) {
+                return;
+            }
+            if (!parts[0].equals("PARTITION") || parts.length != 6) {
+                throw new IllegalArgumentException("Unexpected command: " + command);
+            }
+            int id = Integer.parseInt(parts[1]);
+            int attempt = Integer.parseInt(parts[2]);
+            Path input = Path.of(args[0]);
+            PartitionResult result = worker.score(input, id, attempt, Long.parseLong(parts[3]),
+                    Long.parseLong(parts[4]), Path.of(parts[5]));
+            protocol.printf("DONE %d %d %d %d %d %d%n", id, attempt,
+                    result.lines(), result.approved(), result.rejected(), result.invalid());
+        }
+    }
+
+    PartitionResult score(Path input, int id, int attempt, long start, long end, Path resultFile) throws IOException {
+        Path temp = resultFile.resolveSibling(resultFile.getFileName() + ".tmp");
+        long lines = 0;
+        long approved = 0;
+        long rejected = 0;
+        long invalid = 0;
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            // Start one byte early: if that byte is not a newline the first line belongs to
+            // the previous partition and is skipped
+            long from = Math.max(0, start - 1);
+            in.position(from);
+            LineReader reader = new LineReader(Channels.newInputStream(in), from);
+            if (start > 0) {
+                reader.next();
+            }
+            OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(out), 64 * 1024);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(buffered);
+            generator.setRootValueSeparator(null);
+
+            long lineStart = reader.position();
+            while (lineStart < end && reader.next()) {
+                if (!reader.isBlank()) {
+                    LoanEligibilityResult result = lineScorer.score(reader.buffer(), reader.length(),
+                            "offset", lineStart, generator);
+                    lines++;
+                    if (result == null) {
+                        invalid++;
+                    } else if (result.isEligible()) {
+                        approved++;
+                    } else {
+                        rejected++;
+                    }
+                }
+                lineStart = reader.position();
+            }
+            generator.flush();
+            out.force(false);
+        }
+        Files.move(temp, resultFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new PartitionResult(lines, approved, rejected, invalid);
+    }
+}
@@ -0,0 +1,10 @@
+package com.bank.loanchecker.batch;
+
+/**
+ * Aggregates of a completed batch run. {@code reassigned} counts partitions handed to a new
+ * worker after a crash, {@code speculative} counts extra attempts started by idle workers
+ * stealing a partition that was still running elsewhere.
+ */
+public record BatchSummary(int partitions, long lines, long approved, long rejected, long invalid,
+                           int reassigned, int speculative) {
+}
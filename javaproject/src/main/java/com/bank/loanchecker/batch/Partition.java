@@ -0,0 +1,32 @@
+package com.bank.loanchecker.batch;
+
+import java.nio.file.Path;
+
+/**
+ * A byte range of the input. The partition owns every line that starts inside
+ * {@code [start, end)}; a line crossing {@code end} is finished by this partition and skipped
+ * by the next one. Mutated only by the coordinator thread.
+ */
+final class Partition {
+
+    final int id;
+    final long start;
+    final long end;
+    int attempts;
+    int failures;
+    int running;
+    long runningSince;
+    boolean queued;
+    Path resultFile;
+    PartitionResult result;
+
+    Partition(int id, long start, long end) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+    }
+
+    boolean isDone() {
+        return result != null;
+    }
+}
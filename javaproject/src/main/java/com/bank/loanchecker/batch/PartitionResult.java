@@ -0,0 +1,14 @@
+package com.bank.loanchecker.batch;
+
+/**
+ * Counts reported by a worker for one scored partition.
+ */
+record PartitionResult(long lines, long approved, long rejected, long invalid) {
+
+    static final PartitionResult EMPTY = new PartitionResult(0, 0, 0, 0);
+
+    PartitionResult plus(PartitionResult other) {
+        return new PartitionResult(lines + other.lines, approved + other.approved,
+                rejected + other.rejected, invalid + other.invalid);
+    }
+}
@@ -0,0 +1,67 @@
+package com.bank.loanchecker.batch;
+
+import com.bank.loanchecker.model.LoanType;
+import com.bank.loanchecker.policy.EligibilityPolicy;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateSpec;
+import com.bank.loanchecker.rates.RateTable;
+import com.bank.loanchecker.rates.RateTableFile;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * The rates and eligibility policy a batch is scored under. The coordinator reads them once
+ * and hands every worker the same snapshot as a file in the work directory, so all
+ * partitions are decided alike even if the rate file changes during the run.
+ */
+record ScoringTerms(Map<LoanType, RateSpec> rates, EligibilityPolicy policy) {
+
+    static final String FILE = "terms.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static ScoringTerms defaults() {
+        return new ScoringTerms(RateTable.defaults().getRates(), EligibilityPolicy.DEFAULT);
+    }
+
+    /**
+     * Terms from a rate file (as for {@code loanchecker.rates.file}, applied to the defaults)
+     * and a policy file (the JSON of {@code GET /api/admin/policy}); either may be null.
+     *
+     * @throws IllegalArgumentException if the terms are invalid
+     */
+    static ScoringTerms load(Path rateFile, Path policyFile) throws IOException {
+        RateTable defaults = RateTable.defaults();
+        Map<LoanType, RateSpec> rates = defaults.getRates();
+        if (rateFile != null) {
+            rates.putAll(RateTableFile.read(rateFile, defaults));
+        }
+        EligibilityPolicy policy = policyFile != null
+                ? MAPPER.readValue(policyFile.toFile(), EligibilityPolicy.class)
+                : EligibilityPolicy.DEFAULT;
+        ScoringTerms terms = new ScoringTerms(rates, policy);
+        terms.service();
+        return terms;
+    }
+
+    static ScoringTerms read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), ScoringTerms.class);
+    }
+
+    void write(Path file) throws IOException {
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    LoanEligibilityService service() {
+        RateTableRegistry rateTables = new RateTableRegistry();
+        rateTables.publish(rates, "batch");
+        EligibilityPolicyRegistry policies = new EligibilityPolicyRegistry();
+        policies.publish(policy);
+        return new LoanEligibilityService(rateTables, policies);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bank.loanchecker.batch;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One worker JVM as seen by the coordinator. A reader thread forwards every line the worker
+ * prints to the coordinator's event queue, followed by a {@code null} line once the process
+ * has gone away.
+ */
+final class WorkerProcess {
+
+    record Event(WorkerProcess worker, String line) {
+    }
+
+    final int number;
+    private final Process process;
+    private final Writer commands;
+    boolean ready;
+    Partition partition;
+    int attempt;
+
+    private WorkerProcess(int number, Process process) {
+        this.number = number;
+        this.process = process;
+        this.commands = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    static WorkerProcess start(int number, List<String> command, BlockingQueue<Event> events) throws IOException {
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        WorkerProcess worker = new WorkerProcess(number, process);
+        Thread reader = new Thread(() -> worker.forwardOutput(events), "batch-worker-" + number + "-reader");
+        reader.setDaemon(true);
+        reader.start();
+        return worker;
+    }
+
+    boolean isIdle() {
+        return ready && partition == null;
+    }
+
+    void assign(Partition partition, int attempt, String resultFile) throws IOException {
+        this.partition = partition;
+        this.attempt = attempt;
+        send("PARTITION " + partition.id + " " + attempt + " " + partition.start + " " + partition.end + " " + resultFile);
+    }
+
+    void exit() {
+        try {
+            send("EXIT");
+        } catch (IOException e) {
+            process.destroy();
+        }
+    }
+
+    void destroy() {
+        process.destroyForcibly();
+    }
+
+    boolean awaitExit(long millis) throws InterruptedException {
+        return process.waitFor(millis, TimeUnit.MILLISECONDS);
+    }
+
+    private void send(String command) throws IOException {
+        commands.write(command);
+        commands.write('\n');
+        commands.flush();
+    }
+
+    private void forwardOutput(BlockingQueue<Event> events) {
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                events.add(new Event(this, line));
+            }
+        } catch (IOException e) {
+            // Treated like the process exiting
+        }
+        try {
+            process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        events.add(new Event(this, null));
+    }
+}
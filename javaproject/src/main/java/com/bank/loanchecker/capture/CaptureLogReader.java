@@ -0,0 +1,70 @@
+package com.bank.loanchecker.capture;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a capture log written by {@link TrafficCaptureFilter}, see {@link CaptureLogWriter}
+ * for the format. A record cut short by a crash ends the log.
+ */
+public final class CaptureLogReader implements Closeable {
+
+    private final DataInputStream in;
+    private final long startEpochMillis;
+
+    public CaptureLogReader(Path file) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+        if (in.readInt() != CaptureLogWriter.MAGIC) {
+            in.close();
+            throw new IOException(file + " is not a capture log");
+        }
+        startEpochMillis = in.readLong();
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * Returns the next record, or null at the end of the log.
+     */
+    public CapturedRequest next() throws IOException {
+        try {
+            int first = in.read();
+            if (first < 0) {
+                return null;
+            }
+            long offsetMicros = readVarLong(first);
+            long durationMicros = readVarLong(in.readUnsignedByte());
+            int status = (int) readVarLong(in.readUnsignedByte());
+            String method = in.readUTF();
+            String path = in.readUTF();
+            String query = in.readUTF();
+            String contentType = in.readUTF();
+            byte[] body = new byte[(int) readVarLong(in.readUnsignedByte())];
+            in.readFully(body);
+            return new CapturedRequest(offsetMicros, durationMicros, status, method, path,
+                    query.isEmpty() ? null : query, contentType.isEmpty() ? null : contentType, body);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private long readVarLong(int first) throws IOException {
+        long value = first & 0x7F;
+        int shift = 7;
+        int b = first;
+        while ((b & 0x80) != 0) {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,210 @@
+package com.bank.loanchecker.capture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends {@link CapturedRequest}s to a capture log. The file starts with a magic number and
+ * the capture's start time in epoch milliseconds; each record is
+ * <pre>
+ * varlong offsetMicros, varlong durationMicros, varint status,
+ * UTF method, UTF path, UTF query, UTF contentType, varint bodyLength, body
+ * </pre>
+ * with empty strings for a missing query or content type. Records are written in completion
+ * order, so offsets are only roughly ascending.
+ * <p>
+ * {@link #offer} only queues the record; a single {@code capture-writer} thread writes and
+ * flushes them in batches. Records offered while the queue is full are dropped and counted.
+ * The writer stops for good once the log reaches its maximum size or cannot be written.
+ */
+final class CaptureLogWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x4C434331; // "LCC1"
+
+    private static final Logger log = LoggerFactory.getLogger(CaptureLogWriter.class);
+    private static final int BATCH_SIZE = 256;
+    private static final Object STOP = new Object();
+
+    private final DataOutputStream out;
+    private final long maxBytes;
+    // Records, flush latches and STOP
+    private final BlockingQueue<Object> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean writing = true;
+    // Owned by the writer thread
+    private long bytesWritten;
+    private long reportedDrops;
+
+    CaptureLogWriter(Path file, long startEpochMillis, long maxBytes, int queueCapacity) throws IOException {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("loanchecker.capture.queue-capacity must be positive");
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeLong(startEpochMillis);
+        out.flush();
+        bytesWritten = out.size();
+        this.maxBytes = maxBytes;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::write, "capture-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Whether records are still being written: the log is below its maximum size, has not
+     * failed and is not closed.
+     */
+    boolean isWriting() {
+        return writing;
+    }
+
+    /**
+     * Queues one record to be written, or drops it if the queue is full.
+     */
+    void offer(CapturedRequest request) {
+        if (writing && !queue.offer(request)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits until the records offered before this call are written and flushed.
+     */
+    void flush() throws InterruptedException {
+        if (writer.isAlive()) {
+            CountDownLatch written = new CountDownLatch(1);
+            queue.put(written);
+            written.await();
+        }
+    }
+
+    /**
+     * Records not written because the queue was full.
+     */
+    long getDropped() {
+        return dropped.get();
+    }
+
+    // The writer thread: writes queued records, flushing after each batch, until STOP
+    private void write() {
+        List<Object> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            boolean stop = false;
+            for (Object item : batch) {
+                if (item instanceof CapturedRequest request) {
+                    if (writing) {
+                        append(request);
+                    }
+                } else {
+                    // Records queued before a flush are written before it is released
+                    stop |= item == STOP;
+                    flushStream();
+                    if (item instanceof CountDownLatch written) {
+                        written.countDown();
+                    }
+                }
+            }
+            flushStream();
+            batch.clear();
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                log.warn("Capture queue full, dropped {} requests", drops - reportedDrops);
+                reportedDrops = drops;
+            }
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void append(CapturedRequest request) {
+        try {
+            int before = out.size();
+            writeVarLong(request.offsetMicros());
+            writeVarLong(request.durationMicros());
+            writeVarLong(request.status());
+            out.writeUTF(request.method());
+            out.writeUTF(request.path());
+            out.writeUTF(request.query() != null ? request.query() : "");
+            out.writeUTF(request.contentType() != null ? request.contentType() : "");
+            writeVarLong(request.body().length);
+            out.write(request.body());
+            // DataOutputStream.size() saturates at Integer.MAX_VALUE, so count the difference
+            bytesWritten += out.size() - before;
+            if (bytesWritten >= maxBytes) {
+                writing = false;
+                log.warn("Capture log reached {} bytes, capturing stopped", maxBytes);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void flushStream() {
+        if (writing) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private void fail(IOException e) {
+        writing = false;
+        log.error("Capturing stopped, could not write the capture log", e);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Writes out the records already queued, then stops the writer and closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        if (writer.isAlive()) {
+            try {
+                queue.put(STOP);
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writing = false;
+        out.close();
+    }
+}
@@ -0,0 +1,10 @@
+package com.bank.loanchecker.capture;
+
+/**
+ * One captured request. {@code offsetMicros} is when it arrived, relative to the start of the
+ * capture; {@code durationMicros} and {@code status} are what the capturing instance took and
+ * returned. PII in {@code query} and {@code body} has already been tokenized.
+ */
+public record CapturedRequest(long offsetMicros, long durationMicros, int status, String method, String path,
+                              String query, String contentType, byte[] body) {
+}
@@ -0,0 +1,138 @@
+package com.bank.loanchecker.capture;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.validation.FieldViolation;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Replaces the customer's name, email and phone number with keyed-hash tokens. A value maps
+ * to the same token for the same key, so repeat applicants stay recognisable, and a token is
+ * valid exactly when the original was, so replayed requests pass or fail validation as they
+ * did when captured. Blank values carry no PII and are kept.
+ */
+final class PiiTokenizer {
+
+    private static final String[] FIELDS = {"name", "email", "phoneNumber"};
+
+    private final LoanApplicationValidator validator = new LoanApplicationValidator();
+    private final ThreadLocal<Mac> macs;
+
+    PiiTokenizer(byte[] key) {
+        SecretKeySpec secret = new SecretKeySpec(key, "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(secret);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 unavailable", e);
+            }
+        });
+    }
+
+    /**
+     * Tokenizes the {@code customer} object of a JSON application, or the root object when there
+     * is none (customer profile uploads). Bodies that are not JSON objects are dropped, since
+     * they cannot be searched for PII.
+     */
+    byte[] tokenizeJson(byte[] body, ObjectMapper objectMapper) {
+        if (body.length == 0) {
+            return body;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            if (!(root instanceof ObjectNode rootObject)) {
+                return new byte[0];
+            }
+            ObjectNode customer = rootObject.get("customer") instanceof ObjectNode nested ? nested : rootObject;
+            for (String field : FIELDS) {
+                JsonNode value = customer.get(field);
+                if (value != null && value.isTextual()) {
+                    customer.put(field, tokenize(field, value.asText()));
+                }
+            }
+            return objectMapper.writeValueAsBytes(rootObject);
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    /**
+     * Tokenizes the {@code customer.*} fields of a URL-encoded form or query string.
+     */
+    String tokenizeForm(String form) {
+        if (form == null || form.isEmpty()) {
+            return form;
+        }
+        StringBuilder result = new StringBuilder(form.length() + 32);
+        for (String pair : form.split("&")) {
+            if (result.length() > 0) {
+                result.append('&');
+            }
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8);
+            String field = name.startsWith("customer.") ? name.substring("customer.".length()) : null;
+            if (equals < 0 || field == null || !List.of(FIELDS).contains(field)) {
+                result.append(pair);
+                continue;
+            }
+            String value = URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            result.append(pair, 0, equals + 1)
+                    .append(URLEncoder.encode(tokenize(field, value), StandardCharsets.UTF_8));
+        }
+        return result.toString();
+    }
+
+    String tokenize(String field, String value) {
+        if (value.isBlank()) {
+            return value;
+        }
+        String hex = HexFormat.of().formatHex(hmac(field, value), 0, 8);
+        boolean valid = isValid(field, value);
+        return switch (field) {
+            case "name" -> valid ? "Applicant " + hex : value.length() < 2 ? "?" : "?".repeat(101);
+            case "email" -> valid ? "u" + hex + "@example.com" : "invalid-" + hex;
+            case "phoneNumber" -> valid
+                    ? String.format("%010d", Math.floorMod(ByteBuffer.wrap(hmac(field, value)).getLong(), 10_000_000_000L))
+                    : "x" + hex;
+            default -> throw new IllegalArgumentException("Not a PII field: " + field);
+        };
+    }
+
+    private boolean isValid(String field, String value) {
+        Customer probe = new Customer();
+        switch (field) {
+            case "name" -> probe.setName(value);
+            case "email" -> probe.setEmail(value);
+            default -> probe.setPhoneNumber(value);
+        }
+        String path = "customer." + field;
+        for (FieldViolation violation : validator.validate(probe)) {
+            if (violation.field().equals(path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] hmac(String field, String value) {
+        Mac mac = macs.get();
+        mac.update(field.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,132 @@
+package com.bank.loanchecker.capture;
+
+import com.bank.loanchecker.warmup.WarmUpRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a sample of {@code /api/*} requests and eligibility form posts to the capture log
+ * named by {@code loanchecker.capture.file}, for replay against another build (see
+ * {@code ReplayTool} in the load test sources). Customer PII is tokenized with
+ * {@code loanchecker.capture.token-key}, or a random per-run key if none is set. Bulk job
+ * uploads, event streams and start-up warm-up requests are not captured. Capturing stops once
+ * the log reaches {@code loanchecker.capture.max-bytes}. Request threads only tokenize and
+ * queue the record (see {@link CaptureLogWriter}); when more than
+ * {@code loanchecker.capture.queue-capacity} are waiting, the rest are dropped.
+ */
+@Component
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficCaptureFilter.class);
+
+    private final double sampleRate;
+    private final int maxBodyBytes;
+    private final ObjectMapper objectMapper;
+    private final PiiTokenizer tokenizer;
+    private final CaptureLogWriter writer;
+    private final long startNanos;
+
+    public TrafficCaptureFilter(ObjectMapper objectMapper,
+                                @Value("${loanchecker.capture.file:}") String file,
+                                @Value("${loanchecker.capture.sample-rate:0.01}") double sampleRate,
+                                @Value("${loanchecker.capture.token-key:}") String tokenKey,
+                                @Value("${loanchecker.capture.max-body-bytes:65536}") int maxBodyBytes,
+                                @Value("${loanchecker.capture.max-bytes:268435456}") long maxLogBytes,
+                                @Value("${loanchecker.capture.queue-capacity:4096}") int queueCapacity) throws IOException {
+        this.objectMapper = objectMapper;
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+        this.startNanos = System.nanoTime();
+        if (file.isBlank()) {
+            this.tokenizer = null;
+            this.writer = null;
+            return;
+        }
+        byte[] key = tokenKey.isBlank() ? new byte[32] : tokenKey.getBytes(StandardCharsets.UTF_8);
+        if (tokenKey.isBlank()) {
+            new SecureRandom().nextBytes(key);
+        }
+        this.tokenizer = new PiiTokenizer(key);
+        this.writer = new CaptureLogWriter(Path.of(file), System.currentTimeMillis(), maxLogBytes, queueCapacity);
+        log.info("Capturing {}% of API traffic to {}", sampleRate * 100, file);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (writer == null || !writer.isWriting()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String accept = request.getHeader("Accept");
+        boolean captured = (path.startsWith("/api/") && !path.startsWith("/api/jobs") && !path.startsWith("/api/book"))
+                || (path.equals("/check-eligibility") && "POST".equals(request.getMethod()));
+        return !captured
+                || WarmUpRunner.isWarmUp(request)
+                || (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE))
+                || ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long arrivedAt = System.nanoTime();
+        ContentCachingRequestWrapper caching = new ContentCachingRequestWrapper(request, maxBodyBytes);
+        try {
+            chain.doFilter(caching, response);
+        } finally {
+            record(caching, response.getStatus(), arrivedAt, System.nanoTime());
+        }
+    }
+
+    private void record(ContentCachingRequestWrapper request, int status, long arrivedAt, long completedAt) {
+        String contentType = request.getContentType();
+        byte[] body = request.getContentAsByteArray();
+        if (contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+            body = tokenizer.tokenizeForm(new String(body, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+        } else {
+            body = tokenizer.tokenizeJson(body, objectMapper);
+        }
+        writer.offer(new CapturedRequest(
+                TimeUnit.NANOSECONDS.toMicros(arrivedAt - startNanos),
+                TimeUnit.NANOSECONDS.toMicros(completedAt - arrivedAt),
+                status, request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()),
+                tokenizer.tokenizeForm(request.getQueryString()), contentType, body));
+    }
+
+    /**
+     * Waits until the requests captured so far are in the log.
+     */
+    void flush() throws InterruptedException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Could not close the capture log", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.job.BulkJob;
+import com.bank.loanchecker.job.BulkJobEvents;
+import com.bank.loanchecker.job.BulkJobProcessor;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class BulkJobController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int MAX_CHUNK_BYTES = 16 * 1024 * 1024;
+
+    @Autowired
+    private BulkJobProcessor bulkJobProcessor;
+
+    @Autowired
+    private BulkJobEvents bulkJobEvents;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submitFile(@RequestParam("file") MultipartFile file,
+                                        @RequestParam(defaultValue = "false") boolean compact) throws IOException {
+        if (!bulkJobProcessor.isEnabled()) {
+            return off();
+        }
+        try (InputStream input = file.getInputStream()) {
+            return accepted(bulkJobProcessor.submit(input, compact));
+        }
+    }
+
+    @PostMapping(consumes = {"application/x-ndjson", MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> submitStream(HttpServletRequest request,
+                                          @RequestParam(defaultValue = "false") boolean compact) throws IOException {
+        if (!bulkJobProcessor.isEnabled()) {
+            return off();
+        }
+        try (InputStream input = request.getInputStream()) {
+            return accepted(bulkJobProcessor.submit(input, compact));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkJob> getStatus(@PathVariable String id) throws IOException {
+        return ResponseEntity.of(bulkJobProcessor.find(id));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProgress(@PathVariable String id) throws IOException {
+        Optional<BulkJob> job = bulkJobProcessor.find(id);
+        return job.map(current -> ResponseEntity.ok(bulkJobEvents.subscribe(current, bulkJobProcessor::find)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Returns the next chunk of committed result lines. Clients continue from
+     * {@code X-Next-Offset} until {@code X-Results-Complete} is {@code true}.
+     */
+    @GetMapping("/{id}/results")
+    public ResponseEntity<byte[]> getResults(@PathVariable String id,
+                                             @RequestParam(defaultValue = "0") long offset,
+                                             @RequestParam(defaultValue = "1048576") int maxBytes) throws IOException {
+        Optional<BulkJob> found = bulkJobProcessor.find(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (offset < 0 || maxBytes <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        BulkJob job = found.get();
+        byte[] chunk = bulkJobProcessor.readResults(job, offset, Math.min(maxBytes, MAX_CHUNK_BYTES));
+        long nextOffset = offset + chunk.length;
+        boolean complete = job.getStatus().isFinished() && nextOffset >= job.getOutputOffset();
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header("X-Next-Offset", Long.toString(nextOffset))
+                .header("X-Results-Complete", Boolean.toString(complete))
+                .body(chunk);
+    }
+
+    private static ResponseEntity<?> off() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "The bulk job store is off"));
+    }
+
+    private static ResponseEntity<BulkJob> accepted(BulkJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .body(job);
+    }
+}
@@ -0,0 +1,55 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.validation.FieldViolation;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/customers")
+public class CustomerController {
+
+    @Autowired
+    private CustomerStore customerStore;
+
+    @Autowired
+    private LoanApplicationValidator loanApplicationValidator;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getCustomer(@PathVariable long id) {
+        if (!customerStore.isEnabled()) {
+            return off();
+        }
+        return ResponseEntity.of(customerStore.find(id));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> putCustomer(@PathVariable long id, @RequestBody Customer customer) {
+        if (!customerStore.isEnabled()) {
+            return off();
+        }
+        List<FieldViolation> violations = loanApplicationValidator.validate(customer);
+        if (!violations.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("errors", violations));
+        }
+        try {
+            customerStore.upsert(id, customer);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.INSUFFICIENT_STORAGE).body(Map.of("error", e.getMessage()));
+        }
+        return ResponseEntity.ok(customer);
+    }
+
+    private static ResponseEntity<?> off() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "The customer store is off"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.redecision.BookStatus;
+import com.bank.loanchecker.redecision.DecisionBook;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/book")
+public class DecisionBookController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private DecisionBook decisionBook;
+
+    @GetMapping
+    public BookStatus getStatus() {
+        return decisionBook.status();
+    }
+
+    @PutMapping(consumes = {NDJSON, MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> load(HttpServletRequest request) throws IOException {
+        try (InputStream input = request.getInputStream()) {
+            return ResponseEntity.ok(decisionBook.load(input));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Re-decides the records that the rate and policy changes since the last pass can affect,
+     * streaming the changed decisions as newline-delimited JSON.
+     */
+    @PostMapping("/redecide")
+    public void redecide(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        decisionBook.redecide(response.getOutputStream());
+    }
+}
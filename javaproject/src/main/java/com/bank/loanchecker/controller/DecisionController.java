@@ -0,0 +1,109 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.history.CreditBand;
+import com.bank.loanchecker.history.DecisionQuery;
+import com.bank.loanchecker.history.DecisionRow;
+import com.bank.loanchecker.history.DecisionStore;
+import com.bank.loanchecker.model.Decision;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.model.LoanType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class DecisionController {
+
+    @Autowired
+    private DecisionStore decisionStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Past decisions matching every given filter, newest first, as
+     * {@code {"decisions":[…],"nextCursor":…}}. Each filter takes a comma-separated list of
+     * values; {@code from} and {@code to} are ISO-8601 instants. Pass {@code nextCursor} back
+     * as {@code cursor} for the next page; it is null after the last one. Rows are written to
+     * the response as they are read.
+     */
+    @GetMapping("/api/decisions")
+    public void query(@RequestParam(required = false) List<Decision> decision,
+                      @RequestParam(required = false) List<LoanType> loanType,
+                      @RequestParam(required = false) List<EmploymentType> employmentType,
+                      @RequestParam(required = false) List<CreditBand> creditBand,
+                      @RequestParam(required = false) Instant from,
+                      @RequestParam(required = false) Instant to,
+                      @RequestParam(required = false) String cursor,
+                      @RequestParam(defaultValue = "100") int limit,
+                      HttpServletResponse response) throws IOException {
+        if (!decisionStore.isEnabled()) {
+            error(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "The decision store is off");
+            return;
+        }
+        DecisionQuery query = new DecisionQuery(decision, loanType, employmentType, creditBand, from, to,
+                cursor, limit);
+        try {
+            decisionStore.validate(query);
+        } catch (IllegalArgumentException e) {
+            error(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("decisions");
+            String nextCursor = decisionStore.query(query, row -> write(row, generator));
+            generator.writeEndArray();
+            generator.writeStringField("nextCursor", nextCursor);
+            generator.writeEndObject();
+        }
+    }
+
+    private static void write(DecisionRow row, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("time", row.getTime().toString());
+        generator.writeStringField("decision", row.getDecision().name());
+        generator.writeStringField("reasonCode", row.getReasonCode().name());
+        generator.writeStringField("loanType", row.getLoanType().name());
+        generator.writeStringField("employmentType", row.getEmploymentType().name());
+        generator.writeNumberField("creditScore", row.getCreditScore());
+        generator.writeStringField("creditBand", row.getCreditBand().name());
+        generator.writeNumberField("age", row.getAge());
+        writeNullable(generator, "monthlyIncome", row.getMonthlyIncome());
+        writeNullable(generator, "requestedAmount", row.getRequestedAmount());
+        generator.writeNumberField("tenureYears", row.getTenureYears());
+        writeNullable(generator, "approvedAmount", row.getApprovedAmount());
+        writeNullable(generator, "monthlyEMI", row.getMonthlyEMI());
+        writeNullable(generator, "interestRate", row.getInterestRate());
+        if (row.getCustomerId() != null) {
+            generator.writeNumberField("customerId", row.getCustomerId());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNullable(JsonGenerator generator, String field, Double value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private void error(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+}
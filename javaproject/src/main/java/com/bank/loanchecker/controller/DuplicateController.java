@@ -0,0 +1,19 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.dedup.DuplicateDetector;
+import com.bank.loanchecker.dedup.DuplicateStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class DuplicateController {
+
+    @Autowired
+    private DuplicateDetector duplicateDetector;
+
+    @GetMapping("/api/duplicates")
+    public DuplicateStatus getStatus() {
+        return duplicateDetector.status();
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.loanchecker.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Liveness and readiness probes for the load balancer and orchestrator. Readiness stays
+ * {@code OUT_OF_SERVICE} (503) until start-up, including the JIT warm-up, has finished.
+ */
+@RestController
+public class HealthController {
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @GetMapping("/health/liveness")
+    public ResponseEntity<Map<String, String>> liveness() {
+        return availability.getLivenessState() == LivenessState.CORRECT
+                ? ResponseEntity.ok(Map.of("status", "UP"))
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("status", "DOWN"));
+    }
+
+    @GetMapping("/health/readiness")
+    public ResponseEntity<Map<String, String>> readiness() {
+        return availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC
+                ? ResponseEntity.ok(Map.of("status", "UP"))
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("status", "OUT_OF_SERVICE"));
+    }
+}
@@ -1,46 +1,117 @@
 package com.bank.loanchecker.controller;
 
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.history.DecisionStore;
+import com.bank.loanchecker.jfr.EndpointEvent;
+import com.bank.loanchecker.json.IngestedApplication;
 import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.money.Money;
+import com.bank.loanchecker.rates.EmiCalculator;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.EligibilityRequestCoalescer;
 import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.bank.loanchecker.velocity.VelocityTracker;
+import com.bank.loanchecker.warmup.WarmUpRunner;
+import com.bank.loanchecker.web.RequestTimings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.ClassUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 public class LoanController {
 
+    private static final String OUTCOME_OK = "OK";
+    private static final String OUTCOME_INVALID = "INVALID";
+    private static final String OUTCOME_NOT_FOUND = "NOT_FOUND";
+    private static final String OUTCOME_BAD_REQUEST = "BAD_REQUEST";
+    private static final MethodParameter API_APPLICATION_PARAMETER = new MethodParameter(
+            ClassUtils.getMethod(LoanController.class, "checkEligibilityApi", LoanApplication.class,
+                    boolean.class, HttpServletRequest.class), 0);
+
+    @Autowired
+    private EligibilityRequestCoalescer eligibilityRequestCoalescer;
+
     @Autowired
     private LoanEligibilityService loanEligibilityService;
 
+    @Autowired
+    private VelocityTracker velocityTracker;
+
+    @Autowired
+    private DecisionStore decisionStore;
+
+    @Autowired
+    private LoanApplicationValidator loanApplicationValidator;
+
+    @Autowired
+    private RateTableRegistry rateTableRegistry;
+
+    @Autowired
+    private CustomerStore customerStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @InitBinder("loanApplication")
+    public void initBinder(WebDataBinder binder) {
+        binder.setValidator(loanApplicationValidator);
+    }
+
     @GetMapping("/")
     public String home(Model model) {
         model.addAttribute("loanApplication", new LoanApplication());
         model.addAttribute("loanTypes", Arrays.asList(LoanType.values()));
         model.addAttribute("employmentTypes", Arrays.asList(EmploymentType.values()));
+        model.addAttribute("loanDetails", rateTableRegistry.current().getLoanDetails());
         return "index";
     }
 
     @PostMapping("/check-eligibility")
     public String checkEligibility(@Valid @ModelAttribute LoanApplication loanApplication, 
-                                  BindingResult bindingResult, Model model) {
-        if (bindingResult.hasErrors()) {
-            model.addAttribute("loanTypes", Arrays.asList(LoanType.values()));
-            model.addAttribute("employmentTypes", Arrays.asList(EmploymentType.values()));
-            return "index";
+                                  BindingResult bindingResult, Model model, HttpServletRequest request) {
+        EndpointEvent event = new EndpointEvent();
+        event.begin();
+        if (!bindingResult.hasErrors()) {
+            LoanEligibilityResult result = evaluate(loanApplication, request);
+            if (result != null) {
+                if (loanApplication.getCustomer() == null) {
+                    // The result page shows the applicant's details
+                    customerStore.find(loanApplication.getCustomerId()).ifPresent(loanApplication::setCustomer);
+                }
+                model.addAttribute("result", result);
+                model.addAttribute("loanApplication", loanApplication);
+                commit(event, "/check-eligibility", loanApplication.getLoanType(), result.getDecision());
+                return "result";
+            }
+            bindingResult.rejectValue("customerId", "NotFound", "No customer with this id");
         }
+        commit(event, "/check-eligibility", loanApplication.getLoanType(),
+                bindingResult.hasFieldErrors("customerId") ? OUTCOME_NOT_FOUND : OUTCOME_INVALID);
 
-        LoanEligibilityResult result = loanEligibilityService.checkEligibility(loanApplication);
-        model.addAttribute("result", result);
-        model.addAttribute("loanApplication", loanApplication);
-        
-        return "result";
+        model.addAttribute("loanTypes", Arrays.asList(LoanType.values()));
+        model.addAttribute("employmentTypes", Arrays.asList(EmploymentType.values()));
+        model.addAttribute("loanDetails", rateTableRegistry.current().getLoanDetails());
+        return "index";
     }
 
     @GetMapping("/api/loan-types")
@@ -55,11 +126,120 @@ public class LoanController {
         return ResponseEntity.ok(Arrays.asList(EmploymentType.values()));
     }
 
+    /**
+     * Decides an application; with {@code compact=true} the result carries only its codes and
+     * amounts (see {@link CompactResult}).
+     */
     @PostMapping("/api/check-eligibility")
     @ResponseBody
-    public ResponseEntity<LoanEligibilityResult> checkEligibilityApi(@Valid @RequestBody LoanApplication loanApplication) {
-        LoanEligibilityResult result = loanEligibilityService.checkEligibility(loanApplication);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<?> checkEligibilityApi(@Valid @RequestBody LoanApplication loanApplication,
+                                                 @RequestParam(defaultValue = "false") boolean compact,
+                                                 HttpServletRequest request) {
+        EndpointEvent event = new EndpointEvent();
+        event.begin();
+        RequestTimings.begin(RequestTimings.Stage.EVALUATE);
+        LoanEligibilityResult result = evaluate(loanApplication, request);
+        RequestTimings.begin(RequestTimings.Stage.RENDER);
+        if (result == null) {
+            commit(event, "/api/check-eligibility", loanApplication.getLoanType(), OUTCOME_NOT_FOUND);
+            return ResponseEntity.notFound().build();
+        }
+        commit(event, "/api/check-eligibility", loanApplication.getLoanType(), result.getDecision());
+        return ResponseEntity.ok(compact ? new CompactResult(result) : result);
+    }
+
+    /**
+     * Same as {@link #checkEligibilityApi} for clients that opt in with {@code X-Ingest-Mode: fast}.
+     * Plain request bodies are decided straight from the request bytes without building the
+     * application objects (see {@link IngestedApplication}); anything else, including invalid
+     * applications, is bound and validated the usual way so errors look the same.
+     */
+    @PostMapping(value = "/api/check-eligibility", headers = "X-Ingest-Mode=fast",
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> checkEligibilityFast(HttpServletRequest request,
+                                                  @RequestParam(defaultValue = "false") boolean compact)
+            throws IOException, MethodArgumentNotValidException {
+        RequestTimings.begin(RequestTimings.Stage.PARSE);
+        IngestedApplication ingested = IngestedApplication.forCurrentThread();
+        boolean plain = ingested.read(request.getInputStream());
+        RequestTimings.begin(RequestTimings.Stage.VALIDATE);
+        if (!plain || !loanApplicationValidator.isValid(ingested.getInput(), ingested.getName(),
+                ingested.getEmail(), ingested.getPhoneNumber())) {
+            return checkEligibilityApi(bind(ingested.body(), request), compact, request);
+        }
+
+        EndpointEvent event = new EndpointEvent();
+        event.begin();
+        RequestTimings.begin(RequestTimings.Stage.EVALUATE);
+        EligibilityInput input = ingested.getInput();
+        LoanEligibilityResult result = eligibilityRequestCoalescer.decide(input);
+        if (!isWarmUp(request)) {
+            if (velocityTracker.recordApplication(ingested.getEmail(), ingested.getPhoneNumber())) {
+                result = loanEligibilityService.rejectForVelocity(result);
+            }
+            decisionStore.record(input, null, result);
+        }
+        RequestTimings.begin(RequestTimings.Stage.RENDER);
+        commit(event, "/api/check-eligibility", input.getLoanType(), result.getDecision());
+        return ResponseEntity.ok(compact ? new CompactResult(result) : result);
+    }
+
+    // What @Valid @RequestBody does for checkEligibilityApi, with the same exceptions
+    private LoanApplication bind(byte[] body, HttpServletRequest request) throws MethodArgumentNotValidException {
+        LoanApplication application;
+        try {
+            application = objectMapper.readValue(body, LoanApplication.class);
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getMessage(), e,
+                    new ServletServerHttpRequest(request));
+        }
+        if (application == null) {
+            throw new HttpMessageNotReadableException("Required request body is missing",
+                    new ServletServerHttpRequest(request));
+        }
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(application, "loanApplication");
+        loanApplicationValidator.validate(application, bindingResult);
+        if (bindingResult.hasErrors()) {
+            throw new MethodArgumentNotValidException(API_APPLICATION_PARAMETER, bindingResult);
+        }
+        return application;
+    }
+
+    // The warm-up replays the same applicants over and over; they are neither real velocity nor real decisions
+    private static boolean isWarmUp(HttpServletRequest request) {
+        return WarmUpRunner.isWarmUp(request);
+    }
+
+    // Returns null if the application names a customer that is not stored
+    private LoanEligibilityResult evaluate(LoanApplication loanApplication, HttpServletRequest request) {
+        Long customerId = loanApplication.getCustomerId();
+        boolean warmUp = isWarmUp(request);
+        EligibilityInput input = null;
+        LoanEligibilityResult result;
+        boolean tooMany;
+        if (customerId == null) {
+            result = eligibilityRequestCoalescer.checkEligibility(loanApplication);
+            Customer customer = loanApplication.getCustomer();
+            tooMany = !warmUp && velocityTracker.recordApplication(customer.getEmail(), customer.getPhoneNumber());
+        } else {
+            input = new EligibilityInput();
+            if (!customerStore.load(customerId, input)) {
+                return null;
+            }
+            input.setLoan(loanApplication.getLoanType(), loanApplication.getRequestedAmount(),
+                    loanApplication.getTenureYears());
+            result = eligibilityRequestCoalescer.decide(input);
+            tooMany = !warmUp && velocityTracker.recordApplication(customerId);
+        }
+        // Coalesced results are shared, so a rejection for velocity is a copy
+        if (tooMany) {
+            result = loanEligibilityService.rejectForVelocity(result);
+        }
+        if (!warmUp && decisionStore.isEnabled()) {
+            decisionStore.record(input != null ? input : EligibilityInput.of(loanApplication), customerId, result);
+        }
+        return result;
     }
 
     @PostMapping("/api/calculate-emi")
@@ -67,17 +247,61 @@ public class LoanController {
     public ResponseEntity<Double> calculateEMI(@RequestParam Double principal, 
                                              @RequestParam Double interestRate, 
                                              @RequestParam Integer tenureYears) {
-        if (interestRate == 0) {
-            return ResponseEntity.ok(principal / (tenureYears * 12));
+        EndpointEvent event = new EndpointEvent();
+        event.begin();
+        RequestTimings.begin(RequestTimings.Stage.EVALUATE);
+        double emi = EmiCalculator.emi(rateTableRegistry.current(), principal, interestRate, tenureYears);
+        RequestTimings.begin(RequestTimings.Stage.RENDER);
+
+        if (!Money.isInRange(emi)) {
+            commit(event, "/api/calculate-emi", null, OUTCOME_BAD_REQUEST);
+            return ResponseEntity.badRequest().build();
+        }
+        commit(event, "/api/calculate-emi", null, OUTCOME_OK);
+        return ResponseEntity.ok(Money.toRupees(Money.toPaise(emi)));
+    }
+
+    /**
+     * EMIs for parallel arrays of principals, rates and tenures, rounded like {@link #calculateEMI}.
+     */
+    @PostMapping("/api/calculate-emi/batch")
+    @ResponseBody
+    public ResponseEntity<?> calculateEMIBatch(@RequestBody EmiBatchRequest request) {
+        EndpointEvent event = new EndpointEvent();
+        event.begin();
+        RequestTimings.begin(RequestTimings.Stage.EVALUATE);
+        double[] principals = request.principals();
+        double[] interestRates = request.interestRates();
+        int[] tenureYears = request.tenureYears();
+        if (principals == null || interestRates == null || tenureYears == null
+                || interestRates.length != principals.length || tenureYears.length != principals.length) {
+            commit(event, "/api/calculate-emi/batch", null, OUTCOME_BAD_REQUEST);
+            return ResponseEntity.badRequest().body(
+                    Map.of("error", "principals, interestRates and tenureYears must have the same length"));
+        }
+
+        double[] emis = new double[principals.length];
+        EmiCalculator.emi(rateTableRegistry.current(), principals, interestRates, tenureYears, emis);
+        RequestTimings.begin(RequestTimings.Stage.RENDER);
+        for (int i = 0; i < emis.length; i++) {
+            if (!Money.isInRange(emis[i])) {
+                commit(event, "/api/calculate-emi/batch", null, OUTCOME_BAD_REQUEST);
+                return ResponseEntity.badRequest().body(Map.of("error", "EMI out of range at index " + i));
+            }
+            emis[i] = Money.toRupees(Money.toPaise(emis[i]));
+        }
+        commit(event, "/api/calculate-emi/batch", null, OUTCOME_OK);
+        return ResponseEntity.ok(Map.of("emis", emis));
+    }
+
+    private static void commit(EndpointEvent event, String endpoint, LoanType loanType, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint;
+            event.loanType = loanType != null ? loanType.name() : null;
+            event.outcome = outcome;
+            event.commit();
         }
-        
-        double monthlyRate = interestRate / (12 * 100);
-        int totalMonths = tenureYears * 12;
-        
-        double emi = principal * monthlyRate * Math.pow(1 + monthlyRate, totalMonths) / 
-                    (Math.pow(1 + monthlyRate, totalMonths) - 1);
-        
-        return ResponseEntity.ok(Math.round(emi * 100.0) / 100.0);
     }
 }
 
@@ -0,0 +1,40 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.policy.EligibilityPolicy;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/policy")
+public class PolicyController {
+
+    @Autowired
+    private EligibilityPolicyRegistry eligibilityPolicyRegistry;
+
+    @Value("${loanchecker.policy.publish-enabled:false}")
+    private boolean publishEnabled;
+
+    @GetMapping
+    public EligibilityPolicy getPolicy() {
+        return eligibilityPolicyRegistry.current();
+    }
+
+    /**
+     * Replaces the policy. Stored decisions are not touched; see {@code POST /api/book/redecide}.
+     * Refused unless {@code loanchecker.policy.publish-enabled} is set, as the endpoint has no
+     * authentication of its own.
+     */
+    @PutMapping
+    public ResponseEntity<?> publishPolicy(@RequestBody EligibilityPolicy policy) {
+        if (!publishEnabled) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Publishing the policy is off"));
+        }
+        return ResponseEntity.ok(eligibilityPolicyRegistry.publish(policy));
+    }
+}
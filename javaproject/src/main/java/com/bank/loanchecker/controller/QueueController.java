@@ -0,0 +1,19 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.queue.QueueConsumer;
+import com.bank.loanchecker.queue.QueueStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class QueueController {
+
+    @Autowired
+    private QueueConsumer queueConsumer;
+
+    @GetMapping("/api/queue")
+    public QueueStatus getStatus() {
+        return queueConsumer.status();
+    }
+}
@@ -0,0 +1,46 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.model.LoanType;
+import com.bank.loanchecker.rates.RateSpec;
+import com.bank.loanchecker.rates.RateTable;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/rates")
+public class RateTableController {
+
+    @Autowired
+    private RateTableRegistry rateTableRegistry;
+
+    @Value("${loanchecker.rates.publish-enabled:false}")
+    private boolean publishEnabled;
+
+    @GetMapping
+    public RateTable getRates() {
+        return rateTableRegistry.current();
+    }
+
+    /**
+     * Publishes a new rate table version. Loan types left out of the body keep their current terms.
+     * The endpoint has no authentication of its own, so it is refused unless
+     * {@code loanchecker.rates.publish-enabled} is set.
+     */
+    @PutMapping
+    public ResponseEntity<?> publishRates(@RequestBody Map<LoanType, RateSpec> rates) {
+        if (!publishEnabled) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Publishing rates is off"));
+        }
+        try {
+            return ResponseEntity.ok(rateTableRegistry.publish(rates, "admin"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
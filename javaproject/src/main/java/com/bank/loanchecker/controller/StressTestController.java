@@ -0,0 +1,97 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.money.Money;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.stress.RateScenario;
+import com.bank.loanchecker.stress.StressLoan;
+import com.bank.loanchecker.stress.StressTestEngine;
+import com.bank.loanchecker.stress.StressTestRequest;
+import com.bank.loanchecker.validation.FieldViolation;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@RestController
+@RequestMapping("/api/stress-test")
+public class StressTestController {
+
+    private static final int DEFAULT_PATHS = 10_000;
+
+    @Autowired
+    private StressTestEngine stressTestEngine;
+
+    @Autowired
+    private LoanEligibilityService loanEligibilityService;
+
+    @Autowired
+    private LoanApplicationValidator loanApplicationValidator;
+
+    @Autowired
+    private CustomerStore customerStore;
+
+    /**
+     * Stresses the approved applications among {@code applications} as one portfolio. Without a
+     * seed one is picked at random; the report includes it so the run can be reproduced.
+     */
+    @PostMapping
+    public ResponseEntity<?> stressTest(@RequestBody StressTestRequest request) throws InterruptedException {
+        List<LoanApplication> applications = request.applications();
+        if (applications == null || applications.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "applications must not be empty"));
+        }
+
+        List<StressLoan> loans = new ArrayList<>();
+        for (int i = 0; i < applications.size(); i++) {
+            LoanApplication application = applications.get(i);
+            List<FieldViolation> violations = loanApplicationValidator.validate(application);
+            if (!violations.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("index", i, "errors", violations));
+            }
+            EligibilityInput input = toInput(application);
+            if (input == null) {
+                return ResponseEntity.badRequest().body(Map.of("index", i, "error", "No customer with this id"));
+            }
+            LoanEligibilityResult result = loanEligibilityService.decide(input);
+            if (result.isEligible()) {
+                loans.add(new StressLoan(i, result.getApprovedAmount(), result.getInterestRate(),
+                        result.getTenureYears(),
+                        Money.toPaise(input.getMonthlyIncome()) - Money.toPaise(input.getExistingEMI())));
+            }
+        }
+        if (loans.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "None of the applications is approved"));
+        }
+
+        int paths = request.paths() != null ? request.paths() : DEFAULT_PATHS;
+        long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+        RateScenario scenario = request.scenario() != null ? request.scenario() : RateScenario.DEFAULT;
+        try {
+            return ResponseEntity.ok(stressTestEngine.run(loans, scenario, paths, seed));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Null if the application names a customer that is not stored
+    private EligibilityInput toInput(LoanApplication application) {
+        if (application.getCustomerId() == null) {
+            return EligibilityInput.of(application);
+        }
+        EligibilityInput input = new EligibilityInput();
+        if (!customerStore.load(application.getCustomerId(), input)) {
+            return null;
+        }
+        input.setLoan(application.getLoanType(), application.getRequestedAmount(), application.getTenureYears());
+        return input;
+    }
+}
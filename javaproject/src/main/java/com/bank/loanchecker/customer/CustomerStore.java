@@ -0,0 +1,372 @@
+package com.bank.loanchecker.customer;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.EmploymentType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Embedded customer profile store in two memory-mapped files under
+ * {@code loanchecker.customers.dir}:
+ * <ul>
+ *     <li>{@code customers.dat} holds fixed-size records, so a profile's decision fields are
+ *     read straight from mapped memory into primitives;</li>
+ *     <li>{@code customers.idx} is an open-addressing hash table from customer id to record
+ *     number.</li>
+ * </ul>
+ * Upserts are serialized (single writer); lookups take no locks. A new record is written
+ * before its index slot is published with a release store, and an existing record is
+ * rewritten under a per-record sequence counter that readers re-check, retrying if they
+ * overlapped a write. Each upsert is forced to disk before it returns. A sequence left odd by
+ * a crash mid-write is evened out when the store is opened, so readers never wait on a write
+ * that will not finish; they give up after {@value #MAX_READ_ATTEMPTS} attempts in any case.
+ * <p>
+ * Off when the directory is blank: no files are created, no profile is found and upserts
+ * are refused.
+ */
+@Component
+public class CustomerStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerStore.class);
+
+    static final String RECORDS_FILE = "customers.dat";
+    static final String INDEX_FILE = "customers.idx";
+
+    private static final int MAGIC = 0x43555354; // "CUST"
+    private static final int HEADER_SIZE = 64;
+    private static final int HEADER_CAPACITY = 4;
+    private static final int HEADER_RECORD_SIZE = 8;
+    private static final int HEADER_COUNT = 16;
+
+    static final int RECORD_SIZE = 640;
+    private static final int SEQUENCE = 0;
+    private static final int AGE = 4;
+    private static final int CREDIT_SCORE = 8;
+    private static final int EMPLOYMENT_TYPE = 12;
+    private static final int CUSTOMER_ID = 16;
+    private static final int MONTHLY_INCOME = 24;
+    private static final int EXISTING_EMI = 32;
+    private static final int NAME = 40;
+    private static final int MAX_NAME_BYTES = 300;
+    private static final int EMAIL = NAME + 2 + MAX_NAME_BYTES;
+    private static final int MAX_EMAIL_BYTES = 254;
+    private static final int PHONE = EMAIL + 2 + MAX_EMAIL_BYTES;
+    private static final int MAX_PHONE_BYTES = 16;
+
+    private static final int SLOT_SIZE = 16;
+
+    private static final int SPIN_ATTEMPTS = 100;
+    static final int MAX_READ_ATTEMPTS = 100_000;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final EmploymentType[] EMPLOYMENT_TYPES = EmploymentType.values();
+
+    private final int capacity;
+    private final int slotMask;
+    private final MappedByteBuffer records;
+    private final MappedByteBuffer index;
+
+    @Autowired
+    public CustomerStore(@Value("${loanchecker.customers.dir:}") String directory,
+                         @Value("${loanchecker.customers.capacity:100000}") int capacity) throws IOException {
+        this(directory.isBlank() ? null : Path.of(directory), capacity);
+    }
+
+    /**
+     * A store in {@code directory}, or one that is off if it is null.
+     */
+    public CustomerStore(Path directory, int capacity) throws IOException {
+        if (directory == null) {
+            this.capacity = 0;
+            this.slotMask = 0;
+            this.records = null;
+            this.index = null;
+            return;
+        }
+        Files.createDirectories(directory);
+        Path recordsFile = directory.resolve(RECORDS_FILE);
+        if (Files.exists(recordsFile) && Files.size(recordsFile) >= HEADER_SIZE) {
+            int existing = readCapacity(recordsFile);
+            if (existing != capacity) {
+                log.warn("Customer store {} was created with capacity {}, ignoring configured {}",
+                        directory, existing, capacity);
+                capacity = existing;
+            }
+        }
+        long recordsSize = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+        int slots = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        long indexSize = HEADER_SIZE + (long) slots * SLOT_SIZE;
+        if (capacity <= 0 || recordsSize > Integer.MAX_VALUE || indexSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Customer store capacity must be between 1 and "
+                    + (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE);
+        }
+
+        this.capacity = capacity;
+        this.slotMask = slots - 1;
+        this.records = map(recordsFile, recordsSize);
+        this.index = map(directory.resolve(INDEX_FILE), indexSize);
+        if (records.getInt(0) == 0) {
+            records.putInt(HEADER_CAPACITY, capacity);
+            records.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+            index.putInt(HEADER_CAPACITY, slots);
+            index.putInt(0, MAGIC);
+            records.putInt(0, MAGIC);
+            index.force();
+            records.force();
+        } else if (records.getInt(0) != MAGIC || records.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE
+                || index.getInt(0) != MAGIC || index.getInt(HEADER_CAPACITY) != slots) {
+            throw new IOException("Unrecognized customer store in " + directory);
+        } else {
+            repairTornWrites(directory);
+        }
+    }
+
+    /**
+     * Inserts or replaces the profile stored under {@code customerId}.
+     *
+     * @throws IllegalArgumentException if a text field does not fit its slot
+     * @throws IllegalStateException    if the store is off or a new customer would exceed the capacity
+     */
+    public synchronized void upsert(long customerId, Customer customer) {
+        if (records == null) {
+            throw new IllegalStateException("The customer store is off");
+        }
+        if (customerId <= 0) {
+            throw new IllegalArgumentException("Customer id must be positive");
+        }
+        byte[] name = encode("name", customer.getName(), MAX_NAME_BYTES);
+        byte[] email = encode("email", customer.getEmail(), MAX_EMAIL_BYTES);
+        byte[] phone = encode("phoneNumber", customer.getPhoneNumber(), MAX_PHONE_BYTES);
+
+        int slot = findSlot(customerId);
+        int slotOffset = slotOffset(slot);
+        boolean isNew = (long) LONG.getAcquire(index, slotOffset) == 0;
+        long recordNumber;
+        if (isNew) {
+            recordNumber = (long) LONG.get(records, HEADER_COUNT);
+            if (recordNumber >= capacity) {
+                throw new IllegalStateException("Customer store is full (" + capacity + " profiles)");
+            }
+        } else {
+            recordNumber = (long) LONG.get(index, slotOffset + 8);
+        }
+
+        int base = recordOffset(recordNumber);
+        int sequence = (int) INT.get(records, base + SEQUENCE);
+        INT.setOpaque(records, base + SEQUENCE, sequence + 1);
+        VarHandle.storeStoreFence();
+        records.putInt(base + AGE, customer.getAge());
+        records.putInt(base + CREDIT_SCORE, customer.getCreditScore());
+        records.putInt(base + EMPLOYMENT_TYPE, customer.getEmploymentType().ordinal());
+        records.putLong(base + CUSTOMER_ID, customerId);
+        records.putDouble(base + MONTHLY_INCOME, customer.getMonthlyIncome());
+        records.putDouble(base + EXISTING_EMI, customer.getExistingEMI());
+        putText(base + NAME, name);
+        putText(base + EMAIL, email);
+        putText(base + PHONE, phone);
+        INT.setRelease(records, base + SEQUENCE, sequence + 2);
+        records.force(base, RECORD_SIZE);
+
+        if (isNew) {
+            LONG.setRelease(records, HEADER_COUNT, recordNumber + 1);
+            records.force(HEADER_COUNT, 8);
+            LONG.set(index, slotOffset + 8, recordNumber);
+            LONG.setRelease(index, slotOffset, customerId);
+            index.force(slotOffset, SLOT_SIZE);
+        }
+    }
+
+    /**
+     * Copies the decision fields of {@code customerId}'s profile into {@code target}, leaving
+     * its loan fields untouched. Returns {@code false} if there is no such profile.
+     */
+    public boolean load(long customerId, EligibilityInput target) {
+        long recordNumber = lookup(customerId);
+        if (recordNumber < 0) {
+            return false;
+        }
+        int base = recordOffset(recordNumber);
+        for (int attempt = 1; ; attempt++) {
+            int sequence = (int) INT.getAcquire(records, base + SEQUENCE);
+            if ((sequence & 1) == 0) {
+                int age = records.getInt(base + AGE);
+                int creditScore = records.getInt(base + CREDIT_SCORE);
+                int employmentType = records.getInt(base + EMPLOYMENT_TYPE);
+                double monthlyIncome = records.getDouble(base + MONTHLY_INCOME);
+                double existingEMI = records.getDouble(base + EXISTING_EMI);
+                VarHandle.loadLoadFence();
+                if ((int) INT.getOpaque(records, base + SEQUENCE) == sequence) {
+                    target.setCustomer(age, creditScore, monthlyIncome, existingEMI, EMPLOYMENT_TYPES[employmentType]);
+                    return true;
+                }
+            }
+            awaitWrite(customerId, attempt);
+        }
+    }
+
+    /**
+     * Decodes the full profile, including the text fields.
+     */
+    public Optional<Customer> find(long customerId) {
+        long recordNumber = lookup(customerId);
+        if (recordNumber < 0) {
+            return Optional.empty();
+        }
+        int base = recordOffset(recordNumber);
+        for (int attempt = 1; ; attempt++) {
+            int sequence = (int) INT.getAcquire(records, base + SEQUENCE);
+            if ((sequence & 1) == 0) {
+                byte[] name = getText(base + NAME, MAX_NAME_BYTES);
+                byte[] email = getText(base + EMAIL, MAX_EMAIL_BYTES);
+                byte[] phone = getText(base + PHONE, MAX_PHONE_BYTES);
+                Customer customer = new Customer(null, records.getInt(base + AGE), null, null,
+                        records.getDouble(base + MONTHLY_INCOME), records.getInt(base + CREDIT_SCORE),
+                        records.getDouble(base + EXISTING_EMI), EMPLOYMENT_TYPES[records.getInt(base + EMPLOYMENT_TYPE)]);
+                VarHandle.loadLoadFence();
+                if ((int) INT.getOpaque(records, base + SEQUENCE) == sequence) {
+                    customer.setName(new String(name, StandardCharsets.UTF_8));
+                    customer.setEmail(new String(email, StandardCharsets.UTF_8));
+                    customer.setPhoneNumber(new String(phone, StandardCharsets.UTF_8));
+                    return Optional.of(customer);
+                }
+            }
+            awaitWrite(customerId, attempt);
+        }
+    }
+
+    public boolean isEnabled() {
+        return records != null;
+    }
+
+    public long size() {
+        return records != null ? (long) LONG.getAcquire(records, HEADER_COUNT) : 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Single writer: an odd sequence on open is an upsert cut short, by a crash, between its two
+    // sequence stores. The record past the last one may be a new customer that was never published.
+    private void repairTornWrites(Path directory) {
+        long count = Math.min((long) LONG.get(records, HEADER_COUNT) + 1, capacity);
+        int repaired = 0;
+        for (long recordNumber = 0; recordNumber < count; recordNumber++) {
+            int base = recordOffset(recordNumber);
+            int sequence = records.getInt(base + SEQUENCE);
+            if ((sequence & 1) != 0) {
+                records.putInt(base + SEQUENCE, sequence + 1);
+                records.force(base, 4);
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            log.warn("Customer store {} had {} profile(s) with an unfinished write; they keep whatever reached disk",
+                    directory, repaired);
+        }
+    }
+
+    private static void awaitWrite(long customerId, int attempt) {
+        if (attempt >= MAX_READ_ATTEMPTS) {
+            throw new IllegalStateException("Customer " + customerId + " is still being written, try again");
+        }
+        if (attempt < SPIN_ATTEMPTS) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    private long lookup(long customerId) {
+        if (records == null || customerId <= 0) {
+            return -1;
+        }
+        int slotOffset = slotOffset(findSlot(customerId));
+        if ((long) LONG.getAcquire(index, slotOffset) != customerId) {
+            return -1;
+        }
+        return (long) LONG.get(index, slotOffset + 8);
+    }
+
+    // The slot holding customerId, or the empty slot where it belongs
+    private int findSlot(long customerId) {
+        int slot = (int) mix(customerId) & slotMask;
+        while (true) {
+            long key = (long) LONG.getAcquire(index, slotOffset(slot));
+            if (key == customerId || key == 0) {
+                return slot;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        return key ^ (key >>> 33);
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static int recordOffset(long recordNumber) {
+        return HEADER_SIZE + (int) recordNumber * RECORD_SIZE;
+    }
+
+    private void putText(int offset, byte[] text) {
+        records.putShort(offset, (short) text.length);
+        records.put(offset + 2, text);
+    }
+
+    private byte[] getText(int offset, int maxLength) {
+        int length = Math.min(Short.toUnsignedInt(records.getShort(offset)), maxLength);
+        byte[] text = new byte[length];
+        records.get(offset + 2, text);
+        return text;
+    }
+
+    private static byte[] encode(String field, String value, int maxBytes) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException("Customer " + field + " must not exceed " + maxBytes + " bytes");
+        }
+        return bytes;
+    }
+
+    private static int readCapacity(Path recordsFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(recordsFile, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+                    .order(ByteOrder.nativeOrder())
+                    .getInt(HEADER_CAPACITY);
+        }
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.bank.loanchecker.dedup;
+
+import com.bank.loanchecker.model.LoanApplication;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Flags applications in bulk jobs and on the queue that repeat an earlier one: the same
+ * email address and phone number (or stored customer), loan type and amount, in any input
+ * since the state under {@code loanchecker.dedup.dir} was created. Off when the directory
+ * is blank.
+ * <p>
+ * Every application is first checked against a {@link ScalableBloomFilter}, which answers
+ * "new" for almost all new applications without touching disk. Only the applications it
+ * flags, true duplicates plus {@code loanchecker.dedup.false-positive-rate} of the rest, are
+ * looked up in the exact {@link FingerprintStore}. Heap use is bounded by
+ * {@code loanchecker.dedup.buffer-keys}, however many applications have been seen.
+ * <p>
+ * Each application is checked with its {@code source}, a position in its input. Seeing the
+ * same application again from the same source is a replay after a restart, not a duplicate.
+ */
+@Service
+public class DuplicateDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetector.class);
+
+    private final Path directory;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private final int bufferKeys;
+    private ScalableBloomFilter filter;
+    private FingerprintStore store;
+
+    private long checked;
+    private long suspected;
+    private long falsePositives;
+    private long duplicates;
+
+    public DuplicateDetector(@Value("${loanchecker.dedup.dir:}") String directory,
+                             @Value("${loanchecker.dedup.expected-keys:1000000}") long expectedKeys,
+                             @Value("${loanchecker.dedup.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${loanchecker.dedup.buffer-keys:262144}") int bufferKeys) {
+        this.directory = directory.isBlank() ? null : Path.of(directory).toAbsolutePath();
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bufferKeys = bufferKeys;
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (directory == null) {
+            return;
+        }
+        filter = new ScalableBloomFilter(directory.resolve("bloom"), expectedKeys, falsePositiveRate);
+        store = new FingerprintStore(directory.resolve("store"), bufferKeys);
+        long keys = store.size();
+        if (filter.count() < keys) {
+            // The filter's pages did not all reach disk before a crash; the store's log did
+            log.warn("Bloom filter in {} is behind the fingerprint store, rebuilding", directory);
+            rebuildFilter();
+        }
+        log.info("Duplicate detection in {} knows {} applications", directory, store.size());
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (filter == null) {
+            return;
+        }
+        filter.force();
+        filter.close();
+        store.close();
+        filter = null;
+        store = null;
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Records {@code application}, seen at {@code source}, and returns whether an earlier
+     * application from a different source had the same fingerprint.
+     */
+    public synchronized boolean isDuplicate(LoanApplication application, long source) {
+        if (filter == null) {
+            return false;
+        }
+        Fingerprint fingerprint = Fingerprint.of(application);
+        checked++;
+        try {
+            if (filter.mightContain(fingerprint)) {
+                suspected++;
+                Long firstSource = store.find(fingerprint);
+                if (firstSource != null) {
+                    if (firstSource == source) {
+                        return false;
+                    }
+                    duplicates++;
+                    return true;
+                }
+                falsePositives++;
+            }
+            add(fingerprint, source);
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes everything recorded so far survive a crash. Callers flush before they commit
+     * their own progress.
+     */
+    public synchronized void flush() throws IOException {
+        if (filter == null) {
+            return;
+        }
+        filter.force();
+        store.sync();
+    }
+
+    public synchronized DuplicateStatus status() {
+        if (filter == null) {
+            return new DuplicateStatus(false, 0, 0, 0, 0, checked, suspected, falsePositives, duplicates);
+        }
+        try {
+            return new DuplicateStatus(true, store.size(), filter.generations(), filter.sizeBytes(),
+                    store.runCount(), checked, suspected, falsePositives, duplicates);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A source for position {@code position} of the input named {@code input}, such as a
+     * line of a bulk job or an offset on the queue.
+     */
+    public static long source(String input, long position) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < input.length(); i++) {
+            hash = (hash ^ input.charAt(i)) * 0x100000001b3L;
+        }
+        return hash * 0x9e3779b97f4a7c15L + position;
+    }
+
+    private void add(Fingerprint fingerprint, long source) throws IOException {
+        if (store.isFull()) {
+            // The log is emptied once the buffer is a run, so the filter must be on disk first
+            filter.force();
+            store.writeRun();
+        }
+        filter.add(fingerprint);
+        store.add(fingerprint, source);
+    }
+
+    private void rebuildFilter() throws IOException {
+        filter.close();
+        Path bloom = directory.resolve("bloom");
+        try (Stream<Path> files = Files.list(bloom)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        filter = new ScalableBloomFilter(bloom, expectedKeys, falsePositiveRate);
+        store.forEach(filter::add);
+        filter.force();
+    }
+}
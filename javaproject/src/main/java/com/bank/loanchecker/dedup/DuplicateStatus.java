@@ -0,0 +1,11 @@
+package com.bank.loanchecker.dedup;
+
+/**
+ * State of duplicate detection: how many distinct applications are known, the size of the
+ * Bloom filter and the exact store, and since start-up how many applications were checked,
+ * how many the filter flagged, how many of those turned out to be new (false positives)
+ * and how many were duplicates.
+ */
+public record DuplicateStatus(boolean enabled, long keys, int bloomGenerations, long bloomBytes, int storeRuns,
+                              long checked, long suspected, long falsePositives, long duplicates) {
+}
@@ -0,0 +1,110 @@
+package com.bank.loanchecker.dedup;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.money.Money;
+
+/**
+ * A 128-bit hash of what makes two applications duplicates: the applicant's email address
+ * (ignoring ASCII case) and phone number, or the stored customer id, plus the loan type and
+ * the requested amount in paise. Two different applications share a fingerprint with
+ * probability around 2<sup>-128</sup>, so fingerprints stand in for the applications
+ * themselves in the exact check.
+ */
+public record Fingerprint(long high, long low) implements Comparable<Fingerprint> {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    public static Fingerprint of(LoanApplication application) {
+        Hasher hasher = new Hasher();
+        Customer customer = application.getCustomer();
+        if (application.getCustomerId() != null) {
+            hasher.add(1).add(application.getCustomerId());
+        } else {
+            hasher.add(2).add(customer.getEmail()).add(customer.getPhoneNumber());
+        }
+        hasher.add(application.getLoanType().ordinal()).add(amount(application.getRequestedAmount()));
+        return hasher.finish();
+    }
+
+    // In paise, or the bits of amounts too large to be money, which are rejected but still counted
+    private static long amount(double rupees) {
+        return Money.isInRange(rupees) ? Money.toPaise(rupees) : Double.doubleToLongBits(rupees);
+    }
+
+    /**
+     * Unsigned order on {@code high}, then {@code low}; the order of the sorted runs.
+     */
+    @Override
+    public int compareTo(Fingerprint other) {
+        return compare(high, low, other.high, other.low);
+    }
+
+    static int compare(long high, long low, long otherHigh, long otherLow) {
+        int byHigh = Long.compareUnsigned(high, otherHigh);
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(low, otherLow);
+    }
+
+    // MurmurHash3 x64/128 mixing over 64-bit words
+    private static final class Hasher {
+        private long h1 = 0x9368e53c2f6af274L;
+        private long h2 = 0x586dcd208f7cd3fdL;
+        private int words;
+
+        Hasher add(long word) {
+            long k1 = Long.rotateLeft(word * C1, 31) * C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            long k2 = Long.rotateLeft(word * C2, 33) * C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+            words++;
+            return this;
+        }
+
+        // Four characters per word, then the length so that adjacent fields cannot run together
+        Hasher add(String text) {
+            int length = text == null ? -1 : text.length();
+            long word = 0;
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                word = word << 16 | c;
+                if ((i & 3) == 3) {
+                    add(word);
+                    word = 0;
+                }
+            }
+            if ((length & 3) != 0 && length > 0) {
+                add(word);
+            }
+            return add(length);
+        }
+
+        Fingerprint finish() {
+            h1 ^= words;
+            h2 ^= words;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+            return new Fingerprint(h1, h2);
+        }
+
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.bank.loanchecker.dedup;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An immutable file of fingerprint entries sorted by {@link Fingerprint#compareTo}: a
+ * {@value #HEADER_SIZE}-byte header (magic, entry count) followed by {@value #ENTRY_SIZE}-byte
+ * entries of high, low and source. The first entry of every block of {@value #BLOCK_ENTRIES}
+ * is kept in memory, so a lookup reads a single block from disk. Not thread-safe.
+ */
+final class FingerprintRun implements Closeable {
+
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_SIZE = 24;
+    static final int BLOCK_ENTRIES = 1024;
+
+    private static final long MAGIC = 0x4c4352554e303031L;
+
+    private final Path file;
+    private final long id;
+    private final FileChannel channel;
+    private final long entries;
+    private final long[] blockHighs;
+    private final long[] blockLows;
+    private final ByteBuffer block = ByteBuffer.allocate(BLOCK_ENTRIES * ENTRY_SIZE);
+
+    private FingerprintRun(Path file, long id, FileChannel channel, long entries) throws IOException {
+        this.file = file;
+        this.id = id;
+        this.channel = channel;
+        this.entries = entries;
+        int blocks = (int) ((entries + BLOCK_ENTRIES - 1) / BLOCK_ENTRIES);
+        this.blockHighs = new long[blocks];
+        this.blockLows = new long[blocks];
+        ByteBuffer first = ByteBuffer.allocate(16);
+        for (int b = 0; b < blocks; b++) {
+            readFully(first.clear(), HEADER_SIZE + (long) b * BLOCK_ENTRIES * ENTRY_SIZE);
+            blockHighs[b] = first.getLong(0);
+            blockLows[b] = first.getLong(8);
+        }
+    }
+
+    static FingerprintRun open(Path file, long id) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.read(header, 0) != HEADER_SIZE || header.getLong(0) != MAGIC) {
+                throw new IOException(file + " is not a fingerprint run");
+            }
+            long entries = header.getLong(8);
+            if (channel.size() != HEADER_SIZE + entries * ENTRY_SIZE) {
+                throw new IOException(file + " is truncated");
+            }
+            return new FingerprintRun(file, id, channel, entries);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes {@code entries} sorted entries from {@code source} to {@code file}, through a
+     * temporary file that is forced and then renamed, so a run is either complete or absent.
+     */
+    static void write(Path file, long entries, EntrySource source) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel),
+                    64 * 1024));
+            out.writeLong(MAGIC);
+            out.writeLong(entries);
+            long[] entry = new long[3];
+            for (long i = 0; i < entries; i++) {
+                source.next(entry);
+                out.writeLong(entry[0]);
+                out.writeLong(entry[1]);
+                out.writeLong(entry[2]);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The source recorded with the fingerprint, or {@code null} if the run does not hold it.
+     */
+    Long find(long high, long low) throws IOException {
+        // The last block starting at or before the fingerprint
+        int lo = 0;
+        int hi = blockHighs.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Fingerprint.compare(blockHighs[mid], blockLows[mid], high, low) <= 0) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (found < 0) {
+            return null;
+        }
+        long start = (long) found * BLOCK_ENTRIES;
+        int count = (int) Math.min(BLOCK_ENTRIES, entries - start);
+        block.clear().limit(count * ENTRY_SIZE);
+        readFully(block, HEADER_SIZE + start * ENTRY_SIZE);
+
+        int first = 0;
+        int last = count - 1;
+        while (first <= last) {
+            int mid = (first + last) >>> 1;
+            int at = mid * ENTRY_SIZE;
+            int order = Fingerprint.compare(block.getLong(at), block.getLong(at + 8), high, low);
+            if (order == 0) {
+                return block.getLong(at + 16);
+            }
+            if (order < 0) {
+                first = mid + 1;
+            } else {
+                last = mid - 1;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the entries in order, for merging.
+     */
+    EntrySource reader() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_ENTRIES * ENTRY_SIZE);
+        buffer.flip();
+        long[] position = {HEADER_SIZE};
+        return entry -> {
+            if (!buffer.hasRemaining()) {
+                long remaining = HEADER_SIZE + entries * ENTRY_SIZE - position[0];
+                buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+                readFully(buffer, position[0]);
+                position[0] += buffer.limit();
+                buffer.flip();
+            }
+            entry[0] = buffer.getLong();
+            entry[1] = buffer.getLong();
+            entry[2] = buffer.getLong();
+        };
+    }
+
+    long id() {
+        return id;
+    }
+
+    long entries() {
+        return entries;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException(file + " ended early");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Entries in sorted order, each filled into {@code entry} as high, low, source.
+     */
+    @FunctionalInterface
+    interface EntrySource {
+        void next(long[] entry) throws IOException;
+    }
+}
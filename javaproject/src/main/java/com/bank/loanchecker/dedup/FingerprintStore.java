@@ -0,0 +1,365 @@
+package com.bank.loanchecker.dedup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * The exact side of duplicate detection: every fingerprint seen, with the source (job line
+ * or queue offset) it was first seen at, kept on disk as a log-structured merge tree.
+ * <ul>
+ *     <li>New fingerprints go into a bounded in-memory table and are appended to
+ *     {@code wal.log}, which {@link #sync()} forces and a restart replays.</li>
+ *     <li>When the table is full it is written out as a sorted {@link FingerprintRun} and the
+ *     log starts over.</li>
+ *     <li>Runs are merged {@value #MERGE_FAN_IN} at a time once that many are of a similar
+ *     size, so a store of {@code n} fingerprints has {@code O(log n)} runs and every
+ *     fingerprint is rewritten {@code O(log n)} times.</li>
+ * </ul>
+ * Only the heap of the table and one sparse index entry per run block is used, however many
+ * fingerprints there are. Lookups read one block per run; they are meant for the few
+ * fingerprints that the Bloom filter cannot rule out. Not thread-safe.
+ */
+final class FingerprintStore implements Closeable {
+
+    static final int MERGE_FAN_IN = 4;
+
+    private static final String WAL = "wal.log";
+    private static final int ENTRY_SIZE = FingerprintRun.ENTRY_SIZE;
+
+    private final Path directory;
+    private final int tableCapacity;
+    private final long[] highs;
+    private final long[] lows;
+    private final long[] sources;
+    private final boolean[] used;
+    private final int mask;
+    private int size;
+
+    private final FileChannel wal;
+    private final ByteBuffer walBuffer = ByteBuffer.allocate(64 * 1024);
+    private final List<FingerprintRun> runs = new ArrayList<>();
+    private long nextRunId;
+
+    FingerprintStore(Path directory, int tableCapacity) throws IOException {
+        if (tableCapacity < 1) {
+            throw new IllegalArgumentException("The table must hold at least one fingerprint");
+        }
+        this.directory = directory;
+        this.tableCapacity = tableCapacity;
+        int slots = Integer.highestOneBit(tableCapacity * 2 - 1) << 1;
+        this.highs = new long[slots];
+        this.lows = new long[slots];
+        this.sources = new long[slots];
+        this.used = new boolean[slots];
+        this.mask = slots - 1;
+        Files.createDirectories(directory);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.sorted().toList();
+        }
+        this.wal = FileChannel.open(directory.resolve(WAL), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    // An interrupted write or merge; its inputs are still in place
+                    Files.delete(file);
+                } else if (name.matches("run-\\d{12}\\.fp")) {
+                    long id = Long.parseLong(name.substring(4, 16));
+                    runs.add(FingerprintRun.open(file, id));
+                    nextRunId = Math.max(nextRunId, id + 1);
+                }
+            }
+            replayWal();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * The source {@code fingerprint} was first seen at, or {@code null} if it is new.
+     */
+    Long find(Fingerprint fingerprint) throws IOException {
+        long high = fingerprint.high();
+        long low = fingerprint.low();
+        for (int slot = slot(high); used[slot]; slot = (slot + 1) & mask) {
+            if (highs[slot] == high && lows[slot] == low) {
+                return sources[slot];
+            }
+        }
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            Long source = runs.get(i).find(high, low);
+            if (source != null) {
+                return source;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a fingerprint that {@link #find} did not find. Once {@link #isFull()}, the caller
+     * writes the table out with {@link #writeRun()} before adding more.
+     */
+    void add(Fingerprint fingerprint, long source) throws IOException {
+        if (isFull()) {
+            throw new IllegalStateException("The fingerprint table is full");
+        }
+        put(fingerprint.high(), fingerprint.low(), source);
+        if (walBuffer.remaining() < ENTRY_SIZE) {
+            drainWalBuffer();
+        }
+        walBuffer.putLong(fingerprint.high()).putLong(fingerprint.low()).putLong(source);
+    }
+
+    boolean isFull() {
+        return size >= tableCapacity;
+    }
+
+    /**
+     * Makes every added fingerprint survive a crash.
+     */
+    void sync() throws IOException {
+        drainWalBuffer();
+        wal.force(false);
+    }
+
+    /**
+     * Writes the in-memory table out as a sorted run, empties it and the log, and merges
+     * runs if enough of a similar size have built up.
+     */
+    void writeRun() throws IOException {
+        if (size == 0) {
+            return;
+        }
+        spill();
+        walBuffer.clear();
+        wal.truncate(0);
+        wal.force(true);
+        mergeSimilarRuns();
+    }
+
+    /**
+     * Visits every fingerprint in the store, in no particular order.
+     */
+    void forEach(Visitor visitor) throws IOException {
+        for (int slot = 0; slot <= mask; slot++) {
+            if (used[slot]) {
+                visitor.visit(new Fingerprint(highs[slot], lows[slot]));
+            }
+        }
+        long[] entry = new long[3];
+        for (FingerprintRun run : runs) {
+            FingerprintRun.EntrySource reader = run.reader();
+            for (long i = 0; i < run.entries(); i++) {
+                reader.next(entry);
+                visitor.visit(new Fingerprint(entry[0], entry[1]));
+            }
+        }
+    }
+
+    long size() throws IOException {
+        long total = size;
+        for (FingerprintRun run : runs) {
+            total += run.entries();
+        }
+        return total;
+    }
+
+    int runCount() {
+        return runs.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (wal.isOpen()) {
+                sync();
+            }
+        } finally {
+            wal.close();
+            for (FingerprintRun run : runs) {
+                run.close();
+            }
+        }
+    }
+
+    private void put(long high, long low, long source) {
+        int slot = slot(high);
+        while (used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        highs[slot] = high;
+        lows[slot] = low;
+        sources[slot] = source;
+        size++;
+    }
+
+    private int slot(long high) {
+        // Fingerprints are already uniformly distributed
+        return (int) (high ^ high >>> 32) & mask;
+    }
+
+    private void drainWalBuffer() throws IOException {
+        walBuffer.flip();
+        long position = wal.size();
+        while (walBuffer.hasRemaining()) {
+            position += wal.write(walBuffer, position);
+        }
+        walBuffer.clear();
+    }
+
+    private void replayWal() throws IOException {
+        long entries = wal.size() / ENTRY_SIZE;
+        // A torn last entry was never synced, so it was never reported as seen
+        wal.truncate(entries * ENTRY_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocate(ENTRY_SIZE * 1024);
+        long position = 0;
+        for (long remaining = entries; remaining > 0; ) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), remaining * ENTRY_SIZE));
+            while (buffer.hasRemaining()) {
+                position += wal.read(buffer, position);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                long high = buffer.getLong();
+                long low = buffer.getLong();
+                long source = buffer.getLong();
+                remaining--;
+                if (isFull()) {
+                    // Written with a larger table; spill and keep going
+                    spill();
+                }
+                put(high, low, source);
+            }
+        }
+    }
+
+    // Sorts the table into a new run and empties it; the caller decides what happens to the log
+    private void spill() throws IOException {
+        Integer[] order = new Integer[size];
+        int n = 0;
+        for (int slot = 0; slot <= mask; slot++) {
+            if (used[slot]) {
+                order[n++] = slot;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Fingerprint.compare(highs[a], lows[a], highs[b], lows[b]));
+        int[] next = {0};
+        long id = nextRunId++;
+        Path file = runFile(id);
+        FingerprintRun.write(file, size, entry -> {
+            int slot = order[next[0]++];
+            entry[0] = highs[slot];
+            entry[1] = lows[slot];
+            entry[2] = sources[slot];
+        });
+        runs.add(FingerprintRun.open(file, id));
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private void mergeSimilarRuns() throws IOException {
+        while (true) {
+            List<FingerprintRun> group = similarRuns();
+            if (group == null) {
+                return;
+            }
+            merge(group);
+        }
+    }
+
+    // MERGE_FAN_IN runs of the same size tier (powers of the fan-in times the table size), oldest first
+    private List<FingerprintRun> similarRuns() {
+        List<List<FingerprintRun>> tiers = new ArrayList<>();
+        for (FingerprintRun run : runs) {
+            int tier = 0;
+            for (long limit = tableCapacity; run.entries() > limit && tier < 40; limit *= MERGE_FAN_IN) {
+                tier++;
+            }
+            while (tiers.size() <= tier) {
+                tiers.add(new ArrayList<>());
+            }
+            List<FingerprintRun> sameTier = tiers.get(tier);
+            sameTier.add(run);
+            if (sameTier.size() == MERGE_FAN_IN) {
+                return sameTier;
+            }
+        }
+        return null;
+    }
+
+    private void merge(List<FingerprintRun> group) throws IOException {
+        long total = 0;
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(
+                Comparator.comparing((Cursor cursor) -> cursor.entry[0], Long::compareUnsigned)
+                        .thenComparing(cursor -> cursor.entry[1], Long::compareUnsigned));
+        for (FingerprintRun run : group) {
+            total += run.entries();
+            Cursor cursor = new Cursor(run);
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        long id = nextRunId++;
+        Path file = runFile(id);
+        FingerprintRun.write(file, total, entry -> {
+            Cursor cursor = cursors.poll();
+            System.arraycopy(cursor.entry, 0, entry, 0, 3);
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        });
+        // The merged run is complete on disk before its inputs go
+        FingerprintRun merged = FingerprintRun.open(file, id);
+        runs.removeAll(group);
+        runs.add(merged);
+        for (FingerprintRun run : group) {
+            run.close();
+            Files.delete(run.file());
+        }
+    }
+
+    private Path runFile(long id) {
+        return directory.resolve(String.format("run-%012d.fp", id));
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(Fingerprint fingerprint) throws IOException;
+    }
+
+    private static final class Cursor {
+        final long[] entry = new long[3];
+        final FingerprintRun.EntrySource source;
+        long remaining;
+
+        Cursor(FingerprintRun run) throws IOException {
+            this.source = run.reader();
+            this.remaining = run.entries();
+        }
+
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            source.next(entry);
+            remaining--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.bank.loanchecker.dedup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A Bloom filter in a memory-mapped file, split into one partition of bits per hash
+ * function. Sized for {@code capacity} keys, each partition is then half full, which makes
+ * the false-positive rate 2<sup>-partitions</sup>. The {@code i}-th index of a fingerprint
+ * is {@code high + i * low} (double hashing). Not thread-safe.
+ * <p>
+ * Layout: a {@value #HEADER_SIZE}-byte header (magic, partitions, bits per partition,
+ * capacity, keys added) followed by the partitions, each mapped on its own.
+ */
+final class PartitionedBloomFilter implements Closeable {
+
+    static final int HEADER_SIZE = 64;
+
+    private static final long MAGIC = 0x4c43424c4f4f4d31L;
+    private static final int PARTITIONS = 8;
+    private static final int BITS_PER_PARTITION = 16;
+    private static final int CAPACITY = 24;
+    private static final int COUNT = 32;
+    private static final double LN2 = Math.log(2);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] partitions;
+    private final long bitsPerPartition;
+    private final long capacity;
+
+    private PartitionedBloomFilter(FileChannel channel, int partitionCount, long bitsPerPartition, long capacity)
+            throws IOException {
+        this.channel = channel;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        this.bitsPerPartition = bitsPerPartition;
+        this.capacity = capacity;
+        this.partitions = new MappedByteBuffer[partitionCount];
+        long bytes = bitsPerPartition / 8;
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + i * bytes, bytes);
+        }
+    }
+
+    /**
+     * Creates a filter for {@code capacity} keys at no more than {@code falsePositiveRate}.
+     */
+    static PartitionedBloomFilter create(Path file, long capacity, double falsePositiveRate) throws IOException {
+        int partitionCount = Math.max(1, (int) Math.ceil(-Math.log(falsePositiveRate) / LN2));
+        // Half full at capacity: 1 - e^(-n/m) = 1/2, rounded up to whole words
+        long bitsPerPartition = ((long) Math.ceil(capacity / LN2) + 63) & ~63L;
+        if (bitsPerPartition / 8 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A partition for " + capacity + " keys does not fit one mapping");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        PartitionedBloomFilter filter = new PartitionedBloomFilter(channel, partitionCount, bitsPerPartition, capacity);
+        filter.header.putLong(0, MAGIC);
+        filter.header.putInt(PARTITIONS, partitionCount);
+        filter.header.putLong(BITS_PER_PARTITION, bitsPerPartition);
+        filter.header.putLong(CAPACITY, capacity);
+        filter.header.putLong(COUNT, 0);
+        filter.header.force();
+        return filter;
+    }
+
+    static PartitionedBloomFilter open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException(file + " is not a Bloom filter");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getLong(0) != MAGIC) {
+                throw new IOException(file + " is not a Bloom filter");
+            }
+            return new PartitionedBloomFilter(channel, header.getInt(PARTITIONS),
+                    header.getLong(BITS_PER_PARTITION), header.getLong(CAPACITY));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    boolean mightContain(long high, long low) {
+        for (int i = 0; i < partitions.length; i++) {
+            long bit = Long.remainderUnsigned(high + i * low, bitsPerPartition);
+            if ((partitions[i].getLong((int) (bit >>> 6) << 3) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void add(long high, long low) {
+        for (int i = 0; i < partitions.length; i++) {
+            long bit = Long.remainderUnsigned(high + i * low, bitsPerPartition);
+            int index = (int) (bit >>> 6) << 3;
+            partitions[i].putLong(index, partitions[i].getLong(index) | 1L << bit);
+        }
+        header.putLong(COUNT, header.getLong(COUNT) + 1);
+    }
+
+    long count() {
+        return header.getLong(COUNT);
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    long sizeBytes() {
+        return HEADER_SIZE + partitions.length * (bitsPerPartition / 8);
+    }
+
+    boolean isFull() {
+        return count() >= capacity;
+    }
+
+    void force() {
+        for (MappedByteBuffer partition : partitions) {
+            partition.force();
+        }
+        header.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,112 @@
+package com.bank.loanchecker.dedup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A Bloom filter that grows with the number of keys instead of being sized for the most it
+ * will ever hold. Keys go into the newest {@link PartitionedBloomFilter} generation until it
+ * reaches its capacity; the next generation then holds twice as many keys at half the
+ * false-positive rate. With the first generation at half the target rate, the rates form a
+ * series that never adds up to more than the target, however many generations follow.
+ * Generations are kept as {@code bloom-NNN.bf} files in one directory. Not thread-safe.
+ */
+final class ScalableBloomFilter implements Closeable {
+
+    private final Path directory;
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+    private final List<PartitionedBloomFilter> generations = new ArrayList<>();
+
+    ScalableBloomFilter(Path directory, long initialCapacity, double falsePositiveRate) throws IOException {
+        if (initialCapacity < 1 || !(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Need a positive capacity and a false-positive rate between 0 and 1");
+        }
+        this.directory = directory;
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().matches("bloom-\\d{3}\\.bf"))
+                    .sorted()
+                    .toList();
+        }
+        try {
+            for (Path file : files) {
+                generations.add(PartitionedBloomFilter.open(file));
+            }
+            if (generations.isEmpty()) {
+                addGeneration();
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    boolean mightContain(Fingerprint fingerprint) {
+        // Newest first: it holds the most keys
+        for (int i = generations.size() - 1; i >= 0; i--) {
+            if (generations.get(i).mightContain(fingerprint.high(), fingerprint.low())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void add(Fingerprint fingerprint) throws IOException {
+        PartitionedBloomFilter newest = generations.get(generations.size() - 1);
+        if (newest.isFull()) {
+            newest = addGeneration();
+        }
+        newest.add(fingerprint.high(), fingerprint.low());
+    }
+
+    long count() {
+        long count = 0;
+        for (PartitionedBloomFilter generation : generations) {
+            count += generation.count();
+        }
+        return count;
+    }
+
+    int generations() {
+        return generations.size();
+    }
+
+    long sizeBytes() {
+        long bytes = 0;
+        for (PartitionedBloomFilter generation : generations) {
+            bytes += generation.sizeBytes();
+        }
+        return bytes;
+    }
+
+    void force() {
+        for (PartitionedBloomFilter generation : generations) {
+            generation.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (PartitionedBloomFilter generation : generations) {
+            generation.close();
+        }
+    }
+
+    private PartitionedBloomFilter addGeneration() throws IOException {
+        int index = generations.size();
+        PartitionedBloomFilter generation = PartitionedBloomFilter.create(
+                directory.resolve(String.format("bloom-%03d.bf", index)),
+                initialCapacity << index, falsePositiveRate / (2L << index));
+        generations.add(generation);
+        return generation;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.loanchecker.history;
+
+/**
+ * Credit score ranges that past decisions are indexed and queried by.
+ */
+public enum CreditBand {
+    POOR(0),
+    FAIR(600),
+    GOOD(650),
+    VERY_GOOD(700),
+    EXCELLENT(750);
+
+    private static final CreditBand[] BANDS = values();
+
+    private final int minScore;
+
+    CreditBand(int minScore) {
+        this.minScore = minScore;
+    }
+
+    public int getMinScore() {
+        return minScore;
+    }
+
+    public static CreditBand of(int creditScore) {
+        for (int i = BANDS.length - 1; i > 0; i--) {
+            if (creditScore >= BANDS[i].minScore) {
+                return BANDS[i];
+            }
+        }
+        return POOR;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bank.loanchecker.history;
+
+import com.bank.loanchecker.model.Decision;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.model.LoanType;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * A page of past decisions to find, newest first. Each collection matches any of its values
+ * and an empty or null one matches everything; {@code from} is inclusive and {@code to}
+ * exclusive, either may be null. {@code cursor} is the {@code nextCursor} of the previous
+ * page, or null for the first.
+ */
+public record DecisionQuery(Collection<Decision> decisions, Collection<LoanType> loanTypes,
+                            Collection<EmploymentType> employmentTypes, Collection<CreditBand> creditBands,
+                            Instant from, Instant to, String cursor, int limit) {
+}
@@ -0,0 +1,106 @@
+package com.bank.loanchecker.history;
+
+import com.bank.loanchecker.history.DecisionSegment.Column;
+import com.bank.loanchecker.model.Decision;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.model.LoanType;
+import com.bank.loanchecker.model.ReasonCode;
+import com.bank.loanchecker.money.Money;
+
+import java.time.Instant;
+
+/**
+ * One stored decision, read straight from its segment. A query moves the same instance from
+ * row to row, so it is only valid inside the visitor call that received it.
+ */
+public final class DecisionRow {
+
+    private static final ReasonCode[] REASON_CODES = ReasonCode.values();
+
+    private DecisionSegment segment;
+    private int row;
+
+    DecisionRow moveTo(DecisionSegment segment, int row) {
+        this.segment = segment;
+        this.row = row;
+        return this;
+    }
+
+    /**
+     * The {@code cursor} that continues a query after this row.
+     */
+    public String cursor() {
+        return DecisionStore.cursor(segment.id(), row);
+    }
+
+    public Instant getTime() {
+        return Instant.ofEpochMilli(segment.time(row));
+    }
+
+    public long getTimeMillis() {
+        return segment.time(row);
+    }
+
+    public Decision getDecision() {
+        return segment.decision(row);
+    }
+
+    public ReasonCode getReasonCode() {
+        return REASON_CODES[segment.reasonCode(row)];
+    }
+
+    public LoanType getLoanType() {
+        return segment.loanType(row);
+    }
+
+    public EmploymentType getEmploymentType() {
+        return segment.employmentType(row);
+    }
+
+    public int getCreditScore() {
+        return segment.creditScore(row);
+    }
+
+    public CreditBand getCreditBand() {
+        return segment.creditBand(row);
+    }
+
+    public int getAge() {
+        return segment.age(row);
+    }
+
+    public int getTenureYears() {
+        return segment.tenureYears(row);
+    }
+
+    // Null for an amount beyond what paise can hold
+    public Double getMonthlyIncome() {
+        return rupees(segment.paise(Column.MONTHLY_INCOME, row));
+    }
+
+    public Double getRequestedAmount() {
+        return rupees(segment.paise(Column.REQUESTED_AMOUNT, row));
+    }
+
+    public Double getApprovedAmount() {
+        return rupees(segment.paise(Column.APPROVED_AMOUNT, row));
+    }
+
+    public Double getMonthlyEMI() {
+        return rupees(segment.paise(Column.MONTHLY_EMI, row));
+    }
+
+    public Double getInterestRate() {
+        double rate = segment.interestRate(row);
+        return Double.isNaN(rate) ? null : rate;
+    }
+
+    public Long getCustomerId() {
+        long id = segment.customerId(row);
+        return id == DecisionStore.NONE ? null : id;
+    }
+
+    private static Double rupees(long paise) {
+        return paise == DecisionStore.NONE ? null : Money.toRupees(paise);
+    }
+}
@@ -0,0 +1,343 @@
+package com.bank.loanchecker.history;
+
+import com.bank.loanchecker.model.Decision;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.model.LoanType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Up to {@code capacity} decisions stored column by column, in the order they were made.
+ * The segment being appended to lives on the heap; once full it is written to a file and
+ * memory-mapped read-only. Both have the same layout:
+ * <ul>
+ *     <li>a {@value #HEADER_SIZE}-byte header: magic, rows, first and last decision time and,
+ *     for each indexed field, a mask of the values that occur in the segment, so a query can
+ *     skip segments without reading them;</li>
+ *     <li>each {@link Column} as {@code capacity} fixed-width values;</li>
+ *     <li>for each indexed field (decision, loan type, employment type, credit band), one
+ *     bitmap of rows per value.</li>
+ * </ul>
+ * Times never decrease, so the time column doubles as the time index. One thread appends;
+ * any number may read the rows that were there when they called {@link #rows()}.
+ */
+final class DecisionSegment {
+
+    static final int HEADER_SIZE = 64;
+
+    static final int DECISION = 0;
+    static final int LOAN_TYPE = 1;
+    static final int EMPLOYMENT_TYPE = 2;
+    static final int CREDIT_BAND = 3;
+    private static final Decision[] DECISIONS = Decision.values();
+    private static final LoanType[] LOAN_TYPES = LoanType.values();
+    private static final EmploymentType[] EMPLOYMENT_TYPES = EmploymentType.values();
+    private static final int[] INDEX_VALUES = {DECISIONS.length, LOAN_TYPES.length, EMPLOYMENT_TYPES.length,
+            CreditBand.values().length};
+
+    private static final long MAGIC = 0x4c43444543534731L;
+    private static final int ROWS = 8;
+    private static final int MIN_TIME = 16;
+    private static final int MAX_TIME = 24;
+    private static final int PRESENT = 32;
+
+    /**
+     * The stored fields, in file and row-buffer order.
+     */
+    enum Column {
+        TIME(8),
+        DECISION(1),
+        REASON_CODE(1),
+        LOAN_TYPE(1),
+        EMPLOYMENT_TYPE(1),
+        CREDIT_SCORE(2),
+        AGE(1),
+        TENURE_YEARS(1),
+        MONTHLY_INCOME(8),
+        REQUESTED_AMOUNT(8),
+        APPROVED_AMOUNT(8),
+        MONTHLY_EMI(8),
+        INTEREST_RATE(8),
+        CUSTOMER_ID(8);
+
+        final int width;
+
+        Column(int width) {
+            this.width = width;
+        }
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+    static final int ROW_SIZE;
+    private static final int[] ROW_OFFSETS = new int[COLUMNS.length];
+
+    static {
+        int offset = 0;
+        for (Column column : COLUMNS) {
+            ROW_OFFSETS[column.ordinal()] = offset;
+            offset += column.width;
+        }
+        ROW_SIZE = offset;
+    }
+
+    private final long id;
+    private final ByteBuffer data;
+    private final int capacity;
+    private final int[] columnOffsets = new int[COLUMNS.length];
+    private final int[] bitmapOffsets = new int[INDEX_VALUES.length];
+    private final int words;
+    private volatile int rows;
+
+    private DecisionSegment(long id, ByteBuffer data, int capacity, int rows) {
+        this.id = id;
+        this.data = data;
+        this.capacity = capacity;
+        this.rows = rows;
+        this.words = (capacity + 63) >>> 6;
+        int offset = HEADER_SIZE;
+        for (Column column : COLUMNS) {
+            columnOffsets[column.ordinal()] = offset;
+            offset += column.width * capacity;
+        }
+        for (int index = 0; index < INDEX_VALUES.length; index++) {
+            bitmapOffsets[index] = offset;
+            offset += INDEX_VALUES[index] * words * 8;
+        }
+    }
+
+    static DecisionSegment create(long id, int capacity) {
+        return new DecisionSegment(id, ByteBuffer.allocate(size(capacity)), capacity, 0);
+    }
+
+    static DecisionSegment open(Path file, long id) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.read(header, 0) != HEADER_SIZE || header.getLong(0) != MAGIC) {
+                throw new IOException(file + " is not a decision segment");
+            }
+            int rows = header.getInt(ROWS);
+            if (channel.size() != size(rows)) {
+                throw new IOException(file + " is truncated");
+            }
+            return new DecisionSegment(id, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), rows, rows);
+        }
+    }
+
+    private static int size(int capacity) {
+        int words = (capacity + 63) >>> 6;
+        int values = 0;
+        for (int count : INDEX_VALUES) {
+            values += count;
+        }
+        return HEADER_SIZE + ROW_SIZE * capacity + values * words * 8;
+    }
+
+    /**
+     * Appends a row laid out as the columns in order, {@link #ROW_SIZE} bytes from the
+     * buffer's position.
+     */
+    void append(ByteBuffer row) {
+        int at = rows;
+        if (at == capacity) {
+            throw new IllegalStateException("Segment " + id + " is full");
+        }
+        int start = row.position();
+        for (Column column : COLUMNS) {
+            int width = column.width;
+            data.put(columnOffsets[column.ordinal()] + at * width, row, start + ROW_OFFSETS[column.ordinal()], width);
+        }
+        long time = data.getLong(columnOffsets[Column.TIME.ordinal()] + at * 8);
+        if (at == 0) {
+            data.putLong(MIN_TIME, time);
+        }
+        data.putLong(MAX_TIME, time);
+        index(DECISION, at, decision(at).ordinal());
+        index(LOAN_TYPE, at, loanType(at).ordinal());
+        index(EMPLOYMENT_TYPE, at, employmentType(at).ordinal());
+        index(CREDIT_BAND, at, creditBand(at).ordinal());
+        data.putInt(ROWS, at + 1);
+        // Publishes the row to readers
+        rows = at + 1;
+    }
+
+    private void index(int index, int row, int value) {
+        int word = bitmapOffsets[index] + (value * words + (row >>> 6)) * 8;
+        data.putLong(word, data.getLong(word) | 1L << row);
+        int present = PRESENT + index * 4;
+        data.putInt(present, data.getInt(present) | 1 << value);
+    }
+
+    /**
+     * Writes the rows as a segment file sized for just them, through a temporary file that is
+     * forced and then renamed.
+     */
+    void writeTo(Path file) throws IOException {
+        int count = rows;
+        int countWords = (count + 63) >>> 6;
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = data.slice(0, HEADER_SIZE).putLong(0, MAGIC);
+            writeFully(channel, header);
+            for (Column column : COLUMNS) {
+                writeFully(channel, data.slice(columnOffsets[column.ordinal()], count * column.width));
+            }
+            for (int index = 0; index < INDEX_VALUES.length; index++) {
+                for (int value = 0; value < INDEX_VALUES[index]; value++) {
+                    writeFully(channel, data.slice(bitmapOffsets[index] + value * words * 8, countWords * 8));
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    long id() {
+        return id;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    boolean isFull() {
+        return rows == capacity;
+    }
+
+    /**
+     * Whether some row may match: every mask (0 for any value) shares a value with the segment
+     * and the time range overlaps {@code [from, to)}.
+     */
+    boolean mayMatch(int[] masks, long from, long to) {
+        if (rows == 0 || data.getLong(MAX_TIME) < from || data.getLong(MIN_TIME) >= to) {
+            return false;
+        }
+        for (int index = 0; index < masks.length; index++) {
+            if (masks[index] != 0 && (data.getInt(PRESENT + index * 4) & masks[index]) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The first row before {@code limit} with a time at or after {@code time}.
+     */
+    int firstAtOrAfter(long time, int limit) {
+        int low = 0;
+        int high = limit;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (time(mid) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Visits the rows in {@code [from, to)} that match {@code masks}, last first, until the
+     * visitor returns false. Rows are found a bitmap word at a time: the bitmaps of the
+     * values asked for are OR-ed within each field and AND-ed across fields.
+     */
+    boolean scan(int[] masks, int from, int to, RowVisitor visitor) throws IOException {
+        for (int word = (to - 1) >> 6; word >= 0 && word >= from >>> 6; word--) {
+            long matches = -1L;
+            for (int index = 0; index < masks.length && matches != 0; index++) {
+                int mask = masks[index];
+                if (mask == 0) {
+                    continue;
+                }
+                long any = 0;
+                for (int value = 0; mask >>> value != 0; value++) {
+                    if ((mask >>> value & 1) != 0) {
+                        any |= data.getLong(bitmapOffsets[index] + (value * words + word) * 8);
+                    }
+                }
+                matches &= any;
+            }
+            int base = word << 6;
+            if (to - base < 64) {
+                matches &= (1L << (to - base)) - 1;
+            }
+            if (from > base) {
+                matches &= -1L << (from - base);
+            }
+            while (matches != 0) {
+                int bit = 63 - Long.numberOfLeadingZeros(matches);
+                matches &= ~(1L << bit);
+                if (!visitor.visit(this, base + bit)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    long time(int row) {
+        return data.getLong(columnOffsets[Column.TIME.ordinal()] + row * 8);
+    }
+
+    Decision decision(int row) {
+        return DECISIONS[data.get(columnOffsets[Column.DECISION.ordinal()] + row)];
+    }
+
+    int reasonCode(int row) {
+        return data.get(columnOffsets[Column.REASON_CODE.ordinal()] + row);
+    }
+
+    LoanType loanType(int row) {
+        return LOAN_TYPES[data.get(columnOffsets[Column.LOAN_TYPE.ordinal()] + row)];
+    }
+
+    EmploymentType employmentType(int row) {
+        return EMPLOYMENT_TYPES[data.get(columnOffsets[Column.EMPLOYMENT_TYPE.ordinal()] + row)];
+    }
+
+    int creditScore(int row) {
+        return data.getShort(columnOffsets[Column.CREDIT_SCORE.ordinal()] + row * 2);
+    }
+
+    CreditBand creditBand(int row) {
+        return CreditBand.of(creditScore(row));
+    }
+
+    int age(int row) {
+        return data.get(columnOffsets[Column.AGE.ordinal()] + row) & 0xff;
+    }
+
+    int tenureYears(int row) {
+        return data.get(columnOffsets[Column.TENURE_YEARS.ordinal()] + row) & 0xff;
+    }
+
+    long paise(Column column, int row) {
+        return data.getLong(columnOffsets[column.ordinal()] + row * 8);
+    }
+
+    double interestRate(int row) {
+        return data.getDouble(columnOffsets[Column.INTEREST_RATE.ordinal()] + row * 8);
+    }
+
+    long customerId(int row) {
+        return data.getLong(columnOffsets[Column.CUSTOMER_ID.ordinal()] + row * 8);
+    }
+
+    @FunctionalInterface
+    interface RowVisitor {
+        boolean visit(DecisionSegment segment, int row) throws IOException;
+    }
+}
@@ -0,0 +1,435 @@
+package com.bank.loanchecker.history;
+
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.money.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Past decisions from the web form and {@code /api/check-eligibility}, kept under
+ * {@code loanchecker.decisions.dir} for ops and compliance queries without an external
+ * database. Off when the directory is blank.
+ * <p>
+ * Decisions are stored column by column in {@link DecisionSegment}s of
+ * {@code loanchecker.decisions.segment-rows} rows, each indexed by decision, loan type,
+ * employment type, credit band and time. A query skips segments whose header rules them out
+ * and reads only the bitmap words and rows of the ones left, newest first, handing each row
+ * to the caller as it is found; memory use does not depend on how many rows match.
+ * <p>
+ * The segment being filled is also appended row by row to {@code active.log}, which is
+ * replayed at start-up, so decisions survive a restart or a crash of the process. The log
+ * is not forced; a machine crash may lose the most recent decisions.
+ * <p>
+ * {@link #record} only encodes the row and queues it for a single {@code decision-writer}
+ * thread, which writes the log and seals full segments, so a decision shows up in queries
+ * shortly after it is recorded. When {@code loanchecker.decisions.queue-capacity} rows are
+ * waiting, further decisions are dropped and counted rather than holding up the request.
+ */
+@Service
+public class DecisionStore {
+
+    static final long NONE = Long.MIN_VALUE;
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionStore.class);
+    private static final String ACTIVE_LOG = "active.log";
+    private static final int LOG_HEADER_SIZE = 8;
+    private static final int MAX_LIMIT = 1000;
+    private static final byte[] STOP = new byte[0];
+
+    private final Path directory;
+    private final int segmentRows;
+    private final LongSupplier clock;
+    // Encoded rows, flush latches and STOP
+    private final BlockingQueue<Object> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Thread writer;
+    private FileChannel activeLog;
+    // Owned by the writer thread once it is started
+    private long lastTime;
+    private long reportedDrops;
+    // Sealed segments oldest first, then the one being filled; replaced as a whole
+    private volatile List<DecisionSegment> segments = List.of();
+
+    @Autowired
+    public DecisionStore(@Value("${loanchecker.decisions.dir:}") String directory,
+                         @Value("${loanchecker.decisions.segment-rows:65536}") int segmentRows,
+                         @Value("${loanchecker.decisions.queue-capacity:65536}") int queueCapacity) {
+        this(directory, segmentRows, queueCapacity, System::currentTimeMillis);
+    }
+
+    DecisionStore(String directory, int segmentRows, int queueCapacity, LongSupplier clock) {
+        if (segmentRows < 1) {
+            throw new IllegalArgumentException("loanchecker.decisions.segment-rows must be positive");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("loanchecker.decisions.queue-capacity must be positive");
+        }
+        this.directory = directory.isBlank() ? null : Path.of(directory).toAbsolutePath();
+        this.segmentRows = segmentRows;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (directory == null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<DecisionSegment> sealed = new ArrayList<>();
+        long nextId = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                } else if (name.matches("segment-\\d{12}\\.dcs")) {
+                    long id = Long.parseLong(name.substring(8, 20));
+                    sealed.add(DecisionSegment.open(file, id));
+                    nextId = id + 1;
+                }
+            }
+        }
+        DecisionSegment active = replayActiveLog(nextId);
+        if (active.rows() > 0) {
+            lastTime = active.time(active.rows() - 1);
+        } else if (!sealed.isEmpty()) {
+            DecisionSegment newest = sealed.get(sealed.size() - 1);
+            lastTime = newest.time(newest.rows() - 1);
+        }
+        sealed.add(active);
+        segments = List.copyOf(sealed);
+        log.info("Decision store in {} holds {} decisions", directory, size());
+        writer = new Thread(this::write, "decision-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Writes out the decisions already queued, then stops the writer and closes the log.
+     */
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        Thread running = writer;
+        if (running != null) {
+            writer = null;
+            try {
+                queue.put(STOP);
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (activeLog != null) {
+            activeLog.force(false);
+            activeLog.close();
+            activeLog = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Queues the decision {@code result} for {@code input} to be stored; {@code customerId} is
+     * that of a stored customer profile, or null. Amounts that cannot be held in paise are
+     * stored as missing.
+     */
+    public void record(EligibilityInput input, Long customerId, LoanEligibilityResult result) {
+        if (writer == null) {
+            return;
+        }
+        byte[] encoded = new byte[DecisionSegment.ROW_SIZE];
+        ByteBuffer.wrap(encoded)
+                .putLong(clock.getAsLong())
+                .put((byte) result.getReasonCode().getDecision().ordinal())
+                .put((byte) result.getReasonCode().ordinal())
+                .put((byte) input.getLoanType().ordinal())
+                .put((byte) input.getEmploymentType().ordinal())
+                .putShort((short) input.getCreditScore())
+                .put((byte) input.getAge())
+                .put((byte) input.getTenureYears())
+                .putLong(paise(input.getMonthlyIncome()))
+                .putLong(paise(input.getRequestedAmount()))
+                .putLong(paise(result.getApprovedAmount()))
+                .putLong(paise(result.getMonthlyEMI()))
+                .putDouble(result.getInterestRate() != null ? result.getInterestRate() : Double.NaN)
+                .putLong(customerId != null ? customerId : NONE);
+        if (!queue.offer(encoded)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits until the decisions recorded before this call are stored and visible to queries.
+     */
+    public void flush() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        CountDownLatch written = new CountDownLatch(1);
+        queue.put(written);
+        written.await();
+    }
+
+    /**
+     * Decisions not stored because the writer's queue was full.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Hands the rows matching {@code query} to {@code visitor}, newest first, and returns the
+     * cursor for the next page, or null if this page was the last.
+     */
+    public String query(DecisionQuery query, RowVisitor visitor) throws IOException {
+        validate(query);
+        int[] masks = {
+                mask(query.decisions()),
+                mask(query.loanTypes()),
+                mask(query.employmentTypes()),
+                mask(query.creditBands())
+        };
+        long from = query.from() != null ? query.from().toEpochMilli() : Long.MIN_VALUE;
+        long to = query.to() != null ? query.to().toEpochMilli() : Long.MAX_VALUE;
+        long startSegment = Long.MAX_VALUE;
+        int startRow = Integer.MAX_VALUE;
+        if (query.cursor() != null) {
+            long position = parseCursor(query.cursor());
+            startSegment = position >>> 32;
+            startRow = (int) position;
+        }
+
+        DecisionRow current = new DecisionRow();
+        int[] remaining = {query.limit()};
+        String[] next = {null};
+        List<DecisionSegment> snapshot = segments;
+        for (int i = snapshot.size() - 1; i >= 0 && remaining[0] > 0; i--) {
+            DecisionSegment segment = snapshot.get(i);
+            if (segment.id() > startSegment || !segment.mayMatch(masks, from, to)) {
+                continue;
+            }
+            int rows = segment.rows();
+            int end = segment.id() == startSegment ? Math.min(rows, startRow) : rows;
+            int first = from == Long.MIN_VALUE ? 0 : segment.firstAtOrAfter(from, end);
+            int last = to == Long.MAX_VALUE ? end : segment.firstAtOrAfter(to, end);
+            segment.scan(masks, first, last, (matched, at) -> {
+                visitor.visit(current.moveTo(matched, at));
+                if (--remaining[0] == 0) {
+                    next[0] = cursor(matched.id(), at);
+                    return false;
+                }
+                return true;
+            });
+        }
+        return next[0];
+    }
+
+    /**
+     * Throws {@link IllegalArgumentException} if {@code query} has a limit out of range or a
+     * cursor that no page returned, so callers can reject it before streaming anything.
+     */
+    public void validate(DecisionQuery query) {
+        if (query.limit() < 1 || query.limit() > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (query.cursor() != null) {
+            parseCursor(query.cursor());
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (DecisionSegment segment : segments) {
+            size += segment.rows();
+        }
+        return size;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    static String cursor(long segment, int row) {
+        return Long.toString(segment << 32 | row, 36);
+    }
+
+    private static long parseCursor(String cursor) {
+        try {
+            long position = Long.parseLong(cursor, 36);
+            if (position < 0) {
+                throw new NumberFormatException();
+            }
+            return position;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static int mask(Collection<? extends Enum<?>> values) {
+        int mask = 0;
+        if (values != null) {
+            for (Enum<?> value : values) {
+                mask |= 1 << value.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    private static long paise(Double rupees) {
+        return rupees != null && Money.isInRange(rupees) ? Money.toPaise(rupees) : NONE;
+    }
+
+    // The writer thread: appends queued rows to the log and the active segment until STOP
+    private void write() {
+        List<Object> batch = new ArrayList<>();
+        ByteBuffer rows = ByteBuffer.allocate(DecisionSegment.ROW_SIZE * 256);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch, rows.capacity() / DecisionSegment.ROW_SIZE - 1);
+            boolean stop = false;
+            rows.clear();
+            for (Object item : batch) {
+                if (item instanceof byte[] encoded && encoded != STOP) {
+                    rows.put(encoded);
+                } else {
+                    // Rows queued before a flush are stored before it is released
+                    stop |= item == STOP;
+                    append(rows.flip());
+                    rows.clear();
+                    if (item instanceof CountDownLatch written) {
+                        written.countDown();
+                    }
+                }
+            }
+            append(rows.flip());
+            batch.clear();
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                log.warn("Decision store queue full, dropped {} decisions", drops - reportedDrops);
+                reportedDrops = drops;
+            }
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    // Writes whole rows to the log, then appends them to the active segment, sealing it when full
+    private void append(ByteBuffer rows) {
+        try {
+            while (rows.hasRemaining()) {
+                DecisionSegment active = segments.get(segments.size() - 1);
+                if (active.isFull()) {
+                    active = seal(active);
+                }
+                int count = Math.min(rows.remaining() / DecisionSegment.ROW_SIZE, segmentRows - active.rows());
+                int start = rows.position();
+                for (int i = 0; i < count; i++) {
+                    // Times never go backwards within the store, whatever the clock does
+                    int at = start + i * DecisionSegment.ROW_SIZE;
+                    lastTime = Math.max(lastTime, rows.getLong(at));
+                    rows.putLong(at, lastTime);
+                }
+                ByteBuffer chunk = rows.slice(start, count * DecisionSegment.ROW_SIZE);
+                long position = activeLog.size();
+                while (chunk.hasRemaining()) {
+                    position += activeLog.write(chunk, position);
+                }
+                chunk.clear();
+                for (int i = 0; i < count; i++) {
+                    active.append(chunk);
+                    chunk.position(chunk.position() + DecisionSegment.ROW_SIZE);
+                }
+                rows.position(start + count * DecisionSegment.ROW_SIZE);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The writer keeps going; the rows of this batch are lost
+            log.error("Could not store {} decisions", rows.remaining() / DecisionSegment.ROW_SIZE, e);
+            rows.position(rows.limit());
+        }
+    }
+
+    // Writes the full segment out, then starts a new one and its log
+    private DecisionSegment seal(DecisionSegment active) throws IOException {
+        active.writeTo(segmentFile(active.id()));
+        DecisionSegment next = DecisionSegment.create(active.id() + 1, segmentRows);
+        List<DecisionSegment> updated = new ArrayList<>(segments);
+        updated.set(updated.size() - 1, DecisionSegment.open(segmentFile(active.id()), active.id()));
+        updated.add(next);
+        startLog(next.id());
+        segments = List.copyOf(updated);
+        return next;
+    }
+
+    private void startLog(long segmentId) throws IOException {
+        activeLog.truncate(0);
+        activeLog.write(ByteBuffer.allocate(LOG_HEADER_SIZE).putLong(0, segmentId), 0);
+        activeLog.force(false);
+    }
+
+    private DecisionSegment replayActiveLog(long nextId) throws IOException {
+        activeLog = FileChannel.open(directory.resolve(ACTIVE_LOG), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+        // A log for an already sealed segment was left by a crash just after sealing
+        if (activeLog.read(header, 0) != LOG_HEADER_SIZE || header.getLong(0) != nextId) {
+            startLog(nextId);
+            return DecisionSegment.create(nextId, segmentRows);
+        }
+        DecisionSegment active = DecisionSegment.create(nextId, segmentRows);
+        long rows = Math.min(segmentRows, (activeLog.size() - LOG_HEADER_SIZE) / DecisionSegment.ROW_SIZE);
+        long end = LOG_HEADER_SIZE + rows * DecisionSegment.ROW_SIZE;
+        // A torn last row
+        activeLog.truncate(end);
+        ByteBuffer buffer = ByteBuffer.allocate(DecisionSegment.ROW_SIZE * 256);
+        for (long position = LOG_HEADER_SIZE; position < end; ) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+            while (buffer.hasRemaining()) {
+                position += activeLog.read(buffer, position);
+            }
+            buffer.flip();
+            for (; buffer.hasRemaining(); buffer.position(buffer.position() + DecisionSegment.ROW_SIZE)) {
+                active.append(buffer);
+            }
+        }
+        return active;
+    }
+
+    private Path segmentFile(long id) {
+        return directory.resolve(String.format("segment-%012d.dcs", id));
+    }
+
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(DecisionRow row) throws IOException;
+    }
+}
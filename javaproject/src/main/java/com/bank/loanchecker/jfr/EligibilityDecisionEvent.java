@@ -0,0 +1,37 @@
+package com.bank.loanchecker.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One eligibility decision made by {@code LoanEligibilityService}. The event's duration is
+ * the time spent deciding.
+ */
+@Name("com.bank.loanchecker.EligibilityDecision")
+@Label("Eligibility Decision")
+@Category({"Loan Checker", "Decisions"})
+@Description("An eligibility decision with its outcome and, for rejections, the rule stage that rejected it")
+@StackTrace(false)
+public class EligibilityDecisionEvent extends Event {
+
+    @Label("Loan Type")
+    public String loanType;
+
+    @Label("Employment Type")
+    public String employmentType;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Rejection Stage")
+    @Description("Null for approvals")
+    public String rejectionStage;
+
+    @Label("Credit Score")
+    public int creditScore;
+
+    @Label("Requested Amount")
+    public double requestedAmount;
+
+    @Label("Approved Amount")
+    public double approvedAmount;
+}
@@ -0,0 +1,24 @@
+package com.bank.loanchecker.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One call of a {@code LoanController} endpoint, from entering the handler method to
+ * returning from it (request parsing and response writing are not included).
+ */
+@Name("com.bank.loanchecker.Endpoint")
+@Label("Loan Endpoint")
+@Category({"Loan Checker", "Endpoints"})
+@StackTrace(false)
+public class EndpointEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Loan Type")
+    public String loanType;
+
+    @Label("Outcome")
+    @Description("Decision, or what the endpoint returned instead of one")
+    public String outcome;
+}
@@ -0,0 +1,25 @@
+package com.bank.loanchecker.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One batch taken off the input queue by {@code QueueConsumer}. The event's duration is the
+ * time from reading the batch to committing it.
+ */
+@Name("com.bank.loanchecker.QueueBatch")
+@Label("Queue Batch")
+@Category({"Loan Checker", "Queue"})
+@StackTrace(false)
+public class QueueBatchEvent extends Event {
+
+    @Label("Records")
+    public int records;
+
+    @Label("Invalid Records")
+    public int invalid;
+
+    @Label("Oldest Record Age")
+    @Description("End-to-end latency of the longest-waiting record in the batch")
+    @Timespan(Timespan.MICROSECONDS)
+    public long maxLatency;
+}
@@ -0,0 +1,165 @@
+package com.bank.loanchecker.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
+/**
+ * Progress of a bulk eligibility job. Offsets into the input and result files are part of
+ * the persisted checkpoint but not of the public view.
+ */
+public class BulkJob {
+    private String id;
+    private BulkJobStatus status;
+    private Instant submittedAt;
+    private Instant updatedAt;
+    private long totalLines;
+    private long processedLines;
+    private long approvedCount;
+    private long rejectedCount;
+    private long invalidCount;
+    private String error;
+    private long inputOffset;
+    private long outputOffset;
+    private boolean compact;
+
+    public BulkJob() {}
+
+    public BulkJob(String id, long totalLines, Instant submittedAt) {
+        this.id = id;
+        this.status = BulkJobStatus.QUEUED;
+        this.totalLines = totalLines;
+        this.submittedAt = submittedAt;
+        this.updatedAt = submittedAt;
+    }
+
+    public BulkJob copy() {
+        BulkJob copy = new BulkJob(id, totalLines, submittedAt);
+        copy.status = status;
+        copy.updatedAt = updatedAt;
+        copy.processedLines = processedLines;
+        copy.approvedCount = approvedCount;
+        copy.rejectedCount = rejectedCount;
+        copy.invalidCount = invalidCount;
+        copy.error = error;
+        copy.inputOffset = inputOffset;
+        copy.outputOffset = outputOffset;
+        copy.compact = compact;
+        return copy;
+    }
+
+    public double getProgress() {
+        return totalLines == 0 ? (status == BulkJobStatus.COMPLETED ? 1.0 : 0.0)
+                : (double) processedLines / totalLines;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public BulkJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BulkJobStatus status) {
+        this.status = status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getTotalLines() {
+        return totalLines;
+    }
+
+    public void setTotalLines(long totalLines) {
+        this.totalLines = totalLines;
+    }
+
+    public long getProcessedLines() {
+        return processedLines;
+    }
+
+    public void setProcessedLines(long processedLines) {
+        this.processedLines = processedLines;
+    }
+
+    public long getApprovedCount() {
+        return approvedCount;
+    }
+
+    public void setApprovedCount(long approvedCount) {
+        this.approvedCount = approvedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public long getInvalidCount() {
+        return invalidCount;
+    }
+
+    public void setInvalidCount(long invalidCount) {
+        this.invalidCount = invalidCount;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @JsonIgnore
+    public long getInputOffset() {
+        return inputOffset;
+    }
+
+    public void setInputOffset(long inputOffset) {
+        this.inputOffset = inputOffset;
+    }
+
+    /**
+     * Whether result lines carry only codes and amounts (see {@link com.bank.loanchecker.model.CompactResult}).
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    @JsonIgnore
+    public long getOutputOffset() {
+        return outputOffset;
+    }
+
+    public void setOutputOffset(long outputOffset) {
+        this.outputOffset = outputOffset;
+    }
+}
@@ -0,0 +1,105 @@
+package com.bank.loanchecker.job;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Fans job progress out to Server-Sent Events subscribers. Each checkpoint is sent as a
+ * {@code progress} event; the final state is sent as {@code complete} and closes the stream.
+ */
+@Component
+public class BulkJobEvents {
+
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+
+    public BulkJobEvents(@Value("${loanchecker.jobs.sse-timeout-ms:1800000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /** Reads the latest state of a job; {@link BulkJobProcessor#find} in production. */
+    @FunctionalInterface
+    public interface JobLookup {
+        Optional<BulkJob> find(String id) throws IOException;
+    }
+
+    /**
+     * Subscribes to a job's progress. The job is looked up again once the subscriber is
+     * registered, so one that arrives just after the final checkpoint still gets
+     * {@code complete} instead of waiting for a publish that has already happened.
+     */
+    public SseEmitter subscribe(BulkJob current, JobLookup lookup) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        if (current.getStatus().isFinished()) {
+            sendOrDrop(current.getId(), emitter, "complete", current);
+            emitter.complete();
+            return emitter;
+        }
+
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(current.getId(), id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        Runnable remove = () -> emitters.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        sendOrDrop(current.getId(), emitter, "progress", current);
+
+        try {
+            Optional<BulkJob> latest = lookup.find(current.getId());
+            if (latest.isPresent() && latest.get().getStatus().isFinished()) {
+                finish(emitters, emitter, latest.get());
+                subscribers.computeIfPresent(current.getId(), (id, list) -> list.isEmpty() ? null : list);
+            }
+        } catch (IOException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    void publish(BulkJob snapshot) {
+        List<SseEmitter> emitters = subscribers.get(snapshot.getId());
+        if (emitters == null) {
+            return;
+        }
+        if (!snapshot.getStatus().isFinished()) {
+            for (SseEmitter emitter : emitters) {
+                sendOrDrop(snapshot.getId(), emitter, "progress", snapshot);
+            }
+            return;
+        }
+        subscribers.remove(snapshot.getId());
+        for (SseEmitter emitter : emitters) {
+            finish(emitters, emitter, snapshot);
+        }
+    }
+
+    /** Sends {@code complete} and closes the stream, unless the other path already did. */
+    private void finish(List<SseEmitter> emitters, SseEmitter emitter, BulkJob snapshot) {
+        if (emitters.remove(emitter) && sendOrDrop(snapshot.getId(), emitter, "complete", snapshot)) {
+            emitter.complete();
+        }
+    }
+
+    private boolean sendOrDrop(String jobId, SseEmitter emitter, String name, BulkJob snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(snapshot));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            List<SseEmitter> emitters = subscribers.get(jobId);
+            if (emitters != null) {
+                emitters.remove(emitter);
+            }
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.bank.loanchecker.job;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.dedup.DuplicateDetector;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.scoring.LineReader;
+import com.bank.loanchecker.scoring.LineScorer;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs bulk jobs on a fixed worker pool. A job's input is read line by line from its last
+ * checkpoint; every line produces one result line ({@code result}, {@code errors} for
+ * validation failures, or {@code error} for unparseable JSON). Every
+ * {@code checkpointInterval} lines the results are forced to disk before the checkpoint is
+ * replaced, so after a crash the results file is truncated back to the checkpoint and the
+ * job resumes without duplicating or losing lines. Duplicate detection is flushed before each
+ * checkpoint too, and a resumed line counts as the same source, so it is not flagged against itself.
+ */
+@Service
+public class BulkJobProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkJobProcessor.class);
+
+    private final BulkJobStore store;
+    private final BulkJobEvents events;
+    private final LineScorer lineScorer;
+    private final DuplicateDetector duplicateDetector;
+    private final ObjectMapper objectMapper;
+    private final int checkpointInterval;
+    private final ExecutorService workers;
+    private final Map<String, BulkJob> activeJobs = new ConcurrentHashMap<>();
+
+    public BulkJobProcessor(BulkJobStore store, BulkJobEvents events, LoanEligibilityService loanEligibilityService,
+                            LoanApplicationValidator validator, CustomerStore customerStore,
+                            ObjectMapper objectMapper, DuplicateDetector duplicateDetector,
+                            @Value("${loanchecker.jobs.workers:2}") int workerCount,
+                            @Value("${loanchecker.jobs.checkpoint-interval:1000}") int checkpointInterval) {
+        this.store = store;
+        this.events = events;
+        this.lineScorer = new LineScorer(loanEligibilityService, validator, customerStore, objectMapper, duplicateDetector);
+        this.duplicateDetector = duplicateDetector;
+        this.objectMapper = objectMapper;
+        this.checkpointInterval = checkpointInterval;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void resumeUnfinishedJobs() throws IOException {
+        for (BulkJob job : store.findUnfinished()) {
+            log.info("Resuming bulk job {} at line {}", job.getId(), job.getProcessedLines());
+            enqueue(job);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return store.isEnabled();
+    }
+
+    public BulkJob submit(InputStream input) throws IOException {
+        return submit(input, false);
+    }
+
+    public BulkJob submit(InputStream input, boolean compact) throws IOException {
+        BulkJob job = store.create(input, compact);
+        enqueue(job);
+        return job.copy();
+    }
+
+    public Optional<BulkJob> find(String id) throws IOException {
+        BulkJob active = activeJobs.get(id);
+        return active != null ? Optional.of(active) : store.find(id);
+    }
+
+    public byte[] readResults(BulkJob job, long offset, int maxBytes) throws IOException {
+        return store.readResults(job, offset, maxBytes);
+    }
+
+    private void enqueue(BulkJob job) {
+        activeJobs.put(job.getId(), job.copy());
+        workers.execute(() -> run(job));
+    }
+
+    private void run(BulkJob job) {
+        try {
+            job.setStatus(BulkJobStatus.RUNNING);
+            process(job);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            job.setStatus(BulkJobStatus.COMPLETED);
+            checkpoint(job);
+        } catch (ClosedByInterruptException e) {
+            log.info("Bulk job {} stopped at line {}, will resume from its last checkpoint",
+                    job.getId(), job.getProcessedLines());
+        } catch (Exception e) {
+            log.error("Bulk job {} failed", job.getId(), e);
+            job.setStatus(BulkJobStatus.FAILED);
+            job.setError(e.getMessage());
+            try {
+                checkpoint(job);
+            } catch (IOException checkpointFailure) {
+                log.error("Could not record failure of bulk job {}", job.getId(), checkpointFailure);
+            }
+        } finally {
+            if (job.getStatus().isFinished()) {
+                activeJobs.remove(job.getId());
+            }
+        }
+    }
+
+    private void process(BulkJob job) throws IOException {
+        try (FileChannel input = FileChannel.open(store.inputFile(job), StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(store.resultsFile(job), StandardOpenOption.WRITE)) {
+            // Anything past the last checkpoint was written by an interrupted run
+            output.truncate(job.getOutputOffset());
+            output.position(job.getOutputOffset());
+            input.position(job.getInputOffset());
+
+            LineReader lines = new LineReader(Channels.newInputStream(input),
+                    job.getInputOffset());
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(output), 64 * 1024);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(null);
+
+            long lineNumber = job.getProcessedLines();
+            int sinceCheckpoint = 0;
+            while (lines.next()) {
+                lineNumber++;
+                if (!lines.isBlank()) {
+                    processLine(job, lineNumber, lines, generator);
+                }
+                job.setProcessedLines(lineNumber);
+                job.setInputOffset(lines.position());
+
+                if (++sinceCheckpoint >= checkpointInterval) {
+                    commit(job, generator, output);
+                    sinceCheckpoint = 0;
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                }
+            }
+            commit(job, generator, output);
+        }
+    }
+
+    private void processLine(BulkJob job, long lineNumber, LineReader lines, JsonGenerator generator) throws IOException {
+        LoanEligibilityResult result = lineScorer.score(lines.buffer(), lines.length(), "line", lineNumber,
+                job.isCompact(), DuplicateDetector.source(job.getId(), lineNumber), generator);
+        if (result == null) {
+            job.setInvalidCount(job.getInvalidCount() + 1);
+        } else if (result.isEligible()) {
+            job.setApprovedCount(job.getApprovedCount() + 1);
+        } else {
+            job.setRejectedCount(job.getRejectedCount() + 1);
+        }
+    }
+
+    private void commit(BulkJob job, JsonGenerator generator, FileChannel output) throws IOException {
+        generator.flush();
+        output.force(false);
+        duplicateDetector.flush();
+        job.setOutputOffset(output.position());
+        checkpoint(job);
+    }
+
+    private void checkpoint(BulkJob job) throws IOException {
+        job.setUpdatedAt(Instant.now());
+        store.save(job);
+        BulkJob snapshot = job.copy();
+        activeJobs.put(job.getId(), snapshot);
+        events.publish(snapshot);
+    }
+}
@@ -0,0 +1,248 @@
+package com.bank.loanchecker.job;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Local, file-backed store for bulk jobs. Each job gets its own directory holding the
+ * uploaded input, the results written so far and a {@code job.properties} checkpoint that
+ * is replaced atomically, so a job can be resumed from its last checkpoint after a restart.
+ * Off when the directory is blank: no job is found and new ones are refused.
+ */
+@Component
+public class BulkJobStore {
+
+    static final String INPUT_FILE = "input.ndjson";
+    static final String RESULTS_FILE = "results.ndjson";
+    static final String CHECKPOINT_FILE = "job.properties";
+
+    private final Path root;
+
+    @Autowired
+    public BulkJobStore(@Value("${loanchecker.jobs.dir:}") String root) {
+        this(root.isBlank() ? null : Path.of(root));
+    }
+
+    /**
+     * A store in {@code root}, or one that is off if it is null.
+     */
+    public BulkJobStore(Path root) {
+        this.root = root;
+    }
+
+    public boolean isEnabled() {
+        return root != null;
+    }
+
+    public BulkJob create(InputStream input) throws IOException {
+        return create(input, false);
+    }
+
+    /**
+     * Copies the upload into a new job directory and records the job as queued.
+     */
+    public BulkJob create(InputStream input, boolean compact) throws IOException {
+        if (root == null) {
+            throw new IllegalStateException("The bulk job store is off");
+        }
+        String id = UUID.randomUUID().toString();
+        Path directory = root.resolve(id);
+        Files.createDirectories(directory);
+
+        long lines = 0;
+        boolean pendingLine = false;
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(directory.resolve(INPUT_FILE))) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                        pendingLine = false;
+                    } else {
+                        pendingLine = true;
+                    }
+                }
+            }
+        }
+        Files.createFile(directory.resolve(RESULTS_FILE));
+
+        BulkJob job = new BulkJob(id, pendingLine ? lines + 1 : lines, Instant.now());
+        job.setCompact(compact);
+        save(job);
+        return job;
+    }
+
+    public Optional<BulkJob> find(String id) throws IOException {
+        if (root == null || !isValidId(id)) {
+            return Optional.empty();
+        }
+        Path checkpoint = root.resolve(id).resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return Optional.empty();
+        }
+        return Optional.of(load(checkpoint));
+    }
+
+    public List<BulkJob> findUnfinished() throws IOException {
+        List<BulkJob> jobs = new ArrayList<>();
+        if (root == null || !Files.isDirectory(root)) {
+            return jobs;
+        }
+        try (Stream<Path> directories = Files.list(root)) {
+            for (Path directory : (Iterable<Path>) directories::iterator) {
+                Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+                if (Files.exists(checkpoint)) {
+                    BulkJob job = load(checkpoint);
+                    if (!job.getStatus().isFinished()) {
+                        jobs.add(job);
+                    }
+                }
+            }
+        }
+        jobs.sort((a, b) -> a.getSubmittedAt().compareTo(b.getSubmittedAt()));
+        return jobs;
+    }
+
+    public void save(BulkJob job) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("id", job.getId());
+        properties.setProperty("status", job.getStatus().name());
+        properties.setProperty("submittedAt", job.getSubmittedAt().toString());
+        properties.setProperty("updatedAt", job.getUpdatedAt().toString());
+        properties.setProperty("totalLines", Long.toString(job.getTotalLines()));
+        properties.setProperty("processedLines", Long.toString(job.getProcessedLines()));
+        properties.setProperty("approvedCount", Long.toString(job.getApprovedCount()));
+        properties.setProperty("rejectedCount", Long.toString(job.getRejectedCount()));
+        properties.setProperty("invalidCount", Long.toString(job.getInvalidCount()));
+        properties.setProperty("inputOffset", Long.toString(job.getInputOffset()));
+        properties.setProperty("outputOffset", Long.toString(job.getOutputOffset()));
+        properties.setProperty("compact", Boolean.toString(job.isCompact()));
+        if (job.getError() != null) {
+            properties.setProperty("error", job.getError());
+        }
+
+        Path directory = root.resolve(job.getId());
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+            properties.store(out, null);
+            out.getFD().sync();
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Path inputFile(BulkJob job) {
+        return root.resolve(job.getId()).resolve(INPUT_FILE);
+    }
+
+    public Path resultsFile(BulkJob job) {
+        return root.resolve(job.getId()).resolve(RESULTS_FILE);
+    }
+
+    /**
+     * Reads up to {@code maxBytes} of committed results starting at {@code offset}, cut back to
+     * the last complete line. A single line longer than {@code maxBytes} is returned whole.
+     */
+    public byte[] readResults(BulkJob job, long offset, int maxBytes) throws IOException {
+        long committed = job.getOutputOffset();
+        if (offset >= committed) {
+            return new byte[0];
+        }
+        try (FileChannel channel = FileChannel.open(resultsFile(job), StandardOpenOption.READ)) {
+            int length = (int) Math.min(maxBytes, committed - offset);
+            byte[] chunk = readFully(channel, offset, length);
+            int end = lastLineEnd(chunk, chunk.length);
+            if (end > 0) {
+                return end == chunk.length ? chunk : Arrays.copyOf(chunk, end);
+            }
+            // No newline inside the window: extend to the end of the first line
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            line.write(chunk);
+            long position = offset + chunk.length;
+            while (position < committed) {
+                byte[] more = readFully(channel, position, (int) Math.min(8192, committed - position));
+                int newline = indexOf(more, (byte) '\n');
+                if (newline >= 0) {
+                    line.write(more, 0, newline + 1);
+                    break;
+                }
+                line.write(more);
+                position += more.length;
+            }
+            return line.toByteArray();
+        }
+    }
+
+    private static byte[] readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.array();
+    }
+
+    private static int lastLineEnd(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static int indexOf(byte[] bytes, byte value) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isValidId(String id) {
+        try {
+            return UUID.fromString(id).toString().equals(id);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static BulkJob load(Path checkpoint) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(checkpoint)) {
+            properties.load(in);
+        }
+        BulkJob job = new BulkJob(properties.getProperty("id"),
+                Long.parseLong(properties.getProperty("totalLines")),
+                Instant.parse(properties.getProperty("submittedAt")));
+        job.setStatus(BulkJobStatus.valueOf(properties.getProperty("status")));
+        job.setUpdatedAt(Instant.parse(properties.getProperty("updatedAt")));
+        job.setProcessedLines(Long.parseLong(properties.getProperty("processedLines")));
+        job.setApprovedCount(Long.parseLong(properties.getProperty("approvedCount")));
+        job.setRejectedCount(Long.parseLong(properties.getProperty("rejectedCount")));
+        job.setInvalidCount(Long.parseLong(properties.getProperty("invalidCount")));
+        job.setInputOffset(Long.parseLong(properties.getProperty("inputOffset")));
+        job.setOutputOffset(Long.parseLong(properties.getProperty("outputOffset")));
+        job.setCompact(Boolean.parseBoolean(properties.getProperty("compact", "false")));
+        job.setError(properties.getProperty("error"));
+        return job;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bank.loanchecker.json;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only {@link CharSequence} over ASCII bytes in a buffer, so string fields can be
+ * validated in place and only turned into a {@code String} when someone asks for one.
+ */
+final class AsciiSlice implements CharSequence {
+
+    private byte[] bytes;
+    private int offset;
+    private int length;
+
+    void set(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (char) bytes[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    boolean contentEquals(byte[] other) {
+        if (other.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[offset + i] != other[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
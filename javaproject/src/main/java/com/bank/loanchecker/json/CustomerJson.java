@@ -0,0 +1,73 @@
+package com.bank.loanchecker.json;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.EmploymentType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public final class CustomerJson {
+
+    private static final EmploymentType[] EMPLOYMENT_TYPES = EmploymentType.values();
+
+    private CustomerJson() {}
+
+    public static final class Serializer extends StdSerializer<Customer> {
+
+        public Serializer() {
+            super(Customer.class);
+        }
+
+        @Override
+        public void serialize(Customer customer, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(customer);
+            JsonFields.writeString(gen, "name", customer.getName());
+            JsonFields.writeInteger(gen, "age", customer.getAge());
+            JsonFields.writeString(gen, "email", customer.getEmail());
+            JsonFields.writeString(gen, "phoneNumber", customer.getPhoneNumber());
+            JsonFields.writeDouble(gen, "monthlyIncome", customer.getMonthlyIncome());
+            JsonFields.writeInteger(gen, "creditScore", customer.getCreditScore());
+            JsonFields.writeDouble(gen, "existingEMI", customer.getExistingEMI());
+            JsonFields.writeEnum(gen, "employmentType", customer.getEmploymentType());
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class Deserializer extends StdDeserializer<Customer> {
+
+        public Deserializer() {
+            super(Customer.class);
+        }
+
+        @Override
+        public Customer deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!JsonFields.atObjectStart(p)) {
+                return (Customer) ctxt.handleUnexpectedToken(Customer.class, p);
+            }
+            Customer customer = new Customer();
+            for (JsonToken token = JsonFields.firstField(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "name" -> customer.setName(JsonFields.readString(p, ctxt));
+                    case "age" -> customer.setAge(JsonFields.readInteger(p, ctxt));
+                    case "email" -> customer.setEmail(JsonFields.readString(p, ctxt));
+                    case "phoneNumber" -> customer.setPhoneNumber(JsonFields.readString(p, ctxt));
+                    case "monthlyIncome" -> customer.setMonthlyIncome(JsonFields.readDouble(p, ctxt));
+                    case "creditScore" -> customer.setCreditScore(JsonFields.readInteger(p, ctxt));
+                    case "existingEMI" -> customer.setExistingEMI(JsonFields.readDouble(p, ctxt));
+                    case "employmentType" -> customer.setEmploymentType(
+                            JsonFields.readEnum(p, ctxt, EmploymentType.class, EMPLOYMENT_TYPES));
+                    default -> ctxt.handleUnknownProperty(p, this, Customer.class, field);
+                }
+            }
+            return customer;
+        }
+    }
+}
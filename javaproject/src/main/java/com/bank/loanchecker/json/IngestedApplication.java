@@ -0,0 +1,427 @@
+package com.bank.loanchecker.json;
+
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.model.LoanType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Fast ingestion of an eligibility request body: the JSON is tokenized straight from the
+ * request bytes into a reusable {@link EligibilityInput}, and the name, email and phone
+ * number are exposed as views over the buffer instead of strings. One instance per thread
+ * is reused for every request, so nothing read from it may outlive the request.
+ * <p>
+ * Only the plain shape produced by well-behaved clients is handled: every field present and
+ * non-null, strings in ASCII without escapes, numbers of the expected kind, a {@code customerId}
+ * only as an explicit null, and no unknown fields. For anything else {@link #read} returns
+ * false and the caller parses {@link #body()} with Jackson, which then reports errors
+ * exactly as usual.
+ */
+public final class IngestedApplication {
+
+    private static final ThreadLocal<IngestedApplication> CURRENT = ThreadLocal.withInitial(IngestedApplication::new);
+
+    private static final int MAX_FAST_BODY_BYTES = 64 * 1024;
+    private static final int ALL_FIELDS = (1 << 12) - 1;
+    private static final int CUSTOMER_ID = 12;
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final LoanType[] LOAN_TYPES = LoanType.values();
+    private static final EmploymentType[] EMPLOYMENT_TYPES = EmploymentType.values();
+    private static final byte[][] LOAN_TYPE_NAMES = names(LOAN_TYPES);
+    private static final byte[][] EMPLOYMENT_TYPE_NAMES = names(EMPLOYMENT_TYPES);
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final EligibilityInput input = new EligibilityInput();
+    private final AsciiSlice name = new AsciiSlice();
+    private final AsciiSlice email = new AsciiSlice();
+    private final AsciiSlice phoneNumber = new AsciiSlice();
+    private final AsciiSlice token = new AsciiSlice();
+    private byte[] buffer = new byte[1024];
+    private int length;
+    private int position;
+    private int fields;
+
+    // Customer and loan fields, collected before they are handed to the input in one go
+    private int age;
+    private int creditScore;
+    private double monthlyIncome;
+    private double existingEMI;
+    private EmploymentType employmentType;
+    private LoanType loanType;
+    private double requestedAmount;
+    private int tenureYears;
+
+    private IngestedApplication() {
+    }
+
+    public static IngestedApplication forCurrentThread() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Reads the whole body into the thread's buffer and tries to tokenize it. Returns false if
+     * the body needs the regular Jackson path.
+     */
+    public boolean read(InputStream body) throws IOException {
+        if (buffer.length > MAX_FAST_BODY_BYTES) {
+            // Don't keep a buffer grown by one huge request attached to the thread
+            buffer = new byte[1024];
+        }
+        length = 0;
+        int read;
+        while ((read = body.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return length <= MAX_FAST_BODY_BYTES && parse();
+    }
+
+    public byte[] body() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    public EligibilityInput getInput() {
+        return input;
+    }
+
+    public CharSequence getName() {
+        return name;
+    }
+
+    public CharSequence getEmail() {
+        return email;
+    }
+
+    public CharSequence getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    private boolean parse() {
+        position = 0;
+        fields = 0;
+        if (!object(false)) {
+            return false;
+        }
+        skipWhitespace();
+        if (position != length || (fields & ALL_FIELDS) != ALL_FIELDS) {
+            return false;
+        }
+        input.setCustomer(age, creditScore, monthlyIncome, existingEMI, employmentType);
+        input.setLoan(loanType, requestedAmount, tenureYears);
+        return true;
+    }
+
+    private boolean object(boolean customer) {
+        if (!consume('{')) {
+            return false;
+        }
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return true;
+        }
+        while (true) {
+            if (!string(token) || !consume(':')) {
+                return false;
+            }
+            skipWhitespace();
+            if (!(customer ? customerField() : applicationField())) {
+                return false;
+            }
+            skipWhitespace();
+            int next = peek();
+            position++;
+            if (next == '}') {
+                return true;
+            }
+            if (next != ',') {
+                return false;
+            }
+        }
+    }
+
+    private boolean applicationField() {
+        if (token.contentEquals(Keys.CUSTOMER)) {
+            return mark(0) && object(true);
+        }
+        if (token.contentEquals(Keys.LOAN_TYPE)) {
+            int index = enumIndex(LOAN_TYPE_NAMES);
+            loanType = index >= 0 ? LOAN_TYPES[index] : null;
+            return index >= 0 && mark(1);
+        }
+        if (token.contentEquals(Keys.REQUESTED_AMOUNT)) {
+            requestedAmount = number();
+            return !Double.isNaN(requestedAmount) && mark(2);
+        }
+        if (token.contentEquals(Keys.TENURE_YEARS)) {
+            long value = integer();
+            tenureYears = (int) value;
+            return value != Long.MIN_VALUE && mark(3);
+        }
+        if (token.contentEquals(Keys.CUSTOMER_ID)) {
+            // Only the explicit null that serializers write for an unset id
+            return literal(NULL) && mark(CUSTOMER_ID);
+        }
+        return false;
+    }
+
+    private boolean customerField() {
+        if (token.contentEquals(Keys.NAME)) {
+            return string(name) && mark(4);
+        }
+        if (token.contentEquals(Keys.AGE)) {
+            long value = integer();
+            age = (int) value;
+            return value != Long.MIN_VALUE && mark(5);
+        }
+        if (token.contentEquals(Keys.EMAIL)) {
+            return string(email) && mark(6);
+        }
+        if (token.contentEquals(Keys.PHONE_NUMBER)) {
+            return string(phoneNumber) && mark(7);
+        }
+        if (token.contentEquals(Keys.MONTHLY_INCOME)) {
+            monthlyIncome = number();
+            return !Double.isNaN(monthlyIncome) && mark(8);
+        }
+        if (token.contentEquals(Keys.CREDIT_SCORE)) {
+            long value = integer();
+            creditScore = (int) value;
+            return value != Long.MIN_VALUE && mark(9);
+        }
+        if (token.contentEquals(Keys.EXISTING_EMI)) {
+            existingEMI = number();
+            return !Double.isNaN(existingEMI) && mark(10);
+        }
+        if (token.contentEquals(Keys.EMPLOYMENT_TYPE)) {
+            int index = enumIndex(EMPLOYMENT_TYPE_NAMES);
+            employmentType = index >= 0 ? EMPLOYMENT_TYPES[index] : null;
+            return index >= 0 && mark(11);
+        }
+        return false;
+    }
+
+    // Jackson lets a repeated key win, and a repeated customer replaces the whole object
+    private boolean mark(int field) {
+        if ((fields & 1 << field) != 0) {
+            return false;
+        }
+        fields |= 1 << field;
+        return true;
+    }
+
+    // A string without escapes or non-ASCII bytes, as a view over the buffer
+    private boolean string(AsciiSlice target) {
+        skipWhitespace();
+        if (peek() != '"') {
+            return false;
+        }
+        int start = ++position;
+        while (position < length) {
+            byte b = buffer[position];
+            if (b == '"') {
+                target.set(buffer, start, position - start);
+                position++;
+                return true;
+            }
+            if (b == '\\' || b < 0x20) {
+                // Escapes and control characters, and negative bytes, i.e. non-ASCII
+                return false;
+            }
+            position++;
+        }
+        return false;
+    }
+
+    private int enumIndex(byte[][] names) {
+        if (!string(token)) {
+            return -1;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (token.contentEquals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A JSON integer that fits an int, or {@code Long.MIN_VALUE} for anything else (floats are
+     * coerced by Jackson, so they take the regular path).
+     */
+    private long integer() {
+        int start = position;
+        boolean negative = consumeIf('-');
+        long value = 0;
+        int digits = 0;
+        while (position < length && isDigit(buffer[position])) {
+            value = value * 10 + (buffer[position++] - '0');
+            if (++digits > 10) {
+                return Long.MIN_VALUE;
+            }
+        }
+        if (digits == 0 || (digits > 1 && buffer[start + (negative ? 1 : 0)] == '0') || isNumberContinuation()) {
+            return Long.MIN_VALUE;
+        }
+        value = negative ? -value : value;
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? value : Long.MIN_VALUE;
+    }
+
+    /**
+     * A JSON number as a double, or NaN if it is malformed. Values with at most 15 significant
+     * digits and a small exponent are exact as {@code digits * 10^e} or {@code digits / 10^e};
+     * anything else goes through {@link Double#parseDouble}, like Jackson, so results match.
+     */
+    private double number() {
+        int start = position;
+        boolean negative = consumeIf('-');
+        int integerStart = position;
+        long digits = 0;
+        int significant = 0;
+        int exponent = 0;
+        while (position < length && isDigit(buffer[position])) {
+            digits = digits * 10 + (buffer[position++] - '0');
+            significant = countSignificant(significant, digits);
+        }
+        int integerDigits = position - integerStart;
+        if (integerDigits == 0 || (integerDigits > 1 && buffer[integerStart] == '0')) {
+            return Double.NaN;
+        }
+        boolean isInteger = true;
+        if (consumeIf('.')) {
+            isInteger = false;
+            int fractionStart = position;
+            while (position < length && isDigit(buffer[position])) {
+                digits = digits * 10 + (buffer[position++] - '0');
+                significant = countSignificant(significant, digits);
+                exponent--;
+            }
+            if (position == fractionStart) {
+                return Double.NaN;
+            }
+        }
+        if (position < length && (buffer[position] == 'e' || buffer[position] == 'E')) {
+            isInteger = false;
+            position++;
+            boolean negativeExponent = consumeIf('-');
+            if (!negativeExponent) {
+                consumeIf('+');
+            }
+            int exponentStart = position;
+            int explicit = 0;
+            while (position < length && isDigit(buffer[position])) {
+                explicit = Math.min(explicit * 10 + (buffer[position++] - '0'), 10_000);
+            }
+            if (position == exponentStart) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (isNumberContinuation()) {
+            return Double.NaN;
+        }
+        if (isInteger && negative && digits == 0) {
+            // Jackson reads "-0" as the int 0, so the double is +0.0
+            return 0.0;
+        }
+        if (significant <= 15 && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0 ? digits / POWERS_OF_TEN[-exponent] : digits * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(buffer, start, position - start, StandardCharsets.ISO_8859_1));
+    }
+
+    // Leading zeros are not significant; past 15 digits the exact count no longer matters
+    private static int countSignificant(int significant, long digits) {
+        return digits == 0 || significant > 15 ? significant : significant + 1;
+    }
+
+    private boolean isNumberContinuation() {
+        if (position >= length) {
+            return false;
+        }
+        byte b = buffer[position];
+        return isDigit(b) || b == '.' || b == 'e' || b == 'E' || b == '-' || b == '+' || Character.isLetter(b);
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private boolean consume(char expected) {
+        skipWhitespace();
+        return consumeIf(expected);
+    }
+
+    private boolean literal(byte[] expected) {
+        if (length - position < expected.length
+                || !Arrays.equals(buffer, position, position + expected.length, expected, 0, expected.length)) {
+            return false;
+        }
+        position += expected.length;
+        return !isNumberContinuation();
+    }
+
+    private boolean consumeIf(char expected) {
+        if (position < length && buffer[position] == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private int peek() {
+        return position < length ? buffer[position] : -1;
+    }
+
+    private void skipWhitespace() {
+        while (position < length) {
+            byte b = buffer[position];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private static byte[][] names(Enum<?>[] constants) {
+        byte[][] names = new byte[constants.length][];
+        for (int i = 0; i < constants.length; i++) {
+            names[i] = constants[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+
+    private static final class Keys {
+        static final byte[] CUSTOMER = ascii("customer");
+        static final byte[] CUSTOMER_ID = ascii("customerId");
+        static final byte[] LOAN_TYPE = ascii("loanType");
+        static final byte[] REQUESTED_AMOUNT = ascii("requestedAmount");
+        static final byte[] TENURE_YEARS = ascii("tenureYears");
+        static final byte[] NAME = ascii("name");
+        static final byte[] AGE = ascii("age");
+        static final byte[] EMAIL = ascii("email");
+        static final byte[] PHONE_NUMBER = ascii("phoneNumber");
+        static final byte[] MONTHLY_INCOME = ascii("monthlyIncome");
+        static final byte[] CREDIT_SCORE = ascii("creditScore");
+        static final byte[] EXISTING_EMI = ascii("existingEMI");
+        static final byte[] EMPLOYMENT_TYPE = ascii("employmentType");
+
+        private static byte[] ascii(String value) {
+            return value.getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.bank.loanchecker.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import java.io.IOException;
+
+/**
+ * Token-level helpers shared by the hand-written codecs. Common tokens are read straight
+ * off the parser; anything unusual (numbers sent as strings, floats for integer fields,
+ * unknown enum names) is delegated to Jackson's standard deserializers so coercion rules
+ * and error messages stay identical to reflective binding.
+ */
+final class JsonFields {
+
+    private JsonFields() {}
+
+    static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return ctxt.readValue(p, String.class);
+    }
+
+    static Integer readInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getIntValue();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return ctxt.readValue(p, Integer.class);
+    }
+
+    static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getLongValue();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return ctxt.readValue(p, Long.class);
+    }
+
+    static Double readDouble(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getDoubleValue();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return ctxt.readValue(p, Double.class);
+    }
+
+    static boolean readBoolean(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_TRUE) {
+            return true;
+        }
+        if (token == JsonToken.VALUE_FALSE) {
+            return false;
+        }
+        Boolean value = ctxt.readValue(p, Boolean.class);
+        return value != null && value;
+    }
+
+    static <E extends Enum<E>> E readEnum(JsonParser p, DeserializationContext ctxt,
+                                          Class<E> type, E[] constants) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            String text = p.getText();
+            for (E constant : constants) {
+                if (constant.name().equals(text)) {
+                    return constant;
+                }
+            }
+        } else if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return ctxt.readValue(p, type);
+    }
+
+    static boolean atObjectStart(JsonParser p) {
+        JsonToken token = p.currentToken();
+        return token == JsonToken.START_OBJECT || token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT;
+    }
+
+    /**
+     * Returns the first token inside an object, accepting both a fresh START_OBJECT and a
+     * parser that has already been moved onto the first field name.
+     */
+    static JsonToken firstField(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.START_OBJECT ? p.nextToken() : p.currentToken();
+    }
+
+    static void writeString(JsonGenerator gen, String name, String value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    static void writeInteger(JsonGenerator gen, String name, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value.intValue());
+        }
+    }
+
+    static void writeLong(JsonGenerator gen, String name, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value.longValue());
+        }
+    }
+
+    static void writeDouble(JsonGenerator gen, String name, Double value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value.doubleValue());
+        }
+    }
+
+    static void writeEnum(JsonGenerator gen, String name, Enum<?> value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeStringField(name, value.name());
+        }
+    }
+}
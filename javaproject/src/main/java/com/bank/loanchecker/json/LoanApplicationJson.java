@@ -0,0 +1,81 @@
+package com.bank.loanchecker.json;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public final class LoanApplicationJson {
+
+    private static final LoanType[] LOAN_TYPES = LoanType.values();
+
+    private LoanApplicationJson() {}
+
+    public static final class Serializer extends StdSerializer<LoanApplication> {
+
+        private final CustomerJson.Serializer customerSerializer;
+
+        public Serializer(CustomerJson.Serializer customerSerializer) {
+            super(LoanApplication.class);
+            this.customerSerializer = customerSerializer;
+        }
+
+        @Override
+        public void serialize(LoanApplication application, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(application);
+            JsonFields.writeLong(gen, "customerId", application.getCustomerId());
+            Customer customer = application.getCustomer();
+            if (customer == null) {
+                gen.writeNullField("customer");
+            } else {
+                gen.writeFieldName("customer");
+                customerSerializer.serialize(customer, gen, provider);
+            }
+            JsonFields.writeEnum(gen, "loanType", application.getLoanType());
+            JsonFields.writeDouble(gen, "requestedAmount", application.getRequestedAmount());
+            JsonFields.writeInteger(gen, "tenureYears", application.getTenureYears());
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class Deserializer extends StdDeserializer<LoanApplication> {
+
+        private final CustomerJson.Deserializer customerDeserializer;
+
+        public Deserializer(CustomerJson.Deserializer customerDeserializer) {
+            super(LoanApplication.class);
+            this.customerDeserializer = customerDeserializer;
+        }
+
+        @Override
+        public LoanApplication deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!JsonFields.atObjectStart(p)) {
+                return (LoanApplication) ctxt.handleUnexpectedToken(LoanApplication.class, p);
+            }
+            LoanApplication application = new LoanApplication();
+            for (JsonToken token = JsonFields.firstField(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String field = p.currentName();
+                token = p.nextToken();
+                switch (field) {
+                    case "customerId" -> application.setCustomerId(JsonFields.readLong(p, ctxt));
+                    case "customer" -> application.setCustomer(
+                            token == JsonToken.VALUE_NULL ? null : customerDeserializer.deserialize(p, ctxt));
+                    case "loanType" -> application.setLoanType(
+                            JsonFields.readEnum(p, ctxt, LoanType.class, LOAN_TYPES));
+                    case "requestedAmount" -> application.setRequestedAmount(JsonFields.readDouble(p, ctxt));
+                    case "tenureYears" -> application.setTenureYears(JsonFields.readInteger(p, ctxt));
+                    default -> ctxt.handleUnknownProperty(p, this, LoanApplication.class, field);
+                }
+            }
+            return application;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.bank.loanchecker.json;
+
+import com.bank.loanchecker.model.CompactResult;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.model.ReasonCode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public final class LoanEligibilityResultJson {
+
+    private static final ReasonCode[] REASON_CODES = ReasonCode.values();
+
+    private LoanEligibilityResultJson() {}
+
+    public static final class Serializer extends StdSerializer<LoanEligibilityResult> {
+
+        public Serializer() {
+            super(LoanEligibilityResult.class);
+        }
+
+        @Override
+        public void serialize(LoanEligibilityResult result, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(result);
+            gen.writeBooleanField("eligible", result.isEligible());
+            JsonFields.writeString(gen, "decision", result.getDecision());
+            JsonFields.writeString(gen, "reason", result.getReason());
+            JsonFields.writeDouble(gen, "approvedAmount", result.getApprovedAmount());
+            JsonFields.writeDouble(gen, "monthlyEMI", result.getMonthlyEMI());
+            JsonFields.writeDouble(gen, "interestRate", result.getInterestRate());
+            JsonFields.writeInteger(gen, "tenureYears", result.getTenureYears());
+            JsonFields.writeString(gen, "recommendation", result.getRecommendation());
+            JsonFields.writeEnum(gen, "reasonCode", result.getReasonCode());
+            gen.writeNumberField("failedRules", result.getFailedRules());
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes a {@link CompactResult}: the codes and amounts of the result, without its text.
+     */
+    public static final class CompactSerializer extends StdSerializer<CompactResult> {
+
+        public CompactSerializer() {
+            super(CompactResult.class);
+        }
+
+        @Override
+        public void serialize(CompactResult compact, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            LoanEligibilityResult result = compact.getResult();
+            gen.writeStartObject(compact);
+            JsonFields.writeString(gen, "decision", result.getDecision());
+            JsonFields.writeEnum(gen, "reasonCode", result.getReasonCode());
+            gen.writeNumberField("failedRules", result.getFailedRules());
+            JsonFields.writeDouble(gen, "approvedAmount", result.getApprovedAmount());
+            JsonFields.writeDouble(gen, "monthlyEMI", result.getMonthlyEMI());
+            JsonFields.writeDouble(gen, "interestRate", result.getInterestRate());
+            JsonFields.writeInteger(gen, "tenureYears", result.getTenureYears());
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class Deserializer extends StdDeserializer<LoanEligibilityResult> {
+
+        public Deserializer() {
+            super(LoanEligibilityResult.class);
+        }
+
+        @Override
+        public LoanEligibilityResult deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!JsonFields.atObjectStart(p)) {
+                return (LoanEligibilityResult) ctxt.handleUnexpectedToken(LoanEligibilityResult.class, p);
+            }
+            LoanEligibilityResult result = new LoanEligibilityResult();
+            for (JsonToken token = JsonFields.firstField(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "eligible" -> result.setEligible(JsonFields.readBoolean(p, ctxt));
+                    case "decision" -> result.setDecision(JsonFields.readString(p, ctxt));
+                    case "reason" -> result.setReason(JsonFields.readString(p, ctxt));
+                    case "approvedAmount" -> result.setApprovedAmount(JsonFields.readDouble(p, ctxt));
+                    case "monthlyEMI" -> result.setMonthlyEMI(JsonFields.readDouble(p, ctxt));
+                    case "interestRate" -> result.setInterestRate(JsonFields.readDouble(p, ctxt));
+                    case "tenureYears" -> result.setTenureYears(JsonFields.readInteger(p, ctxt));
+                    case "recommendation" -> result.setRecommendation(JsonFields.readString(p, ctxt));
+                    case "reasonCode" -> result.setReasonCode(
+                            JsonFields.readEnum(p, ctxt, ReasonCode.class, REASON_CODES));
+                    case "failedRules" -> {
+                        Integer failedRules = JsonFields.readInteger(p, ctxt);
+                        result.setFailedRules(failedRules == null ? 0 : failedRules);
+                    }
+                    default -> ctxt.handleUnknownProperty(p, this, LoanEligibilityResult.class, field);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.loanchecker.json;
+
+import com.bank.loanchecker.model.CompactResult;
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers hand-written streaming codecs for the model classes so request and response
+ * bodies are bound token by token instead of through reflective bean introspection.
+ * Spring Boot picks the module up for the MVC message converters; code running outside
+ * the application context can register it on its own {@code ObjectMapper}.
+ */
+@Component
+public class LoanJsonModule extends SimpleModule {
+
+    public LoanJsonModule() {
+        super("LoanJsonModule");
+        CustomerJson.Serializer customerSerializer = new CustomerJson.Serializer();
+        CustomerJson.Deserializer customerDeserializer = new CustomerJson.Deserializer();
+
+        addSerializer(Customer.class, customerSerializer);
+        addDeserializer(Customer.class, customerDeserializer);
+        addSerializer(LoanApplication.class, new LoanApplicationJson.Serializer(customerSerializer));
+        addDeserializer(LoanApplication.class, new LoanApplicationJson.Deserializer(customerDeserializer));
+        addSerializer(LoanEligibilityResult.class, new LoanEligibilityResultJson.Serializer());
+        addDeserializer(LoanEligibilityResult.class, new LoanEligibilityResultJson.Deserializer());
+        addSerializer(CompactResult.class, new LoanEligibilityResultJson.CompactSerializer());
+    }
+}
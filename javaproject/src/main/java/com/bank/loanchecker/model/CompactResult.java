@@ -0,0 +1,18 @@
+package com.bank.loanchecker.model;
+
+/**
+ * A {@link LoanEligibilityResult} rendered with codes only: the decision, reason code,
+ * failed rule mask and amounts, without the reason and recommendation text.
+ */
+public final class CompactResult {
+
+    private final LoanEligibilityResult result;
+
+    public CompactResult(LoanEligibilityResult result) {
+        this.result = result;
+    }
+
+    public LoanEligibilityResult getResult() {
+        return result;
+    }
+}
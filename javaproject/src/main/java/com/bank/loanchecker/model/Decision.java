@@ -0,0 +1,6 @@
+package com.bank.loanchecker.model;
+
+public enum Decision {
+    APPROVED,
+    REJECTED
+}
@@ -0,0 +1,73 @@
+package com.bank.loanchecker.model;
+
+/**
+ * The primitive fields an eligibility decision is made from, without the customer's
+ * identity. Mutable so that callers can fill and reuse one instance per thread.
+ */
+public class EligibilityInput {
+
+    private int age;
+    private int creditScore;
+    private double monthlyIncome;
+    private double existingEMI;
+    private EmploymentType employmentType;
+    private LoanType loanType;
+    private double requestedAmount;
+    private int tenureYears;
+
+    public static EligibilityInput of(LoanApplication application) {
+        EligibilityInput input = new EligibilityInput();
+        Customer customer = application.getCustomer();
+        input.setCustomer(customer.getAge(), customer.getCreditScore(), customer.getMonthlyIncome(),
+                customer.getExistingEMI(), customer.getEmploymentType());
+        input.setLoan(application.getLoanType(), application.getRequestedAmount(), application.getTenureYears());
+        return input;
+    }
+
+    public void setCustomer(int age, int creditScore, double monthlyIncome, double existingEMI,
+                            EmploymentType employmentType) {
+        this.age = age;
+        this.creditScore = creditScore;
+        this.monthlyIncome = monthlyIncome;
+        this.existingEMI = existingEMI;
+        this.employmentType = employmentType;
+    }
+
+    public void setLoan(LoanType loanType, double requestedAmount, int tenureYears) {
+        this.loanType = loanType;
+        this.requestedAmount = requestedAmount;
+        this.tenureYears = tenureYears;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public int getCreditScore() {
+        return creditScore;
+    }
+
+    public double getMonthlyIncome() {
+        return monthlyIncome;
+    }
+
+    public double getExistingEMI() {
+        return existingEMI;
+    }
+
+    public EmploymentType getEmploymentType() {
+        return employmentType;
+    }
+
+    public LoanType getLoanType() {
+        return loanType;
+    }
+
+    public double getRequestedAmount() {
+        return requestedAmount;
+    }
+
+    public int getTenureYears() {
+        return tenureYears;
+    }
+}
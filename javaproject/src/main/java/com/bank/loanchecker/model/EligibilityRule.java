@@ -0,0 +1,60 @@
+package com.bank.loanchecker.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rules an application is checked against, in the order of their stages. Each has a
+ * fixed bit in a result's {@code failedRules} mask; new rules are only ever added at the end.
+ */
+public enum EligibilityRule {
+    AGE_BELOW_MINIMUM(ReasonCode.BASIC_CRITERIA_NOT_MET),
+    AGE_ABOVE_MAXIMUM(ReasonCode.BASIC_CRITERIA_NOT_MET),
+    CREDIT_SCORE_BELOW_MINIMUM(ReasonCode.BASIC_CRITERIA_NOT_MET),
+    INCOME_NOT_REPRESENTABLE(ReasonCode.BASIC_CRITERIA_NOT_MET),
+    AMOUNT_OUT_OF_RANGE(ReasonCode.BASIC_CRITERIA_NOT_MET),
+    TENURE_TOO_LONG(ReasonCode.BASIC_CRITERIA_NOT_MET),
+    EMPLOYMENT_NOT_ELIGIBLE(ReasonCode.BASIC_CRITERIA_NOT_MET),
+    MAX_ELIGIBLE_BELOW_MINIMUM(ReasonCode.INCOME_TOO_LOW),
+    EMI_NOT_AFFORDABLE(ReasonCode.EMI_NOT_AFFORDABLE),
+    VELOCITY_LIMIT_EXCEEDED(ReasonCode.VELOCITY_LIMIT_EXCEEDED);
+
+    /**
+     * The rules after the basic criteria, which depend on income and the EMI share.
+     */
+    public static final int AFFORDABILITY_RULES = MAX_ELIGIBLE_BELOW_MINIMUM.bit() | EMI_NOT_AFFORDABLE.bit();
+
+    private final ReasonCode reasonCode;
+
+    EligibilityRule(ReasonCode reasonCode) {
+        this.reasonCode = reasonCode;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public ReasonCode getReasonCode() {
+        return reasonCode;
+    }
+
+    /**
+     * The reason code of a result with these failed rules: that of the earliest stage.
+     */
+    public static ReasonCode reasonCode(int failedRules) {
+        if (failedRules == 0) {
+            return ReasonCode.APPROVED;
+        }
+        return values()[Integer.numberOfTrailingZeros(failedRules)].reasonCode;
+    }
+
+    public static List<EligibilityRule> of(int failedRules) {
+        List<EligibilityRule> rules = new ArrayList<>();
+        for (EligibilityRule rule : values()) {
+            if ((failedRules & rule.bit()) != 0) {
+                rules.add(rule);
+            }
+        }
+        return rules;
+    }
+}
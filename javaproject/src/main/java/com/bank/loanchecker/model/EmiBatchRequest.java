@@ -0,0 +1,7 @@
+package com.bank.loanchecker.model;
+
+/**
+ * Parallel arrays for the batch EMI endpoint: entry {@code i} of each array describes loan {@code i}.
+ */
+public record EmiBatchRequest(double[] principals, double[] interestRates, int[] tenureYears) {
+}
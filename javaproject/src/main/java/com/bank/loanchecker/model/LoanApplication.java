@@ -1,8 +1,13 @@
 package com.bank.loanchecker.model;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 
 public class LoanApplication {
+    // Set instead of customer to decide on a stored profile
+    private Long customerId;
+
+    @Valid
     @NotNull(message = "Customer information is required")
     private Customer customer;
 
@@ -29,6 +34,14 @@ public class LoanApplication {
     }
 
     // Getters and Setters
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
     public Customer getCustomer() {
         return customer;
     }
@@ -9,6 +9,8 @@ public class LoanEligibilityResult {
     private Double interestRate;
     private Integer tenureYears;
     private String recommendation;
+    private ReasonCode reasonCode;
+    private int failedRules;
 
     // Constructors
     public LoanEligibilityResult() {}
@@ -90,6 +92,23 @@ public class LoanEligibilityResult {
     public void setRecommendation(String recommendation) {
         this.recommendation = recommendation;
     }
-}
 
+    public ReasonCode getReasonCode() {
+        return reasonCode;
+    }
+
+    public void setReasonCode(ReasonCode reasonCode) {
+        this.reasonCode = reasonCode;
+    }
+
+    /**
+     * The {@link EligibilityRule#bit() bits} of every rule that failed, not just the first.
+     */
+    public int getFailedRules() {
+        return failedRules;
+    }
 
+    public void setFailedRules(int failedRules) {
+        this.failedRules = failedRules;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.loanchecker.model;
+
+/**
+ * Why a decision came out the way it did, as a code clients can switch on instead of the
+ * {@code reason} text. A rejection's code is the first stage of rules that failed.
+ */
+public enum ReasonCode {
+    APPROVED(Decision.APPROVED, null),
+    BASIC_CRITERIA_NOT_MET(Decision.REJECTED, "Basic eligibility criteria not met"),
+    INCOME_TOO_LOW(Decision.REJECTED, "Income too low for this loan type"),
+    EMI_NOT_AFFORDABLE(Decision.REJECTED, "EMI exceeds affordable limit based on income"),
+    VELOCITY_LIMIT_EXCEEDED(Decision.REJECTED, "Too many applications in a short period");
+
+    private final Decision decision;
+    private final String message;
+
+    ReasonCode(Decision decision, String message) {
+        this.decision = decision;
+        this.message = message;
+    }
+
+    public Decision getDecision() {
+        return decision;
+    }
+
+    /**
+     * The {@code reason} text of a rejection; approvals get a personalised one instead.
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bank.loanchecker.money;
+
+/**
+ * Fixed-point money arithmetic on {@code long} paise (1/100 rupee).
+ * <p>
+ * Rounding is HALF_UP on the exact binary value of a {@code double}, which is what
+ * {@code new BigDecimal(value).setScale(scale, RoundingMode.HALF_UP)} does, but without
+ * allocating: {@link Math#fma} gives the exact sign of {@code value * scale - boundary}, so
+ * a value that merely prints as a tie is not mistaken for one. Amounts up to
+ * {@link #MAX_RUPEES} are supported, within which every paise count converts to and from
+ * {@code double} exactly.
+ */
+public final class Money {
+
+    public static final long PAISE_PER_RUPEE = 100;
+    public static final double MAX_RUPEES = 1e13;
+
+    private Money() {
+    }
+
+    /**
+     * {@code rupees} rounded HALF_UP to whole paise.
+     */
+    public static long toPaise(double rupees) {
+        return roundHalfUp(rupees, PAISE_PER_RUPEE);
+    }
+
+    /**
+     * {@code rupees} rounded HALF_UP to whole rupees, in paise.
+     */
+    public static long toWholeRupees(double rupees) {
+        return roundHalfUp(rupees, 1) * PAISE_PER_RUPEE;
+    }
+
+    /**
+     * The {@code double} closest to {@code paise / 100}, the same value
+     * {@code BigDecimal.valueOf(paise, 2).doubleValue()} gives.
+     */
+    public static double toRupees(long paise) {
+        return paise / (double) PAISE_PER_RUPEE;
+    }
+
+    public static boolean isInRange(double rupees) {
+        return Math.abs(rupees) < MAX_RUPEES;
+    }
+
+    /**
+     * Whether an instalment fits within {@code numerator/denominator} of the available income,
+     * compared exactly.
+     */
+    public static boolean isWithinShare(long emiPaise, long availablePaise, int numerator, int denominator) {
+        return Math.multiplyExact(emiPaise, (long) denominator) <= Math.multiplyExact(availablePaise, (long) numerator);
+    }
+
+    private static long roundHalfUp(double value, long scale) {
+        if (!isInRange(value)) {
+            throw new ArithmeticException("Amount out of range: " + value);
+        }
+        double factor = scale;
+        // floor(value * scale) of the exact product; the rounded product is at most one off
+        long floor = (long) Math.floor(value * factor);
+        if (Math.fma(value, factor, -floor) < 0) {
+            floor--;
+        } else if (Math.fma(value, factor, -(floor + 1)) >= 0) {
+            floor++;
+        }
+        double aboveHalf = Math.fma(value, factor, -(floor + 0.5));
+        // Ties go away from zero: up for positive values, down for negative ones
+        boolean roundUp = value >= 0 ? aboveHalf >= 0 : aboveHalf > 0;
+        return roundUp ? floor + 1 : floor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.bank.loanchecker.policy;
+
+/**
+ * The thresholds of the eligibility rules: the age and credit score an applicant must have,
+ * and the share of available income (in percent) that all new EMIs must stay within.
+ */
+public record EligibilityPolicy(int minAge, int maxAge, int minCreditScore, int maxEmiSharePercent) {
+
+    public static final EligibilityPolicy DEFAULT = new EligibilityPolicy(21, 60, 600, 40);
+
+    public EligibilityPolicy {
+        if (minAge < 0 || maxAge < minAge) {
+            throw new IllegalArgumentException("minAge must not be negative or above maxAge, got " + minAge
+                    + " and " + maxAge);
+        }
+        if (minCreditScore < 0) {
+            throw new IllegalArgumentException("minCreditScore must not be negative, got " + minCreditScore);
+        }
+        if (maxEmiSharePercent < 1 || maxEmiSharePercent > 100) {
+            throw new IllegalArgumentException("maxEmiSharePercent must be between 1 and 100, got "
+                    + maxEmiSharePercent);
+        }
+    }
+
+    public double maxEmiShare() {
+        return maxEmiSharePercent / 100.0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bank.loanchecker.policy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link EligibilityPolicy}. Like the rate table, a decision reads it once
+ * and uses that snapshot throughout.
+ */
+@Component
+public class EligibilityPolicyRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(EligibilityPolicyRegistry.class);
+
+    private volatile EligibilityPolicy current = EligibilityPolicy.DEFAULT;
+
+    public EligibilityPolicy current() {
+        return current;
+    }
+
+    public synchronized EligibilityPolicy publish(EligibilityPolicy policy) {
+        current = policy;
+        log.info("Published eligibility policy {}", policy);
+        return policy;
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.loanchecker.queue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The offset of the last record a named consumer has fully processed, kept in a small file
+ * next to the queue. Committing only after the record's effects are durable gives
+ * at-least-once processing: after a crash the consumer resumes after the last commit and
+ * may see a few records again, but never skips one.
+ */
+public final class ConsumerOffset implements Closeable {
+
+    public static final long NONE = -1;
+
+    private final FileChannel channel;
+    private final ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES);
+
+    ConsumerOffset(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    public long load() throws IOException {
+        if (channel.size() < Long.BYTES) {
+            return NONE;
+        }
+        bytes.clear();
+        channel.read(bytes, 0);
+        return bytes.getLong(0);
+    }
+
+    public void commit(long offset) throws IOException {
+        bytes.clear();
+        bytes.putLong(0, offset);
+        channel.write(bytes, 0);
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
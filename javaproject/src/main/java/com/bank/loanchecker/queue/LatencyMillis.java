@@ -0,0 +1,4 @@
+package com.bank.loanchecker.queue;
+
+public record LatencyMillis(double p50, double p90, double p99, double max) {
+}
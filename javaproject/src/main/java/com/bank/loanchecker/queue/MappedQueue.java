@@ -0,0 +1,161 @@
+package com.bank.loanchecker.queue;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * A durable append-only queue in a directory of memory-mapped segment files, for exchanging
+ * records between processes on one host without a broker. Each segment starts with an 8-byte
+ * header; records follow, each an {@code int} payload length, 4 reserved bytes, a
+ * {@code long} timestamp in epoch microseconds and the payload, padded to 8 bytes.
+ * <p>
+ * A record becomes visible when its length is written, with release semantics, after
+ * everything else; readers load it with acquire semantics, so a record is never seen half
+ * written, even by another process. A length of zero marks the end of the queue and
+ * {@link #ROLL} that the queue continues in the next segment. Records are addressed by
+ * offset: the segment number in the high 32 bits and the position in the low 32 bits, so
+ * offsets only grow.
+ * <p>
+ * One {@link QueueAppender} at a time may write a queue; any number of
+ * {@link QueueTailer}s may read it, each remembering its position in a
+ * {@link ConsumerOffset} if it needs to resume.
+ */
+public final class MappedQueue {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    static final int MAGIC = 0x4C435131;
+    static final int SEGMENT_HEADER = 8;
+    static final int RECORD_HEADER = 16;
+    static final int ROLL = -1;
+    // Lengths are accessed through this view to get acquire/release ordering on mapped memory
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Path directory;
+    private final int segmentSize;
+
+    public MappedQueue(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < 4096 || segmentSize % 8 != 0) {
+            throw new IllegalArgumentException("Segment size must be a multiple of 8 of at least 4096, got "
+                    + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Opens the single writer of this queue.
+     *
+     * @throws IllegalStateException if another appender, in this or another process, has it open
+     */
+    public QueueAppender appender() throws IOException {
+        return new QueueAppender(this);
+    }
+
+    /**
+     * A reader positioned after the record at {@code offset}, or at the start of the queue for
+     * {@link ConsumerOffset#NONE}.
+     */
+    public QueueTailer tailer(long offset) throws IOException {
+        QueueTailer tailer = new QueueTailer(this);
+        tailer.moveAfter(offset);
+        return tailer;
+    }
+
+    public ConsumerOffset consumerOffset(String consumer) throws IOException {
+        return new ConsumerOffset(directory.resolve(consumer + ".offset"));
+    }
+
+    /**
+     * The current time in epoch microseconds, for record timestamps.
+     */
+    public static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1000;
+    }
+
+    int getSegmentSize() {
+        return segmentSize;
+    }
+
+    Path segmentFile(int segment) {
+        return directory.resolve(String.format("%010d.q", segment));
+    }
+
+    int firstSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.matches("\\d{10}\\.q"))
+                    .mapToInt(name -> Integer.parseInt(name.substring(0, 10)))
+                    .min().orElse(0);
+        }
+    }
+
+    int lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.matches("\\d{10}\\.q"))
+                    .mapToInt(name -> Integer.parseInt(name.substring(0, 10)))
+                    .max().orElse(0);
+        }
+    }
+
+    /**
+     * Maps {@code segment}, creating it if {@code create}; null if it does not exist (yet) or is
+     * still being created by the appender.
+     */
+    MappedByteBuffer map(int segment, boolean create) throws IOException {
+        Path file = segmentFile(segment);
+        if (!create && (!Files.exists(file) || Files.size(file) < segmentSize)) {
+            return null;
+        }
+        try (FileChannel channel = create
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(create ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, segmentSize);
+            if (create && (int) INT.getAcquire(buffer, 0) == 0) {
+                INT.setRelease(buffer, 0, MAGIC);
+            }
+            int magic = (int) INT.getAcquire(buffer, 0);
+            if (magic == 0 && !create) {
+                return null;
+            }
+            if (magic != MAGIC) {
+                throw new IOException(file + " is not a queue segment");
+            }
+            return buffer;
+        }
+    }
+
+    static long offset(int segment, int position) {
+        return (long) segment << 32 | position;
+    }
+
+    static int segment(long offset) {
+        return (int) (offset >>> 32);
+    }
+
+    static int position(long offset) {
+        return (int) offset;
+    }
+
+    static int recordSize(int payloadLength) {
+        return RECORD_HEADER + ((payloadLength + 7) & ~7);
+    }
+}
@@ -0,0 +1,109 @@
+package com.bank.loanchecker.queue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The writer of a {@link MappedQueue}. Holds a file lock for as long as it is open, so there
+ * is only ever one. Not thread-safe.
+ */
+public final class QueueAppender implements Closeable {
+
+    private final MappedQueue queue;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private int segment;
+    private MappedByteBuffer buffer;
+    private int position;
+    private int syncedPosition;
+
+    QueueAppender(MappedQueue queue) throws IOException {
+        this.queue = queue;
+        this.lockChannel = FileChannel.open(queue.getDirectory().resolve("appender.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;
+        }
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Queue " + queue.getDirectory() + " already has an appender");
+        }
+        this.lock = acquired;
+        // Find the end: the first unwritten record of the last segment
+        this.segment = queue.lastSegment();
+        this.buffer = queue.map(segment, true);
+        this.position = MappedQueue.SEGMENT_HEADER;
+        while (true) {
+            int length = (int) MappedQueue.INT.getAcquire(buffer, position);
+            if (length == 0) {
+                break;
+            }
+            if (length == MappedQueue.ROLL) {
+                openSegment(segment + 1);
+                continue;
+            }
+            position += MappedQueue.recordSize(length);
+        }
+        this.syncedPosition = position;
+    }
+
+    /**
+     * Appends one record and returns its offset.
+     *
+     * @throws IllegalArgumentException if the record does not fit in a segment
+     */
+    public long append(byte[] payload, int offset, int length, long timestampMicros) throws IOException {
+        int size = MappedQueue.recordSize(length);
+        int segmentSize = queue.getSegmentSize();
+        if (size + MappedQueue.SEGMENT_HEADER + MappedQueue.RECORD_HEADER > segmentSize) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit in a segment");
+        }
+        // Keep room for the end marker after the record
+        if (position + size + MappedQueue.RECORD_HEADER > segmentSize) {
+            sync();
+            MappedQueue.INT.setRelease(buffer, position, MappedQueue.ROLL);
+            openSegment(segment + 1);
+        }
+
+        int start = position;
+        MappedQueue.LONG.set(buffer, start + 8, timestampMicros);
+        buffer.put(start + MappedQueue.RECORD_HEADER, payload, offset, length);
+        // A crashed longer write may have left bytes where the next header goes
+        MappedQueue.INT.set(buffer, start + size, 0);
+        MappedQueue.INT.setRelease(buffer, start, length);
+        position = start + size;
+        return MappedQueue.offset(segment, start);
+    }
+
+    /**
+     * Forces everything appended so far to the storage device.
+     */
+    public void sync() {
+        if (position > syncedPosition) {
+            buffer.force(syncedPosition, position - syncedPosition + MappedQueue.RECORD_HEADER);
+            syncedPosition = position;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        lock.release();
+        lockChannel.close();
+    }
+
+    private void openSegment(int next) throws IOException {
+        segment = next;
+        buffer = queue.map(segment, true);
+        position = MappedQueue.SEGMENT_HEADER;
+        syncedPosition = position;
+    }
+}
@@ -0,0 +1,353 @@
+package com.bank.loanchecker.queue;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.dedup.DuplicateDetector;
+import com.bank.loanchecker.jfr.QueueBatchEvent;
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.scoring.LineScorer;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.FieldViolation;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides applications that upstream systems append to the {@code in} queue under
+ * {@code loanchecker.queue.dir} and appends one line per application to the {@code out}
+ * queue, in the bulk job format keyed by the input record's {@code offset}. Off when the
+ * directory is blank.
+ * <p>
+ * Batches go through three threads so that reading and parsing, deciding and writing
+ * overlap: a batch is parsed while the previous one is decided and the one before that is
+ * written. The write stage forces the output to disk before committing the input offset, so
+ * every application gets a decision at least once; after a crash the uncommitted tail of the
+ * input is decided again and downstream consumers may see its offsets twice. Applications
+ * that repeat an earlier one are marked {@code "duplicate": true} when duplicate detection is
+ * on; a re-decided offset is not a duplicate of itself. A record whose decision throws gets
+ * an {@code error} line like an unparseable one, so it cannot stop the consumer.
+ */
+@Service
+public class QueueConsumer {
+
+    public static final String CONSUMER = "loanchecker";
+
+    private static final Logger log = LoggerFactory.getLogger(QueueConsumer.class);
+    private static final int BATCHES_IN_FLIGHT = 3;
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final LoanEligibilityService loanEligibilityService;
+    private final LoanApplicationValidator validator;
+    private final CustomerStore customerStore;
+    private final DuplicateDetector duplicateDetector;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader applicationReader;
+    private final ObjectWriter resultWriter;
+    private final Path directory;
+    private final int batchSize;
+    private final int segmentSize;
+    private final QueueMetrics metrics = new QueueMetrics();
+
+    private final BlockingQueue<Batch> free = new ArrayBlockingQueue<>(BATCHES_IN_FLIGHT);
+    private final BlockingQueue<Batch> parsed = new ArrayBlockingQueue<>(BATCHES_IN_FLIGHT);
+    private final BlockingQueue<Batch> decided = new ArrayBlockingQueue<>(BATCHES_IN_FLIGHT);
+    private QueueTailer tailer;
+    private QueueAppender appender;
+    private ConsumerOffset offset;
+    private Thread[] stages = new Thread[0];
+    private volatile String state = "DISABLED";
+
+    public QueueConsumer(LoanEligibilityService loanEligibilityService, LoanApplicationValidator validator,
+                         CustomerStore customerStore, DuplicateDetector duplicateDetector, ObjectMapper objectMapper,
+                         @Value("${loanchecker.queue.dir:}") String directory,
+                         @Value("${loanchecker.queue.batch-size:256}") int batchSize,
+                         @Value("${loanchecker.queue.segment-size:" + MappedQueue.DEFAULT_SEGMENT_SIZE + "}") int segmentSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("loanchecker.queue.batch-size must be positive");
+        }
+        this.loanEligibilityService = loanEligibilityService;
+        this.validator = validator;
+        this.customerStore = customerStore;
+        this.duplicateDetector = duplicateDetector;
+        this.objectMapper = objectMapper;
+        this.applicationReader = objectMapper.readerFor(LoanApplication.class);
+        this.resultWriter = objectMapper.writerFor(LoanEligibilityResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.directory = directory.isBlank() ? null : Path.of(directory).toAbsolutePath();
+        this.batchSize = batchSize;
+        this.segmentSize = segmentSize;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (directory == null) {
+            return;
+        }
+        MappedQueue input = new MappedQueue(directory.resolve("in"), segmentSize);
+        MappedQueue output = new MappedQueue(directory.resolve("out"), segmentSize);
+        offset = input.consumerOffset(CONSUMER);
+        long committed = offset.load();
+        tailer = input.tailer(committed);
+        appender = output.appender();
+        for (int i = 0; i < BATCHES_IN_FLIGHT; i++) {
+            free.add(new Batch(batchSize));
+        }
+        stages = new Thread[] {
+                stage("queue-parse", this::parseStage),
+                stage("queue-decide", this::decideStage),
+                stage("queue-write", this::writeStage)
+        };
+        state = "RUNNING";
+        log.info("Consuming {} from offset {}", input.getDirectory(), committed);
+        for (Thread stage : stages) {
+            stage.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (directory == null) {
+            return;
+        }
+        for (Thread stage : stages) {
+            stage.interrupt();
+        }
+        for (Thread stage : stages) {
+            stage.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (!"FAILED".equals(state)) {
+            state = "STOPPED";
+        }
+        appender.close();
+        offset.close();
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public QueueStatus status() {
+        return metrics.snapshot(state);
+    }
+
+    private Thread stage(String name, Stage body) {
+        Thread thread = new Thread(() -> {
+            try {
+                body.run();
+            } catch (InterruptedException e) {
+                // Stopping
+            } catch (Exception e) {
+                log.error("Queue consumer stopped in {}", name, e);
+                state = "FAILED";
+                for (Thread stage : stages) {
+                    stage.interrupt();
+                }
+            }
+        }, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void parseStage() throws Exception {
+        while (true) {
+            Batch batch = free.take();
+            batch.size = 0;
+            // Wait for the first record, then take whatever else is already there
+            while (batch.size == 0) {
+                if (!tailer.next()) {
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    continue;
+                }
+                parse(batch);
+            }
+            while (batch.size < batchSize && tailer.next()) {
+                parse(batch);
+            }
+            parsed.put(batch);
+        }
+    }
+
+    private void parse(Batch batch) throws IOException {
+        int i = batch.size++;
+        batch.offsets[i] = tailer.offset();
+        batch.timestamps[i] = tailer.timestampMicros();
+        batch.inputs[i] = null;
+        batch.violations[i] = null;
+        batch.errors[i] = null;
+        batch.results[i] = null;
+        batch.duplicates[i] = false;
+        try {
+            parseRecord(batch, i);
+        } catch (UncheckedIOException e) {
+            // Duplicate detection's disk, not the record
+            throw e;
+        } catch (RuntimeException e) {
+            fail(batch, i, e);
+        }
+    }
+
+    private void parseRecord(Batch batch, int i) throws IOException {
+        LoanApplication application;
+        try {
+            application = applicationReader.readValue(tailer.payload(), 0, tailer.length());
+        } catch (JsonProcessingException e) {
+            batch.errors[i] = e.getOriginalMessage();
+            return;
+        }
+        if (application == null) {
+            batch.errors[i] = "Expected an application";
+            return;
+        }
+        List<FieldViolation> violations = validator.validate(application);
+        if (!violations.isEmpty()) {
+            batch.violations[i] = violations;
+            return;
+        }
+        EligibilityInput input;
+        if (application.getCustomerId() == null) {
+            input = EligibilityInput.of(application);
+        } else {
+            input = new EligibilityInput();
+            if (!customerStore.load(application.getCustomerId(), input)) {
+                batch.errors[i] = "No customer with this id";
+                return;
+            }
+            input.setLoan(application.getLoanType(), application.getRequestedAmount(), application.getTenureYears());
+        }
+        batch.inputs[i] = input;
+        batch.duplicates[i] = duplicateDetector.isDuplicate(application,
+                DuplicateDetector.source("queue", batch.offsets[i]));
+    }
+
+    private void decideStage() throws InterruptedException {
+        while (true) {
+            Batch batch = parsed.take();
+            for (int i = 0; i < batch.size; i++) {
+                if (batch.inputs[i] != null) {
+                    try {
+                        batch.results[i] = loanEligibilityService.decide(batch.inputs[i]);
+                    } catch (RuntimeException e) {
+                        fail(batch, i, e);
+                    }
+                }
+            }
+            decided.put(batch);
+        }
+    }
+
+    // One bad record gets an error line instead of stopping the consumer on it at every restart
+    private void fail(Batch batch, int i, RuntimeException e) {
+        log.warn("Could not decide the record at offset {}", batch.offsets[i], e);
+        batch.inputs[i] = null;
+        batch.results[i] = null;
+        batch.duplicates[i] = false;
+        batch.errors[i] = "Could not decide: " + e.getMessage();
+    }
+
+    private void writeStage() throws Exception {
+        RecordBuffer buffer = new RecordBuffer();
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer);
+        generator.setRootValueSeparator(null);
+        while (true) {
+            Batch batch = decided.take();
+            QueueBatchEvent event = new QueueBatchEvent();
+            event.begin();
+            int invalid = 0;
+            for (int i = 0; i < batch.size; i++) {
+                buffer.reset();
+                generator.writeStartObject();
+                generator.writeNumberField("offset", batch.offsets[i]);
+                if (batch.results[i] != null) {
+                    generator.writeFieldName("result");
+                    resultWriter.writeValue(generator, batch.results[i]);
+                    if (batch.duplicates[i]) {
+                        generator.writeBooleanField("duplicate", true);
+                    }
+                } else if (batch.violations[i] != null) {
+                    LineScorer.writeViolations(batch.violations[i], generator);
+                    invalid++;
+                } else {
+                    generator.writeStringField("error", batch.errors[i]);
+                    invalid++;
+                }
+                generator.writeEndObject();
+                generator.flush();
+                appender.append(buffer.bytes(), 0, buffer.size(), MappedQueue.nowMicros());
+            }
+            appender.sync();
+            duplicateDetector.flush();
+            offset.commit(batch.offsets[batch.size - 1]);
+
+            long nowMicros = MappedQueue.nowMicros();
+            long maxLatency = 0;
+            for (int i = 0; i < batch.size; i++) {
+                long latency = nowMicros - batch.timestamps[i];
+                metrics.recordLatency(latency);
+                maxLatency = Math.max(maxLatency, latency);
+            }
+            metrics.recordBatch(batch.size, invalid, batch.offsets[batch.size - 1], nowMicros / 1000);
+            event.records = batch.size;
+            event.invalid = invalid;
+            event.maxLatency = maxLatency;
+            event.commit();
+            free.put(batch);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    private static final class Batch {
+        final long[] offsets;
+        final long[] timestamps;
+        final EligibilityInput[] inputs;
+        final List<FieldViolation>[] violations;
+        final String[] errors;
+        final LoanEligibilityResult[] results;
+        final boolean[] duplicates;
+        int size;
+
+        @SuppressWarnings("unchecked")
+        Batch(int capacity) {
+            offsets = new long[capacity];
+            timestamps = new long[capacity];
+            inputs = new EligibilityInput[capacity];
+            violations = (List<FieldViolation>[]) new List<?>[capacity];
+            errors = new String[capacity];
+            results = new LoanEligibilityResult[capacity];
+            duplicates = new boolean[capacity];
+        }
+    }
+
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
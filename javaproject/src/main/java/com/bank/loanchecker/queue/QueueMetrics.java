@@ -0,0 +1,106 @@
+package com.bank.loanchecker.queue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters, recent throughput and end-to-end latency of the queue consumer. Written by the
+ * consumer's write stage alone and read by anyone. Latencies go into a log-linear histogram
+ * with eight buckets per power of two, so quantiles are accurate to within 12.5%.
+ */
+class QueueMetrics {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int WINDOW_SECONDS = 10;
+    private static final int SLOTS = 16;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong decided = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong committedOffset = new AtomicLong(ConsumerOffset.NONE);
+    private final AtomicLongArray latencyMicros = new AtomicLongArray((64 - SUB_BITS + 1) * SUB_BUCKETS);
+    private final AtomicLongArray secondCounts = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray secondStamps = new AtomicLongArray(SLOTS);
+    private final long startedMillis = System.currentTimeMillis();
+
+    void recordBatch(int records, int invalidRecords, long committed, long nowMillis) {
+        received.addAndGet(records);
+        decided.addAndGet(records - invalidRecords);
+        invalid.addAndGet(invalidRecords);
+        batches.incrementAndGet();
+        committedOffset.set(committed);
+
+        long second = nowMillis / 1000;
+        int slot = (int) (second % SLOTS);
+        if (secondStamps.get(slot) != second) {
+            secondCounts.set(slot, 0);
+            secondStamps.set(slot, second);
+        }
+        secondCounts.addAndGet(slot, records);
+    }
+
+    void recordLatency(long micros) {
+        latencyMicros.incrementAndGet(bucket(Math.max(0, micros)));
+    }
+
+    QueueStatus snapshot(String state) {
+        long nowMillis = System.currentTimeMillis();
+        long second = nowMillis / 1000;
+        long recent = 0;
+        // Only whole seconds; the current one is still filling
+        for (long past = second - WINDOW_SECONDS; past < second; past++) {
+            int slot = (int) (past % SLOTS);
+            if (secondStamps.get(slot) == past) {
+                recent += secondCounts.get(slot);
+            }
+        }
+        double uptimeSeconds = Math.max(1, nowMillis - startedMillis) / 1000.0;
+
+        long[] histogram = new long[latencyMicros.length()];
+        long count = 0;
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            histogram[bucket] = latencyMicros.get(bucket);
+            count += histogram[bucket];
+        }
+        LatencyMillis latency = count == 0 ? null : new LatencyMillis(
+                quantileMillis(histogram, count, 0.50),
+                quantileMillis(histogram, count, 0.90),
+                quantileMillis(histogram, count, 0.99),
+                quantileMillis(histogram, count, 1.0));
+
+        return new QueueStatus(state, received.get(), decided.get(), invalid.get(), batches.get(),
+                committedOffset.get(), (double) recent / WINDOW_SECONDS, received.get() / uptimeSeconds, latency);
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + (int) ((value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+    }
+
+    // The largest value that falls in the bucket
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long width = 1L << (exponent - SUB_BITS);
+        return (SUB_BUCKETS + bucket % SUB_BUCKETS) * width + width - 1;
+    }
+
+    private static double quantileMillis(long[] histogram, long count, double q) {
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= rank) {
+                return upperBound(bucket) / 1000.0;
+            }
+        }
+        return upperBound(histogram.length - 1) / 1000.0;
+    }
+}
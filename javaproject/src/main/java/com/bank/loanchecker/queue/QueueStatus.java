@@ -0,0 +1,11 @@
+package com.bank.loanchecker.queue;
+
+/**
+ * State of the queue consumer: record counts since start-up, the last committed input offset,
+ * throughput over the last ten seconds and since start-up, and end-to-end latency from
+ * enqueue to the decision being durable on the output queue (null before the first batch).
+ */
+public record QueueStatus(String state, long received, long decided, long invalid, long batches,
+                          long committedOffset, double throughputPerSecond, double averageThroughputPerSecond,
+                          LatencyMillis latencyMillis) {
+}
@@ -0,0 +1,89 @@
+package com.bank.loanchecker.queue;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+
+/**
+ * A sequential reader of a {@link MappedQueue}. {@link #next} copies the next record into a
+ * reused buffer, or returns false when the reader has caught up with the appender. Not
+ * thread-safe.
+ */
+public final class QueueTailer {
+
+    private final MappedQueue queue;
+    private int segment;
+    private MappedByteBuffer buffer;
+    private int position;
+    private byte[] payload = new byte[1024];
+    private int length;
+    private long timestampMicros;
+    private long offset = ConsumerOffset.NONE;
+
+    QueueTailer(MappedQueue queue) {
+        this.queue = queue;
+    }
+
+    void moveAfter(long previous) throws IOException {
+        if (previous == ConsumerOffset.NONE) {
+            segment = queue.firstSegment();
+            position = MappedQueue.SEGMENT_HEADER;
+        } else {
+            segment = MappedQueue.segment(previous);
+            buffer = queue.map(segment, false);
+            if (buffer == null) {
+                throw new IOException("Offset " + previous + " is not in the queue");
+            }
+            int previousLength = (int) MappedQueue.INT.getAcquire(buffer, MappedQueue.position(previous));
+            position = MappedQueue.position(previous) + MappedQueue.recordSize(previousLength);
+        }
+    }
+
+    public boolean next() throws IOException {
+        while (true) {
+            if (buffer == null) {
+                buffer = queue.map(segment, false);
+                if (buffer == null) {
+                    return false;
+                }
+            }
+            int recordLength = (int) MappedQueue.INT.getAcquire(buffer, position);
+            if (recordLength == 0) {
+                return false;
+            }
+            if (recordLength == MappedQueue.ROLL) {
+                segment++;
+                buffer = null;
+                position = MappedQueue.SEGMENT_HEADER;
+                continue;
+            }
+            if (payload.length < recordLength) {
+                payload = new byte[Math.max(recordLength, payload.length * 2)];
+            }
+            timestampMicros = (long) MappedQueue.LONG.get(buffer, position + 8);
+            buffer.get(position + MappedQueue.RECORD_HEADER, payload, 0, recordLength);
+            length = recordLength;
+            offset = MappedQueue.offset(segment, position);
+            position += MappedQueue.recordSize(recordLength);
+            return true;
+        }
+    }
+
+    /**
+     * Offset of the current record.
+     */
+    public long offset() {
+        return offset;
+    }
+
+    public long timestampMicros() {
+        return timestampMicros;
+    }
+
+    public byte[] payload() {
+        return payload;
+    }
+
+    public int length() {
+        return length;
+    }
+}
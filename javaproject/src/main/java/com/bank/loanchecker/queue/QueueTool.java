@@ -0,0 +1,68 @@
+package com.bank.loanchecker.queue;
+
+import com.bank.loanchecker.scoring.LineReader;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Command-line access to a {@link MappedQueue}, for producers and consumers that are not
+ * written in Java or for trying the queue out:
+ * <pre>
+ * java -Dloader.main=com.bank.loanchecker.queue.QueueTool -cp loan-eligibility-checker.jar \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher append data/queue/in &lt; applications.ndjson
+ * ... QueueTool drain data/queue/out reports &gt; decisions.ndjson
+ * </pre>
+ * {@code append} appends each non-blank line of stdin as one record. {@code drain} writes
+ * the records after the named consumer's offset to stdout, one per line, and commits the
+ * offset once they are flushed.
+ */
+public final class QueueTool {
+
+    private QueueTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !(args[0].equals("append") || args[0].equals("drain") && args.length == 3)) {
+            System.err.println("Usage: QueueTool append <queue-dir> | drain <queue-dir> <consumer>");
+            System.exit(2);
+        }
+        MappedQueue queue = new MappedQueue(Path.of(args[1]), MappedQueue.DEFAULT_SEGMENT_SIZE);
+        long records = args[0].equals("append") ? append(queue) : drain(queue, args[2], System.out);
+        System.err.printf("%s %d records%n", args[0].equals("append") ? "Appended" : "Drained", records);
+    }
+
+    static long append(MappedQueue queue) throws IOException {
+        long records = 0;
+        try (QueueAppender appender = queue.appender()) {
+            LineReader reader = new LineReader(System.in, 0);
+            while (reader.next()) {
+                if (!reader.isBlank()) {
+                    appender.append(reader.buffer(), 0, reader.length(), MappedQueue.nowMicros());
+                    records++;
+                }
+            }
+        }
+        return records;
+    }
+
+    static long drain(MappedQueue queue, String consumer, OutputStream out) throws IOException {
+        long records = 0;
+        try (ConsumerOffset offset = queue.consumerOffset(consumer)) {
+            QueueTailer tailer = queue.tailer(offset.load());
+            OutputStream buffered = new BufferedOutputStream(out);
+            while (tailer.next()) {
+                buffered.write(tailer.payload(), 0, tailer.length());
+                buffered.write('\n');
+                records++;
+            }
+            buffered.flush();
+            if (records > 0) {
+                offset.commit(tailer.offset());
+            }
+        }
+        return records;
+    }
+}
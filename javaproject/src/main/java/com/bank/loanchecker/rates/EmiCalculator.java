@@ -0,0 +1,123 @@
+package com.bank.loanchecker.rates;
+
+import java.util.Optional;
+
+/**
+ * The annuity formula behind every EMI in the application, for single loans and for batches
+ * given as parallel arrays. {@link LoanTerms} uses the same steps with its cached compounding
+ * factors, so all paths give bit-identical results.
+ * <p>
+ * A batch is computed in two passes: the first finds {@code (1 + r)^n} for each entry,
+ * calling {@code Math.pow} once per distinct rate and tenure (or taking the factor cached by
+ * the rate table); the second is branch-free arithmetic over the arrays, which the JIT can
+ * compile to SIMD instructions.
+ */
+public final class EmiCalculator {
+
+    private static final int CACHE_SIZE = 256;
+
+    private EmiCalculator() {
+    }
+
+    static double monthlyRate(double annualRate) {
+        return annualRate / (12 * 100);
+    }
+
+    static double growth(double monthlyRate, int tenureYears) {
+        return Math.pow(1 + monthlyRate, tenureYears * 12);
+    }
+
+    static double payment(double principal, double monthlyRate, double growth) {
+        return principal * monthlyRate * growth / (growth - 1);
+    }
+
+    static double interestFreePayment(double principal, int tenureYears) {
+        return principal / (tenureYears * 12);
+    }
+
+    /**
+     * Unrounded monthly instalment for {@code principal} at {@code annualRate} percent over
+     * {@code tenureYears}.
+     */
+    public static double emi(double principal, double annualRate, int tenureYears) {
+        if (annualRate == 0) {
+            return interestFreePayment(principal, tenureYears);
+        }
+        double monthlyRate = monthlyRate(annualRate);
+        return payment(principal, monthlyRate, growth(monthlyRate, tenureYears));
+    }
+
+    /**
+     * Same as {@link #emi(double, double, int)}, using the factors cached by {@code table} when
+     * the rate is one of its loan types' rates.
+     */
+    public static double emi(RateTable table, double principal, double annualRate, int tenureYears) {
+        Optional<LoanTerms> terms = table.findByInterestRate(annualRate);
+        return terms.isPresent()
+                ? terms.get().emi(principal, tenureYears)
+                : emi(principal, annualRate, tenureYears);
+    }
+
+    /**
+     * Computes {@code emis[i] = emi(principals[i], annualRates[i], tenureYears[i])} for every
+     * index. {@code table} may be null.
+     *
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static void emi(RateTable table, double[] principals, double[] annualRates, int[] tenureYears,
+                           double[] emis) {
+        int length = principals.length;
+        if (annualRates.length != length || tenureYears.length != length || emis.length != length) {
+            throw new IllegalArgumentException("principals, interest rates, tenures and results must have the same "
+                    + "length, got " + length + ", " + annualRates.length + ", " + tenureYears.length
+                    + " and " + emis.length);
+        }
+
+        // Pass 1: compounding factors, parked in the output array
+        long[] cachedRates = new long[CACHE_SIZE];
+        int[] cachedTenures = new int[CACHE_SIZE];
+        double[] cachedGrowth = new double[CACHE_SIZE];
+        boolean interestFree = false;
+        for (int i = 0; i < length; i++) {
+            double annualRate = annualRates[i];
+            int years = tenureYears[i];
+            if (annualRate == 0) {
+                interestFree = true;
+                continue;
+            }
+            long rateBits = Double.doubleToRawLongBits(annualRate);
+            int slot = (int) ((rateBits ^ (rateBits >>> 29) ^ years * 0x9E3779B9L) & (CACHE_SIZE - 1));
+            if (cachedRates[slot] != rateBits || cachedTenures[slot] != years) {
+                cachedRates[slot] = rateBits;
+                cachedTenures[slot] = years;
+                cachedGrowth[slot] = growthFor(table, annualRate, years);
+            }
+            emis[i] = cachedGrowth[slot];
+        }
+
+        // Pass 2: the annuity formula, same operation order as payment()
+        for (int i = 0; i < length; i++) {
+            double monthlyRate = annualRates[i] / (12 * 100);
+            double growth = emis[i];
+            emis[i] = principals[i] * monthlyRate * growth / (growth - 1);
+        }
+
+        if (interestFree) {
+            for (int i = 0; i < length; i++) {
+                if (annualRates[i] == 0) {
+                    emis[i] = interestFreePayment(principals[i], tenureYears[i]);
+                }
+            }
+        }
+    }
+
+    private static double growthFor(RateTable table, double annualRate, int years) {
+        if (table != null) {
+            Optional<LoanTerms> terms = table.findByInterestRate(annualRate);
+            if (terms.isPresent()) {
+                return terms.get().growth(years);
+            }
+        }
+        return growth(monthlyRate(annualRate), years);
+    }
+}
@@ -0,0 +1,96 @@
+package com.bank.loanchecker.rates;
+
+import com.bank.loanchecker.model.LoanType;
+
+/**
+ * The terms of one loan type in a {@link RateTable}, with the compounding factors for every
+ * whole-year tenure up to the cap computed once when the table is built. The arithmetic
+ * around the cached factors is the same as the direct formula, so results are identical.
+ */
+public final class LoanTerms {
+
+    private final LoanType loanType;
+    private final double interestRate;
+    private final int maxTenureYears;
+    private final double minAmount;
+    private final double maxAmount;
+    private final double monthlyRate;
+    // Indexed by tenure in years: (1 + r)^n and (((1 + r)^n - 1) / (r * (1 + r)^n))
+    private final double[] growth;
+    private final double[] presentValueFactor;
+
+    LoanTerms(LoanType loanType, RateSpec spec) {
+        this.loanType = loanType;
+        this.interestRate = spec.interestRate();
+        this.maxTenureYears = spec.maxTenureYears();
+        this.minAmount = spec.minAmount();
+        this.maxAmount = spec.maxAmount();
+        this.monthlyRate = EmiCalculator.monthlyRate(interestRate);
+        this.growth = new double[maxTenureYears + 1];
+        this.presentValueFactor = new double[maxTenureYears + 1];
+        for (int years = 1; years <= maxTenureYears; years++) {
+            double compounded = EmiCalculator.growth(monthlyRate, years);
+            growth[years] = compounded;
+            presentValueFactor[years] = (compounded - 1) / (monthlyRate * compounded);
+        }
+    }
+
+    public LoanType getLoanType() {
+        return loanType;
+    }
+
+    public String getDisplayName() {
+        return loanType.getDisplayName();
+    }
+
+    public double getInterestRate() {
+        return interestRate;
+    }
+
+    public int getMaxTenureYears() {
+        return maxTenureYears;
+    }
+
+    public double getMinAmount() {
+        return minAmount;
+    }
+
+    public double getMaxAmount() {
+        return maxAmount;
+    }
+
+    /**
+     * Unrounded monthly instalment for {@code principal} over {@code tenureYears}.
+     */
+    public double emi(double principal, int tenureYears) {
+        if (interestRate == 0) {
+            return EmiCalculator.interestFreePayment(principal, tenureYears);
+        }
+        return EmiCalculator.payment(principal, monthlyRate, growth(tenureYears));
+    }
+
+    // (1 + r)^(12 * tenureYears), from the cache when the tenure is within the cap
+    double growth(int tenureYears) {
+        return tenureYears >= 1 && tenureYears <= maxTenureYears
+                ? growth[tenureYears]
+                : EmiCalculator.growth(monthlyRate, tenureYears);
+    }
+
+    /**
+     * The principal that a monthly instalment of {@code emi} pays off over {@code tenureYears}.
+     */
+    public double principalForEmi(double emi, int tenureYears) {
+        if (interestRate == 0) {
+            return emi * tenureYears * 12;
+        }
+        if (tenureYears >= 1 && tenureYears <= maxTenureYears) {
+            return emi * presentValueFactor[tenureYears];
+        }
+        double compounded = EmiCalculator.growth(monthlyRate, tenureYears);
+        return emi * ((compounded - 1) / (monthlyRate * compounded));
+    }
+
+    RateSpec toSpec() {
+        return new RateSpec(interestRate, maxTenureYears, minAmount, maxAmount);
+    }
+}
@@ -0,0 +1,27 @@
+package com.bank.loanchecker.rates;
+
+import com.bank.loanchecker.model.LoanType;
+import com.bank.loanchecker.money.Money;
+
+/**
+ * The published terms of one loan type, as read from a rate file or the admin endpoint.
+ */
+public record RateSpec(double interestRate, int maxTenureYears, double minAmount, double maxAmount) {
+
+    public static RateSpec of(LoanType loanType) {
+        return new RateSpec(loanType.getInterestRate(), loanType.getMaxTenureYears(),
+                loanType.getMinAmount(), loanType.getMaxAmount());
+    }
+
+    void check(LoanType loanType) {
+        if (!(interestRate >= 0 && interestRate < 100)) {
+            throw new IllegalArgumentException(loanType + ": interest rate must be between 0 and 100");
+        }
+        if (maxTenureYears < 1 || maxTenureYears > 50) {
+            throw new IllegalArgumentException(loanType + ": maximum tenure must be between 1 and 50 years");
+        }
+        if (!(minAmount > 0 && minAmount <= maxAmount && Money.isInRange(maxAmount))) {
+            throw new IllegalArgumentException(loanType + ": amount limits must satisfy 0 < min <= max < " + Money.MAX_RUPEES);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.loanchecker.rates;
+
+import com.bank.loanchecker.model.LoanType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * An immutable, versioned snapshot of the terms for every loan type. Everything derived
+ * from the terms is built in the constructor, so a table is complete before it is published.
+ */
+public final class RateTable {
+
+    private final long version;
+    private final Instant publishedAt;
+    private final String source;
+    private final Map<LoanType, LoanTerms> terms = new EnumMap<>(LoanType.class);
+    private final Map<String, Map<String, Object>> loanDetails;
+
+    RateTable(long version, Instant publishedAt, String source, Map<LoanType, RateSpec> specs) {
+        this.version = version;
+        this.publishedAt = publishedAt;
+        this.source = source;
+        Map<String, Map<String, Object>> details = new LinkedHashMap<>();
+        for (LoanType loanType : LoanType.values()) {
+            RateSpec spec = specs.get(loanType);
+            if (spec == null) {
+                throw new IllegalArgumentException("No rates for " + loanType);
+            }
+            spec.check(loanType);
+            terms.put(loanType, new LoanTerms(loanType, spec));
+            details.put(loanType.name(), Map.of(
+                    "interestRate", spec.interestRate(),
+                    "minAmount", spec.minAmount(),
+                    "maxAmount", spec.maxAmount(),
+                    "maxTenure", spec.maxTenureYears()));
+        }
+        this.loanDetails = Collections.unmodifiableMap(details);
+    }
+
+    /**
+     * The rates compiled into {@link LoanType}, used until another table is published.
+     */
+    public static RateTable defaults() {
+        Map<LoanType, RateSpec> specs = new EnumMap<>(LoanType.class);
+        for (LoanType loanType : LoanType.values()) {
+            specs.put(loanType, RateSpec.of(loanType));
+        }
+        return new RateTable(1, Instant.now(), "defaults", specs);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public LoanTerms terms(LoanType loanType) {
+        return terms.get(loanType);
+    }
+
+    /**
+     * The terms whose interest rate is exactly {@code interestRate}, if any.
+     */
+    public Optional<LoanTerms> findByInterestRate(double interestRate) {
+        for (LoanTerms candidate : terms.values()) {
+            if (candidate.getInterestRate() == interestRate) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Per loan type limits in the shape the application form's script expects.
+     */
+    @JsonIgnore
+    public Map<String, Map<String, Object>> getLoanDetails() {
+        return loanDetails;
+    }
+
+    public Map<LoanType, RateSpec> getRates() {
+        Map<LoanType, RateSpec> rates = new EnumMap<>(LoanType.class);
+        terms.forEach((loanType, loanTerms) -> rates.put(loanType, loanTerms.toSpec()));
+        return rates;
+    }
+}
@@ -0,0 +1,69 @@
+package com.bank.loanchecker.rates;
+
+import com.bank.loanchecker.model.LoanType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Reads a rate file: a properties file with one {@code <LOAN_TYPE>.<field>} key per term,
+ * for example {@code HOME_LOAN.interestRate=8.25}. Fields that are left out keep their value
+ * in the table the file is applied to, so terms published by other means are not reverted.
+ */
+public final class RateTableFile {
+
+    private RateTableFile() {
+    }
+
+    /**
+     * The terms of every loan type the file mentions, with the fields it leaves out taken from
+     * {@code base}. Loan types it does not mention are not in the map.
+     */
+    public static Map<LoanType, RateSpec> read(Path file, RateTable base) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        Set<LoanType> mentioned = EnumSet.noneOf(LoanType.class);
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            LoanType loanType = dot < 0 ? null : loanType(key.substring(0, dot));
+            if (loanType == null) {
+                throw new IllegalArgumentException("Unknown rate key " + key + " in " + file);
+            }
+            mentioned.add(loanType);
+        }
+
+        Map<LoanType, RateSpec> rates = new EnumMap<>(LoanType.class);
+        for (LoanType loanType : mentioned) {
+            RateSpec current = base.getRates().get(loanType);
+            String prefix = loanType.name() + ".";
+            try {
+                rates.put(loanType, new RateSpec(
+                        Double.parseDouble(properties.getProperty(prefix + "interestRate", String.valueOf(current.interestRate()))),
+                        Integer.parseInt(properties.getProperty(prefix + "maxTenureYears", String.valueOf(current.maxTenureYears()))),
+                        Double.parseDouble(properties.getProperty(prefix + "minAmount", String.valueOf(current.minAmount()))),
+                        Double.parseDouble(properties.getProperty(prefix + "maxAmount", String.valueOf(current.maxAmount())))));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number for " + loanType + " in " + file + ": " + e.getMessage());
+            }
+        }
+        return rates;
+    }
+
+    private static LoanType loanType(String name) {
+        for (LoanType loanType : LoanType.values()) {
+            if (loanType.name().equals(name)) {
+                return loanType;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.loanchecker.rates;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+/**
+ * Publishes the rate file named by {@code loanchecker.rates.file} at start-up and again
+ * whenever it changes. A file that fails to parse or validate is logged and ignored, leaving
+ * the previous table in force. Write the new file next to the old one and rename it into
+ * place so the watcher never sees a half-written file.
+ */
+@Component
+public class RateTableFileWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RateTableFileWatcher.class);
+
+    private final RateTableRegistry registry;
+    private final Path file;
+    private WatchService watchService;
+    private Thread watcher;
+
+    public RateTableFileWatcher(RateTableRegistry registry, @Value("${loanchecker.rates.file:}") String file) {
+        this.registry = registry;
+        this.file = file.isBlank() ? null : Path.of(file).toAbsolutePath();
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (file == null) {
+            return;
+        }
+        if (Files.exists(file)) {
+            reload();
+        } else {
+            log.warn("Rate file {} does not exist yet, using {}", file, registry.current().getSource());
+        }
+        watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watcher = new Thread(this::watch, "rate-file-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    void reload() {
+        try {
+            registry.publish(file);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Ignoring rate file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed && Files.exists(file)) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+}
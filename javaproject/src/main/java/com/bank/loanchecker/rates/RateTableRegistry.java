@@ -0,0 +1,53 @@
+package com.bank.loanchecker.rates;
+
+import com.bank.loanchecker.model.LoanType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds the current {@link RateTable}. Readers take one snapshot per decision through a
+ * single volatile read; publishers are serialized and build the complete table, including
+ * its precomputed factors, before swapping the reference.
+ */
+@Component
+public class RateTableRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RateTableRegistry.class);
+
+    private volatile RateTable current = RateTable.defaults();
+
+    public RateTable current() {
+        return current;
+    }
+
+    /**
+     * Publishes a new version. Loan types missing from {@code rates} keep their current terms.
+     *
+     * @throws IllegalArgumentException if any of the resulting terms are invalid; the current
+     *                                  table stays in place
+     */
+    public synchronized RateTable publish(Map<LoanType, RateSpec> rates, String source) {
+        RateTable previous = current;
+        Map<LoanType, RateSpec> merged = new EnumMap<>(LoanType.class);
+        merged.putAll(previous.getRates());
+        merged.putAll(rates);
+        RateTable next = new RateTable(previous.getVersion() + 1, Instant.now(), source, merged);
+        current = next;
+        log.info("Published rate table version {} from {}", next.getVersion(), source);
+        return next;
+    }
+
+    /**
+     * Publishes the terms in a rate file on top of the current table; see {@link RateTableFile}.
+     */
+    public synchronized RateTable publish(Path file) throws IOException {
+        return publish(RateTableFile.read(file, current), file.toString());
+    }
+}
@@ -0,0 +1,10 @@
+package com.bank.loanchecker.redecision;
+
+import com.bank.loanchecker.policy.EligibilityPolicy;
+
+/**
+ * Size of the decision book, the lines skipped when it was loaded, and the rate table version
+ * and policy its decisions are current with.
+ */
+public record BookStatus(int records, int skipped, long rateTableVersion, EligibilityPolicy policy) {
+}
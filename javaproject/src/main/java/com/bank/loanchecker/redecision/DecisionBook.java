@@ -0,0 +1,305 @@
+package com.bank.loanchecker.redecision;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.EligibilityRule;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.model.LoanType;
+import com.bank.loanchecker.model.ReasonCode;
+import com.bank.loanchecker.money.Money;
+import com.bank.loanchecker.policy.EligibilityPolicy;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateSpec;
+import com.bank.loanchecker.rates.RateTable;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.scoring.LineReader;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A book of stored decisions that is brought up to date incrementally when rates or the
+ * eligibility policy change. The book remembers the rate table and policy its decisions were
+ * made under; on {@link #redecide} it works out from the differences which records could
+ * come out differently (see {@link DecisionIndex}), decides only those again and streams the
+ * ones that changed.
+ * <ul>
+ *     <li>a loan type's terms changed: every record of that type, as even rejections quote the rate</li>
+ *     <li>the minimum credit score or an age limit moved: records between the old and new limit</li>
+ *     <li>the EMI share went up: share-sensitive records; down: those plus full approvals whose
+ *     margin is at or above the new share, less one percent for rounding</li>
+ * </ul>
+ */
+@Service
+public class DecisionBook {
+
+    private static final int ROUNDING_SLACK_PERCENT = 1;
+
+    private final LoanEligibilityService loanEligibilityService;
+    private final LoanApplicationValidator validator;
+    private final CustomerStore customerStore;
+    private final RateTableRegistry rateTables;
+    private final EligibilityPolicyRegistry policies;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader applicationReader;
+    private final ObjectWriter resultWriter;
+    private final int maxRecords;
+
+    // All guarded by this
+    private long[] lines = new long[0];
+    private EligibilityInput[] inputs = new EligibilityInput[0];
+    private LoanEligibilityResult[] results = new LoanEligibilityResult[0];
+    private DecisionIndex index = new DecisionIndex(inputs);
+    private int skipped;
+    private RateTable rateTable;
+    private EligibilityPolicy policy;
+
+    public DecisionBook(LoanEligibilityService loanEligibilityService, LoanApplicationValidator validator,
+                        CustomerStore customerStore, RateTableRegistry rateTables, EligibilityPolicyRegistry policies,
+                        ObjectMapper objectMapper, @Value("${loanchecker.book.max-records:1000000}") int maxRecords) {
+        this.loanEligibilityService = loanEligibilityService;
+        this.validator = validator;
+        this.customerStore = customerStore;
+        this.rateTables = rateTables;
+        this.policies = policies;
+        this.objectMapper = objectMapper;
+        this.applicationReader = objectMapper.readerFor(LoanApplication.class);
+        this.resultWriter = objectMapper.writerFor(LoanEligibilityResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.maxRecords = maxRecords;
+        this.rateTable = rateTables.current();
+        this.policy = policies.current();
+    }
+
+    /**
+     * Replaces the book with the applications in a newline-delimited JSON stream, decided under
+     * the current rates and policy. Records keep their line number; lines that cannot be
+     * parsed, fail validation or name an unknown customer are skipped.
+     *
+     * @throws IllegalArgumentException if the stream holds more than the allowed number of records
+     */
+    public synchronized BookStatus load(InputStream in) throws IOException {
+        RateTable loadTable = rateTables.current();
+        EligibilityPolicy loadPolicy = policies.current();
+        List<EligibilityInput> loadedInputs = new ArrayList<>();
+        List<Long> loadedLines = new ArrayList<>();
+        int loadSkipped = 0;
+
+        LineReader reader = new LineReader(in, 0);
+        long lineNumber = 0;
+        while (reader.next()) {
+            lineNumber++;
+            if (reader.isBlank()) {
+                continue;
+            }
+            EligibilityInput input = toInput(reader.buffer(), reader.length());
+            if (input == null) {
+                loadSkipped++;
+                continue;
+            }
+            if (loadedInputs.size() == maxRecords) {
+                throw new IllegalArgumentException("The book holds at most " + maxRecords + " records");
+            }
+            loadedInputs.add(input);
+            loadedLines.add(lineNumber);
+        }
+
+        int size = loadedInputs.size();
+        lines = new long[size];
+        inputs = loadedInputs.toArray(new EligibilityInput[0]);
+        results = new LoanEligibilityResult[size];
+        index = new DecisionIndex(inputs);
+        rateTable = loadTable;
+        policy = loadPolicy;
+        skipped = loadSkipped;
+        for (int record = 0; record < size; record++) {
+            lines[record] = loadedLines.get(record);
+            results[record] = loanEligibilityService.decide(inputs[record], rateTable, policy);
+            updateMargin(record);
+        }
+        return status();
+    }
+
+    public synchronized BookStatus status() {
+        return new BookStatus(inputs.length, skipped, rateTable.getVersion(), policy);
+    }
+
+    /**
+     * Brings every decision up to date with the current rates and policy, writing one line per
+     * changed decision ({@code line}, {@code before}, {@code after}) and a final {@code summary} line.
+     * The book only moves to the new decisions once the whole stream has been written; if writing
+     * fails, it stays as it was and the next call starts over.
+     */
+    public synchronized RedecisionSummary redecide(OutputStream out) throws IOException {
+        RateTable nextTable = rateTables.current();
+        EligibilityPolicy nextPolicy = policies.current();
+        BitSet candidates = candidates(nextTable, nextPolicy);
+        LoanEligibilityResult[] decided = new LoanEligibilityResult[candidates.cardinality()];
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+        int changed = 0;
+        int next = 0;
+        for (int record = candidates.nextSetBit(0); record >= 0; record = candidates.nextSetBit(record + 1)) {
+            LoanEligibilityResult before = results[record];
+            LoanEligibilityResult after = loanEligibilityService.decide(inputs[record], nextTable, nextPolicy);
+            decided[next++] = after;
+            if (!sameDecision(before, after)) {
+                changed++;
+                generator.writeStartObject();
+                generator.writeNumberField("line", lines[record]);
+                generator.writeFieldName("before");
+                resultWriter.writeValue(generator, before);
+                generator.writeFieldName("after");
+                resultWriter.writeValue(generator, after);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+
+        RedecisionSummary summary = new RedecisionSummary(inputs.length, decided.length, changed,
+                nextTable.getVersion(), nextPolicy);
+        generator.writeStartObject();
+        generator.writeFieldName("summary");
+        generator.writeObject(summary);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.flush();
+
+        rateTable = nextTable;
+        policy = nextPolicy;
+        next = 0;
+        for (int record = candidates.nextSetBit(0); record >= 0; record = candidates.nextSetBit(record + 1)) {
+            results[record] = decided[next++];
+            updateMargin(record);
+        }
+        return summary;
+    }
+
+    private BitSet candidates(RateTable nextTable, EligibilityPolicy nextPolicy) {
+        BitSet candidates = new BitSet(inputs.length);
+        Map<LoanType, RateSpec> before = rateTable.getRates();
+        Map<LoanType, RateSpec> after = nextTable.getRates();
+        for (LoanType loanType : LoanType.values()) {
+            if (!before.get(loanType).equals(after.get(loanType))) {
+                candidates.or(index.loanType(loanType));
+            }
+        }
+
+        // A limit moving from a to b flips the records between the two
+        int oldScore = policy.minCreditScore();
+        int newScore = nextPolicy.minCreditScore();
+        if (oldScore != newScore) {
+            candidates.or(index.creditScoresBetween(Math.min(oldScore, newScore), Math.max(oldScore, newScore)));
+        }
+        int oldMinAge = policy.minAge();
+        int newMinAge = nextPolicy.minAge();
+        if (oldMinAge != newMinAge) {
+            candidates.or(index.agesBetween(Math.min(oldMinAge, newMinAge), Math.max(oldMinAge, newMinAge)));
+        }
+        int oldMaxAge = policy.maxAge();
+        int newMaxAge = nextPolicy.maxAge();
+        if (oldMaxAge != newMaxAge) {
+            candidates.or(index.agesBetween(Math.min(oldMaxAge, newMaxAge) + 1, Math.max(oldMaxAge, newMaxAge) + 1));
+        }
+
+        int oldShare = policy.maxEmiSharePercent();
+        int newShare = nextPolicy.maxEmiSharePercent();
+        if (newShare != oldShare) {
+            candidates.or(index.shareSensitive());
+            if (newShare < oldShare) {
+                candidates.or(index.marginsFrom(newShare - ROUNDING_SLACK_PERCENT));
+            }
+        }
+        return candidates;
+    }
+
+    private void updateMargin(int record) {
+        LoanEligibilityResult result = results[record];
+        int failedRules = result.getFailedRules();
+        if (result.getReasonCode() != ReasonCode.BASIC_CRITERIA_NOT_MET) {
+            // Approvals have a margin; the later stages of rejection move with the EMI share
+            if (!result.isEligible()) {
+                index.setMargin(record, DecisionIndex.NO_MARGIN, true);
+                return;
+            }
+        } else if ((failedRules & EligibilityRule.INCOME_NOT_REPRESENTABLE.bit()) != 0
+                || !Money.isInRange(inputs[record].getRequestedAmount())) {
+            // Rejected before the EMI share comes into it
+            index.setMargin(record, DecisionIndex.NO_MARGIN, false);
+            return;
+        } else if ((failedRules & EligibilityRule.AFFORDABILITY_RULES) != 0) {
+            // A basic rejection still lists the affordability rules it fails, which a raised share may clear
+            index.setMargin(record, DecisionIndex.NO_MARGIN, true);
+            return;
+        }
+
+        EligibilityInput input = inputs[record];
+        long requested = Money.toPaise(input.getRequestedAmount());
+        long maxEligible = Money.toPaise(loanEligibilityService.maxEligibleAmount(input, rateTable, policy));
+        if (maxEligible < requested) {
+            index.setMargin(record, DecisionIndex.NO_MARGIN, true);
+            return;
+        }
+        // Both the EMI and the eligible amount have to fit; the latter scales with the share
+        long available = Money.toPaise(input.getMonthlyIncome()) - Money.toPaise(input.getExistingEMI());
+        double emi = result.isEligible() ? result.getMonthlyEMI()
+                : loanEligibilityService.emiForApprovedAmount(input, rateTable, policy);
+        long minimum = Math.max(requested, Money.toPaise(rateTable.terms(input.getLoanType()).getMinAmount()));
+        double emiShare = 100.0 * Money.toPaise(emi) / available;
+        double amountShare = policy.maxEmiSharePercent() * (double) minimum / maxEligible;
+        int bucket = (int) Math.min(Math.floor(Math.max(emiShare, amountShare)), DecisionIndex.MARGIN_BUCKETS - 1);
+        index.setMargin(record, bucket, false);
+    }
+
+    private EligibilityInput toInput(byte[] line, int length) throws IOException {
+        LoanApplication application;
+        try {
+            application = applicationReader.readValue(line, 0, length);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        if (application == null || !validator.isValid(application)) {
+            return null;
+        }
+        if (application.getCustomerId() == null) {
+            return EligibilityInput.of(application);
+        }
+        EligibilityInput input = new EligibilityInput();
+        if (!customerStore.load(application.getCustomerId(), input)) {
+            return null;
+        }
+        input.setLoan(application.getLoanType(), application.getRequestedAmount(), application.getTenureYears());
+        return input;
+    }
+
+    private static boolean sameDecision(LoanEligibilityResult a, LoanEligibilityResult b) {
+        return a.isEligible() == b.isEligible()
+                && Objects.equals(a.getDecision(), b.getDecision())
+                && Objects.equals(a.getReason(), b.getReason())
+                && a.getReasonCode() == b.getReasonCode()
+                && a.getFailedRules() == b.getFailedRules()
+                && Objects.equals(a.getApprovedAmount(), b.getApprovedAmount())
+                && Objects.equals(a.getMonthlyEMI(), b.getMonthlyEMI())
+                && Objects.equals(a.getInterestRate(), b.getInterestRate())
+                && Objects.equals(a.getTenureYears(), b.getTenureYears())
+                && Objects.equals(a.getRecommendation(), b.getRecommendation());
+    }
+}
@@ -0,0 +1,106 @@
+package com.bank.loanchecker.redecision;
+
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.LoanType;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Record numbers of a {@link DecisionBook} grouped by what a rule or rate change can act on:
+ * loan type, credit score and age (fixed, as the inputs never change) and the affordability
+ * margin of each decision (updated whenever a record is decided again).
+ * <p>
+ * The margin of an approval that got the full requested amount is the lowest EMI share of
+ * income, in whole percent rounded down, at which it would still be approved in full.
+ * Approvals capped at the eligible amount and rejections for income or affordability depend
+ * on the share in any direction and are kept apart as share-sensitive.
+ */
+final class DecisionIndex {
+
+    static final int MARGIN_BUCKETS = 101;
+    static final int NO_MARGIN = -1;
+
+    private final BitSet[] byLoanType = new BitSet[LoanType.values().length];
+    // key << 32 | record, sorted, so a key range is one binary search away
+    private final long[] byCreditScore;
+    private final long[] byAge;
+    private final BitSet[] byMargin = new BitSet[MARGIN_BUCKETS];
+    private final BitSet shareSensitive = new BitSet();
+    private final byte[] margin;
+
+    DecisionIndex(EligibilityInput[] inputs) {
+        int size = inputs.length;
+        for (int type = 0; type < byLoanType.length; type++) {
+            byLoanType[type] = new BitSet(size);
+        }
+        for (int bucket = 0; bucket < MARGIN_BUCKETS; bucket++) {
+            byMargin[bucket] = new BitSet();
+        }
+        byCreditScore = new long[size];
+        byAge = new long[size];
+        margin = new byte[size];
+        for (int record = 0; record < size; record++) {
+            EligibilityInput input = inputs[record];
+            byLoanType[input.getLoanType().ordinal()].set(record);
+            byCreditScore[record] = (long) input.getCreditScore() << 32 | record;
+            byAge[record] = (long) input.getAge() << 32 | record;
+            margin[record] = NO_MARGIN;
+        }
+        Arrays.sort(byCreditScore);
+        Arrays.sort(byAge);
+    }
+
+    /**
+     * Files {@code record} under its new margin bucket, or under share-sensitive, or neither.
+     */
+    void setMargin(int record, int bucket, boolean sensitive) {
+        if (margin[record] != NO_MARGIN) {
+            byMargin[margin[record]].clear(record);
+        }
+        margin[record] = (byte) bucket;
+        if (bucket != NO_MARGIN) {
+            byMargin[bucket].set(record);
+        }
+        shareSensitive.set(record, sensitive);
+    }
+
+    BitSet loanType(LoanType loanType) {
+        return byLoanType[loanType.ordinal()];
+    }
+
+    BitSet creditScoresBetween(int fromInclusive, int toExclusive) {
+        return between(byCreditScore, fromInclusive, toExclusive);
+    }
+
+    BitSet agesBetween(int fromInclusive, int toExclusive) {
+        return between(byAge, fromInclusive, toExclusive);
+    }
+
+    BitSet marginsFrom(int bucket) {
+        BitSet records = new BitSet();
+        for (int b = Math.max(0, bucket); b < MARGIN_BUCKETS; b++) {
+            records.or(byMargin[b]);
+        }
+        return records;
+    }
+
+    BitSet shareSensitive() {
+        return shareSensitive;
+    }
+
+    private static BitSet between(long[] sorted, int fromInclusive, int toExclusive) {
+        BitSet records = new BitSet();
+        int start = insertionPoint(sorted, (long) fromInclusive << 32);
+        int end = insertionPoint(sorted, (long) toExclusive << 32);
+        for (int i = start; i < end; i++) {
+            records.set((int) sorted[i]);
+        }
+        return records;
+    }
+
+    private static int insertionPoint(long[] sorted, long key) {
+        int found = Arrays.binarySearch(sorted, key);
+        return found >= 0 ? found : -found - 1;
+    }
+}
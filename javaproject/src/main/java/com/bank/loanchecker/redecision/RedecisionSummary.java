@@ -0,0 +1,11 @@
+package com.bank.loanchecker.redecision;
+
+import com.bank.loanchecker.policy.EligibilityPolicy;
+
+/**
+ * Outcome of one re-decision pass: of {@code records}, {@code candidates} were decided again
+ * and {@code changed} came out differently.
+ */
+public record RedecisionSummary(int records, int candidates, int changed, long rateTableVersion,
+                                EligibilityPolicy policy) {
+}
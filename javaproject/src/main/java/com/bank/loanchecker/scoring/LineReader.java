@@ -0,0 +1,98 @@
+package com.bank.loanchecker.scoring;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads newline-delimited records into a reused buffer while tracking the byte position of
+ * the next record, which is what checkpoints and partition boundaries are expressed in.
+ */
+public class LineReader {
+
+    private final InputStream in;
+    private final byte[] readBuffer = new byte[64 * 1024];
+    private int readPosition;
+    private int readLimit;
+    private byte[] line = new byte[1024];
+    private int lineLength;
+    private long position;
+
+    public LineReader(InputStream in, long startPosition) {
+        this.in = in;
+        this.position = startPosition;
+    }
+
+    /**
+     * Advances to the next line, excluding the terminating {@code \n} (and a preceding
+     * {@code \r}). Returns {@code false} at end of input.
+     */
+    public boolean next() throws IOException {
+        lineLength = 0;
+        boolean sawAny = false;
+        while (true) {
+            if (readPosition == readLimit) {
+                readLimit = in.read(readBuffer);
+                readPosition = 0;
+                if (readLimit <= 0) {
+                    readLimit = 0;
+                    trimCarriageReturn();
+                    return sawAny;
+                }
+            }
+            sawAny = true;
+            int start = readPosition;
+            while (readPosition < readLimit && readBuffer[readPosition] != '\n') {
+                readPosition++;
+            }
+            append(start, readPosition - start);
+            position += readPosition - start;
+            if (readPosition < readLimit) {
+                readPosition++;
+                position++;
+                trimCarriageReturn();
+                return true;
+            }
+        }
+    }
+
+    public byte[] buffer() {
+        return line;
+    }
+
+    public int length() {
+        return lineLength;
+    }
+
+    public boolean isBlank() {
+        for (int i = 0; i < lineLength; i++) {
+            byte b = line[i];
+            if (b != ' ' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Byte offset just past the line returned by the last {@link #next()}.
+     */
+    public long position() {
+        return position;
+    }
+
+    private void append(int start, int length) {
+        if (lineLength + length > line.length) {
+            byte[] grown = new byte[Math.max(line.length * 2, lineLength + length)];
+            System.arraycopy(line, 0, grown, 0, lineLength);
+            line = grown;
+        }
+        System.arraycopy(readBuffer, start, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private void trimCarriageReturn() {
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+            lineLength--;
+        }
+    }
+}
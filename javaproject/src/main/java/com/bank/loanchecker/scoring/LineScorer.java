@@ -0,0 +1,140 @@
+package com.bank.loanchecker.scoring;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.dedup.DuplicateDetector;
+import com.bank.loanchecker.model.CompactResult;
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.FieldViolation;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Scores one newline-delimited JSON application and writes one result line: the
+ * {@code result}, the validation {@code errors}, or a parse {@code error}. Shared by the
+ * bulk job workers and the multi-process batch workers so both produce the same format.
+ * With a {@link DuplicateDetector}, valid applications that repeat an earlier one are also
+ * marked {@code "duplicate": true}.
+ * <p>
+ * Applications that name a {@code customerId} instead of carrying the customer are decided on
+ * the profile in the {@link CustomerStore}; an id that is not stored, or any id without a
+ * store, is a validation error on {@code customerId}.
+ */
+public class LineScorer {
+
+    private final LoanEligibilityService loanEligibilityService;
+    private final LoanApplicationValidator validator;
+    private final ObjectReader applicationReader;
+    private final ObjectWriter resultWriter;
+    private final ObjectWriter compactWriter;
+    private final CustomerStore customerStore;
+    private final DuplicateDetector duplicateDetector;
+
+    public LineScorer(LoanEligibilityService loanEligibilityService, LoanApplicationValidator validator,
+                      ObjectMapper objectMapper) {
+        this(loanEligibilityService, validator, null, objectMapper, null);
+    }
+
+    public LineScorer(LoanEligibilityService loanEligibilityService, LoanApplicationValidator validator,
+                      CustomerStore customerStore, ObjectMapper objectMapper, DuplicateDetector duplicateDetector) {
+        this.customerStore = customerStore;
+        this.duplicateDetector = duplicateDetector != null && duplicateDetector.isEnabled() ? duplicateDetector : null;
+        this.loanEligibilityService = loanEligibilityService;
+        this.validator = validator;
+        this.applicationReader = objectMapper.readerFor(LoanApplication.class);
+        this.resultWriter = objectMapper.writerFor(LoanEligibilityResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.compactWriter = objectMapper.writerFor(CompactResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes the result line for {@code line} keyed by {@code idField}/{@code id} and returns
+     * the decision, or {@code null} if the line could not be parsed or failed validation.
+     */
+    public LoanEligibilityResult score(byte[] line, int length, String idField, long id,
+                                       JsonGenerator generator) throws IOException {
+        return score(line, length, idField, id, false, generator);
+    }
+
+    /**
+     * As above, writing the result as a {@link CompactResult} if {@code compact} is set.
+     */
+    public LoanEligibilityResult score(byte[] line, int length, String idField, long id, boolean compact,
+                                       JsonGenerator generator) throws IOException {
+        return score(line, length, idField, id, compact, 0, generator);
+    }
+
+    /**
+     * As above, checking the application for duplicates as seen at {@code source} (see
+     * {@link DuplicateDetector#source}) if there is a detector.
+     */
+    public LoanEligibilityResult score(byte[] line, int length, String idField, long id, boolean compact,
+                                       long source, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField(idField, id);
+        LoanEligibilityResult result = null;
+
+        LoanApplication application = null;
+        try {
+            application = applicationReader.readValue(line, 0, length);
+        } catch (JsonProcessingException e) {
+            generator.writeStringField("error", e.getOriginalMessage());
+        }
+
+        if (application != null) {
+            List<FieldViolation> violations = validator.validate(application);
+            EligibilityInput input = null;
+            if (violations.isEmpty() && application.getCustomerId() != null) {
+                input = new EligibilityInput();
+                if (customerStore == null || !customerStore.load(application.getCustomerId(), input)) {
+                    violations = List.of(new FieldViolation("customerId", "NotFound", "No customer with this id"));
+                } else {
+                    input.setLoan(application.getLoanType(), application.getRequestedAmount(),
+                            application.getTenureYears());
+                }
+            }
+            if (violations.isEmpty()) {
+                result = input != null ? loanEligibilityService.decide(input)
+                        : loanEligibilityService.checkEligibility(application);
+                generator.writeFieldName("result");
+                if (compact) {
+                    compactWriter.writeValue(generator, new CompactResult(result));
+                } else {
+                    resultWriter.writeValue(generator, result);
+                }
+                if (duplicateDetector != null && duplicateDetector.isDuplicate(application, source)) {
+                    generator.writeBooleanField("duplicate", true);
+                }
+            } else {
+                writeViolations(violations, generator);
+            }
+        }
+
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        return result;
+    }
+
+    public static void writeViolations(List<FieldViolation> violations, JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart("errors");
+        for (FieldViolation violation : violations) {
+            generator.writeStartObject();
+            generator.writeStringField("field", violation.field());
+            generator.writeStringField("code", violation.code());
+            generator.writeStringField("message", violation.message());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+}
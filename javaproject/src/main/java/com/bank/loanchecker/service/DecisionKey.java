@@ -0,0 +1,20 @@
+package com.bank.loanchecker.service;
+
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.model.LoanType;
+
+/**
+ * The application fields that {@link LoanEligibilityService} actually reads. Two applications
+ * with equal keys always receive the same decision, reason and recommendation.
+ */
+record DecisionKey(int age, int creditScore, double monthlyIncome, double existingEMI,
+                   EmploymentType employmentType, LoanType loanType, double requestedAmount,
+                   int tenureYears) {
+
+    static DecisionKey of(EligibilityInput input) {
+        return new DecisionKey(input.getAge(), input.getCreditScore(), input.getMonthlyIncome(),
+                input.getExistingEMI(), input.getEmploymentType(), input.getLoanType(),
+                input.getRequestedAmount(), input.getTenureYears());
+    }
+}
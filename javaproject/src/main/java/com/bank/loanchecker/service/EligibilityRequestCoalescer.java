@@ -0,0 +1,97 @@
+package com.bank.loanchecker.service;
+
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight front for {@link LoanEligibilityService#checkEligibility}. Concurrent requests
+ * with the same decision-relevant fields wait on the first one's evaluation and share its
+ * result, so a retry storm of identical payloads costs one evaluation. Only in-flight
+ * evaluations are tracked; once the table holds {@code maxInFlight} entries further
+ * requests are evaluated directly instead of growing it.
+ */
+@Service
+public class EligibilityRequestCoalescer {
+
+    private final LoanEligibilityService loanEligibilityService;
+    private final int maxInFlight;
+    private final ConcurrentHashMap<DecisionKey, CompletableFuture<LoanEligibilityResult>> inFlight =
+            new ConcurrentHashMap<>();
+    private final LongAdder coalescedRequests = new LongAdder();
+
+    public EligibilityRequestCoalescer(LoanEligibilityService loanEligibilityService,
+                                       @Value("${loanchecker.coalescing.max-in-flight:10000}") int maxInFlight) {
+        this.loanEligibilityService = loanEligibilityService;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public LoanEligibilityResult checkEligibility(LoanApplication application) {
+        if (application.getCustomer() == null || inFlight.mappingCount() >= maxInFlight) {
+            return loanEligibilityService.checkEligibility(application);
+        }
+        return coalesce(DecisionKey.of(EligibilityInput.of(application)),
+                () -> loanEligibilityService.checkEligibility(application));
+    }
+
+    /**
+     * Same as {@link #checkEligibility(LoanApplication)} for input that has already been extracted.
+     */
+    public LoanEligibilityResult decide(EligibilityInput input) {
+        if (inFlight.mappingCount() >= maxInFlight) {
+            return loanEligibilityService.decide(input);
+        }
+        return coalesce(DecisionKey.of(input), () -> loanEligibilityService.decide(input));
+    }
+
+    private LoanEligibilityResult coalesce(DecisionKey key, Supplier<LoanEligibilityResult> evaluator) {
+        CompletableFuture<LoanEligibilityResult> evaluation = new CompletableFuture<>();
+        CompletableFuture<LoanEligibilityResult> leader = inFlight.putIfAbsent(key, evaluation);
+        if (leader != null) {
+            coalescedRequests.increment();
+            return await(leader);
+        }
+
+        try {
+            LoanEligibilityResult result = evaluator.get();
+            evaluation.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            evaluation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, evaluation);
+        }
+    }
+
+    public long getCoalescedRequests() {
+        return coalescedRequests.sum();
+    }
+
+    int getInFlight() {
+        return inFlight.size();
+    }
+
+    private static LoanEligibilityResult await(CompletableFuture<LoanEligibilityResult> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,86 +1,210 @@
 package com.bank.loanchecker.service;
 
+import com.bank.loanchecker.jfr.EligibilityDecisionEvent;
 import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.money.Money;
+import com.bank.loanchecker.policy.EligibilityPolicy;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.LoanTerms;
+import com.bank.loanchecker.rates.RateTable;
+import com.bank.loanchecker.rates.RateTableRegistry;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
 @Service
 public class LoanEligibilityService {
 
+    private static final String VELOCITY_RECOMMENDATION =
+            "We have received several applications from you recently. Please wait before reapplying.";
+
+    private final RateTableRegistry rateTables;
+    private final EligibilityPolicyRegistry policies;
+
+    public LoanEligibilityService(RateTableRegistry rateTables, EligibilityPolicyRegistry policies) {
+        this.rateTables = rateTables;
+        this.policies = policies;
+    }
+
     public LoanEligibilityResult checkEligibility(LoanApplication application) {
-        Customer customer = application.getCustomer();
-        LoanType loanType = application.getLoanType();
-        Double requestedAmount = application.getRequestedAmount();
-        Integer tenureYears = application.getTenureYears();
-
-        // Basic eligibility checks
-        if (!isBasicEligibilityMet(customer, loanType, requestedAmount, tenureYears)) {
-            return createRejectedResult("Basic eligibility criteria not met", customer, loanType);
+        return decide(EligibilityInput.of(application));
+    }
+
+    /**
+     * Decides on already extracted fields, e.g. a stored customer profile plus the loan request.
+     */
+    public LoanEligibilityResult decide(EligibilityInput input) {
+        // One snapshot for the whole decision, even if a new table is published meanwhile
+        return decide(input, rateTables.current(), policies.current());
+    }
+
+    /**
+     * Decides against the given rate table and policy instead of the current ones.
+     */
+    public LoanEligibilityResult decide(EligibilityInput input, RateTable rateTable, EligibilityPolicy policy) {
+        EligibilityDecisionEvent event = new EligibilityDecisionEvent();
+        event.begin();
+        LoanEligibilityResult result = evaluate(input, rateTable.terms(input.getLoanType()), policy);
+        event.end();
+        if (event.shouldCommit()) {
+            event.loanType = input.getLoanType().name();
+            event.employmentType = input.getEmploymentType().name();
+            event.outcome = result.getDecision();
+            event.rejectionStage = rejectionStage(result);
+            event.creditScore = input.getCreditScore();
+            event.requestedAmount = input.getRequestedAmount();
+            event.approvedAmount = result.getApprovedAmount();
+            event.commit();
         }
+        return result;
+    }
 
-        // Calculate maximum eligible amount
-        Double maxEligibleAmount = calculateMaxEligibleAmount(customer, loanType);
-        
-        if (maxEligibleAmount < loanType.getMinAmount()) {
-            return createRejectedResult("Income too low for this loan type", customer, loanType);
+    /**
+     * The most the applicant could borrow under the given rate table and policy before the loan
+     * type's amount limits apply, in rupees; what an approval is capped at.
+     */
+    public double maxEligibleAmount(EligibilityInput input, RateTable rateTable, EligibilityPolicy policy) {
+        long availableIncome = Money.toPaise(input.getMonthlyIncome()) - Money.toPaise(input.getExistingEMI());
+        return Money.toRupees(calculateMaxEligibleAmount(input, rateTable.terms(input.getLoanType()), policy,
+                availableIncome));
+    }
+
+    /**
+     * The EMI on the amount an approval would be for, whether or not the application meets the
+     * basic criteria, in rupees.
+     */
+    public double emiForApprovedAmount(EligibilityInput input, RateTable rateTable, EligibilityPolicy policy) {
+        LoanTerms terms = rateTable.terms(input.getLoanType());
+        long availableIncome = Money.toPaise(input.getMonthlyIncome()) - Money.toPaise(input.getExistingEMI());
+        long maxEligibleAmount = calculateMaxEligibleAmount(input, terms, policy, availableIncome);
+        return Money.toRupees(calculateEMI(approvedAmount(input.getRequestedAmount(), maxEligibleAmount, terms),
+                terms, input.getTenureYears()));
+    }
+
+    /**
+     * A copy of {@code result}, which may be shared, rejected for too many recent applications
+     * on top of whatever rules it already failed.
+     */
+    public LoanEligibilityResult rejectForVelocity(LoanEligibilityResult result) {
+        int failedRules = result.getFailedRules() | EligibilityRule.VELOCITY_LIMIT_EXCEEDED.bit();
+        ReasonCode reasonCode = EligibilityRule.reasonCode(failedRules);
+        LoanEligibilityResult rejected = new LoanEligibilityResult(
+            false,
+            Decision.REJECTED.name(),
+            reasonCode.getMessage(),
+            0.0,
+            0.0,
+            result.getInterestRate(),
+            0,
+            result.isEligible() ? VELOCITY_RECOMMENDATION : result.getRecommendation()
+        );
+        rejected.setReasonCode(reasonCode);
+        rejected.setFailedRules(failedRules);
+        return rejected;
+    }
+
+    private LoanEligibilityResult evaluate(EligibilityInput input, LoanTerms terms, EligibilityPolicy policy) {
+        double requestedAmount = input.getRequestedAmount();
+        int tenureYears = input.getTenureYears();
+
+        // Every rule is checked so the result lists all that failed, not just the first
+        int failedRules = basicFailures(input, terms, policy, requestedAmount, tenureYears);
+        if ((failedRules & EligibilityRule.INCOME_NOT_REPRESENTABLE.bit()) != 0) {
+            // Nothing further can be worked out from the income
+            return createRejectedResult(failedRules, input, terms, policy);
         }
 
-        // Determine approved amount
-        Double approvedAmount = Math.min(requestedAmount, maxEligibleAmount);
-        approvedAmount = Math.max(approvedAmount, loanType.getMinAmount());
-        approvedAmount = Math.min(approvedAmount, loanType.getMaxAmount());
+        // Amounts from here on are in paise
+        long availableIncome = Money.toPaise(input.getMonthlyIncome()) - Money.toPaise(input.getExistingEMI());
+        long minAmount = Money.toPaise(terms.getMinAmount());
 
-        // Calculate EMI
-        Double monthlyEMI = calculateEMI(approvedAmount, loanType.getInterestRate(), tenureYears);
+        // Calculate maximum eligible amount
+        long maxEligibleAmount = calculateMaxEligibleAmount(input, terms, policy, availableIncome);
+        if (maxEligibleAmount < minAmount) {
+            failedRules |= EligibilityRule.MAX_ELIGIBLE_BELOW_MINIMUM.bit();
+        }
+
+        // Determine approved amount and its EMI
+        long approvedAmount = approvedAmount(requestedAmount, maxEligibleAmount, terms);
+        long monthlyEMI = calculateEMI(approvedAmount, terms, tenureYears);
 
         // Final affordability check
-        if (!isAffordable(customer, monthlyEMI)) {
-            return createRejectedResult("EMI exceeds affordable limit based on income", customer, loanType);
+        if (!isAffordable(availableIncome, monthlyEMI, policy)) {
+            failedRules |= EligibilityRule.EMI_NOT_AFFORDABLE.bit();
         }
 
-        return createApprovedResult(customer, loanType, approvedAmount, monthlyEMI, tenureYears);
+        if (failedRules != 0) {
+            return createRejectedResult(failedRules, input, terms, policy);
+        }
+        return createApprovedResult(input, terms, Money.toRupees(approvedAmount), Money.toRupees(monthlyEMI), tenureYears);
+    }
+
+    private static long approvedAmount(double requestedAmount, long maxEligibleAmount, LoanTerms terms) {
+        // Clamped first, as an amount out of range need not be representable as money; the
+        // result is the same
+        double requested = Math.min(Math.max(requestedAmount, terms.getMinAmount()), terms.getMaxAmount());
+        long approvedAmount = Math.min(Money.toPaise(requested), maxEligibleAmount);
+        approvedAmount = Math.max(approvedAmount, Money.toPaise(terms.getMinAmount()));
+        return Math.min(approvedAmount, Money.toPaise(terms.getMaxAmount()));
     }
 
-    private boolean isBasicEligibilityMet(Customer customer, LoanType loanType, Double requestedAmount, Integer tenureYears) {
+    private static String rejectionStage(LoanEligibilityResult result) {
+        return switch (result.getReasonCode()) {
+            case APPROVED -> null;
+            case BASIC_CRITERIA_NOT_MET -> "BASIC_ELIGIBILITY";
+            case INCOME_TOO_LOW -> "MAX_ELIGIBLE_AMOUNT";
+            case EMI_NOT_AFFORDABLE -> "AFFORDABILITY";
+            case VELOCITY_LIMIT_EXCEEDED -> "VELOCITY";
+        };
+    }
+
+    private int basicFailures(EligibilityInput input, LoanTerms terms, EligibilityPolicy policy,
+                              double requestedAmount, int tenureYears) {
+        LoanType loanType = terms.getLoanType();
+        int failedRules = 0;
+
         // Age check
-        if (customer.getAge() < 21 || customer.getAge() > 60) {
-            return false;
+        if (input.getAge() < policy.minAge()) {
+            failedRules |= EligibilityRule.AGE_BELOW_MINIMUM.bit();
+        }
+        if (input.getAge() > policy.maxAge()) {
+            failedRules |= EligibilityRule.AGE_ABOVE_MAXIMUM.bit();
         }
 
         // Credit score check
-        if (customer.getCreditScore() < 600) {
-            return false;
+        if (input.getCreditScore() < policy.minCreditScore()) {
+            failedRules |= EligibilityRule.CREDIT_SCORE_BELOW_MINIMUM.bit();
+        }
+
+        // Income must be representable as money
+        if (!Money.isInRange(input.getMonthlyIncome()) || !Money.isInRange(input.getExistingEMI())) {
+            failedRules |= EligibilityRule.INCOME_NOT_REPRESENTABLE.bit();
         }
 
         // Amount range check
-        if (requestedAmount < loanType.getMinAmount() || requestedAmount > loanType.getMaxAmount()) {
-            return false;
+        if (requestedAmount < terms.getMinAmount() || requestedAmount > terms.getMaxAmount()) {
+            failedRules |= EligibilityRule.AMOUNT_OUT_OF_RANGE.bit();
         }
 
         // Tenure check
-        if (tenureYears > loanType.getMaxTenureYears()) {
-            return false;
+        if (tenureYears > terms.getMaxTenureYears()) {
+            failedRules |= EligibilityRule.TENURE_TOO_LONG.bit();
         }
 
         // Employment type specific checks
-        if (customer.getEmploymentType() == EmploymentType.RETIRED && 
+        if (input.getEmploymentType() == EmploymentType.RETIRED && 
             (loanType == LoanType.PERSONAL_LOAN || loanType == LoanType.CAR_LOAN)) {
-            return false;
+            failedRules |= EligibilityRule.EMPLOYMENT_NOT_ELIGIBLE.bit();
         }
 
-        return true;
+        return failedRules;
     }
 
-    private Double calculateMaxEligibleAmount(Customer customer, LoanType loanType) {
-        Double monthlyIncome = customer.getMonthlyIncome();
-        Double existingEMI = customer.getExistingEMI();
-        Integer creditScore = customer.getCreditScore();
-        EmploymentType employmentType = customer.getEmploymentType();
+    private long calculateMaxEligibleAmount(EligibilityInput input, LoanTerms terms, EligibilityPolicy policy,
+                                            long availableIncome) {
+        int creditScore = input.getCreditScore();
+        EmploymentType employmentType = input.getEmploymentType();
 
         // Base multiplier based on loan type
-        double baseMultiplier = getBaseMultiplier(loanType);
+        double baseMultiplier = getBaseMultiplier(terms.getLoanType());
         
         // Employment type adjustment
         double employmentMultiplier = getEmploymentMultiplier(employmentType);
@@ -88,20 +212,16 @@ public class LoanEligibilityService {
         // Credit score adjustment
         double creditMultiplier = getCreditScoreMultiplier(creditScore);
         
-        // Calculate available income (after existing EMI)
-        Double availableIncome = monthlyIncome - existingEMI;
-        
-        // Calculate maximum EMI (40% of available income)
-        Double maxEMI = availableIncome * 0.4;
+        // Calculate maximum EMI (the policy share, 40% by default, of available income after existing EMI)
+        double maxEMI = Money.toRupees(availableIncome) * policy.maxEmiShare();
         
         // Calculate maximum loan amount based on EMI
-        Double maxLoanAmount = calculateLoanAmountFromEMI(maxEMI, loanType.getInterestRate(), 
-                                                         loanType.getMaxTenureYears());
+        double maxLoanAmount = terms.principalForEmi(maxEMI, terms.getMaxTenureYears());
         
         // Apply multipliers
         maxLoanAmount = maxLoanAmount * baseMultiplier * employmentMultiplier * creditMultiplier;
         
-        return (double) Math.round(maxLoanAmount);
+        return Money.toWholeRupees(maxLoanAmount);
     }
 
     private double getBaseMultiplier(LoanType loanType) {
@@ -134,7 +254,7 @@ public class LoanEligibilityService {
         }
     }
 
-    private double getCreditScoreMultiplier(Integer creditScore) {
+    private double getCreditScoreMultiplier(int creditScore) {
         if (creditScore >= 750) {
             return 1.0;
         } else if (creditScore >= 700) {
@@ -148,93 +268,76 @@ public class LoanEligibilityService {
         }
     }
 
-    private Double calculateLoanAmountFromEMI(Double monthlyEMI, Double interestRate, Integer tenureYears) {
-        if (interestRate == 0) {
-            return monthlyEMI * tenureYears * 12;
-        }
-        
-        double monthlyRate = interestRate / (12 * 100);
-        int totalMonths = tenureYears * 12;
-        
-        double loanAmount = monthlyEMI * ((Math.pow(1 + monthlyRate, totalMonths) - 1) / 
-                                         (monthlyRate * Math.pow(1 + monthlyRate, totalMonths)));
-        
-        return loanAmount;
-    }
-
-    private Double calculateEMI(Double principal, Double interestRate, Integer tenureYears) {
-        if (interestRate == 0) {
-            return principal / (tenureYears * 12);
-        }
-        
-        double monthlyRate = interestRate / (12 * 100);
-        int totalMonths = tenureYears * 12;
-        
-        double emi = principal * monthlyRate * Math.pow(1 + monthlyRate, totalMonths) / 
-                    (Math.pow(1 + monthlyRate, totalMonths) - 1);
-        
-        return BigDecimal.valueOf(emi).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    private long calculateEMI(long principal, LoanTerms terms, int tenureYears) {
+        return Money.toPaise(terms.emi(Money.toRupees(principal), tenureYears));
     }
 
-    private boolean isAffordable(Customer customer, Double monthlyEMI) {
-        Double availableIncome = customer.getMonthlyIncome() - customer.getExistingEMI();
-        return monthlyEMI <= (availableIncome * 0.4);
+    private boolean isAffordable(long availableIncome, long monthlyEMI, EligibilityPolicy policy) {
+        // EMI must not exceed the policy's share of available income
+        return Money.isWithinShare(monthlyEMI, availableIncome, policy.maxEmiSharePercent(), 100);
     }
 
-    private LoanEligibilityResult createApprovedResult(Customer customer, LoanType loanType, 
+    private LoanEligibilityResult createApprovedResult(EligibilityInput input, LoanTerms terms, 
                                                       Double approvedAmount, Double monthlyEMI, 
-                                                      Integer tenureYears) {
-        String reason = generateApprovalReason(customer, loanType, approvedAmount);
-        String recommendation = generateRecommendation(customer, loanType);
+                                                      int tenureYears) {
+        String reason = generateApprovalReason(input, terms.getLoanType(), approvedAmount);
+        String recommendation = generateRecommendation(input, terms.getLoanType());
         
-        return new LoanEligibilityResult(
+        LoanEligibilityResult result = new LoanEligibilityResult(
             true,
-            "APPROVED",
+            Decision.APPROVED.name(),
             reason,
             approvedAmount,
             monthlyEMI,
-            loanType.getInterestRate(),
+            terms.getInterestRate(),
             tenureYears,
             recommendation
         );
+        result.setReasonCode(ReasonCode.APPROVED);
+        return result;
     }
 
-    private LoanEligibilityResult createRejectedResult(String reason, Customer customer, LoanType loanType) {
-        String recommendation = generateRejectionRecommendation(customer, loanType, reason);
+    private LoanEligibilityResult createRejectedResult(int failedRules, EligibilityInput input, LoanTerms terms,
+                                                       EligibilityPolicy policy) {
+        ReasonCode reasonCode = EligibilityRule.reasonCode(failedRules);
+        String recommendation = generateRejectionRecommendation(input, policy);
         
-        return new LoanEligibilityResult(
+        LoanEligibilityResult result = new LoanEligibilityResult(
             false,
-            "REJECTED",
-            reason,
+            Decision.REJECTED.name(),
+            reasonCode.getMessage(),
             0.0,
             0.0,
-            loanType.getInterestRate(),
+            terms.getInterestRate(),
             0,
             recommendation
         );
+        result.setReasonCode(reasonCode);
+        result.setFailedRules(failedRules);
+        return result;
     }
 
-    private String generateApprovalReason(Customer customer, LoanType loanType, Double approvedAmount) {
+    private String generateApprovalReason(EligibilityInput input, LoanType loanType, Double approvedAmount) {
         StringBuilder reason = new StringBuilder();
         reason.append("Congratulations! Your loan application has been approved. ");
-        reason.append("Based on your income of ₹").append(String.format("%.0f", customer.getMonthlyIncome()));
-        reason.append(", credit score of ").append(customer.getCreditScore());
-        reason.append(", and employment type (").append(customer.getEmploymentType().getDisplayName());
+        reason.append("Based on your income of ₹").append(String.format("%.0f", input.getMonthlyIncome()));
+        reason.append(", credit score of ").append(input.getCreditScore());
+        reason.append(", and employment type (").append(input.getEmploymentType().getDisplayName());
         reason.append("), you are eligible for a ").append(loanType.getDisplayName());
         reason.append(" of ₹").append(String.format("%.0f", approvedAmount));
         reason.append(".");
         return reason.toString();
     }
 
-    private String generateRecommendation(Customer customer, LoanType loanType) {
+    private String generateRecommendation(EligibilityInput input, LoanType loanType) {
         StringBuilder recommendation = new StringBuilder();
         recommendation.append("Recommendations: ");
         
-        if (customer.getCreditScore() < 750) {
+        if (input.getCreditScore() < 750) {
             recommendation.append("Consider improving your credit score for better interest rates. ");
         }
         
-        if (customer.getExistingEMI() > customer.getMonthlyIncome() * 0.3) {
+        if (input.getExistingEMI() > input.getMonthlyIncome() * 0.3) {
             recommendation.append("Your existing EMI is high; consider reducing other debts. ");
         }
         
@@ -243,23 +346,23 @@ public class LoanEligibilityService {
         return recommendation.toString();
     }
 
-    private String generateRejectionRecommendation(Customer customer, LoanType loanType, String reason) {
+    private String generateRejectionRecommendation(EligibilityInput input, EligibilityPolicy policy) {
         StringBuilder recommendation = new StringBuilder();
         recommendation.append("Recommendations to improve eligibility: ");
         
-        if (customer.getCreditScore() < 600) {
+        if (input.getCreditScore() < policy.minCreditScore()) {
             recommendation.append("Improve your credit score by paying bills on time and reducing debt. ");
         }
         
-        if (customer.getMonthlyIncome() < 25000) {
+        if (input.getMonthlyIncome() < 25000) {
             recommendation.append("Consider increasing your income or applying for a smaller loan amount. ");
         }
         
-        if (customer.getAge() < 21) {
+        if (input.getAge() < policy.minAge()) {
             recommendation.append("Wait until you reach the minimum age requirement. ");
         }
         
-        if (customer.getAge() > 60) {
+        if (input.getAge() > policy.maxAge()) {
             recommendation.append("Consider applying with a co-applicant or guarantor. ");
         }
         
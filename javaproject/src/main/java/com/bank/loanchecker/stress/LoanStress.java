@@ -0,0 +1,10 @@
+package com.bank.loanchecker.stress;
+
+/**
+ * Stress results for one loan. {@code peakEmiShare} is the distribution over paths of the
+ * highest instalment as a fraction of available income, to the nearest 0.1% below; 0.4 is the
+ * affordability limit.
+ */
+public record LoanStress(int index, double principal, double interestRate, int tenureYears, double initialEmi,
+                         double breachProbability, Quantiles peakEmiShare) {
+}
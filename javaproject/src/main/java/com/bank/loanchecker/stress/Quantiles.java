@@ -0,0 +1,27 @@
+package com.bank.loanchecker.stress;
+
+public record Quantiles(double p50, double p90, double p95, double p99, double max) {
+
+    // Values are bucket indexes scaled by resolution; the top bucket also holds everything above it
+    static Quantiles of(long[] histogram, long count, double resolution) {
+        return new Quantiles(
+                quantile(histogram, count, 0.50) * resolution,
+                quantile(histogram, count, 0.90) * resolution,
+                quantile(histogram, count, 0.95) * resolution,
+                quantile(histogram, count, 0.99) * resolution,
+                quantile(histogram, count, 1.0) * resolution);
+    }
+
+    // The smallest bucket at or below which at least the fraction q of the values lie
+    private static int quantile(long[] histogram, long count, double q) {
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= rank) {
+                return bucket;
+            }
+        }
+        return histogram.length - 1;
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.loanchecker.stress;
+
+/**
+ * How floating rates move in a stress test. Every {@code resetMonths} the rate moves by
+ * {@code driftBps} plus a normal shock with standard deviation {@code volatilityBps}, in
+ * basis points. The cumulative rise is capped at {@code maxRiseBps} above the rate at
+ * approval, and a rate never falls below zero. All loans in a portfolio follow the same path.
+ */
+public record RateScenario(int resetMonths, double driftBps, double volatilityBps, double maxRiseBps) {
+
+    public static final RateScenario DEFAULT = new RateScenario(12, 25, 75, 500);
+
+    public RateScenario {
+        if (resetMonths < 1 || resetMonths > 360) {
+            throw new IllegalArgumentException("resetMonths must be between 1 and 360, got " + resetMonths);
+        }
+        if (!Double.isFinite(driftBps) || !Double.isFinite(volatilityBps) || volatilityBps < 0
+                || !Double.isFinite(maxRiseBps) || maxRiseBps < 0) {
+            throw new IllegalArgumentException("driftBps must be finite, volatilityBps and maxRiseBps finite and "
+                    + "not negative");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.loanchecker.stress;
+
+/**
+ * An approved loan to stress: the approved principal, rate and tenure, and the monthly income
+ * left after existing EMIs that the instalment must stay within 40% of. {@code index} is the
+ * caller's position for the loan and is echoed in the report.
+ */
+public record StressLoan(int index, double principal, double interestRate, int tenureYears,
+                         long availableIncomePaise) {
+
+    public StressLoan {
+        if (!(principal > 0) || !(interestRate >= 0) || tenureYears < 1 || availableIncomePaise <= 0) {
+            throw new IllegalArgumentException("Loan " + index + " needs a positive principal, tenure and "
+                    + "available income and a rate that is not negative");
+        }
+    }
+}
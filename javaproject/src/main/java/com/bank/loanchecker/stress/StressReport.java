@@ -0,0 +1,12 @@
+package com.bank.loanchecker.stress;
+
+import java.util.List;
+
+/**
+ * Outcome of a stress test over {@code paths} rate paths. {@code breachProbability} is the
+ * share of paths on which at least one loan's instalment exceeded 40% of available income at
+ * some reset; {@code breachedLoans} is the distribution of how many loans did on a path.
+ */
+public record StressReport(int paths, long seed, RateScenario scenario, double breachProbability,
+                           double expectedBreachedLoans, Quantiles breachedLoans, List<LoanStress> loans) {
+}
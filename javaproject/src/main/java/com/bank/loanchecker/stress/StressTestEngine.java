@@ -0,0 +1,256 @@
+package com.bank.loanchecker.stress;
+
+import com.bank.loanchecker.money.Money;
+import com.bank.loanchecker.rates.EmiCalculator;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monte Carlo stress test of approved loans under floating rates. Each simulated path draws
+ * one rate move per reset (see {@link RateScenario}); at every reset each loan's instalment is
+ * recomputed on its outstanding balance over the remaining months and compared with 40% of
+ * the borrower's available income, the same limit the eligibility decision applies.
+ * <p>
+ * Paths are simulated in fixed-size chunks on a worker pool. Each chunk has its own
+ * {@link SplittableRandom}, split from the seed in chunk order, and workers only add counts
+ * into histograms, so a report depends on the seed and nothing else: not on the number of
+ * threads or on which worker ran which chunk. Work is linear in the number of paths, and
+ * apart from per-worker histograms nothing is allocated while simulating.
+ */
+@Service
+public class StressTestEngine {
+
+    static final int CHUNK_PATHS = 1024;
+    // Peak EMI share of income in 0.1% steps, up to 300% and above
+    private static final int SHARE_BUCKETS = 3001;
+    private static final double SHARE_RESOLUTION = 0.001;
+
+    private final int maxPaths;
+    private final int maxLoans;
+    private final int threads;
+    private final ExecutorService workers;
+
+    public StressTestEngine(@Value("${loanchecker.stress.max-paths:1000000}") int maxPaths,
+                            @Value("${loanchecker.stress.max-loans:200}") int maxLoans,
+                            @Value("${loanchecker.stress.threads:0}") int threads) {
+        this.maxPaths = maxPaths;
+        this.maxLoans = maxLoans;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "stress-test-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Simulates {@code paths} rate paths for the loans.
+     *
+     * @throws IllegalArgumentException if there are no loans, or more loans or paths than allowed
+     */
+    public StressReport run(List<StressLoan> loans, RateScenario scenario, int paths, long seed)
+            throws InterruptedException {
+        if (loans.isEmpty() || loans.size() > maxLoans) {
+            throw new IllegalArgumentException("Between 1 and " + maxLoans + " loans can be stressed, got "
+                    + loans.size());
+        }
+        if (paths < 1 || paths > maxPaths) {
+            throw new IllegalArgumentException("paths must be between 1 and " + maxPaths + ", got " + paths);
+        }
+
+        Portfolio portfolio = new Portfolio(loans, scenario);
+        int chunks = (paths + CHUNK_PATHS - 1) / CHUNK_PATHS;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            randoms[chunk] = root.split();
+        }
+
+        AtomicInteger nextChunk = new AtomicInteger();
+        List<Callable<Tally>> tasks = new ArrayList<>();
+        for (int worker = 0; worker < Math.min(threads, chunks); worker++) {
+            tasks.add(() -> {
+                Tally tally = new Tally(portfolio);
+                for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                    int chunkPaths = Math.min(CHUNK_PATHS, paths - chunk * CHUNK_PATHS);
+                    portfolio.simulate(randoms[chunk], chunkPaths, tally);
+                }
+                return tally;
+            });
+        }
+
+        Tally total = new Tally(portfolio);
+        try {
+            for (Future<Tally> result : workers.invokeAll(tasks)) {
+                total.add(result.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Stress test failed", e.getCause());
+        }
+        return total.report(paths, seed, scenario, loans);
+    }
+
+    /**
+     * The loans in the form the simulation loop needs, shared read-only by all workers.
+     */
+    private static final class Portfolio {
+
+        private final RateScenario scenario;
+        private final int size;
+        private final double[] principal;
+        private final double[] interestRate;
+        private final int[] months;
+        private final long[] availableIncome;
+        private final double[] initialEmi;
+        private final long[] initialEmiPaise;
+        private final int resets;
+
+        Portfolio(List<StressLoan> loans, RateScenario scenario) {
+            this.scenario = scenario;
+            this.size = loans.size();
+            this.principal = new double[size];
+            this.interestRate = new double[size];
+            this.months = new int[size];
+            this.availableIncome = new long[size];
+            this.initialEmi = new double[size];
+            this.initialEmiPaise = new long[size];
+            int longest = 0;
+            for (int i = 0; i < size; i++) {
+                StressLoan loan = loans.get(i);
+                principal[i] = loan.principal();
+                interestRate[i] = loan.interestRate();
+                months[i] = loan.tenureYears() * 12;
+                availableIncome[i] = loan.availableIncomePaise();
+                initialEmi[i] = EmiCalculator.emi(loan.principal(), loan.interestRate(), loan.tenureYears());
+                initialEmiPaise[i] = Money.toPaise(initialEmi[i]);
+                longest = Math.max(longest, months[i]);
+            }
+            // Resets happen strictly inside the tenure
+            this.resets = (longest - 1) / scenario.resetMonths();
+        }
+
+        void simulate(SplittableRandom random, int paths, Tally tally) {
+            double[] rise = tally.rise;
+            int resetMonths = scenario.resetMonths();
+            for (int path = 0; path < paths; path++) {
+                // One rate path for the whole portfolio, as cumulative rise in percentage points
+                double cumulative = 0;
+                for (int reset = 0; reset < resets; reset++) {
+                    double move = scenario.driftBps() + scenario.volatilityBps() * random.nextGaussian();
+                    cumulative = Math.min(cumulative + move, scenario.maxRiseBps());
+                    rise[reset] = cumulative / 100;
+                }
+
+                int breachedLoans = 0;
+                for (int i = 0; i < size; i++) {
+                    long available = availableIncome[i];
+                    long peak = initialEmiPaise[i];
+                    boolean breached = !Money.isWithinShare(peak, available, 2, 5);
+                    double balance = principal[i];
+                    double emi = initialEmi[i];
+                    double monthlyRate = interestRate[i] / 1200;
+                    for (int reset = 0, month = resetMonths; month < months[i]; reset++, month += resetMonths) {
+                        balance = Math.max(0, outstanding(balance, monthlyRate, emi, resetMonths));
+                        monthlyRate = Math.max(0, interestRate[i] + rise[reset]) / 1200;
+                        emi = instalment(balance, monthlyRate, months[i] - month);
+                        long emiPaise = Money.toPaise(emi);
+                        peak = Math.max(peak, emiPaise);
+                        breached |= !Money.isWithinShare(emiPaise, available, 2, 5);
+                    }
+                    tally.record(i, peak, breached);
+                    breachedLoans += breached ? 1 : 0;
+                }
+                tally.breachedLoans[breachedLoans]++;
+            }
+        }
+
+        // Balance left after paying emi for the given months at a fixed rate
+        private static double outstanding(double balance, double monthlyRate, double emi, int months) {
+            if (monthlyRate == 0) {
+                return balance - emi * months;
+            }
+            double growth = Math.pow(1 + monthlyRate, months);
+            return balance * growth - emi * (growth - 1) / monthlyRate;
+        }
+
+        private static double instalment(double balance, double monthlyRate, int months) {
+            if (monthlyRate == 0) {
+                return balance / months;
+            }
+            double growth = Math.pow(1 + monthlyRate, months);
+            return balance * monthlyRate * growth / (growth - 1);
+        }
+    }
+
+    /**
+     * One worker's counts. Merging is addition, so the order of chunks does not matter.
+     */
+    private static final class Tally {
+
+        private final Portfolio portfolio;
+        private final double[] rise;
+        private final long[] breaches;
+        private final long[][] peakShare;
+        private final long[] breachedLoans;
+
+        Tally(Portfolio portfolio) {
+            this.portfolio = portfolio;
+            this.rise = new double[portfolio.resets];
+            this.breaches = new long[portfolio.size];
+            this.peakShare = new long[portfolio.size][SHARE_BUCKETS];
+            this.breachedLoans = new long[portfolio.size + 1];
+        }
+
+        void record(int loan, long peakEmiPaise, boolean breached) {
+            // Exact integer division: the bucket is floor(1000 * peak / available)
+            long bucket = Math.multiplyExact(peakEmiPaise, 1000L) / portfolio.availableIncome[loan];
+            peakShare[loan][(int) Math.min(bucket, SHARE_BUCKETS - 1)]++;
+            breaches[loan] += breached ? 1 : 0;
+        }
+
+        void add(Tally other) {
+            for (int i = 0; i < breaches.length; i++) {
+                breaches[i] += other.breaches[i];
+                for (int bucket = 0; bucket < SHARE_BUCKETS; bucket++) {
+                    peakShare[i][bucket] += other.peakShare[i][bucket];
+                }
+            }
+            for (int count = 0; count < breachedLoans.length; count++) {
+                breachedLoans[count] += other.breachedLoans[count];
+            }
+        }
+
+        StressReport report(int paths, long seed, RateScenario scenario, List<StressLoan> loans) {
+            List<LoanStress> results = new ArrayList<>(loans.size());
+            for (int i = 0; i < loans.size(); i++) {
+                StressLoan loan = loans.get(i);
+                results.add(new LoanStress(loan.index(), loan.principal(), loan.interestRate(), loan.tenureYears(),
+                        Money.toRupees(portfolio.initialEmiPaise[i]), (double) breaches[i] / paths,
+                        Quantiles.of(peakShare[i], paths, SHARE_RESOLUTION)));
+            }
+            long breachedTotal = 0;
+            for (int count = 1; count < breachedLoans.length; count++) {
+                breachedTotal += count * breachedLoans[count];
+            }
+            return new StressReport(paths, seed, scenario, 1 - (double) breachedLoans[0] / paths,
+                    (double) breachedTotal / paths, Quantiles.of(breachedLoans, paths, 1), results);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.loanchecker.stress;
+
+import com.bank.loanchecker.model.LoanApplication;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/stress-test}. Only applications that are approved today are
+ * stressed; {@code paths}, {@code seed} and {@code scenario} are optional.
+ */
+public record StressTestRequest(List<LoanApplication> applications, Integer paths, Long seed,
+                                RateScenario scenario) {
+}
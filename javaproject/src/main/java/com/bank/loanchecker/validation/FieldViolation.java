@@ -0,0 +1,4 @@
+package com.bank.loanchecker.validation;
+
+public record FieldViolation(String field, String code, String message) {
+}
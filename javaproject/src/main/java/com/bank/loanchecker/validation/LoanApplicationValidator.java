@@ -0,0 +1,374 @@
+package com.bank.loanchecker.validation;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.LoanApplication;
+import jakarta.validation.Validation;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Straight-line equivalent of the Bean Validation constraints declared on
+ * {@link LoanApplication} and {@link Customer}. Each check mirrors the Hibernate Validator
+ * implementation of the annotation (including NaN/-0.0 handling and the {@code @Email}
+ * grammar) and reports the annotation's message under the annotation's simple name as
+ * error code, so binding results look exactly as before. Valid input is checked without
+ * reflection or allocation; only exotic email addresses (quoted local parts, IP literals,
+ * non-ASCII domains) fall back to the Bean Validation provider.
+ * <p>
+ * One deliberate difference: an application that names a stored profile by
+ * {@code customerId} needs no {@code customer}, and must not carry one.
+ */
+@Component
+public class LoanApplicationValidator implements Validator {
+
+    private static final int MAX_EMAIL_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_EMAIL_DOMAIN_LENGTH = 255;
+    private static final int MAX_DOMAIN_LABEL_LENGTH = 63;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return LoanApplication.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate((LoanApplication) target, (field, code, message) -> {
+            // Same rule as Spring's Bean Validation adapter: type-mismatch errors win
+            FieldError existing = errors.getFieldError(field);
+            if (existing == null || !existing.isBindingFailure()) {
+                errors.rejectValue(field, code, message);
+            }
+        });
+    }
+
+    public List<FieldViolation> validate(LoanApplication application) {
+        List<FieldViolation> violations = new ArrayList<>(0);
+        validate(application, (field, code, message) -> violations.add(new FieldViolation(field, code, message)));
+        return violations;
+    }
+
+    public boolean isValid(LoanApplication application) {
+        return validate(application, (field, code, message) -> {});
+    }
+
+    /**
+     * Reports every violated constraint to the sink and returns {@code true} if there were none.
+     */
+    public boolean validate(LoanApplication application, ViolationSink sink) {
+        boolean valid = true;
+
+        Customer customer = application.getCustomer();
+        Long customerId = application.getCustomerId();
+        if (customerId != null) {
+            // The stored profile was validated when it was saved
+            if (customerId <= 0) {
+                sink.reject("customerId", "Min", "Customer id must be positive");
+                valid = false;
+            }
+            if (customer != null) {
+                sink.reject("customer", "Null", "Send either customer or customerId, not both");
+                valid = false;
+            }
+        } else if (customer == null) {
+            sink.reject("customer", "NotNull", "Customer information is required");
+            valid = false;
+        } else {
+            valid &= validateCustomer(customer, sink);
+        }
+
+        if (application.getLoanType() == null) {
+            sink.reject("loanType", "NotNull", "Loan type is required");
+            valid = false;
+        }
+
+        Double requestedAmount = application.getRequestedAmount();
+        if (requestedAmount == null) {
+            sink.reject("requestedAmount", "NotNull", "Loan amount is required");
+            valid = false;
+        } else if (!isAtLeast(requestedAmount, 1)) {
+            sink.reject("requestedAmount", "Min", "Loan amount must be greater than 0");
+            valid = false;
+        }
+
+        Integer tenureYears = application.getTenureYears();
+        if (tenureYears == null) {
+            sink.reject("tenureYears", "NotNull", "Tenure is required");
+            valid = false;
+        } else {
+            if (tenureYears < 1) {
+                sink.reject("tenureYears", "Min", "Tenure must be at least 1 year");
+                valid = false;
+            }
+            if (tenureYears > 30) {
+                sink.reject("tenureYears", "Max", "Tenure cannot exceed 30 years");
+                valid = false;
+            }
+        }
+
+        return valid;
+    }
+
+    /**
+     * Allocation-free check of already extracted fields, for the fast ingestion path. Returns
+     * the same verdict as {@link #validate(LoanApplication, ViolationSink)} on an application with
+     * these (non-null) values; callers that need the violations go through the full path.
+     */
+    public boolean isValid(EligibilityInput input, CharSequence name, CharSequence email, CharSequence phoneNumber) {
+        return !isBlank(name) && name.length() >= 2 && name.length() <= 100
+                && input.getAge() >= 18 && input.getAge() <= 65
+                && !isBlank(email) && isEmail(email)
+                && !isBlank(phoneNumber) && isTenDigits(phoneNumber)
+                && isAtLeast(input.getMonthlyIncome(), 10000)
+                && input.getCreditScore() >= 300 && input.getCreditScore() <= 900
+                && isAtLeast(input.getExistingEMI(), 0)
+                && input.getEmploymentType() != null
+                && input.getLoanType() != null
+                && isAtLeast(input.getRequestedAmount(), 1)
+                && input.getTenureYears() >= 1 && input.getTenureYears() <= 30;
+    }
+
+    public List<FieldViolation> validate(Customer customer) {
+        List<FieldViolation> violations = new ArrayList<>(0);
+        validateCustomer(customer, (field, code, message) -> violations.add(new FieldViolation(field, code, message)));
+        return violations;
+    }
+
+    private boolean validateCustomer(Customer customer, ViolationSink sink) {
+        boolean valid = true;
+
+        String name = customer.getName();
+        if (isBlank(name)) {
+            sink.reject("customer.name", "NotBlank", "Name is required");
+            valid = false;
+        }
+        if (name != null && (name.length() < 2 || name.length() > 100)) {
+            sink.reject("customer.name", "Size", "Name must be between 2 and 100 characters");
+            valid = false;
+        }
+
+        Integer age = customer.getAge();
+        if (age == null) {
+            sink.reject("customer.age", "NotNull", "Age is required");
+            valid = false;
+        } else {
+            if (age < 18) {
+                sink.reject("customer.age", "Min", "Age must be at least 18");
+                valid = false;
+            }
+            if (age > 65) {
+                sink.reject("customer.age", "Max", "Age must not exceed 65");
+                valid = false;
+            }
+        }
+
+        String email = customer.getEmail();
+        if (isBlank(email)) {
+            sink.reject("customer.email", "NotBlank", "Email is required");
+            valid = false;
+        }
+        if (email != null && !isEmail(email)) {
+            sink.reject("customer.email", "Email", "Email should be valid");
+            valid = false;
+        }
+
+        String phoneNumber = customer.getPhoneNumber();
+        if (isBlank(phoneNumber)) {
+            sink.reject("customer.phoneNumber", "NotBlank", "Phone number is required");
+            valid = false;
+        }
+        if (phoneNumber != null && !isTenDigits(phoneNumber)) {
+            sink.reject("customer.phoneNumber", "Pattern", "Phone number must be 10 digits");
+            valid = false;
+        }
+
+        Double monthlyIncome = customer.getMonthlyIncome();
+        if (monthlyIncome == null) {
+            sink.reject("customer.monthlyIncome", "NotNull", "Monthly income is required");
+            valid = false;
+        } else if (!isAtLeast(monthlyIncome, 10000)) {
+            sink.reject("customer.monthlyIncome", "Min", "Monthly income must be at least ₹10,000");
+            valid = false;
+        }
+
+        Integer creditScore = customer.getCreditScore();
+        if (creditScore == null) {
+            sink.reject("customer.creditScore", "NotNull", "Credit score is required");
+            valid = false;
+        } else {
+            if (creditScore < 300) {
+                sink.reject("customer.creditScore", "Min", "Credit score must be at least 300");
+                valid = false;
+            }
+            if (creditScore > 900) {
+                sink.reject("customer.creditScore", "Max", "Credit score must not exceed 900");
+                valid = false;
+            }
+        }
+
+        Double existingEMI = customer.getExistingEMI();
+        if (existingEMI == null) {
+            sink.reject("customer.existingEMI", "NotNull", "Existing EMI is required");
+            valid = false;
+        } else if (!isAtLeast(existingEMI, 0)) {
+            sink.reject("customer.existingEMI", "Min", "Existing EMI cannot be negative");
+            valid = false;
+        }
+
+        if (customer.getEmploymentType() == null) {
+            sink.reject("customer.employmentType", "NotNull", "Employment type is required");
+            valid = false;
+        }
+
+        return valid;
+    }
+
+    // @Min on Double: NaN fails, and -0.0 is below 0 because Double.compare is used
+    static boolean isAtLeast(double value, long min) {
+        return !Double.isNaN(value) && Double.compare(value, (double) min) >= 0;
+    }
+
+    // @NotBlank: String.trim() drops every char <= ' '
+    static boolean isBlank(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // @Pattern(regexp = "^[0-9]{10}$") evaluated with Matcher.matches()
+    static boolean isTenDigits(CharSequence value) {
+        if (value.length() != 10) {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isEmail(CharSequence value) {
+        int length = value.length();
+        if (length == 0) {
+            return true;
+        }
+
+        int at = -1;
+        for (int i = length - 1; i >= 0; i--) {
+            if (value.charAt(i) == '@') {
+                at = i;
+                break;
+            }
+        }
+        if (at < 0) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80 || c == '"' || c == '[') {
+                return ExoticEmails.isValid(value);
+            }
+        }
+
+        return isLocalPart(value, 0, at) && isDomain(value, at + 1, length);
+    }
+
+    private static boolean isLocalPart(CharSequence value, int start, int end) {
+        if (end - start > MAX_EMAIL_LOCAL_PART_LENGTH) {
+            return false;
+        }
+        int segmentLength = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (segmentLength == 0) {
+                    return false;
+                }
+                segmentLength = 0;
+            } else if (isLocalPartAtom(c)) {
+                segmentLength++;
+            } else {
+                return false;
+            }
+        }
+        return segmentLength > 0;
+    }
+
+    private static boolean isDomain(CharSequence value, int start, int end) {
+        int length = end - start;
+        if (length == 0 || length > MAX_EMAIL_DOMAIN_LENGTH) {
+            return false;
+        }
+        int labelLength = 0;
+        char previous = '.';
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0 || previous == '-') {
+                    return false;
+                }
+                labelLength = 0;
+            } else if (c == '-') {
+                if (labelLength == 0) {
+                    return false;
+                }
+                labelLength++;
+            } else if (isDomainChar(c)) {
+                labelLength++;
+            } else {
+                return false;
+            }
+            if (labelLength > MAX_DOMAIN_LABEL_LENGTH) {
+                return false;
+            }
+            previous = c;
+        }
+        return labelLength > 0 && previous != '-';
+    }
+
+    private static boolean isLocalPartAtom(char c) {
+        return isDomainChar(c) || c == '-';
+    }
+
+    private static boolean isDomainChar(char c) {
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+            return true;
+        }
+        switch (c) {
+            case '!': case '#': case '$': case '%': case '&': case '\'': case '*': case '+':
+            case '/': case '=': case '?': case '^': case '_': case '`': case '{': case '|':
+            case '}': case '~':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Addresses outside the plain-ASCII grammar are rare enough to hand to the Bean
+     * Validation provider, which is only bootstrapped the first time one shows up.
+     */
+    private static final class ExoticEmails {
+
+        private static final jakarta.validation.Validator VALIDATOR =
+                Validation.buildDefaultValidatorFactory().getValidator();
+
+        static boolean isValid(CharSequence value) {
+            return VALIDATOR.validateValue(Customer.class, "email", value.toString()).isEmpty();
+        }
+    }
+}
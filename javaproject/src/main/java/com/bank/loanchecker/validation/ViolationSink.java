@@ -0,0 +1,7 @@
+package com.bank.loanchecker.validation;
+
+@FunctionalInterface
+public interface ViolationSink {
+
+    void reject(String field, String code, String message);
+}
@@ -0,0 +1,158 @@
+package com.bank.loanchecker.velocity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size table of recent application timestamps per key. Entries live in flat
+ * {@code long} stripes (no per-key objects, so the garbage collector has nothing to trace and
+ * the layout maps directly onto off-heap memory), each entry being
+ * {@code [key, cursor, t0 .. t(ring-1)]}: the key's hash, a write counter and a ring of the
+ * last {@code ring} timestamps in epoch millis, 0 meaning empty.
+ * <p>
+ * All updates are lock-free. A key is looked up in {@value #PROBES} consecutive entries of
+ * its stripe; a new key claims the first empty one with a CAS, or else evicts the entry
+ * that has been idle longest, so memory never grows past the table. Counts are approximate
+ * under contention: two writers landing on the same ring slot can lose a timestamp, and only
+ * when every candidate entry is still active can an eviction racing with the evicted key's
+ * writer credit that timestamp to the new key.
+ */
+public class VelocityTable {
+
+    static final int PROBES = 8;
+
+    private static final int KEY = 0;
+    private static final int CURSOR = 1;
+    private static final int TIMES = 2;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeShift;
+    private final int entryMask;
+    private final int ring;
+    private final int stride;
+
+    /**
+     * @param capacity entries in total, rounded up to a power of two per stripe
+     * @param stripes  number of independent arrays, a power of two
+     * @param ring     timestamps kept per key
+     */
+    public VelocityTable(int capacity, int stripes, int ring) {
+        if (Integer.bitCount(stripes) != 1 || ring < 1 || capacity < stripes) {
+            throw new IllegalArgumentException("stripes must be a power of two no larger than the capacity, "
+                    + "and the ring at least 1");
+        }
+        int entries = Math.max(PROBES, Integer.highestOneBit((capacity / stripes) * 2 - 1));
+        this.stride = TIMES + ring;
+        if ((long) entries * stride > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Use more stripes for a capacity of " + capacity);
+        }
+        this.ring = ring;
+        this.entryMask = entries - 1;
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(stripes);
+        this.stripes = new AtomicLongArray[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new AtomicLongArray(entries * stride);
+        }
+    }
+
+    /**
+     * Records an application for {@code key} at {@code now} and returns how many of the key's
+     * applications, including this one, fall after {@code since}. At most the ring size.
+     */
+    public int record(long key, long now, long since) {
+        long hash = mix(key);
+        AtomicLongArray stripe = stripes[stripes.length == 1 ? 0 : (int) (hash >>> stripeShift)];
+        int entry = claim(stripe, hash, (int) hash & entryMask, since);
+
+        long slot = stripe.getAndIncrement(entry + CURSOR) % ring;
+        stripe.set(entry + TIMES + (int) slot, now);
+        int count = 0;
+        for (int i = 0; i < ring; i++) {
+            if (stripe.get(entry + TIMES + i) > since) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The number of keys with an application after {@code since}.
+     */
+    long activeKeys(long since) {
+        long active = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int entry = 0; entry < stripe.length(); entry += stride) {
+                if (stripe.get(entry + KEY) != 0 && lastSeen(stripe, entry) > since) {
+                    active++;
+                }
+            }
+        }
+        return active;
+    }
+
+    public int capacity() {
+        return stripes.length * (entryMask + 1);
+    }
+
+    // The offset of the entry holding hash, claiming or evicting one if it has none
+    private int claim(AtomicLongArray stripe, long hash, int home, long since) {
+        while (true) {
+            int empty = -1;
+            int victim = -1;
+            long victimSeen = Long.MAX_VALUE;
+            for (int probe = 0; probe < PROBES; probe++) {
+                int entry = ((home + probe) & entryMask) * stride;
+                long key = stripe.get(entry + KEY);
+                if (key == hash) {
+                    return entry;
+                }
+                if (key == 0) {
+                    if (empty < 0) {
+                        empty = entry;
+                    }
+                } else {
+                    long seen = lastSeen(stripe, entry);
+                    if (seen < victimSeen) {
+                        victim = entry;
+                        victimSeen = seen;
+                    }
+                }
+            }
+            if (empty >= 0) {
+                if (stripe.compareAndSet(empty + KEY, 0, hash)) {
+                    return empty;
+                }
+            } else {
+                long victimKey = stripe.get(victim + KEY);
+                if (victimKey != hash && lastSeen(stripe, victim) == victimSeen
+                        && stripe.compareAndSet(victim + KEY, victimKey, hash)) {
+                    if (victimSeen > since) {
+                        // The table is full of active keys; their timestamps must not carry over
+                        for (int i = 0; i < ring; i++) {
+                            stripe.set(victim + TIMES + i, 0);
+                        }
+                    }
+                    return victim;
+                }
+            }
+            // Lost a race for the entry; the winner may have been the same key
+        }
+    }
+
+    private long lastSeen(AtomicLongArray stripe, int entry) {
+        long latest = 0;
+        for (int i = 0; i < ring; i++) {
+            latest = Math.max(latest, stripe.get(entry + TIMES + i));
+        }
+        return latest;
+    }
+
+    // Spreads the key's bits; 0 marks an empty entry, so it is never a hash
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key == 0 ? 1 : key;
+    }
+}
@@ -0,0 +1,89 @@
+package com.bank.loanchecker.velocity;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Flags customers who apply more than {@code loanchecker.velocity.max-applications} times
+ * within {@code loanchecker.velocity.window-seconds}, a common fraud pattern. Applications
+ * are counted per email address and per phone number separately, so rotating one of them
+ * does not reset the count, and per id for stored customer profiles. Everything is kept in
+ * a bounded in-memory {@link VelocityTable}; no lookup leaves the process. A limit of 0,
+ * the default, turns the check off.
+ */
+@Service
+public class VelocityTracker {
+
+    private static final long EMAIL = 0x656d61696cL;
+    private static final long PHONE = 0x70686f6e65L;
+    private static final long CUSTOMER_ID = 0x69644c;
+
+    private final int maxApplications;
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final VelocityTable table;
+
+    @Autowired
+    public VelocityTracker(@Value("${loanchecker.velocity.max-applications:0}") int maxApplications,
+                           @Value("${loanchecker.velocity.window-seconds:600}") long windowSeconds,
+                           @Value("${loanchecker.velocity.capacity:262144}") int capacity,
+                           @Value("${loanchecker.velocity.stripes:64}") int stripes) {
+        this(maxApplications, windowSeconds, capacity, stripes, System::currentTimeMillis);
+    }
+
+    VelocityTracker(int maxApplications, long windowSeconds, int capacity, int stripes, LongSupplier clock) {
+        this.maxApplications = maxApplications;
+        this.windowMillis = windowSeconds * 1000;
+        this.clock = clock;
+        // One more slot than the limit is enough to tell that it has been exceeded
+        this.table = maxApplications > 0 ? new VelocityTable(capacity, stripes, maxApplications + 1) : null;
+    }
+
+    public boolean isEnabled() {
+        return table != null;
+    }
+
+    /**
+     * Records an application from this email address and phone number and returns whether
+     * either has now been used for more applications than the limit allows.
+     */
+    public boolean recordApplication(CharSequence email, CharSequence phoneNumber) {
+        if (table == null) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        long since = now - windowMillis;
+        int byEmail = table.record(hash(EMAIL, email), now, since);
+        int byPhone = table.record(hash(PHONE, phoneNumber), now, since);
+        return Math.max(byEmail, byPhone) > maxApplications;
+    }
+
+    /**
+     * Records an application for a stored customer profile and returns whether it exceeds the limit.
+     */
+    public boolean recordApplication(long customerId) {
+        if (table == null) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        return table.record(CUSTOMER_ID * 31 + customerId, now, now - windowMillis) > maxApplications;
+    }
+
+    // Case-insensitive for ASCII, so John@Example.com and john@example.com count together
+    static long hash(long kind, CharSequence value) {
+        long hash = 0xcbf29ce484222325L ^ kind;
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                hash = (hash ^ c) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,46 @@
+package com.bank.loanchecker.warmup;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic applications for the warm-up: for every loan type and employment type, one that
+ * is approved, one stretched enough to be reduced or rejected on affordability, one rejected
+ * on the basic criteria and one that fails validation, so every branch gets compiled.
+ */
+final class WarmUpMix {
+
+    private WarmUpMix() {
+    }
+
+    static List<LoanApplication> applications() {
+        List<LoanApplication> applications = new ArrayList<>();
+        for (LoanType loanType : LoanType.values()) {
+            int tenure = Math.min(loanType.getMaxTenureYears(), 15);
+            double midAmount = Math.floor((loanType.getMinAmount() + loanType.getMaxAmount()) / 4);
+            for (EmploymentType employmentType : EmploymentType.values()) {
+                applications.add(new LoanApplication(customer(35, 150_000, 780, 5_000, employmentType),
+                        loanType, midAmount, tenure));
+                applications.add(new LoanApplication(customer(45, 40_000, 680, 15_000, employmentType),
+                        loanType, loanType.getMaxAmount(), tenure));
+                applications.add(new LoanApplication(customer(58, 30_000, 560, 0, employmentType),
+                        loanType, loanType.getMinAmount(), tenure));
+                Customer invalid = customer(30, 60_000, 720, 0, employmentType);
+                invalid.setEmail("not-an-email");
+                applications.add(new LoanApplication(invalid, loanType, midAmount, tenure));
+            }
+        }
+        return applications;
+    }
+
+    private static Customer customer(int age, double income, int creditScore, double existingEmi,
+                                     EmploymentType employmentType) {
+        return new Customer("Warm Up", age, "warm.up@example.com", "9876543210", income, creditScore,
+                existingEmi, employmentType);
+    }
+}
@@ -0,0 +1,9 @@
+package com.bank.loanchecker.warmup;
+
+/**
+ * What a warm-up did, and whether it stopped because JIT compilation settled rather than
+ * because the budget ran out.
+ */
+record WarmUpReport(int rounds, long decisions, long requests, long elapsedMillis, long compilationMillis,
+                    boolean settled) {
+}
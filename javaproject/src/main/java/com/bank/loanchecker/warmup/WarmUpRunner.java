@@ -0,0 +1,257 @@
+package com.bank.loanchecker.warmup;
+
+import com.bank.loanchecker.json.IngestedApplication;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Runs a synthetic mix of applications (see {@link WarmUpMix}) through the JSON codecs,
+ * validation and {@link LoanEligibilityService} at start-up, and through the web endpoints
+ * and templates when the server is up, until the JIT has compiled the hot paths. Spring Boot
+ * only reports readiness once application runners have finished, so no traffic is routed
+ * here while the code still runs interpreted.
+ * <p>
+ * The mix runs in rounds of {@value #ROUND_MILLIS} ms; compilation has settled once
+ * {@value #QUIET_ROUNDS} rounds in a row add less than {@value #QUIET_COMPILE_MILLIS} ms of
+ * JIT compilation time. {@code loanchecker.warmup.budget-ms} caps the whole warm-up; 0 turns
+ * it off. Warm-up requests carry a token in {@link #HEADER} so that velocity checks, the
+ * decision history, capture and request timing skip them; see {@link #isWarmUp}.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    public static final String HEADER = "X-Warm-Up";
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+    private static final long ROUND_MILLIS = 250;
+    private static final int QUIET_ROUNDS = 4;
+    private static final long QUIET_COMPILE_MILLIS = 5;
+    // Drawn at every start, so the header value cannot be known outside this process
+    private static final String TOKEN = newToken();
+
+    private final LoanEligibilityService loanEligibilityService;
+    private final LoanApplicationValidator validator;
+    private final ObjectReader applicationReader;
+    private final ObjectWriter writer;
+    private final ApplicationContext context;
+    private final long budgetMillis;
+    private final List<LoanApplication> mix = WarmUpMix.applications();
+    private final List<byte[]> mixJson = new ArrayList<>();
+    private volatile WarmUpReport report;
+
+    public WarmUpRunner(LoanEligibilityService loanEligibilityService, LoanApplicationValidator validator,
+                        ObjectMapper objectMapper, ApplicationContext context,
+                        @Value("${loanchecker.warmup.budget-ms:30000}") long budgetMillis) throws IOException {
+        this.loanEligibilityService = loanEligibilityService;
+        this.validator = validator;
+        this.applicationReader = objectMapper.readerFor(LoanApplication.class);
+        this.writer = objectMapper.writer();
+        this.context = context;
+        this.budgetMillis = budgetMillis;
+        for (LoanApplication application : mix) {
+            mixJson.add(writer.writeValueAsBytes(application));
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (budgetMillis <= 0) {
+            return;
+        }
+        report = warmUp();
+        log.info("Warm-up finished in {} ms: {} rounds, {} decisions, {} requests, {} ms of JIT compilation, {}",
+                report.elapsedMillis(), report.rounds(), report.decisions(), report.requests(),
+                report.compilationMillis(), report.settled() ? "settled" : "budget exhausted");
+    }
+
+    /**
+     * The last warm-up, or null if none has run.
+     */
+    WarmUpReport getReport() {
+        return report;
+    }
+
+    /**
+     * Whether a request was sent by the warm-up: it carries this boot's token in {@link #HEADER}
+     * and arrived over the loopback interface. Any other request, header or not, is real traffic.
+     */
+    public static boolean isWarmUp(HttpServletRequest request) {
+        String token = request.getHeader(HEADER);
+        return token != null
+                && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                TOKEN.getBytes(StandardCharsets.UTF_8))
+                && isLoopback(request.getRemoteAddr());
+    }
+
+    static String token() {
+        return TOKEN;
+    }
+
+    WarmUpReport warmUp() throws IOException, InterruptedException {
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean measurable = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long compileStart = measurable ? compiler.getTotalCompilationTime() : 0;
+        HttpClient client = null;
+        URI base = null;
+        if (context instanceof WebServerApplicationContext web && web.getWebServer().getPort() > 0) {
+            client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+            base = URI.create("http://localhost:" + web.getWebServer().getPort());
+        }
+
+        long start = System.currentTimeMillis();
+        long deadline = start + budgetMillis;
+        long decisions = 0;
+        long requests = 0;
+        int rounds = 0;
+        int quietRounds = 0;
+        long lastCompile = compileStart;
+        while (System.currentTimeMillis() < deadline) {
+            long roundEnd = Math.min(deadline, System.currentTimeMillis() + ROUND_MILLIS);
+            do {
+                decisions += runMix();
+                if (client != null) {
+                    int sent = sendRequests(client, base);
+                    requests += Math.abs(sent);
+                    if (sent < 0) {
+                        client = null;
+                    }
+                }
+            } while (System.currentTimeMillis() < roundEnd);
+            rounds++;
+
+            if (measurable) {
+                long compile = compiler.getTotalCompilationTime();
+                quietRounds = compile - lastCompile < QUIET_COMPILE_MILLIS ? quietRounds + 1 : 0;
+                lastCompile = compile;
+                if (quietRounds == QUIET_ROUNDS) {
+                    break;
+                }
+            }
+        }
+        return new WarmUpReport(rounds, decisions, requests, System.currentTimeMillis() - start,
+                lastCompile - compileStart, quietRounds == QUIET_ROUNDS);
+    }
+
+    // Every codec and decision path the request handlers use
+    private int runMix() throws IOException {
+        int decisions = 0;
+        IngestedApplication ingested = IngestedApplication.forCurrentThread();
+        for (byte[] json : mixJson) {
+            LoanApplication application = applicationReader.readValue(json);
+            if (validator.validate(application).isEmpty()) {
+                LoanEligibilityResult result = loanEligibilityService.checkEligibility(application);
+                writer.writeValueAsBytes(result);
+                decisions++;
+                if (ingested.read(new ByteArrayInputStream(json))) {
+                    loanEligibilityService.decide(ingested.getInput());
+                    decisions++;
+                }
+            }
+        }
+        return decisions;
+    }
+
+    // The number of requests sent, negated if one failed and the rest should be skipped
+    private int sendRequests(HttpClient client, URI base) throws InterruptedException {
+        int requests = 0;
+        for (int i = 0; i < mix.size(); i += 4) {
+            boolean ok = send(client, HttpRequest.newBuilder(base.resolve("/api/check-eligibility"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mixJson.get(i))))
+                    && send(client, HttpRequest.newBuilder(base.resolve("/api/check-eligibility"))
+                    .header("Content-Type", "application/json")
+                    .header("X-Ingest-Mode", "fast")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mixJson.get(i + 1))))
+                    && send(client, HttpRequest.newBuilder(base.resolve("/check-eligibility"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form(mix.get(i)))));
+            requests += 3;
+            if (!ok) {
+                return -requests;
+            }
+        }
+        return send(client, HttpRequest.newBuilder(base.resolve("/")).GET()) ? requests + 1 : -(requests + 1);
+    }
+
+    private static boolean send(HttpClient client, HttpRequest.Builder builder) throws InterruptedException {
+        HttpRequest request = builder.header(HEADER, TOKEN).timeout(Duration.ofSeconds(5)).build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status == 200) {
+                return true;
+            }
+            log.warn("Warm-up request {} {} returned {}, continuing without requests", request.method(),
+                    request.uri(), status);
+        } catch (IOException e) {
+            log.warn("Warm-up request {} {} failed, continuing without requests: {}", request.method(),
+                    request.uri(), e.getMessage());
+        }
+        return false;
+    }
+
+    // The remote address is a literal, so this never does a name lookup
+    private static boolean isLoopback(String address) {
+        try {
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static String newToken() {
+        byte[] token = new byte[32];
+        new SecureRandom().nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    private static String form(LoanApplication application) {
+        return "customer.name=" + encode(application.getCustomer().getName())
+                + "&customer.age=" + application.getCustomer().getAge()
+                + "&customer.email=" + encode(application.getCustomer().getEmail())
+                + "&customer.phoneNumber=" + application.getCustomer().getPhoneNumber()
+                + "&customer.monthlyIncome=" + application.getCustomer().getMonthlyIncome()
+                + "&customer.creditScore=" + application.getCustomer().getCreditScore()
+                + "&customer.existingEMI=" + application.getCustomer().getExistingEMI()
+                + "&customer.employmentType=" + application.getCustomer().getEmploymentType()
+                + "&loanType=" + application.getLoanType()
+                + "&requestedAmount=" + application.getRequestedAmount()
+                + "&tenureYears=" + application.getTenureYears();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
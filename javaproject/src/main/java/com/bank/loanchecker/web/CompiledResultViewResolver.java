@@ -0,0 +1,123 @@
+package com.bank.loanchecker.web;
+
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the {@code result} page of the eligibility form from a {@link ResultPageTemplate}
+ * compiled at start-up: the page's static bytes are written as they are and only the
+ * application's and result's values are formatted, instead of Thymeleaf processing the whole
+ * template on every post. The page is byte for byte the one Thymeleaf renders.
+ * <p>
+ * Pages with values missing that the template would show are left to Thymeleaf, as are all
+ * pages when {@code loanchecker.render.compiled-result} is false or the template cannot be
+ * compiled.
+ */
+@Component
+public class CompiledResultViewResolver implements ViewResolver, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(CompiledResultViewResolver.class);
+    // Locales come from the client's Accept-Language, so only the first few get a cached view
+    private static final int MAX_CACHED_VIEWS = 32;
+
+    private final ThymeleafViewResolver thymeleafViewResolver;
+    private final ResultPageTemplate template;
+    private final Map<Locale, View> views = new ConcurrentHashMap<>();
+
+    public CompiledResultViewResolver(SpringTemplateEngine templateEngine, ThymeleafViewResolver thymeleafViewResolver,
+                                      @Value("${loanchecker.render.compiled-result:true}") boolean enabled) {
+        this.thymeleafViewResolver = thymeleafViewResolver;
+        this.template = enabled ? compile(templateEngine, thymeleafViewResolver) : null;
+    }
+
+    private static ResultPageTemplate compile(SpringTemplateEngine templateEngine,
+                                              ThymeleafViewResolver thymeleafViewResolver) {
+        if (thymeleafViewResolver.getContentType() == null || thymeleafViewResolver.getCharacterEncoding() == null) {
+            log.warn("Thymeleaf has no content type and encoding set, rendering the result page with Thymeleaf");
+            return null;
+        }
+        try {
+            return ResultPageTemplate.compile(templateEngine,
+                    Charset.forName(thymeleafViewResolver.getCharacterEncoding()));
+        } catch (RuntimeException e) {
+            log.warn("Could not compile the result page, rendering it with Thymeleaf", e);
+            return null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return template != null;
+    }
+
+    @Override
+    public View resolveViewName(String viewName, Locale locale) {
+        if (template == null || !ResultPageTemplate.NAME.equals(viewName)) {
+            return null;
+        }
+        View view = views.get(locale);
+        if (view == null) {
+            view = new CompiledResultView(locale);
+            if (views.size() < MAX_CACHED_VIEWS) {
+                views.putIfAbsent(locale, view);
+            }
+        }
+        return view;
+    }
+
+    int cachedViews() {
+        return views.size();
+    }
+
+    // Ahead of Thymeleaf, which would otherwise resolve the same view name
+    @Override
+    public int getOrder() {
+        return thymeleafViewResolver.getOrder() - 1;
+    }
+
+    private final class CompiledResultView implements View {
+
+        private final Locale locale;
+
+        CompiledResultView(Locale locale) {
+            this.locale = locale;
+        }
+
+        @Override
+        public String getContentType() {
+            return thymeleafViewResolver.getContentType();
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response)
+                throws Exception {
+            if (model.get("loanApplication") instanceof LoanApplication application
+                    && model.get("result") instanceof LoanEligibilityResult result) {
+                ResultPageTemplate.Page page = template.page(application, result, locale);
+                if (page != null) {
+                    response.setLocale(locale);
+                    response.setContentType(getContentType());
+                    page.writeTo(response.getOutputStream());
+                    return;
+                }
+            }
+            View view = thymeleafViewResolver.resolveViewName(ResultPageTemplate.NAME, locale);
+            view.render(model, request, response);
+        }
+    }
+}
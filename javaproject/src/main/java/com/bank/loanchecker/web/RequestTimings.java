@@ -0,0 +1,112 @@
+package com.bank.loanchecker.web;
+
+import java.util.Locale;
+
+/**
+ * Stage timings of the API request being handled on the current thread. Stages run one after
+ * the other: {@link #begin(Stage)} closes the running stage and starts the next. Outside a
+ * timed request (timing disabled, non-API paths, batch scoring) {@code begin} does nothing.
+ */
+public final class RequestTimings {
+
+    public enum Stage {
+        PARSE, VALIDATE, EVALUATE, RENDER, SERIALIZE;
+
+        final String metricName = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final long[] stageNanos = new long[STAGES.length];
+    private Stage current;
+    private long stageStartNanos;
+    private long totalNanos = -1;
+
+    private RequestTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTimings start() {
+        RequestTimings timings = new RequestTimings(System.nanoTime());
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static void begin(Stage stage) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.enter(stage, System.nanoTime());
+        }
+    }
+
+    private void enter(Stage stage, long now) {
+        if (current != null) {
+            stageNanos[current.ordinal()] += now - stageStartNanos;
+        }
+        current = stage;
+        stageStartNanos = now;
+    }
+
+    /**
+     * Closes the running stage and detaches the timings from the thread.
+     */
+    void finish() {
+        long now = System.nanoTime();
+        if (current != null) {
+            stageNanos[current.ordinal()] += now - stageStartNanos;
+            current = null;
+        }
+        totalNanos = now - startNanos;
+        CURRENT.remove();
+    }
+
+    long getStageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    long getTotalNanos() {
+        return totalNanos;
+    }
+
+    long[] copyStageNanos() {
+        return stageNanos.clone();
+    }
+
+    /**
+     * Formats the stages that ran, plus the total, as a {@code Server-Timing} header value
+     * with durations in milliseconds.
+     */
+    String toServerTiming() {
+        StringBuilder header = new StringBuilder(128);
+        for (Stage stage : STAGES) {
+            if (stageNanos[stage.ordinal()] > 0) {
+                appendMetric(header, stage.metricName, stageNanos[stage.ordinal()]);
+            }
+        }
+        appendMetric(header, "total", totalNanos);
+        return header.toString();
+    }
+
+    static String stageName(int ordinal) {
+        return STAGES[ordinal].metricName;
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        // Microsecond precision is plenty and keeps the header short
+        long micros = nanos / 1_000;
+        header.append(name).append(";dur=").append(micros / 1_000).append('.');
+        long fraction = micros % 1_000;
+        if (fraction < 100) {
+            header.append('0');
+        }
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+}
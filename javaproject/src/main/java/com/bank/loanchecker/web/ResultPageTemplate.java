@@ -0,0 +1,233 @@
+package com.bank.loanchecker.web;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.model.LoanType;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.util.EvaluationUtils;
+import org.thymeleaf.util.NumberPointType;
+import org.thymeleaf.util.NumberUtils;
+import org.unbescape.html.HtmlEscape;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * {@code result.html} compiled into the encoded bytes that are the same on every result page
+ * and the slots between them that show the application and its result.
+ * <p>
+ * The template is compiled by rendering it with Thymeleaf for a sample application and
+ * splitting the page where the sample's values appear, once for each combination of the
+ * template's conditions (approved or rejected, with or without a recommendation). It is then
+ * checked by rendering other samples both ways, so a template edit that the slots below do
+ * not cover fails compilation rather than changing the page.
+ */
+final class ResultPageTemplate {
+
+    static final String NAME = "result";
+
+    private enum Slot {
+        NAME, LOAN_TYPE, REQUESTED_AMOUNT, TENURE, MONTHLY_INCOME, CREDIT_SCORE, DECISION, REASON,
+        APPROVED_AMOUNT, MONTHLY_EMI, INTEREST_RATE, RESULT_TENURE, TOTAL_INTEREST, TOTAL_AMOUNT, RECOMMENDATION
+    }
+
+    private static final Slot[] APPROVED = {
+            Slot.NAME, Slot.LOAN_TYPE, Slot.REQUESTED_AMOUNT, Slot.TENURE, Slot.MONTHLY_INCOME, Slot.CREDIT_SCORE,
+            Slot.DECISION, Slot.REASON, Slot.APPROVED_AMOUNT, Slot.MONTHLY_EMI, Slot.INTEREST_RATE,
+            Slot.RESULT_TENURE, Slot.TOTAL_INTEREST, Slot.TOTAL_AMOUNT
+    };
+    private static final Slot[] REJECTED = {
+            Slot.NAME, Slot.LOAN_TYPE, Slot.REQUESTED_AMOUNT, Slot.TENURE, Slot.MONTHLY_INCOME, Slot.CREDIT_SCORE,
+            Slot.DECISION, Slot.REASON, Slot.REASON
+    };
+
+    private final Charset charset;
+    // Indexed by variant(eligible, recommended)
+    private final Slot[][] slots = new Slot[4][];
+    private final byte[][][] fragments = new byte[4][][];
+
+    private ResultPageTemplate(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Compiles the template named {@value #NAME} with {@code engine}; throws
+     * {@link IllegalStateException} if the compiled page would differ from Thymeleaf's.
+     */
+    static ResultPageTemplate compile(ITemplateEngine engine, Charset charset) {
+        ResultPageTemplate template = new ResultPageTemplate(charset);
+        for (int variant = 0; variant < 4; variant++) {
+            template.split(variant, render(engine, sampleApplication(0), sampleResult(0, variant), Locale.US));
+        }
+        for (int variant = 0; variant < 4; variant++) {
+            LoanApplication application = sampleApplication(1);
+            LoanEligibilityResult result = sampleResult(1, variant);
+            ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+            try {
+                template.page(application, result, Locale.US).writeTo(compiled);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!compiled.toString(charset).equals(render(engine, application, result, Locale.US))) {
+                throw new IllegalStateException("Template " + NAME + " has content that depends on the model "
+                        + "outside the compiled slots");
+            }
+        }
+        return template;
+    }
+
+    /**
+     * The page for {@code application} and {@code result}, or null if it has a missing value
+     * whose rendering is left to Thymeleaf.
+     */
+    Page page(LoanApplication application, LoanEligibilityResult result, Locale locale) {
+        if (application.getCustomer() == null || application.getLoanType() == null) {
+            return null;
+        }
+        int variant = variant(result.isEligible(), EvaluationUtils.evaluateAsBoolean(result.getRecommendation()));
+        Slot[] variantSlots = slots[variant];
+        String[] values = new String[variantSlots.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = value(variantSlots[i], application, result, locale);
+            if (values[i] == null) {
+                return null;
+            }
+        }
+        return new Page(fragments[variant], values, charset);
+    }
+
+    private void split(int variant, String page) {
+        Slot[] variantSlots = slotsOf(variant);
+        LoanApplication application = sampleApplication(0);
+        LoanEligibilityResult result = sampleResult(0, variant);
+        byte[][] variantFragments = new byte[variantSlots.length + 1][];
+        int position = 0;
+        for (int i = 0; i < variantSlots.length; i++) {
+            String value = value(variantSlots[i], application, result, Locale.US);
+            int at = page.indexOf(value, position);
+            if (at < 0) {
+                throw new IllegalStateException("Template " + NAME + " does not show " + variantSlots[i]);
+            }
+            variantFragments[i] = page.substring(position, at).getBytes(charset);
+            position = at + value.length();
+        }
+        variantFragments[variantSlots.length] = page.substring(position).getBytes(charset);
+        slots[variant] = variantSlots;
+        fragments[variant] = variantFragments;
+    }
+
+    // The slot's text as the template shows it, escaped, or null if Thymeleaf must render it
+    private static String value(Slot slot, LoanApplication application, LoanEligibilityResult result, Locale locale) {
+        Customer customer = application.getCustomer();
+        String text = switch (slot) {
+            case NAME -> text(customer.getName());
+            case LOAN_TYPE -> application.getLoanType().getDisplayName();
+            case REQUESTED_AMOUNT -> amount(application.getRequestedAmount(), locale);
+            case TENURE -> years(application.getTenureYears());
+            case MONTHLY_INCOME -> amount(customer.getMonthlyIncome(), locale);
+            case CREDIT_SCORE -> text(customer.getCreditScore());
+            case DECISION -> text(result.getDecision());
+            case REASON -> text(result.getReason());
+            case APPROVED_AMOUNT -> amount(result.getApprovedAmount(), locale);
+            case MONTHLY_EMI -> amount(result.getMonthlyEMI(), locale);
+            case INTEREST_RATE -> result.getInterestRate() != null ? result.getInterestRate() + "%" : null;
+            case RESULT_TENURE -> years(result.getTenureYears());
+            case TOTAL_INTEREST -> hasTotals(result)
+                    ? amount(total(result) - result.getApprovedAmount(), locale) : null;
+            case TOTAL_AMOUNT -> hasTotals(result) ? amount(total(result), locale) : null;
+            case RECOMMENDATION -> text(result.getRecommendation());
+        };
+        return text != null ? HtmlEscape.escapeHtml4Xml(text) : null;
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static String years(Integer years) {
+        return years != null ? years + " years" : null;
+    }
+
+    // #numbers.formatDecimal(amount, 0, 'COMMA', 0, 'POINT')
+    private static String amount(Double amount, Locale locale) {
+        return amount != null
+                ? NumberUtils.format(amount, 0, NumberPointType.COMMA, 0, NumberPointType.POINT, locale) : "";
+    }
+
+    private static boolean hasTotals(LoanEligibilityResult result) {
+        return result.getMonthlyEMI() != null && result.getTenureYears() != null && result.getApprovedAmount() != null;
+    }
+
+    // The template's result.monthlyEMI * result.tenureYears * 12, in the same double arithmetic
+    private static double total(LoanEligibilityResult result) {
+        return result.getMonthlyEMI() * result.getTenureYears() * 12;
+    }
+
+    private static int variant(boolean eligible, boolean recommended) {
+        return (eligible ? 1 : 0) | (recommended ? 2 : 0);
+    }
+
+    private static Slot[] slotsOf(int variant) {
+        Slot[] base = (variant & 1) != 0 ? APPROVED : REJECTED;
+        if ((variant & 2) == 0) {
+            return base;
+        }
+        Slot[] withRecommendation = Arrays.copyOf(base, base.length + 1);
+        withRecommendation[base.length] = Slot.RECOMMENDATION;
+        return withRecommendation;
+    }
+
+    private static String render(ITemplateEngine engine, LoanApplication application, LoanEligibilityResult result,
+                                 Locale locale) {
+        Context context = new Context(locale);
+        context.setVariable("loanApplication", application);
+        context.setVariable("result", result);
+        return engine.process(NAME, context);
+    }
+
+    // Values distinct from each other and from the template's own text
+    private static LoanApplication sampleApplication(int sample) {
+        Customer customer = new Customer();
+        customer.setName("<applicant-" + sample + " & \"co\">");
+        customer.setMonthlyIncome(sample == 0 ? 2718281.0 : 1414213.6);
+        customer.setCreditScore(sample == 0 ? 90817 : 71829);
+        return new LoanApplication(customer, sample == 0 ? LoanType.EDUCATION_LOAN : LoanType.CAR_LOAN,
+                sample == 0 ? 31415926.0 : 17320508.4, sample == 0 ? 6931 : 1732);
+    }
+
+    private static LoanEligibilityResult sampleResult(int sample, int variant) {
+        LoanEligibilityResult result = new LoanEligibilityResult();
+        result.setEligible((variant & 1) != 0);
+        result.setDecision("decision-" + sample + "'");
+        result.setReason("reason-" + sample + " <b>");
+        result.setRecommendation((variant & 2) != 0 ? "recommendation-" + sample + " &" : null);
+        if (result.isEligible()) {
+            result.setApprovedAmount(sample == 0 ? 30102999.0 : 47712125.5);
+            result.setMonthlyEMI(sample == 0 ? 86602.5 : 57735.3);
+            result.setInterestRate(sample == 0 ? 12.345 : 6.0);
+            result.setTenureYears(sample == 0 ? 4142 : 2236);
+        }
+        return result;
+    }
+
+    /**
+     * A page ready to write: the variant's fragments with its values between them.
+     */
+    record Page(byte[][] fragments, String[] values, Charset charset) {
+
+        void writeTo(OutputStream out) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                out.write(fragments[i]);
+                out.write(values[i].getBytes(charset));
+            }
+            out.write(fragments[values.length]);
+        }
+    }
+}
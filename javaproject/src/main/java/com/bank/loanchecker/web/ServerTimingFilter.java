@@ -0,0 +1,99 @@
+package com.bank.loanchecker.web;
+
+import com.bank.loanchecker.warmup.WarmUpRunner;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Times the stages of {@code /api/*} requests (see {@link RequestTimings}). With
+ * {@code loanchecker.timing.server-timing} on, the breakdown is returned in a
+ * {@code Server-Timing} header; the response body is buffered so the header can still be set
+ * once serialization has finished. Responses streamed to the client as they are written
+ * (decision queries, bulk job results, re-decisioning) are not buffered and get no header. With
+ * {@code loanchecker.timing.slow-request-threshold-ms} above zero, slower requests are handed
+ * to the {@link SlowRequestLog}. Event streams are never timed since their response is not
+ * complete when the handler returns, nor are the start-up warm-up requests, which are slow on
+ * purpose.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private final boolean serverTimingHeader;
+    private final SlowRequestLog slowRequestLog;
+
+    public ServerTimingFilter(@Value("${loanchecker.timing.server-timing:false}") boolean serverTimingHeader,
+                              @Value("${loanchecker.timing.slow-request-threshold-ms:0}") long slowThresholdMillis,
+                              @Value("${loanchecker.timing.slow-request-sample-rate:1.0}") double slowSampleRate,
+                              @Value("${loanchecker.timing.slow-request-buffer:1024}") int slowBufferCapacity) {
+        this.serverTimingHeader = serverTimingHeader;
+        this.slowRequestLog = slowThresholdMillis > 0
+                ? new SlowRequestLog(slowThresholdMillis, slowSampleRate, slowBufferCapacity)
+                : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!serverTimingHeader && slowRequestLog == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String accept = request.getHeader("Accept");
+        return !path.startsWith("/api/")
+                || WarmUpRunner.isWarmUp(request)
+                || (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE))
+                || (path.startsWith("/api/jobs/") && path.endsWith("/events"));
+    }
+
+    // Responses that may be large and are written out while the handler runs
+    static boolean isStreamed(String path) {
+        return path.equals("/api/decisions")
+                || (path.startsWith("/api/jobs/") && path.endsWith("/results"))
+                || path.equals("/api/book/redecide");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean header = serverTimingHeader
+                && !isStreamed(request.getRequestURI().substring(request.getContextPath().length()));
+        ContentCachingResponseWrapper buffered = header ? new ContentCachingResponseWrapper(response) : null;
+        RequestTimings timings = RequestTimings.start();
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            timings.finish();
+        }
+
+        if (slowRequestLog != null) {
+            slowRequestLog.record(request.getMethod(), request.getRequestURI(), response.getStatus(), timings);
+        }
+        if (buffered != null) {
+            if (!request.isAsyncStarted()) {
+                buffered.setHeader(HEADER, timings.toServerTiming());
+            }
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (slowRequestLog != null) {
+            try {
+                slowRequestLog.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
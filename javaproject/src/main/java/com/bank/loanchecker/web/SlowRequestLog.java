@@ -0,0 +1,83 @@
+package com.bank.loanchecker.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logs the stage timings of a sample of requests slower than the threshold. Request threads
+ * only copy the timings into a {@link SlowRequestRing}; formatting and logging happen on a
+ * background thread, so a slow appender cannot add to request latency.
+ */
+final class SlowRequestLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowRequestLog.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final SlowRequestRing ring;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private long reportedDrops;
+
+    SlowRequestLog(long thresholdMillis, double sampleRate, int capacity) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleRate = sampleRate;
+        this.ring = new SlowRequestRing(capacity);
+        this.writer = new Thread(this::drain, "slow-request-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    void record(String method, String path, int status, RequestTimings timings) {
+        if (timings.getTotalNanos() < thresholdNanos) {
+            return;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        ring.offer(method, path, status, timings);
+    }
+
+    private void drain() {
+        StringBuilder line = new StringBuilder(256);
+        while (running) {
+            SlowRequestRing.Slot slot = ring.poll();
+            if (slot == null) {
+                reportDrops();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            line.setLength(0);
+            line.append(slot.method).append(' ').append(slot.path).append(' ').append(slot.status)
+                    .append(" took ").append(millis(slot.totalNanos)).append(" ms:");
+            for (int i = 0; i < slot.stageNanos.length; i++) {
+                line.append(' ').append(RequestTimings.stageName(i)).append('=').append(millis(slot.stageNanos[i]));
+            }
+            ring.release(slot);
+            log.warn("Slow request {}", line);
+        }
+    }
+
+    private void reportDrops() {
+        long dropped = ring.getDropped();
+        if (dropped != reportedDrops) {
+            log.warn("Slow request log full, dropped {} records", dropped - reportedDrops);
+            reportedDrops = dropped;
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.bank.loanchecker.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue of slow-request records for many producers and a single consumer.
+ * Slots are preallocated; each carries a sequence number telling producers and the consumer
+ * whose turn it is, so a producer claims a slot with one CAS on the tail and never waits.
+ * When the ring is full the record is dropped and counted instead.
+ */
+final class SlowRequestRing {
+
+    static final class Slot {
+        volatile long sequence;
+        String method;
+        String path;
+        int status;
+        long totalNanos;
+        final long[] stageNanos = new long[RequestTimings.Stage.values().length];
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long head;
+
+    SlowRequestRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            slots[i].sequence = i;
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * Called from request threads. Returns false, without blocking, if the ring is full.
+     */
+    boolean offer(String method, String path, int status, RequestTimings timings) {
+        long position = tail.get();
+        while (true) {
+            Slot slot = slots[(int) position & mask];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slot.method = method;
+                    slot.path = path;
+                    slot.status = status;
+                    slot.totalNanos = timings.getTotalNanos();
+                    for (RequestTimings.Stage stage : RequestTimings.Stage.values()) {
+                        slot.stageNanos[stage.ordinal()] = timings.getStageNanos(stage);
+                    }
+                    // Publishes the fields above to the consumer
+                    slot.sequence = position + 1;
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Called from the consumer thread only. Returns the next published slot, or null if there is
+     * none; the slot must be handed back with {@link #release(Slot)} before the next poll.
+     */
+    Slot poll() {
+        Slot slot = slots[(int) head & mask];
+        return slot.sequence == head + 1 ? slot : null;
+    }
+
+    void release(Slot slot) {
+        slot.method = null;
+        slot.path = null;
+        slot.sequence = head + slots.length;
+        head++;
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+}
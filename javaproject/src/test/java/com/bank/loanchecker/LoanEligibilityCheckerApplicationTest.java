@@ -7,7 +7,8 @@ import org.springframework.test.context.TestPropertySource;
 @SpringBootTest
 @TestPropertySource(properties = {
     "spring.main.banner-mode=off",
-    "logging.level.org.springframework=WARN"
+    "logging.level.org.springframework=WARN",
+    "loanchecker.warmup.budget-ms=500"
 })
 class LoanEligibilityCheckerApplicationTest {
 
@@ -0,0 +1,149 @@
+package com.bank.loanchecker.batch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchScoringCoordinatorTest {
+
+    private static final String APPROVED = "{\"customer\":{\"name\":\"John Doe\",\"age\":30,\"email\":\"john@email.com\","
+            + "\"phoneNumber\":\"9876543210\",\"monthlyIncome\":50000,\"creditScore\":750,\"existingEMI\":5000,"
+            + "\"employmentType\":\"SALARIED\"},\"loanType\":\"HOME_LOAN\",\"requestedAmount\":2000000,\"tenureYears\":20}";
+    private static final String REJECTED = APPROVED.replace("\"creditScore\":750", "\"creditScore\":550");
+    private static final String INVALID = APPROVED.replace("john@email.com", "not-an-email");
+    private static final String MALFORMED = "{\"customer\":";
+
+    @TempDir
+    Path tempDir;
+
+    private Path input;
+    private Path expected;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 400; i++) {
+            switch (i % 10) {
+                case 3 -> content.append(REJECTED);
+                case 5 -> content.append(INVALID);
+                case 7 -> content.append(MALFORMED);
+                case 9 -> content.append("  ");
+                default -> content.append(APPROVED.replace("2000000", Integer.toString(1_000_000 + i * 1000)));
+            }
+            content.append(i % 4 == 0 ? "\r\n" : "\n");
+        }
+        content.append(APPROVED);
+        input = tempDir.resolve("book.ndjson");
+        Files.writeString(input, content, StandardCharsets.UTF_8);
+
+        expected = tempDir.resolve("expected.ndjson");
+        new BatchScoringWorker(ScoringTerms.defaults()).score(input, 0, 1, 0, Files.size(input), expected);
+    }
+
+    @Test
+    void testPartitionsCoverEveryLineExactlyOnce() throws Exception {
+        byte[] whole = Files.readAllBytes(expected);
+        long size = Files.size(input);
+        BatchScoringWorker worker = new BatchScoringWorker(ScoringTerms.defaults());
+        for (long partitionSize : new long[]{1, 97, 333, 1024, size}) {
+            ByteArrayOutputStream merged = new ByteArrayOutputStream();
+            List<Partition> partitions = BatchScoringCoordinator.split(size, partitionSize);
+            for (Partition partition : partitions) {
+                Path part = tempDir.resolve("part-" + partitionSize + "-" + partition.id);
+                worker.score(input, partition.id, 1, partition.start, partition.end, part);
+                merged.write(Files.readAllBytes(part));
+            }
+            assertArrayEquals(whole, merged.toByteArray(), "partition size " + partitionSize);
+        }
+    }
+
+    @Test
+    void testScoresAcrossWorkerProcesses() throws Exception {
+        BatchScoringOptions options = options();
+        BatchSummary summary = new BatchScoringCoordinator(options).run();
+
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(options.output));
+        assertEquals(361, summary.lines());
+        assertEquals(241, summary.approved());
+        assertEquals(40, summary.rejected());
+        assertEquals(80, summary.invalid());
+        assertEquals(0, summary.reassigned());
+        assertTrue(summary.partitions() > 2);
+        assertTrue(Files.exists(tempDir.resolve("scored.ndjson.summary.properties")));
+        assertFalse(Files.exists(options.workDir));
+    }
+
+    @Test
+    void testWorkersDecideUnderTheGivenRatesAndPolicy() throws Exception {
+        Path rates = Files.writeString(tempDir.resolve("rates.properties"), "HOME_LOAN.interestRate=9.75\n");
+        Path policy = Files.writeString(tempDir.resolve("policy.json"),
+                "{\"minAge\":21,\"maxAge\":60,\"minCreditScore\":700,\"maxEmiSharePercent\":30}");
+        BatchScoringOptions options = options();
+        options.rates = rates;
+        options.policy = policy;
+        BatchSummary summary = new BatchScoringCoordinator(options).run();
+
+        Path scored = tempDir.resolve("scored-alike.ndjson");
+        new BatchScoringWorker(ScoringTerms.load(rates, policy)).score(input, 0, 1, 0, Files.size(input), scored);
+        assertArrayEquals(Files.readAllBytes(scored), Files.readAllBytes(options.output));
+        assertFalse(Arrays.equals(Files.readAllBytes(expected), Files.readAllBytes(options.output)));
+        assertTrue(Files.readString(options.output).contains("\"interestRate\":9.75"));
+        assertTrue(summary.approved() < 241, summary.toString());
+    }
+
+    @Test
+    void testReassignsPartitionOfCrashedWorker() throws Exception {
+        BatchScoringOptions options = options();
+        options.workerMainClass = CrashingWorker.class.getName();
+        BatchSummary summary = new BatchScoringCoordinator(options).run();
+
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(options.output));
+        assertEquals(1, summary.reassigned());
+        assertEquals(361, summary.lines());
+    }
+
+    /**
+     * Writes half of partition 2 on its first attempt, as a worker that crashed mid-partition
+     * would leave it, and halts.
+     */
+    static class CrashingWorker extends BatchScoringWorker {
+
+        CrashingWorker(ScoringTerms terms) {
+            super(terms);
+        }
+
+        public static void main(String[] args) throws IOException {
+            serve(args, CrashingWorker::new);
+        }
+
+        @Override
+        PartitionResult score(Path input, int id, int attempt, long start, long end, Path resultFile)
+                throws IOException {
+            if (id == 2 && attempt == 1) {
+                super.score(input, id, attempt, start, start + (end - start) / 2,
+                        resultFile.resolveSibling(resultFile.getFileName() + ".tmp"));
+                Runtime.getRuntime().halt(3);
+            }
+            return super.score(input, id, attempt, start, end, resultFile);
+        }
+    }
+
+    private BatchScoringOptions options() {
+        return BatchScoringOptions.parse(new String[]{
+                "--input", input.toString(),
+                "--output", tempDir.resolve("scored.ndjson").toString(),
+                "--workers", "2",
+                "--partition-size", "16384",
+                "--worker-jvm-opt", "-Xshare:auto"});
+    }
+}
@@ -0,0 +1,179 @@
+package com.bank.loanchecker.capture;
+
+import com.bank.loanchecker.controller.LoanController;
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.history.DecisionStore;
+import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.EligibilityRequestCoalescer;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.bank.loanchecker.velocity.VelocityTracker;
+import com.bank.loanchecker.warmup.WarmUpRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = LoanController.class, properties = {
+        "loanchecker.capture.sample-rate=1.0", "loanchecker.capture.token-key=test-key"})
+@Import({LoanApplicationValidator.class, EligibilityRequestCoalescer.class, RateTableRegistry.class})
+class TrafficCaptureFilterTest {
+
+    @TempDir
+    static Path captureDir;
+
+    @DynamicPropertySource
+    static void captureFile(DynamicPropertyRegistry registry) {
+        registry.add("loanchecker.capture.file", () -> captureDir.resolve("capture.lcc").toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LoanEligibilityService loanEligibilityService;
+
+    @MockBean
+    private CustomerStore customerStore;
+
+    @MockBean
+    private VelocityTracker velocityTracker;
+
+    @MockBean
+    private DecisionStore decisionStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TrafficCaptureFilter filter;
+
+    private final LoanApplicationValidator validator = new LoanApplicationValidator();
+
+    private List<CapturedRequest> readCapture() throws Exception {
+        filter.flush();
+        return read(captureDir.resolve("capture.lcc"));
+    }
+
+    private static List<CapturedRequest> read(Path file) throws Exception {
+        List<CapturedRequest> requests = new ArrayList<>();
+        try (CaptureLogReader reader = new CaptureLogReader(file)) {
+            CapturedRequest request;
+            while ((request = reader.next()) != null) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    @Test
+    void testCapturesApiAndFormRequestsWithTokenizedPii() throws Exception {
+        Customer customer = new Customer("John Doe", 30, "john@example.com", "9876543210",
+                75000.0, 750, 10000.0, EmploymentType.SALARIED);
+        LoanApplication application = new LoanApplication(customer, LoanType.HOME_LOAN, 2000000.0, 20);
+        when(loanEligibilityService.checkEligibility(any(LoanApplication.class))).thenReturn(
+                new LoanEligibilityResult(true, "APPROVED", "Approved", 2000000.0, 17356.0, 8.5, 20, "None"));
+
+        // Only the warm-up's own token keeps a request out of the capture
+        mockMvc.perform(post("/api/check-eligibility")
+                        .header(WarmUpRunner.HEADER, "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(application)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/check-eligibility")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("customer.name", "John Doe")
+                        .param("customer.age", "30")
+                        .param("customer.email", "not-an-email")
+                        .param("customer.phoneNumber", "9876543210")
+                        .param("customer.monthlyIncome", "75000")
+                        .param("customer.creditScore", "750")
+                        .param("customer.existingEMI", "10000")
+                        .param("customer.employmentType", "SALARIED")
+                        .param("loanType", "HOME_LOAN")
+                        .param("requestedAmount", "2000000")
+                        .param("tenureYears", "20"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/")).andExpect(status().isOk());
+
+        List<CapturedRequest> requests = readCapture();
+        assertEquals(2, requests.size());
+
+        CapturedRequest api = requests.get(0);
+        assertEquals("POST", api.method());
+        assertEquals("/api/check-eligibility", api.path());
+        assertEquals(200, api.status());
+        String json = new String(api.body(), StandardCharsets.UTF_8);
+        assertFalse(json.contains("John"));
+        assertFalse(json.contains("john@example.com"));
+        assertFalse(json.contains("9876543210"));
+        LoanApplication replayed = objectMapper.readValue(api.body(), LoanApplication.class);
+        assertTrue(validator.isValid(replayed));
+        assertEquals(75000.0, replayed.getCustomer().getMonthlyIncome());
+
+        CapturedRequest form = requests.get(1);
+        assertEquals("/check-eligibility", form.path());
+        String formBody = new String(form.body(), StandardCharsets.UTF_8);
+        assertFalse(formBody.contains("John"));
+        assertFalse(formBody.contains("not-an-email"));
+        assertTrue(formBody.contains("customer.creditScore=750"));
+        // Still fails validation on replay, like the original
+        assertTrue(formBody.contains("customer.email=invalid-"));
+    }
+
+    @Test
+    void testWriterAccountsForEveryRecordAndStopsAtMaxBytes() throws Exception {
+        Path file = captureDir.resolve("queued.lcc");
+        byte[] body = new byte[1000];
+        CaptureLogWriter writer = new CaptureLogWriter(file, 0, 1 << 20, 4);
+        for (int i = 0; i < 500; i++) {
+            writer.offer(new CapturedRequest(i, 1, 200, "POST", "/api/check-eligibility", null, null, body));
+        }
+        writer.flush();
+        // Whatever the request threads could not queue is counted, never blocked on
+        assertEquals(500, read(file).size() + writer.getDropped());
+        assertTrue(writer.isWriting());
+
+        for (int i = 0; i < 2000 && writer.isWriting(); i++) {
+            writer.offer(new CapturedRequest(i, 1, 200, "POST", "/api/check-eligibility", null, null, body));
+            writer.flush();
+        }
+        assertFalse(writer.isWriting());
+        writer.close();
+        long size = Files.size(file);
+        assertTrue(size >= 1 << 20 && size < (1 << 20) + 2 * body.length, "size " + size);
+    }
+
+    @Test
+    void testTokensAreStableAndKeepValidity() {
+        PiiTokenizer tokenizer = new PiiTokenizer("key".getBytes(StandardCharsets.UTF_8));
+        assertEquals(tokenizer.tokenize("email", "a@b.com"), tokenizer.tokenize("email", "a@b.com"));
+        assertNotEquals(tokenizer.tokenize("email", "a@b.com"), tokenizer.tokenize("email", "c@b.com"));
+        assertTrue(tokenizer.tokenize("phoneNumber", "9876543210").matches("[0-9]{10}"));
+        assertFalse(tokenizer.tokenize("phoneNumber", "98765").matches("[0-9]{10}"));
+        assertEquals(1, tokenizer.tokenize("name", "J").length());
+        assertEquals("", tokenizer.tokenize("name", ""));
+        assertNotEquals(new PiiTokenizer("other".getBytes(StandardCharsets.UTF_8)).tokenize("name", "John Doe"),
+                tokenizer.tokenize("name", "John Doe"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.job.BulkJob;
+import com.bank.loanchecker.job.BulkJobEvents;
+import com.bank.loanchecker.job.BulkJobProcessor;
+import com.bank.loanchecker.job.BulkJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BulkJobController.class)
+class BulkJobControllerTest {
+
+    private static final String JOB_ID = "5f0c6a59-4c8e-4a43-9a57-1f6f8f1a2b3c";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BulkJobProcessor bulkJobProcessor;
+
+    @MockBean
+    private BulkJobEvents bulkJobEvents;
+
+    @BeforeEach
+    void setUp() {
+        when(bulkJobProcessor.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void testSubmitStream() throws Exception {
+        when(bulkJobProcessor.submit(any(), anyBoolean())).thenReturn(new BulkJob(JOB_ID, 2, Instant.now()));
+
+        mockMvc.perform(post("/api/jobs")
+                .contentType("application/x-ndjson")
+                .content("{}\n{}\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/jobs/" + JOB_ID))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.totalLines").value(2))
+                .andExpect(jsonPath("$.inputOffset").doesNotExist());
+    }
+
+    @Test
+    void testSubmitWhenOff() throws Exception {
+        when(bulkJobProcessor.isEnabled()).thenReturn(false);
+
+        mockMvc.perform(post("/api/jobs")
+                .contentType("application/x-ndjson")
+                .content("{}\n"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("The bulk job store is off"));
+        verify(bulkJobProcessor, never()).submit(any(), anyBoolean());
+    }
+
+    @Test
+    void testSubmitFile() throws Exception {
+        when(bulkJobProcessor.submit(any(), anyBoolean())).thenReturn(new BulkJob(JOB_ID, 1, Instant.now()));
+
+        mockMvc.perform(multipart("/api/jobs")
+                .file(new MockMultipartFile("file", "applications.ndjson", "application/x-ndjson", "{}\n".getBytes())))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(JOB_ID));
+    }
+
+    @Test
+    void testUnknownJob() throws Exception {
+        when(bulkJobProcessor.find(anyString())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/jobs/" + JOB_ID)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/jobs/" + JOB_ID + "/results")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testResultsChunkHeaders() throws Exception {
+        BulkJob job = new BulkJob(JOB_ID, 1, Instant.now());
+        job.setStatus(BulkJobStatus.COMPLETED);
+        job.setOutputOffset(12);
+        when(bulkJobProcessor.find(JOB_ID)).thenReturn(Optional.of(job));
+        when(bulkJobProcessor.readResults(eq(job), eq(0L), anyInt())).thenReturn("{\"line\":1}\n\n".getBytes());
+
+        mockMvc.perform(get("/api/jobs/" + JOB_ID + "/results"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("X-Next-Offset", "12"))
+                .andExpect(header().string("X-Results-Complete", "true"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CustomerController.class)
+@Import(LoanApplicationValidator.class)
+class CustomerControllerTest {
+
+    private static final String CUSTOMER = "{\"name\":\"John Doe\",\"age\":30,\"email\":\"john@email.com\","
+            + "\"phoneNumber\":\"9876543210\",\"monthlyIncome\":50000,\"creditScore\":750,\"existingEMI\":5000,"
+            + "\"employmentType\":\"SALARIED\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CustomerStore customerStore;
+
+    @BeforeEach
+    void setUp() {
+        when(customerStore.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void testPutCustomer() throws Exception {
+        mockMvc.perform(put("/api/customers/42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CUSTOMER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("John Doe"));
+
+        verify(customerStore).upsert(eq(42L), any(Customer.class));
+    }
+
+    @Test
+    void testPutInvalidCustomer() throws Exception {
+        mockMvc.perform(put("/api/customers/42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CUSTOMER.replace("9876543210", "123")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("customer.phoneNumber"));
+
+        verify(customerStore, never()).upsert(anyLong(), any(Customer.class));
+    }
+
+    @Test
+    void testGetCustomer() throws Exception {
+        when(customerStore.find(42)).thenReturn(Optional.of(new Customer("John Doe", 30, "john@email.com",
+                "9876543210", 50000.0, 750, 5000.0, EmploymentType.SALARIED)));
+
+        mockMvc.perform(get("/api/customers/42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creditScore").value(750));
+        mockMvc.perform(get("/api/customers/43"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCustomerStoreOff() throws Exception {
+        when(customerStore.isEnabled()).thenReturn(false);
+
+        mockMvc.perform(put("/api/customers/42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CUSTOMER))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("The customer store is off"));
+        mockMvc.perform(get("/api/customers/42"))
+                .andExpect(status().isServiceUnavailable());
+
+        verify(customerStore, never()).upsert(anyLong(), any(Customer.class));
+    }
+}
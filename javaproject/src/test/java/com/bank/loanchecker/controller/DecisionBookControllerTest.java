@@ -0,0 +1,64 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.policy.EligibilityPolicy;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.redecision.DecisionBook;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DecisionBookController.class)
+@Import({DecisionBook.class, LoanEligibilityService.class, RateTableRegistry.class, EligibilityPolicyRegistry.class,
+        LoanApplicationValidator.class})
+class DecisionBookControllerTest {
+
+    private static final String APPLICATION = "{\"customer\":{\"name\":\"John Doe\",\"age\":30,"
+            + "\"email\":\"john@email.com\",\"phoneNumber\":\"9876543210\",\"monthlyIncome\":50000,\"creditScore\":%d,"
+            + "\"existingEMI\":5000,\"employmentType\":\"SALARIED\"},\"loanType\":\"HOME_LOAN\","
+            + "\"requestedAmount\":2000000,\"tenureYears\":20}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EligibilityPolicyRegistry policies;
+
+    @MockBean
+    private CustomerStore customerStore;
+
+    @Test
+    void testLoadAndRedecide() throws Exception {
+        String book = String.format(APPLICATION, 750) + "\n" + String.format(APPLICATION, 620) + "\nnot json\n";
+        mockMvc.perform(put("/api/book").contentType("application/x-ndjson").content(book))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records").value(2))
+                .andExpect(jsonPath("$.skipped").value(1))
+                .andExpect(jsonPath("$.rateTableVersion").value(1));
+
+        policies.publish(new EligibilityPolicy(21, 60, 650, 40));
+        String diff = mockMvc.perform(post("/api/book/redecide"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = diff.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(true, lines[0].startsWith("{\"line\":2,\"before\":{\"eligible\":true"), lines[0]);
+        assertEquals(true, lines[0].contains("\"after\":{\"eligible\":false"), lines[0]);
+        assertEquals(true, lines[1].startsWith("{\"summary\":{\"records\":2,\"candidates\":1,\"changed\":1"), lines[1]);
+
+        mockMvc.perform(get("/api/book"))
+                .andExpect(jsonPath("$.policy.minCreditScore").value(650));
+    }
+}
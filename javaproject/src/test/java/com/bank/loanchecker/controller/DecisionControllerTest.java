@@ -0,0 +1,74 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.history.DecisionQuery;
+import com.bank.loanchecker.history.DecisionStore;
+import com.bank.loanchecker.model.Decision;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.model.LoanType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DecisionController.class)
+class DecisionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DecisionStore decisionStore;
+
+    @Test
+    void testQueryPassesFiltersAndReturnsCursor() throws Exception {
+        when(decisionStore.isEnabled()).thenReturn(true);
+        when(decisionStore.query(argThat(query -> query.decisions().equals(List.of(Decision.REJECTED))
+                && query.loanTypes().equals(List.of(LoanType.PERSONAL_LOAN, LoanType.CAR_LOAN))
+                && query.employmentTypes().equals(List.of(EmploymentType.BUSINESS_OWNER))
+                && query.creditBands() == null
+                && query.from().equals(Instant.parse("2026-10-12T00:00:00Z"))
+                && query.to() == null
+                && "abc".equals(query.cursor())
+                && query.limit() == 50), any())).thenReturn("xyz");
+
+        mockMvc.perform(get("/api/decisions")
+                        .param("decision", "REJECTED")
+                        .param("loanType", "PERSONAL_LOAN,CAR_LOAN")
+                        .param("employmentType", "BUSINESS_OWNER")
+                        .param("from", "2026-10-12T00:00:00Z")
+                        .param("cursor", "abc")
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.decisions").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").value("xyz"));
+    }
+
+    @Test
+    void testInvalidQueryIsBadRequest() throws Exception {
+        when(decisionStore.isEnabled()).thenReturn(true);
+        doThrow(new IllegalArgumentException("limit must be between 1 and 1000"))
+                .when(decisionStore).validate(any(DecisionQuery.class));
+
+        mockMvc.perform(get("/api/decisions").param("limit", "5000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("limit must be between 1 and 1000"));
+    }
+
+    @Test
+    void testUnavailableWhenOff() throws Exception {
+        mockMvc.perform(get("/api/decisions"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("The decision store is off"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.dedup.DuplicateDetector;
+import com.bank.loanchecker.dedup.DuplicateStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DuplicateController.class)
+class DuplicateControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DuplicateDetector duplicateDetector;
+
+    @Test
+    void testGetStatus() throws Exception {
+        when(duplicateDetector.status()).thenReturn(new DuplicateStatus(true, 5000, 2, 12800, 4,
+                5200, 260, 60, 200));
+
+        mockMvc.perform(get("/api/duplicates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.keys").value(5000))
+                .andExpect(jsonPath("$.falsePositives").value(60))
+                .andExpect(jsonPath("$.duplicates").value(200));
+    }
+}
@@ -1,21 +1,34 @@
 package com.bank.loanchecker.controller;
 
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.history.DecisionStore;
 import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.EligibilityRequestCoalescer;
 import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.bank.loanchecker.velocity.VelocityTracker;
+import com.bank.loanchecker.warmup.WarmUpRunner;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(LoanController.class)
+@Import({LoanApplicationValidator.class, EligibilityRequestCoalescer.class, RateTableRegistry.class})
 class LoanControllerTest {
 
     @Autowired
@@ -24,6 +37,15 @@ class LoanControllerTest {
     @MockBean
     private LoanEligibilityService loanEligibilityService;
 
+    @MockBean
+    private CustomerStore customerStore;
+
+    @MockBean
+    private VelocityTracker velocityTracker;
+
+    @MockBean
+    private DecisionStore decisionStore;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -97,6 +119,187 @@ class LoanControllerTest {
                 .andExpect(jsonPath("$.reason").exists());
     }
 
+    @Test
+    void testCheckEligibilityApi_Compact() throws Exception {
+        LoanApplication application = createValidLoanApplication(createValidCustomer());
+        LoanEligibilityResult result = createRejectedResult();
+        result.setReasonCode(ReasonCode.BASIC_CRITERIA_NOT_MET);
+        result.setFailedRules(EligibilityRule.CREDIT_SCORE_BELOW_MINIMUM.bit());
+
+        when(loanEligibilityService.checkEligibility(any(LoanApplication.class)))
+                .thenReturn(result);
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .param("compact", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(application)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.decision").value("REJECTED"))
+                .andExpect(jsonPath("$.reasonCode").value("BASIC_CRITERIA_NOT_MET"))
+                .andExpect(jsonPath("$.failedRules").value(EligibilityRule.CREDIT_SCORE_BELOW_MINIMUM.bit()))
+                .andExpect(jsonPath("$.reason").doesNotExist())
+                .andExpect(jsonPath("$.recommendation").doesNotExist());
+    }
+
+    @Test
+    void testCheckEligibilityApi_VelocityLimitExceeded() throws Exception {
+        LoanApplication application = createValidLoanApplication(createValidCustomer());
+        LoanEligibilityResult approved = createApprovedResult();
+        LoanEligibilityResult rejected = createRejectedResult();
+        rejected.setReasonCode(ReasonCode.VELOCITY_LIMIT_EXCEEDED);
+
+        when(loanEligibilityService.checkEligibility(any(LoanApplication.class))).thenReturn(approved);
+        when(velocityTracker.recordApplication("john.doe@email.com", "9876543210")).thenReturn(true);
+        when(loanEligibilityService.rejectForVelocity(approved)).thenReturn(rejected);
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(application)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.decision").value("REJECTED"))
+                .andExpect(jsonPath("$.reasonCode").value("VELOCITY_LIMIT_EXCEEDED"));
+    }
+
+    @Test
+    void testCheckEligibilityApi_WarmUpHeaderWithoutTheTokenIsCheckedForVelocity() throws Exception {
+        LoanApplication application = createValidLoanApplication(createValidCustomer());
+        LoanEligibilityResult approved = createApprovedResult();
+        LoanEligibilityResult rejected = createRejectedResult();
+        rejected.setReasonCode(ReasonCode.VELOCITY_LIMIT_EXCEEDED);
+
+        when(loanEligibilityService.checkEligibility(any(LoanApplication.class))).thenReturn(approved);
+        when(velocityTracker.recordApplication("john.doe@email.com", "9876543210")).thenReturn(true);
+        when(loanEligibilityService.rejectForVelocity(approved)).thenReturn(rejected);
+        when(decisionStore.isEnabled()).thenReturn(true);
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .header(WarmUpRunner.HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(application)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reasonCode").value("VELOCITY_LIMIT_EXCEEDED"));
+
+        verify(decisionStore).record(any(EligibilityInput.class), isNull(), eq(rejected));
+    }
+
+    @Test
+    void testCheckEligibilityApi_RecordsDecision() throws Exception {
+        LoanApplication application = createValidLoanApplication(createValidCustomer());
+        LoanEligibilityResult result = createApprovedResult();
+        when(loanEligibilityService.checkEligibility(any(LoanApplication.class))).thenReturn(result);
+        when(decisionStore.isEnabled()).thenReturn(true);
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(application)))
+                .andExpect(status().isOk());
+
+        verify(decisionStore).record(argThat(input -> input.getCreditScore() == 750
+                && input.getLoanType() == LoanType.HOME_LOAN), isNull(), eq(result));
+    }
+
+    @Test
+    void testCheckEligibilityApi_StoredCustomer() throws Exception {
+        when(customerStore.load(eq(42L), any(EligibilityInput.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, EligibilityInput.class)
+                    .setCustomer(30, 750, 50000.0, 5000.0, EmploymentType.SALARIED);
+            return true;
+        });
+        when(loanEligibilityService.decide(any(EligibilityInput.class))).thenReturn(createApprovedResult());
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":42,\"loanType\":\"HOME_LOAN\",\"requestedAmount\":2000000,\"tenureYears\":20}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.decision").value("APPROVED"));
+
+        verify(loanEligibilityService).decide(argThat(input ->
+                input.getCreditScore() == 750 && input.getLoanType() == LoanType.HOME_LOAN
+                        && input.getRequestedAmount() == 2000000 && input.getTenureYears() == 20));
+    }
+
+    @Test
+    void testCheckEligibilityApi_FastIngestion() throws Exception {
+        when(loanEligibilityService.decide(any(EligibilityInput.class))).thenReturn(createApprovedResult());
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .header("X-Ingest-Mode", "fast")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidLoanApplication(createValidCustomer()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.decision").value("APPROVED"));
+
+        verify(loanEligibilityService).decide(argThat(input ->
+                input.getCreditScore() == 750 && input.getLoanType() == LoanType.HOME_LOAN));
+    }
+
+    @Test
+    void testCheckEligibilityApi_FastIngestionFallsBack() throws Exception {
+        when(loanEligibilityService.checkEligibility(any(LoanApplication.class))).thenReturn(createApprovedResult());
+        String escaped = objectMapper.writeValueAsString(createValidLoanApplication(createValidCustomer()))
+                .replace("\"name\":\"", "\"name\":\"\\u004a");
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .header("X-Ingest-Mode", "fast")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(escaped))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.decision").value("APPROVED"));
+
+        verify(loanEligibilityService).checkEligibility(argThat(application ->
+                application.getCustomer().getName().startsWith("J")));
+    }
+
+    @Test
+    void testCheckEligibilityApi_FastIngestionInvalid() throws Exception {
+        Customer customer = createValidCustomer();
+        customer.setEmail("invalid-email");
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .header("X-Ingest-Mode", "fast")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidLoanApplication(customer))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .header("X-Ingest-Mode", "fast")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{not json"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCheckEligibilityApi_UnknownCustomer() throws Exception {
+        mockMvc.perform(post("/api/check-eligibility")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":43,\"loanType\":\"HOME_LOAN\",\"requestedAmount\":2000000,\"tenureYears\":20}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCheckEligibilityApi_CustomerAndCustomerId() throws Exception {
+        LoanApplication application = createValidLoanApplication(createValidCustomer());
+        application.setCustomerId(42L);
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(application)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCheckEligibilityApi_InvalidCustomer() throws Exception {
+        Customer customer = createValidCustomer();
+        customer.setEmail("invalid-email");
+        customer.setPhoneNumber("123");
+        LoanApplication application = createValidLoanApplication(customer);
+
+        mockMvc.perform(post("/api/check-eligibility")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(application)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testCalculateEMIApi() throws Exception {
         mockMvc.perform(post("/api/calculate-emi")
@@ -119,6 +322,26 @@ class LoanControllerTest {
                 .andExpect(jsonPath("$").value(2000.0)); // 120000 / (5 * 12) = 2000
     }
 
+    @Test
+    void testCalculateEMIBatchApi() throws Exception {
+        mockMvc.perform(post("/api/calculate-emi/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"principals\":[1000000,120000],\"interestRates\":[8.5,0],\"tenureYears\":[20,5]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.emis.length()").value(2))
+                .andExpect(jsonPath("$.emis[0]").value(8678.23))
+                .andExpect(jsonPath("$.emis[1]").value(2000.0));
+    }
+
+    @Test
+    void testCalculateEMIBatchApi_MismatchedLengths() throws Exception {
+        mockMvc.perform(post("/api/calculate-emi/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"principals\":[1000000,120000],\"interestRates\":[8.5],\"tenureYears\":[20,5]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
     @Test
     void testCheckEligibilityForm_Success() throws Exception {
         LoanEligibilityResult result = createApprovedResult();
@@ -159,7 +382,9 @@ class LoanControllerTest {
                 .param("tenureYears", "35")) // Above maximum tenure
                 .andExpect(status().isOk())
                 .andExpect(view().name("index"))
-                .andExpect(model().hasErrors());
+                .andExpect(model().hasErrors())
+                .andExpect(model().attributeHasFieldErrorCode("loanApplication", "customer.email", "Email"))
+                .andExpect(model().attributeHasFieldErrorCode("loanApplication", "tenureYears", "Max"));
     }
 
     private Customer createValidCustomer() {
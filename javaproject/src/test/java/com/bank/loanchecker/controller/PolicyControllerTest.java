@@ -0,0 +1,85 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.policy.EligibilityPolicy;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = PolicyController.class, properties = "loanchecker.policy.publish-enabled=true")
+@Import(EligibilityPolicyRegistry.class)
+class PolicyControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EligibilityPolicyRegistry policies;
+
+    @Autowired
+    private PolicyController controller;
+
+    @AfterEach
+    void resetPolicy() {
+        policies.publish(EligibilityPolicy.DEFAULT);
+    }
+
+    @Test
+    void testGetPolicy() throws Exception {
+        mockMvc.perform(get("/api/admin/policy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.minAge").value(21))
+                .andExpect(jsonPath("$.maxAge").value(60))
+                .andExpect(jsonPath("$.minCreditScore").value(600))
+                .andExpect(jsonPath("$.maxEmiSharePercent").value(40));
+    }
+
+    @Test
+    void testPublishPolicy() throws Exception {
+        mockMvc.perform(put("/api/admin/policy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"minAge\":21,\"maxAge\":65,\"minCreditScore\":650,\"maxEmiSharePercent\":45}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.minCreditScore").value(650));
+
+        mockMvc.perform(get("/api/admin/policy"))
+                .andExpect(jsonPath("$.maxAge").value(65))
+                .andExpect(jsonPath("$.maxEmiSharePercent").value(45));
+    }
+
+    @Test
+    void testPublishInvalidPolicy() throws Exception {
+        mockMvc.perform(put("/api/admin/policy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"minAge\":21,\"maxAge\":60,\"minCreditScore\":600,\"maxEmiSharePercent\":0}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/admin/policy"))
+                .andExpect(jsonPath("$.maxEmiSharePercent").value(40));
+    }
+
+    @Test
+    void testPublishWhenOff() throws Exception {
+        ReflectionTestUtils.setField(controller, "publishEnabled", false);
+        try {
+            mockMvc.perform(put("/api/admin/policy")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"minAge\":18,\"maxAge\":70,\"minCreditScore\":300,\"maxEmiSharePercent\":90}"))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.error").value("Publishing the policy is off"));
+        } finally {
+            ReflectionTestUtils.setField(controller, "publishEnabled", true);
+        }
+
+        mockMvc.perform(get("/api/admin/policy"))
+                .andExpect(jsonPath("$.minCreditScore").value(600));
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.queue.LatencyMillis;
+import com.bank.loanchecker.queue.QueueConsumer;
+import com.bank.loanchecker.queue.QueueStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(QueueController.class)
+class QueueControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private QueueConsumer queueConsumer;
+
+    @Test
+    void testGetStatus() throws Exception {
+        when(queueConsumer.status()).thenReturn(new QueueStatus("RUNNING", 1200, 1100, 100, 12, 4096,
+                250.0, 120.0, new LatencyMillis(1.5, 3.0, 7.5, 12.0)));
+
+        mockMvc.perform(get("/api/queue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.received").value(1200))
+                .andExpect(jsonPath("$.throughputPerSecond").value(250.0))
+                .andExpect(jsonPath("$.latencyMillis.p99").value(7.5));
+    }
+}
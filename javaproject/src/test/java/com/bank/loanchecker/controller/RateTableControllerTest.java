@@ -0,0 +1,78 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.model.LoanType;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = RateTableController.class, properties = "loanchecker.rates.publish-enabled=true")
+@Import(RateTableRegistry.class)
+class RateTableControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RateTableController controller;
+
+    @Autowired
+    private RateTableRegistry rateTableRegistry;
+
+    @Test
+    void testGetRates() throws Exception {
+        mockMvc.perform(get("/api/admin/rates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.source").value("defaults"))
+                .andExpect(jsonPath("$.rates.HOME_LOAN.interestRate").value(8.5))
+                .andExpect(jsonPath("$.loanDetails").doesNotExist());
+    }
+
+    @Test
+    void testPublishRates() throws Exception {
+        mockMvc.perform(put("/api/admin/rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"CAR_LOAN\":{\"interestRate\":8.75,\"maxTenureYears\":8,"
+                                + "\"minAmount\":100000,\"maxAmount\":2500000}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.source").value("admin"))
+                .andExpect(jsonPath("$.rates.CAR_LOAN.interestRate").value(8.75))
+                .andExpect(jsonPath("$.rates.HOME_LOAN.interestRate").value(8.5));
+    }
+
+    @Test
+    void testPublishInvalidRates() throws Exception {
+        mockMvc.perform(put("/api/admin/rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"CAR_LOAN\":{\"interestRate\":8.75,\"maxTenureYears\":0,"
+                                + "\"minAmount\":100000,\"maxAmount\":2500000}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void testPublishWhenOff() throws Exception {
+        ReflectionTestUtils.setField(controller, "publishEnabled", false);
+        try {
+            mockMvc.perform(put("/api/admin/rates")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"CAR_LOAN\":{\"interestRate\":1.0,\"maxTenureYears\":8,"
+                                    + "\"minAmount\":100000,\"maxAmount\":2500000}}"))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.error").value("Publishing rates is off"));
+        } finally {
+            ReflectionTestUtils.setField(controller, "publishEnabled", true);
+        }
+        assertNotEquals(1.0, rateTableRegistry.current().getRates().get(LoanType.CAR_LOAN).interestRate());
+    }
+}
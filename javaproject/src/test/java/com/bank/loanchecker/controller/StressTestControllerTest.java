@@ -0,0 +1,86 @@
+package com.bank.loanchecker.controller;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.stress.StressTestEngine;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StressTestController.class)
+@Import({StressTestEngine.class, LoanEligibilityService.class, RateTableRegistry.class, EligibilityPolicyRegistry.class,
+        LoanApplicationValidator.class})
+class StressTestControllerTest {
+
+    private static final String APPLICATION = "{\"customer\":{\"name\":\"John Doe\",\"age\":30,"
+            + "\"email\":\"john@email.com\",\"phoneNumber\":\"9876543210\",\"monthlyIncome\":%s,\"creditScore\":750,"
+            + "\"existingEMI\":5000,\"employmentType\":\"SALARIED\"},\"loanType\":\"HOME_LOAN\","
+            + "\"requestedAmount\":2000000,\"tenureYears\":20}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CustomerStore customerStore;
+
+    @Test
+    void testStressTestIsReproducible() throws Exception {
+        String body = "{\"applications\":[" + String.format(APPLICATION, 50000) + ","
+                + String.format(APPLICATION, 10000) + "],\"paths\":2000,\"seed\":42}";
+
+        String first = mockMvc.perform(post("/api/stress-test").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paths").value(2000))
+                .andExpect(jsonPath("$.seed").value(42))
+                .andExpect(jsonPath("$.scenario.resetMonths").value(12))
+                .andExpect(jsonPath("$.loans.length()").value(1))
+                .andExpect(jsonPath("$.loans[0].index").value(0))
+                .andExpect(jsonPath("$.loans[0].breachProbability").isNumber())
+                .andExpect(jsonPath("$.loans[0].peakEmiShare.p99").isNumber())
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(post("/api/stress-test").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testInvalidApplication() throws Exception {
+        String body = "{\"applications\":[" + String.format(APPLICATION, 50000).replace("9876543210", "123") + "]}";
+
+        mockMvc.perform(post("/api/stress-test").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.index").value(0))
+                .andExpect(jsonPath("$.errors[0].field").value("customer.phoneNumber"));
+    }
+
+    @Test
+    void testNothingApproved() throws Exception {
+        String body = "{\"applications\":[" + String.format(APPLICATION, 10000) + "]}";
+
+        mockMvc.perform(post("/api/stress-test").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("None of the applications is approved"));
+    }
+
+    @Test
+    void testPathLimit() throws Exception {
+        String body = "{\"applications\":[" + String.format(APPLICATION, 50000) + "],\"paths\":0}";
+
+        mockMvc.perform(post("/api/stress-test").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("paths must be between 1 and 1000000, got 0"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.bank.loanchecker.customer;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.EmploymentType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Customer customer(String name, int age, double income, int creditScore, double existingEMI) {
+        return new Customer(name, age, name.toLowerCase().replace(' ', '.') + "@email.com", "9876543210",
+                income, creditScore, existingEMI, EmploymentType.SALARIED);
+    }
+
+    @Test
+    void testUpsertAndLoad() throws Exception {
+        CustomerStore store = new CustomerStore(tempDir, 16);
+        store.upsert(42, customer("John Doe", 30, 50000.0, 750, 5000.0));
+
+        EligibilityInput input = new EligibilityInput();
+        assertTrue(store.load(42, input));
+        assertEquals(30, input.getAge());
+        assertEquals(750, input.getCreditScore());
+        assertEquals(50000.0, input.getMonthlyIncome());
+        assertEquals(5000.0, input.getExistingEMI());
+        assertEquals(EmploymentType.SALARIED, input.getEmploymentType());
+
+        Customer found = store.find(42).orElseThrow();
+        assertEquals("John Doe", found.getName());
+        assertEquals("john.doe@email.com", found.getEmail());
+        assertEquals("9876543210", found.getPhoneNumber());
+
+        assertFalse(store.load(43, input));
+        assertTrue(store.find(0).isEmpty());
+    }
+
+    @Test
+    void testUpsertReplacesInPlaceAndSurvivesReopen() throws Exception {
+        CustomerStore store = new CustomerStore(tempDir, 16);
+        store.upsert(7, customer("Asha Rao", 28, 40000.0, 700, 0.0));
+        store.upsert(7, customer("Asha Rao Menon", 29, 45000.0, 720, 2000.0));
+        store.upsert(Long.MAX_VALUE, customer("Rahul Nair", 45, 90000.0, 810, 10000.0));
+        assertEquals(2, store.size());
+
+        CustomerStore reopened = new CustomerStore(tempDir, 1000);
+        assertEquals(16, reopened.getCapacity());
+        assertEquals(2, reopened.size());
+        Customer asha = reopened.find(7).orElseThrow();
+        assertEquals("Asha Rao Menon", asha.getName());
+        assertEquals(29, asha.getAge());
+        assertEquals(2000.0, asha.getExistingEMI());
+        assertEquals("Rahul Nair", reopened.find(Long.MAX_VALUE).orElseThrow().getName());
+    }
+
+    @Test
+    void testWriteCutShortByACrashIsRepairedOnReopen() throws Exception {
+        CustomerStore store = new CustomerStore(tempDir, 16);
+        store.upsert(7, customer("Asha Rao", 28, 40000.0, 700, 0.0));
+        // The first record's sequence as a crash between its two stores would leave it
+        try (FileChannel channel = FileChannel.open(tempDir.resolve(CustomerStore.RECORDS_FILE),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).order(ByteOrder.nativeOrder()).putInt(0, 3), 64);
+        }
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> store.load(7, new EligibilityInput()));
+        assertTrue(e.getMessage().contains("still being written"));
+
+        CustomerStore reopened = new CustomerStore(tempDir, 16);
+        EligibilityInput input = new EligibilityInput();
+        assertTrue(reopened.load(7, input));
+        assertEquals(700, input.getCreditScore());
+        reopened.upsert(7, customer("Asha Rao", 29, 45000.0, 720, 0.0));
+        assertEquals(29, reopened.find(7).orElseThrow().getAge());
+    }
+
+    @Test
+    void testRejectsNewCustomersWhenFull() throws Exception {
+        CustomerStore store = new CustomerStore(tempDir, 3);
+        for (long id = 1; id <= 3; id++) {
+            store.upsert(id * 1_000_003, customer("Meera Iyer", 30, 50000.0, 750, 0.0));
+        }
+        assertThrows(IllegalStateException.class, () -> store.upsert(99, customer("Meera Iyer", 30, 50000.0, 750, 0.0)));
+        store.upsert(2_000_006, customer("Meera Iyer", 31, 50000.0, 750, 0.0));
+        assertEquals(31, store.find(2_000_006).orElseThrow().getAge());
+        assertThrows(IllegalArgumentException.class, () -> store.upsert(-1, customer("Meera Iyer", 30, 50000.0, 750, 0.0)));
+    }
+
+    @Test
+    void testOffWhenTheDirectoryIsBlank() throws Exception {
+        CustomerStore store = new CustomerStore(" ", 100_000);
+        assertFalse(store.isEnabled());
+        assertEquals(0, store.size());
+        assertFalse(store.load(42, new EligibilityInput()));
+        assertTrue(store.find(42).isEmpty());
+        assertThrows(IllegalStateException.class, () -> store.upsert(42, customer("John Doe", 30, 50000.0, 750, 0.0)));
+        assertTrue(new CustomerStore(tempDir.toString(), 16).isEnabled());
+    }
+
+    @Test
+    void testReadersNeverSeeHalfWrittenProfiles() throws Exception {
+        CustomerStore store = new CustomerStore(tempDir, 16);
+        store.upsert(1, customer("Vikram Shah", 25, 25000.0, 625, 0.0));
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            EligibilityInput input = new EligibilityInput();
+            while (running.get()) {
+                store.load(1, input);
+                // Every written profile has income = 1000 * age and credit score = 600 + age
+                if (input.getMonthlyIncome() != 1000.0 * input.getAge() || input.getCreditScore() != 600 + input.getAge()) {
+                    failure.set("Torn read: age " + input.getAge() + ", income " + input.getMonthlyIncome()
+                            + ", score " + input.getCreditScore());
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 2_000; i++) {
+            int age = 21 + i % 40;
+            store.upsert(1, customer("Vikram Shah", age, 1000.0 * age, 600 + age, 0.0));
+        }
+        running.set(false);
+        reader.join();
+        assertNull(failure.get());
+    }
+}
@@ -0,0 +1,120 @@
+package com.bank.loanchecker.dedup;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateDetectorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSameContactLoanTypeAndAmountIsADuplicate() throws Exception {
+        DuplicateDetector detector = open();
+
+        assertFalse(detector.isDuplicate(application("john@email.com", "9876543210", LoanType.HOME_LOAN, 2e6), 1));
+        assertTrue(detector.isDuplicate(application("JOHN@email.com", "9876543210", LoanType.HOME_LOAN, 2e6), 2));
+        assertFalse(detector.isDuplicate(application("john@email.com", "9876543211", LoanType.HOME_LOAN, 2e6), 3));
+        assertFalse(detector.isDuplicate(application("john@email.com", "9876543210", LoanType.CAR_LOAN, 2e6), 4));
+        assertFalse(detector.isDuplicate(application("john@email.com", "9876543210", LoanType.HOME_LOAN, 2e6 + 1), 5));
+
+        DuplicateStatus status = detector.status();
+        assertTrue(status.enabled());
+        assertEquals(5, status.checked());
+        assertEquals(4, status.keys());
+        assertEquals(1, status.duplicates());
+        assertEquals(status.suspected(), status.duplicates() + status.falsePositives());
+        detector.close();
+    }
+
+    @Test
+    void testAmountBeyondTheMoneyRangeIsChecked() throws Exception {
+        DuplicateDetector detector = open();
+
+        assertFalse(detector.isDuplicate(application("john@email.com", "9876543210", LoanType.HOME_LOAN, 1e14), 1));
+        assertTrue(detector.isDuplicate(application("john@email.com", "9876543210", LoanType.HOME_LOAN, 1e14), 2));
+        detector.close();
+    }
+
+    @Test
+    void testReplayFromTheSameSourceIsNotADuplicate() throws Exception {
+        DuplicateDetector detector = open();
+        LoanApplication application = application("john@email.com", "9876543210", LoanType.HOME_LOAN, 2000000);
+
+        assertFalse(detector.isDuplicate(application, DuplicateDetector.source("queue", 64)));
+        assertFalse(detector.isDuplicate(application, DuplicateDetector.source("queue", 64)));
+        assertTrue(detector.isDuplicate(application, DuplicateDetector.source("queue", 128)));
+        detector.close();
+    }
+
+    @Test
+    void testApplicationsAreRememberedAcrossRestarts() throws Exception {
+        DuplicateDetector detector = open();
+        for (int i = 0; i < 100; i++) {
+            detector.isDuplicate(personalLoan(i), i);
+        }
+        detector.close();
+
+        detector = open();
+        assertEquals(100, detector.status().keys());
+        assertTrue(detector.isDuplicate(personalLoan(7), 1000));
+        assertFalse(detector.isDuplicate(personalLoan(100), 1001));
+        detector.close();
+    }
+
+    @Test
+    void testLostFilterIsRebuiltFromTheStore() throws Exception {
+        DuplicateDetector detector = open();
+        for (int i = 0; i < 100; i++) {
+            detector.isDuplicate(personalLoan(i), i);
+        }
+        detector.close();
+        try (Stream<Path> files = Files.list(tempDir.resolve("bloom"))) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+
+        detector = open();
+        assertTrue(detector.isDuplicate(personalLoan(42), 1000));
+        detector.close();
+    }
+
+    @Test
+    void testDisabledWithoutDirectory() throws Exception {
+        DuplicateDetector detector = new DuplicateDetector("", 1024, 0.01, 1024);
+        detector.open();
+        LoanApplication application = application("john@email.com", "9876543210", LoanType.HOME_LOAN, 2000000);
+
+        assertFalse(detector.isEnabled());
+        assertFalse(detector.isDuplicate(application, 1));
+        assertFalse(detector.isDuplicate(application, 2));
+        assertFalse(detector.status().enabled());
+    }
+
+    private DuplicateDetector open() throws Exception {
+        // A small buffer so that the tests write and merge runs
+        DuplicateDetector detector = new DuplicateDetector(tempDir.toString(), 16, 0.01, 8);
+        detector.open();
+        return detector;
+    }
+
+    private static LoanApplication personalLoan(int user) {
+        return application("user" + user + "@email.com", "9876543210", LoanType.PERSONAL_LOAN, 50000);
+    }
+
+    private static LoanApplication application(String email, String phone, LoanType loanType, double amount) {
+        Customer customer = new Customer("John Doe", 30, email, phone, 50000.0, 750, 5000.0, EmploymentType.SALARIED);
+        return new LoanApplication(customer, loanType, amount, 20);
+    }
+}
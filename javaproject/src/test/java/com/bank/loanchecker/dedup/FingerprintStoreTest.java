@@ -0,0 +1,87 @@
+package com.bank.loanchecker.dedup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFindsEveryFingerprintAcrossRunsAndMerges() throws Exception {
+        SplittableRandom random = new SplittableRandom(46);
+        List<Fingerprint> added = new ArrayList<>();
+        try (FingerprintStore store = new FingerprintStore(tempDir, 100)) {
+            for (int i = 0; i < 5_000; i++) {
+                Fingerprint fingerprint = new Fingerprint(random.nextLong(), random.nextLong());
+                if (store.isFull()) {
+                    store.writeRun();
+                }
+                store.add(fingerprint, i);
+                added.add(fingerprint);
+            }
+
+            assertEquals(5_000, store.size());
+            // 49 runs of 100 merge down to three of 1600 and one of 100; the last 100 are in memory
+            assertEquals(4, store.runCount());
+            for (int i = 0; i < added.size(); i++) {
+                assertEquals(i, store.find(added.get(i)));
+            }
+            assertNull(store.find(new Fingerprint(random.nextLong(), random.nextLong())));
+        }
+    }
+
+    @Test
+    void testReplaysTheLogAfterACrash() throws Exception {
+        Fingerprint first = new Fingerprint(1, 2);
+        Fingerprint second = new Fingerprint(3, 4);
+        FingerprintStore crashed = new FingerprintStore(tempDir, 8);
+        crashed.add(first, 10);
+        crashed.add(second, 20);
+        crashed.sync();
+        // A torn write of a third entry
+        try (FileChannel wal = FileChannel.open(tempDir.resolve("wal.log"), StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            wal.write(ByteBuffer.allocate(10));
+        }
+
+        try (FingerprintStore store = new FingerprintStore(tempDir, 8)) {
+            assertEquals(2, store.size());
+            assertEquals(10, store.find(first));
+            assertEquals(20, store.find(second));
+        }
+        crashed.close();
+    }
+
+    @Test
+    void testRunsSurviveReopenAndLeftoverTempFilesAreRemoved() throws Exception {
+        try (FingerprintStore store = new FingerprintStore(tempDir, 2)) {
+            store.add(new Fingerprint(1, 1), 1);
+            store.add(new Fingerprint(2, 2), 2);
+            store.writeRun();
+            store.add(new Fingerprint(3, 3), 3);
+        }
+        // Left by a run write that crashed before its rename
+        Files.write(tempDir.resolve("run-000000000009.fp.tmp"), new byte[100]);
+
+        try (FingerprintStore store = new FingerprintStore(tempDir, 2)) {
+            assertEquals(3, store.size());
+            assertEquals(1, store.runCount());
+            assertEquals(2, store.find(new Fingerprint(2, 2)));
+            assertEquals(3, store.find(new Fingerprint(3, 3)));
+        }
+        assertFalse(Files.exists(tempDir.resolve("run-000000000009.fp.tmp")));
+    }
+}
@@ -0,0 +1,58 @@
+package com.bank.loanchecker.dedup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFalsePositiveRateStaysWithinTargetAsTheFilterGrows() throws Exception {
+        SplittableRandom random = new SplittableRandom(46);
+        try (ScalableBloomFilter filter = new ScalableBloomFilter(tempDir, 10_000, 0.01)) {
+            for (int i = 0; i < 150_000; i++) {
+                Fingerprint fingerprint = new Fingerprint(random.nextLong(), random.nextLong());
+                filter.add(fingerprint);
+                assertTrue(filter.mightContain(fingerprint));
+            }
+            assertEquals(150_000, filter.count());
+            assertEquals(4, filter.generations());
+
+            int falsePositives = 0;
+            for (int i = 0; i < 100_000; i++) {
+                if (filter.mightContain(new Fingerprint(random.nextLong(), random.nextLong()))) {
+                    falsePositives++;
+                }
+            }
+            assertTrue(falsePositives < 1_000, falsePositives + " false positives");
+        }
+    }
+
+    @Test
+    void testStatePersistsAcrossReopen() throws Exception {
+        Fingerprint seen = new Fingerprint(0x1234, 0x5678);
+        try (ScalableBloomFilter filter = new ScalableBloomFilter(tempDir, 4, 0.01)) {
+            for (int i = 0; i < 9; i++) {
+                filter.add(new Fingerprint(i, ~i));
+            }
+            filter.add(seen);
+            filter.force();
+        }
+
+        try (ScalableBloomFilter filter = new ScalableBloomFilter(tempDir, 4, 0.01)) {
+            assertEquals(10, filter.count());
+            assertEquals(2, filter.generations());
+            assertTrue(filter.mightContain(seen));
+            for (int i = 0; i < 9; i++) {
+                assertTrue(filter.mightContain(new Fingerprint(i, ~i)));
+            }
+        }
+    }
+}
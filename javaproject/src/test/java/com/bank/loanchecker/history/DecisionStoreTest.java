@@ -0,0 +1,211 @@
+package com.bank.loanchecker.history;
+
+import com.bank.loanchecker.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionStoreTest {
+
+    private static final long START = Instant.parse("2026-10-01T00:00:00Z").toEpochMilli();
+    private static final LoanType[] LOAN_TYPES = LoanType.values();
+    private static final EmploymentType[] EMPLOYMENT_TYPES = EmploymentType.values();
+
+    @TempDir
+    Path tempDir;
+
+    private final long[] now = {START};
+    private final List<DecisionStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (DecisionStore store : stores) {
+            store.close();
+        }
+    }
+
+    @Test
+    void testQueryMatchesEveryFilterAndPagesNewestFirst() throws Exception {
+        DecisionStore store = open(100);
+        recordAll(store, 1000);
+        assertEquals(1000, store.size());
+        assertEquals(10, store.segmentCount());
+
+        Instant from = Instant.ofEpochMilli(START + 150_000);
+        Instant to = Instant.ofEpochMilli(START + 900_000);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 999; i >= 0; i--) {
+            long time = START + i * 1000L;
+            if (decision(i) == Decision.REJECTED && loanType(i) == LoanType.PERSONAL_LOAN
+                    && employmentType(i) == EmploymentType.BUSINESS_OWNER
+                    && time >= from.toEpochMilli() && time < to.toEpochMilli()) {
+                expected.add(time);
+            }
+        }
+        assertFalse(expected.isEmpty());
+
+        List<Long> found = new ArrayList<>();
+        String cursor = null;
+        do {
+            DecisionQuery query = new DecisionQuery(Set.of(Decision.REJECTED), Set.of(LoanType.PERSONAL_LOAN),
+                    Set.of(EmploymentType.BUSINESS_OWNER), null, from, to, cursor, 3);
+            cursor = store.query(query, row -> {
+                assertEquals(Decision.REJECTED, row.getDecision());
+                assertEquals(ReasonCode.BASIC_CRITERIA_NOT_MET, row.getReasonCode());
+                assertNull(row.getApprovedAmount());
+                found.add(row.getTimeMillis());
+            });
+        } while (cursor != null);
+
+        assertEquals(expected, found);
+    }
+
+    @Test
+    void testCreditBandAndRowValues() throws Exception {
+        DecisionStore store = open(64);
+        recordAll(store, 200);
+
+        List<Integer> scores = new ArrayList<>();
+        store.query(new DecisionQuery(null, null, null, Set.of(CreditBand.EXCELLENT, CreditBand.VERY_GOOD), null, null,
+                null, 1000), row -> {
+            if (scores.isEmpty()) {
+                // The newest VERY_GOOD or EXCELLENT decision
+                assertEquals(Instant.ofEpochMilli(START + 197_000), row.getTime());
+                assertEquals(800, row.getCreditScore());
+                assertEquals(CreditBand.EXCELLENT, row.getCreditBand());
+                assertEquals(8, row.getTenureYears());
+                assertEquals(35, row.getAge());
+                assertEquals(60000.0, row.getMonthlyIncome());
+                assertEquals(150000.5, row.getRequestedAmount());
+                assertEquals(12000.0, row.getApprovedAmount());
+                assertEquals(1234.56, row.getMonthlyEMI());
+                assertEquals(9.5, row.getInterestRate());
+                assertEquals(197L, row.getCustomerId());
+            }
+            scores.add(row.getCreditScore());
+        });
+
+        assertEquals(99, scores.size());
+        assertTrue(scores.stream().allMatch(score -> score == 700 || score >= 750));
+    }
+
+    @Test
+    void testDecisionsSurviveReopen() throws Exception {
+        DecisionStore store = open(100);
+        recordAll(store, 250);
+        store.close();
+        stores.remove(store);
+
+        DecisionStore reopened = open(100);
+        assertEquals(250, reopened.size());
+        assertEquals(3, reopened.segmentCount());
+        recordAll(reopened, 10);
+
+        List<Long> times = new ArrayList<>();
+        assertNull(reopened.query(new DecisionQuery(null, null, null, null, null, null, null, 1000),
+                row -> times.add(row.getTimeMillis())));
+        assertEquals(260, times.size());
+        for (int i = 1; i < times.size(); i++) {
+            assertTrue(times.get(i) < times.get(i - 1));
+        }
+    }
+
+    @Test
+    void testAmountsBeyondTheMoneyRangeAreStoredAsMissing() throws Exception {
+        DecisionStore store = open(100);
+        EligibilityInput input = new EligibilityInput();
+        input.setCustomer(35, 700, 1.0E14, 0, EmploymentType.SALARIED);
+        input.setLoan(LoanType.HOME_LOAN, Double.POSITIVE_INFINITY, 20);
+        LoanEligibilityResult result = new LoanEligibilityResult(false, "REJECTED", "no", null, null, null, null, null);
+        result.setReasonCode(ReasonCode.BASIC_CRITERIA_NOT_MET);
+        store.record(input, null, result);
+        store.flush();
+
+        List<Decision> decisions = new ArrayList<>();
+        store.query(new DecisionQuery(null, null, null, null, null, null, null, 10), row -> {
+            assertNull(row.getMonthlyIncome());
+            assertNull(row.getRequestedAmount());
+            assertNull(row.getCustomerId());
+            decisions.add(row.getDecision());
+        });
+        assertEquals(List.of(Decision.REJECTED), decisions);
+    }
+
+    @Test
+    void testDecisionsAreDroppedWhenTheWriterFallsBehind() throws Exception {
+        DecisionStore store = new DecisionStore(tempDir.toString(), 100, 1, () -> now[0]);
+        // Not opened, so nothing is written and nothing is dropped
+        recordAll(store, 10);
+        assertEquals(0, store.size());
+        assertEquals(0, store.getDropped());
+
+        store.open();
+        stores.add(store);
+        recordAll(store, 500);
+        assertEquals(500, store.size() + store.getDropped());
+    }
+
+    @Test
+    void testRejectsBadLimitsAndCursors() {
+        DecisionStore store = new DecisionStore(tempDir.toString(), 100, 16, () -> now[0]);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> store.validate(new DecisionQuery(null, null, null, null, null, null, null, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.validate(new DecisionQuery(null, null, null, null, null, null, "not a cursor", 10)));
+        store.validate(new DecisionQuery(null, null, null, null, null, null, DecisionStore.cursor(3, 17), 10));
+    }
+
+    private DecisionStore open(int segmentRows) throws Exception {
+        DecisionStore store = new DecisionStore(tempDir.toString(), segmentRows, 4096, () -> now[0]);
+        store.open();
+        stores.add(store);
+        return store;
+    }
+
+    // One decision a second, spread over every loan type, employment type and credit band
+    private void recordAll(DecisionStore store, int count) throws InterruptedException {
+        int first = (int) ((now[0] - START) / 1000);
+        for (int i = first; i < first + count; i++) {
+            now[0] = START + i * 1000L;
+            EligibilityInput input = new EligibilityInput();
+            input.setCustomer(35, creditScore(i), 60000, 0, employmentType(i));
+            input.setLoan(loanType(i), 150000.5, 8);
+            LoanEligibilityResult result;
+            if (decision(i) == Decision.APPROVED) {
+                result = new LoanEligibilityResult(true, "APPROVED", "ok", 12000.0, 1234.56, 9.5, 8, null);
+                result.setReasonCode(ReasonCode.APPROVED);
+            } else {
+                result = new LoanEligibilityResult(false, "REJECTED", "no", null, null, null, null, null);
+                result.setReasonCode(ReasonCode.BASIC_CRITERIA_NOT_MET);
+            }
+            store.record(input, (long) i, result);
+        }
+        store.flush();
+        now[0] = START + (first + count) * 1000L;
+    }
+
+    private static int creditScore(int i) {
+        return 550 + i % 6 * 50;
+    }
+
+    private static Decision decision(int i) {
+        return creditScore(i) < 650 ? Decision.REJECTED : Decision.APPROVED;
+    }
+
+    private static LoanType loanType(int i) {
+        return LOAN_TYPES[i % LOAN_TYPES.length];
+    }
+
+    private static EmploymentType employmentType(int i) {
+        return EMPLOYMENT_TYPES[i / 4 % EMPLOYMENT_TYPES.length];
+    }
+}
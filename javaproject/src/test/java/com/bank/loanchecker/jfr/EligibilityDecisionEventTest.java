@@ -0,0 +1,107 @@
+package com.bank.loanchecker.jfr;
+
+import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EligibilityDecisionEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static LoanApplication application(int creditScore, double income, double amount) {
+        LoanApplication application = new LoanApplication();
+        application.setCustomer(new Customer("Test User", 30, "test@example.com", "9876543210",
+                income, creditScore, 0.0, EmploymentType.SALARIED));
+        application.setLoanType(LoanType.HOME_LOAN);
+        application.setRequestedAmount(amount);
+        application.setTenureYears(20);
+        return application;
+    }
+
+    private static Configuration bundledConfiguration(String name) throws Exception {
+        try (Reader reader = new InputStreamReader(
+                EligibilityDecisionEventTest.class.getResourceAsStream("/jfr/" + name), StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+
+    private List<RecordedEvent> record(Runnable work, Configuration configuration) throws Exception {
+        Path file = tempDir.resolve("decisions.jfr");
+        try (Recording recording = configuration != null ? new Recording(configuration) : new Recording()) {
+            if (configuration == null) {
+                recording.enable(EligibilityDecisionEvent.class).withoutThreshold();
+            }
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.bank.loanchecker.EligibilityDecision"))
+                .toList();
+    }
+
+    @Test
+    void testDecisionsRecordedWithBundledSettings() throws Exception {
+        LoanEligibilityService service = new LoanEligibilityService(new RateTableRegistry(), new EligibilityPolicyRegistry());
+
+        List<RecordedEvent> events = record(() -> {
+            service.checkEligibility(application(800, 150000.0, 2000000.0));
+            service.checkEligibility(application(550, 150000.0, 2000000.0));
+        }, bundledConfiguration("loanchecker-full.jfc"));
+
+        assertEquals(2, events.size());
+        RecordedEvent approved = events.get(0);
+        assertEquals("HOME_LOAN", approved.getString("loanType"));
+        assertEquals("SALARIED", approved.getString("employmentType"));
+        assertEquals("APPROVED", approved.getString("outcome"));
+        assertNull(approved.getString("rejectionStage"));
+        assertEquals(800, approved.getInt("creditScore"));
+        assertEquals(2000000.0, approved.getDouble("approvedAmount"));
+
+        RecordedEvent rejected = events.get(1);
+        assertEquals("REJECTED", rejected.getString("outcome"));
+        assertEquals("BASIC_ELIGIBILITY", rejected.getString("rejectionStage"));
+        assertEquals(0.0, rejected.getDouble("approvedAmount"));
+    }
+
+    @Test
+    void testContinuousProfileSkipsFastDecisions() throws Exception {
+        LoanEligibilityService service = new LoanEligibilityService(new RateTableRegistry(), new EligibilityPolicyRegistry());
+        service.checkEligibility(application(800, 150000.0, 2000000.0));
+
+        List<RecordedEvent> events = record(() -> {
+            service.checkEligibility(application(800, 150000.0, 2000000.0));
+        }, bundledConfiguration("loanchecker.jfc"));
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testRejectionStages() throws Exception {
+        LoanEligibilityService service = new LoanEligibilityService(new RateTableRegistry(), new EligibilityPolicyRegistry());
+
+        List<RecordedEvent> events = record(() -> {
+            service.checkEligibility(application(800, 3000.0, 500000.0));
+        }, null);
+
+        assertEquals(1, events.size());
+        assertEquals("MAX_ELIGIBLE_AMOUNT", events.get(0).getString("rejectionStage"));
+    }
+}
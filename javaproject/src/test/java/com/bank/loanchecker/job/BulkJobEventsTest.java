@@ -0,0 +1,52 @@
+package com.bank.loanchecker.job;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkJobEventsTest {
+
+    private static final String JOB_ID = "5f0c6a59-4c8e-4a43-9a57-1f6f8f1a2b3c";
+
+    private final BulkJobEvents events = new BulkJobEvents(1000);
+
+    @Test
+    void testSubscriberStaysOpenWhileTheJobRuns() throws Exception {
+        BulkJob running = job(BulkJobStatus.RUNNING);
+
+        SseEmitter emitter = events.subscribe(running, id -> Optional.of(running));
+
+        assertDoesNotThrow(() -> emitter.send("still open"));
+    }
+
+    @Test
+    void testSubscriberArrivingAfterTheFinalPublishIsCompleted() throws Exception {
+        BulkJob running = job(BulkJobStatus.RUNNING);
+        BulkJob completed = job(BulkJobStatus.COMPLETED);
+        events.publish(completed);
+
+        SseEmitter emitter = events.subscribe(running, id -> Optional.of(completed));
+
+        assertThrows(IllegalStateException.class, () -> emitter.send("after complete"));
+    }
+
+    @Test
+    void testFinalPublishCompletesSubscribers() throws Exception {
+        BulkJob running = job(BulkJobStatus.RUNNING);
+        SseEmitter emitter = events.subscribe(running, id -> Optional.of(running));
+
+        events.publish(job(BulkJobStatus.COMPLETED));
+
+        assertThrows(IllegalStateException.class, () -> emitter.send("after complete"));
+    }
+
+    private static BulkJob job(BulkJobStatus status) {
+        BulkJob job = new BulkJob(JOB_ID, 1, Instant.now());
+        job.setStatus(status);
+        return job;
+    }
+}
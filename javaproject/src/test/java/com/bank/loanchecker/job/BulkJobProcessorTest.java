@@ -0,0 +1,199 @@
+package com.bank.loanchecker.job;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.dedup.DuplicateDetector;
+import com.bank.loanchecker.json.LoanJsonModule;
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkJobProcessorTest {
+
+    private static final String APPROVED = "{\"customer\":{\"name\":\"John Doe\",\"age\":30,\"email\":\"john@email.com\","
+            + "\"phoneNumber\":\"9876543210\",\"monthlyIncome\":50000,\"creditScore\":750,\"existingEMI\":5000,"
+            + "\"employmentType\":\"SALARIED\"},\"loanType\":\"HOME_LOAN\",\"requestedAmount\":2000000,\"tenureYears\":20}";
+    private static final String INVALID = APPROVED.replace("john@email.com", "not-an-email");
+    private static final String MALFORMED = "{\"customer\":";
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new LoanJsonModule());
+    private final List<BulkJobProcessor> processors = new ArrayList<>();
+    private DuplicateDetector duplicateDetector = new DuplicateDetector("", 1024, 0.01, 1024);
+    private CustomerStore customerStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        customerStore = new CustomerStore(tempDir.resolve("customers"), 16);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        processors.forEach(BulkJobProcessor::shutdown);
+        duplicateDetector.close();
+    }
+
+    @Test
+    void testJobProducesOneResultPerLine() throws Exception {
+        BulkJobProcessor processor = createProcessor(new BulkJobStore(tempDir), 2);
+        String input = APPROVED + "\n" + INVALID + "\n\n" + MALFORMED + "\r\n" + APPROVED;
+
+        BulkJob job = awaitFinished(processor, processor.submit(stream(input)).getId());
+
+        assertEquals(BulkJobStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getTotalLines());
+        assertEquals(5, job.getProcessedLines());
+        assertEquals(2, job.getApprovedCount());
+        assertEquals(2, job.getInvalidCount());
+        assertEquals(1.0, job.getProgress());
+
+        List<JsonNode> results = readAllResults(processor, job);
+        assertEquals(4, results.size());
+        assertEquals(1, results.get(0).get("line").asInt());
+        assertEquals("APPROVED", results.get(0).get("result").get("decision").asText());
+        assertEquals("customer.email", results.get(1).get("errors").get(0).get("field").asText());
+        assertEquals(4, results.get(2).get("line").asInt());
+        assertTrue(results.get(2).has("error"));
+        assertEquals(5, results.get(3).get("line").asInt());
+    }
+
+    @Test
+    void testInterruptedJobResumesFromCheckpoint() throws Exception {
+        BulkJobStore store = new BulkJobStore(tempDir);
+        BulkJob job = store.create(stream(APPROVED + "\n" + INVALID + "\n" + APPROVED + "\n"));
+
+        // Simulate a run that committed line 1 and then crashed after writing part of line 2
+        String committed = "{\"line\":1,\"result\":{\"decision\":\"APPROVED\"}}\n";
+        Files.writeString(store.resultsFile(job), committed + "{\"line\":2,\"err", StandardOpenOption.APPEND);
+        job.setStatus(BulkJobStatus.RUNNING);
+        job.setProcessedLines(1);
+        job.setApprovedCount(1);
+        job.setInputOffset(APPROVED.length() + 1);
+        job.setOutputOffset(committed.length());
+        store.save(job);
+
+        BulkJobProcessor processor = createProcessor(store, 1);
+        processor.resumeUnfinishedJobs();
+        BulkJob finished = awaitFinished(processor, job.getId());
+
+        assertEquals(BulkJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(2, finished.getApprovedCount());
+        assertEquals(1, finished.getInvalidCount());
+        List<JsonNode> results = readAllResults(processor, finished);
+        assertEquals(List.of(1, 2, 3), results.stream().map(node -> node.get("line").asInt()).toList());
+    }
+
+    @Test
+    void testResultsAreReadInLineAlignedChunks() throws Exception {
+        BulkJobProcessor processor = createProcessor(new BulkJobStore(tempDir), 1);
+        BulkJob job = awaitFinished(processor, processor.submit(stream((APPROVED + "\n").repeat(5))).getId());
+
+        byte[] first = processor.readResults(job, 0, 10);
+        assertEquals('\n', first[first.length - 1]);
+        assertEquals(1, new String(first, StandardCharsets.UTF_8).split("\n").length);
+
+        byte[] rest = processor.readResults(job, first.length, Integer.MAX_VALUE);
+        assertEquals(job.getOutputOffset(), first.length + rest.length);
+        assertEquals(0, processor.readResults(job, job.getOutputOffset(), 100).length);
+    }
+
+    @Test
+    void testRepeatedApplicationsAreMarkedDuplicate() throws Exception {
+        duplicateDetector = new DuplicateDetector(tempDir.resolve("dedup").toString(), 1024, 0.01, 1024);
+        duplicateDetector.open();
+        BulkJobProcessor processor = createProcessor(new BulkJobStore(tempDir.resolve("jobs")), 2);
+        String other = APPROVED.replace("2000000", "1500000");
+
+        String input = APPROVED + "\n" + other + "\n" + APPROVED;
+
+        BulkJob first = awaitFinished(processor, processor.submit(stream(input)).getId());
+        BulkJob second = awaitFinished(processor, processor.submit(stream(other)).getId());
+
+        List<JsonNode> results = readAllResults(processor, first);
+        assertFalse(results.get(0).has("duplicate"));
+        assertFalse(results.get(1).has("duplicate"));
+        assertTrue(results.get(2).get("duplicate").asBoolean());
+        assertTrue(readAllResults(processor, second).get(0).get("duplicate").asBoolean());
+        assertEquals(2, duplicateDetector.status().duplicates());
+    }
+
+    @Test
+    void testStoredCustomersAreDecidedById() throws Exception {
+        customerStore.upsert(7, new Customer("John Doe", 30, "john@email.com", "9876543210", 50000.0, 750, 5000.0,
+                EmploymentType.SALARIED));
+        BulkJobProcessor processor = createProcessor(new BulkJobStore(tempDir.resolve("jobs")), 2);
+        String byId = "{\"customerId\":7,\"loanType\":\"HOME_LOAN\",\"requestedAmount\":2000000,\"tenureYears\":20}";
+
+        BulkJob job = awaitFinished(processor, processor.submit(stream(byId + "\n" + byId.replace(":7,", ":8,"))).getId());
+
+        assertEquals(BulkJobStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getApprovedCount());
+        assertEquals(1, job.getInvalidCount());
+        List<JsonNode> results = readAllResults(processor, job);
+        assertEquals("APPROVED", results.get(0).get("result").get("decision").asText());
+        assertEquals("customerId", results.get(1).get("errors").get(0).get("field").asText());
+        assertEquals("NotFound", results.get(1).get("errors").get(0).get("code").asText());
+    }
+
+    @Test
+    void testUnknownJobIsNotFound() throws Exception {
+        BulkJobProcessor processor = createProcessor(new BulkJobStore(tempDir), 1);
+
+        assertTrue(processor.find("00000000-0000-0000-0000-000000000000").isEmpty());
+        assertTrue(processor.find("../../etc").isEmpty());
+    }
+
+    private BulkJobProcessor createProcessor(BulkJobStore store, int checkpointInterval) {
+        BulkJobProcessor processor = new BulkJobProcessor(store, new BulkJobEvents(1000),
+                new LoanEligibilityService(new RateTableRegistry(), new EligibilityPolicyRegistry()), new LoanApplicationValidator(),
+                customerStore, objectMapper, duplicateDetector, 1, checkpointInterval);
+        processors.add(processor);
+        return processor;
+    }
+
+    private List<JsonNode> readAllResults(BulkJobProcessor processor, BulkJob job) throws Exception {
+        String content = new String(processor.readResults(job, 0, Integer.MAX_VALUE), StandardCharsets.UTF_8);
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+
+    private static BulkJob awaitFinished(BulkJobProcessor processor, String id) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            BulkJob job = processor.find(id).orElseThrow();
+            if (job.getStatus().isFinished()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job " + id + " did not finish");
+        return null;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
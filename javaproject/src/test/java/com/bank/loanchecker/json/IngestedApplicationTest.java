@@ -0,0 +1,123 @@
+package com.bank.loanchecker.json;
+
+import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JsonTest
+class IngestedApplicationTest {
+
+    private static final String PLAIN = "{\"customer\":{\"name\":\"John Doe\",\"age\":30,\"email\":\"john@example.com\","
+            + "\"phoneNumber\":\"9876543210\",\"monthlyIncome\":%s,\"creditScore\":750,\"existingEMI\":%s,"
+            + "\"employmentType\":\"SALARIED\"},\"loanType\":\"HOME_LOAN\",\"requestedAmount\":%s,\"tenureYears\":20}";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LoanApplicationValidator validator = new LoanApplicationValidator();
+
+    private static boolean read(IngestedApplication ingested, String json) throws Exception {
+        return ingested.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Whatever the fast path accepts must decode and validate exactly like Jackson + the validator
+    private void assertMatchesJackson(String json) throws Exception {
+        IngestedApplication ingested = IngestedApplication.forCurrentThread();
+        if (!read(ingested, json)) {
+            return;
+        }
+        LoanApplication application = objectMapper.readValue(json, LoanApplication.class);
+        Customer customer = application.getCustomer();
+        EligibilityInput input = ingested.getInput();
+        assertEquals(customer.getName(), ingested.getName().toString(), json);
+        assertEquals(customer.getEmail(), ingested.getEmail().toString(), json);
+        assertEquals(customer.getPhoneNumber(), ingested.getPhoneNumber().toString(), json);
+        assertEquals(customer.getAge(), input.getAge(), json);
+        assertEquals(customer.getCreditScore(), input.getCreditScore(), json);
+        assertEquals(Double.doubleToRawLongBits(customer.getMonthlyIncome()),
+                Double.doubleToRawLongBits(input.getMonthlyIncome()), json);
+        assertEquals(Double.doubleToRawLongBits(customer.getExistingEMI()),
+                Double.doubleToRawLongBits(input.getExistingEMI()), json);
+        assertEquals(customer.getEmploymentType(), input.getEmploymentType(), json);
+        assertEquals(application.getLoanType(), input.getLoanType(), json);
+        assertEquals(Double.doubleToRawLongBits(application.getRequestedAmount()),
+                Double.doubleToRawLongBits(input.getRequestedAmount()), json);
+        assertEquals(application.getTenureYears(), input.getTenureYears(), json);
+        assertEquals(validator.isValid(application), validator.isValid(input, ingested.getName(),
+                ingested.getEmail(), ingested.getPhoneNumber()), json);
+    }
+
+    @Test
+    void testPlainApplicationIsIngested() throws Exception {
+        String json = String.format(PLAIN, "75000.0", "10000", "2000000");
+        assertTrue(read(IngestedApplication.forCurrentThread(), json));
+        assertMatchesJackson(json);
+    }
+
+    @Test
+    void testNumberFormsMatchJackson() throws Exception {
+        String[] numbers = {"0", "-0", "-0.0", "0.0", "1", "10000", "9999.999", "7.5e4", "7.5E+4", "75e-1",
+                "1e22", "1e23", "123456789012345", "1234567890123456789", "0.1", "0.30000000000000004",
+                "2.2250738585072014E-308", "1.7976931348623157E308", "4.9e-324", "-12.5", "0.000001"};
+        for (String number : numbers) {
+            assertMatchesJackson(String.format(PLAIN, number, number, number));
+        }
+    }
+
+    @Test
+    void testRandomApplicationsMatchJackson() throws Exception {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 5_000; i++) {
+            Customer customer = new Customer(
+                    random.nextInt(4) == 0 ? "J" : "Applicant " + i,
+                    random.nextInt(10, 80),
+                    random.nextInt(5) == 0 ? "not-an-email" : "user" + i + "@example.com",
+                    random.nextInt(5) == 0 ? "12345" : String.valueOf(9_000_000_000L + random.nextInt(1_000_000_000)),
+                    random.nextBoolean() ? random.nextInt(5_000, 500_000) : random.nextDouble(5_000, 500_000),
+                    random.nextInt(250, 950),
+                    random.nextBoolean() ? Math.round(random.nextDouble(-10, 50_000) * 100) / 100.0 : random.nextDouble(),
+                    EmploymentType.values()[random.nextInt(EmploymentType.values().length)]);
+            LoanApplication application = new LoanApplication(customer,
+                    LoanType.values()[random.nextInt(LoanType.values().length)],
+                    random.nextDouble(0, 60_000_000), random.nextInt(0, 35));
+            String json = objectMapper.writeValueAsString(application);
+            assertTrue(read(IngestedApplication.forCurrentThread(), json), json);
+            assertMatchesJackson(json);
+        }
+    }
+
+    @Test
+    void testUnusualBodiesTakeTheRegularPath() throws Exception {
+        IngestedApplication ingested = IngestedApplication.forCurrentThread();
+        String plain = String.format(PLAIN, "75000", "0", "2000000");
+        assertTrue(read(ingested, plain));
+
+        assertFalse(read(ingested, plain.replace("John Doe", "John \\u0044oe")), "escape");
+        assertFalse(read(ingested, plain.replace("John Doe", "Jöhn Doe")), "non-ASCII");
+        assertFalse(read(ingested, plain.replace("\"age\":30", "\"age\":\"30\"")), "number as string");
+        assertFalse(read(ingested, plain.replace("\"age\":30", "\"age\":30.0")), "float for int");
+        assertFalse(read(ingested, plain.replace("\"age\":30", "\"age\":030")), "leading zero");
+        assertFalse(read(ingested, plain.replace("\"age\":30", "\"age\":null")), "null");
+        assertFalse(read(ingested, plain.replace("\"tenureYears\":20", "\"tenureYears\":20,\"customerId\":1")), "customerId");
+        assertFalse(read(ingested, plain.replace("\"tenureYears\":20", "\"tenureYears\":20,\"customerId\":nullx")), "bad literal");
+        assertTrue(read(ingested, plain.replace("\"tenureYears\":20", "\"tenureYears\":20,\"customerId\":null")), "null customerId");
+        assertFalse(read(ingested, plain.replace("\"tenureYears\":20", "\"tenureYears\":20,\"extra\":1")), "unknown field");
+        assertFalse(read(ingested, plain.replace("\"tenureYears\":20", "\"tenureYears\":20,\"tenureYears\":5")), "duplicate");
+        assertFalse(read(ingested, plain.replace("HOME_LOAN", "home_loan")), "enum case");
+        assertFalse(read(ingested, plain.replace(",\"tenureYears\":20", "")), "missing field");
+        assertFalse(read(ingested, plain + "x"), "trailing content");
+        assertFalse(read(ingested, "[]"), "array");
+        assertFalse(read(ingested, ""), "empty");
+
+        assertTrue(read(ingested, " \n" + plain.replace(":", " : ").replace(",", " ,\t") + "\r\n"), "whitespace");
+    }
+}
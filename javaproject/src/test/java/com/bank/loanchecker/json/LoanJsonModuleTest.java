@@ -0,0 +1,146 @@
+package com.bank.loanchecker.json;
+
+import com.bank.loanchecker.model.*;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JsonTest
+class LoanJsonModuleTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Reflective reference configured like Spring Boot's default mapper
+    private final ObjectMapper reflectiveMapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Test
+    void testModuleIsRegistered() {
+        assertTrue(objectMapper.getRegisteredModuleIds().contains("LoanJsonModule"));
+    }
+
+    @Test
+    void testApplicationSerializationMatchesReflectiveOutput() throws Exception {
+        LoanApplication application = createApplication();
+
+        JsonNode expected = reflectiveMapper.readTree(reflectiveMapper.writeValueAsString(application));
+        JsonNode actual = reflectiveMapper.readTree(objectMapper.writeValueAsString(application));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testResultSerializationMatchesReflectiveOutput() throws Exception {
+        LoanEligibilityResult result = new LoanEligibilityResult(true, "APPROVED", "Approved", 2000000.0,
+                17356.47, 8.5, 20, null);
+
+        JsonNode expected = reflectiveMapper.readTree(reflectiveMapper.writeValueAsString(result));
+        JsonNode actual = reflectiveMapper.readTree(objectMapper.writeValueAsString(result));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testNullFieldsSerializeLikeReflectiveOutput() throws Exception {
+        LoanApplication application = new LoanApplication();
+
+        JsonNode expected = reflectiveMapper.readTree(reflectiveMapper.writeValueAsString(application));
+        JsonNode actual = reflectiveMapper.readTree(objectMapper.writeValueAsString(application));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testDeserializationRoundTrip() throws Exception {
+        LoanApplication original = createApplication();
+        String json = reflectiveMapper.writeValueAsString(original);
+
+        LoanApplication parsed = objectMapper.readValue(json, LoanApplication.class);
+
+        assertEquals(reflectiveMapper.writeValueAsString(original), reflectiveMapper.writeValueAsString(parsed));
+    }
+
+    @Test
+    void testDeserializationAcceptsCoercedAndUnknownFields() throws Exception {
+        String json = """
+                {
+                  "loanType": "CAR_LOAN",
+                  "requestedAmount": "500000",
+                  "tenureYears": 5.0,
+                  "channel": {"source": "partner", "ids": [1, 2]},
+                  "customer": {
+                    "name": "John Doe",
+                    "age": "30",
+                    "email": "john@email.com",
+                    "phoneNumber": 9876543210,
+                    "monthlyIncome": 50000,
+                    "creditScore": 750,
+                    "existingEMI": null,
+                    "employmentType": "SALARIED",
+                    "nickname": "JD"
+                  }
+                }
+                """;
+
+        LoanApplication expected = reflectiveMapper.readValue(json, LoanApplication.class);
+        LoanApplication actual = objectMapper.readValue(json, LoanApplication.class);
+
+        assertEquals(reflectiveMapper.writeValueAsString(expected), reflectiveMapper.writeValueAsString(actual));
+        assertEquals(LoanType.CAR_LOAN, actual.getLoanType());
+        assertEquals(30, actual.getCustomer().getAge());
+        assertEquals("9876543210", actual.getCustomer().getPhoneNumber());
+        assertNull(actual.getCustomer().getExistingEMI());
+    }
+
+    @Test
+    void testResultDeserializationRoundTrip() throws Exception {
+        LoanEligibilityResult original = new LoanEligibilityResult(false, "REJECTED", "Basic eligibility criteria not met",
+                0.0, 0.0, 12.0, 0, "You can reapply after addressing these concerns.");
+        original.setReasonCode(ReasonCode.BASIC_CRITERIA_NOT_MET);
+        original.setFailedRules(EligibilityRule.AGE_BELOW_MINIMUM.bit() | EligibilityRule.EMI_NOT_AFFORDABLE.bit());
+
+        LoanEligibilityResult parsed = objectMapper.readValue(objectMapper.writeValueAsString(original),
+                LoanEligibilityResult.class);
+
+        assertEquals(reflectiveMapper.writeValueAsString(original), reflectiveMapper.writeValueAsString(parsed));
+    }
+
+    @Test
+    void testCompactResultCarriesCodesOnly() throws Exception {
+        LoanEligibilityResult result = new LoanEligibilityResult(false, "REJECTED", "Basic eligibility criteria not met",
+                0.0, 0.0, 12.0, 0, "You can reapply after addressing these concerns.");
+        result.setReasonCode(ReasonCode.BASIC_CRITERIA_NOT_MET);
+        result.setFailedRules(EligibilityRule.CREDIT_SCORE_BELOW_MINIMUM.bit());
+
+        JsonNode compact = reflectiveMapper.readTree(objectMapper.writeValueAsString(new CompactResult(result)));
+
+        assertEquals("REJECTED", compact.get("decision").asText());
+        assertEquals("BASIC_CRITERIA_NOT_MET", compact.get("reasonCode").asText());
+        assertEquals(EligibilityRule.CREDIT_SCORE_BELOW_MINIMUM.bit(), compact.get("failedRules").asInt());
+        assertEquals(12.0, compact.get("interestRate").asDouble());
+        assertFalse(compact.has("reason"));
+        assertFalse(compact.has("recommendation"));
+    }
+
+    @Test
+    void testUnknownEnumValueIsRejected() {
+        String json = "{\"loanType\":\"BOAT_LOAN\",\"requestedAmount\":100000,\"tenureYears\":5}";
+
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue(json, LoanApplication.class));
+    }
+
+    private LoanApplication createApplication() {
+        Customer customer = new Customer("John Doe", 30, "john.doe@email.com", "9876543210",
+                50000.0, 750, 5000.0, EmploymentType.SALARIED);
+        return new LoanApplication(customer, LoanType.HOME_LOAN, 2000000.0, 20);
+    }
+}
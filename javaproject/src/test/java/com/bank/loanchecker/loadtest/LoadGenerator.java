@@ -0,0 +1,210 @@
+package com.bank.loanchecker.loadtest;
+
+import com.bank.loanchecker.json.LoanJsonModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator for a locally started instance.
+ * <p>
+ * Requests are issued on a fixed schedule regardless of how quickly responses come back.
+ * Latency is measured from each request's intended start time, so a stalled server is
+ * charged for the requests that queued up behind the stall (coordinated-omission
+ * correction); the plain send-to-response service time is recorded alongside for
+ * comparison. Percentile distributions are written as HdrHistogram {@code .hgrm} files and
+ * the run fails if the optional p99/p999 gates are exceeded.
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dexec.args="--rate 200 --duration 120 --max-p99-ms 50"
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private static final long NANOS_PER_MICRO = 1_000L;
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final SyntheticApplicationMix mix;
+    private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+    private final AtomicLong inFlight = new AtomicLong();
+
+    LoadGenerator(LoadTestOptions options) throws Exception {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(options.requestTimeoutSeconds))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new LoanJsonModule());
+        this.mix = new SyntheticApplicationMix(options, objectMapper);
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new ScenarioStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (!new LoadGenerator(options).run()) {
+            throw new IllegalStateException("Latency gate failed, see " + options.outputDir.resolve("summary.txt"));
+        }
+    }
+
+    boolean run() throws Exception {
+        Random random = new Random(options.seed);
+        Scenario[] schedule = weightedSchedule(options.mix);
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / options.ratePerSecond;
+        long warmupRequests = (long) options.ratePerSecond * options.warmupSeconds;
+        long totalRequests = warmupRequests + (long) options.ratePerSecond * options.durationSeconds;
+
+        System.out.printf("Driving %s at %d req/s for %ds (+%ds warm-up)%n",
+                options.baseUrl, options.ratePerSecond, options.durationSeconds, options.warmupSeconds);
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        for (long i = 0; i < totalRequests; i++) {
+            long intendedStart = start + i * periodNanos;
+            waitUntil(intendedStart);
+
+            Scenario scenario = schedule[random.nextInt(schedule.length)];
+            HttpRequest request = mix.pick(scenario, random);
+            ScenarioStats scenarioStats = i >= warmupRequests ? stats.get(scenario) : null;
+            send(request, intendedStart, scenarioStats);
+        }
+
+        awaitOutstanding();
+        return report();
+    }
+
+    private void send(HttpRequest request, long intendedStart, ScenarioStats scenarioStats) {
+        long sentAt = System.nanoTime();
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long completedAt = System.nanoTime();
+                    if (scenarioStats != null) {
+                        boolean ok = failure == null && response.statusCode() < 400;
+                        scenarioStats.record(intendedStart, sentAt, completedAt, ok);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void awaitOutstanding() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.requestTimeoutSeconds + 5L);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private boolean report() throws IOException {
+        Files.createDirectories(options.outputDir);
+        Histogram overall = null;
+
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(options.outputDir.resolve("summary.txt")))) {
+            summary.printf("%-22s %10s %8s %10s %10s %10s %10s %10s%n",
+                    "scenario", "requests", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+            for (Map.Entry<Scenario, ScenarioStats> entry : stats.entrySet()) {
+                ScenarioStats scenarioStats = entry.getValue();
+                Histogram corrected = scenarioStats.corrected.getIntervalHistogram();
+                Histogram service = scenarioStats.service.getIntervalHistogram();
+                if (corrected.getTotalCount() == 0) {
+                    continue;
+                }
+                String key = entry.getKey().getKey();
+                writeDistribution(corrected, options.outputDir.resolve(key + "-corrected.hgrm"));
+                writeDistribution(service, options.outputDir.resolve(key + "-service.hgrm"));
+                printRow(summary, key, corrected, scenarioStats.errors.get());
+
+                if (overall == null) {
+                    overall = corrected.copy();
+                } else {
+                    overall.add(corrected);
+                }
+            }
+            if (overall == null) {
+                summary.println("No requests completed");
+                return false;
+            }
+            long totalErrors = stats.values().stream().mapToLong(s -> s.errors.get()).sum();
+            printRow(summary, "all", overall, totalErrors);
+            writeDistribution(overall, options.outputDir.resolve("all-corrected.hgrm"));
+        }
+
+        Files.readAllLines(options.outputDir.resolve("summary.txt")).forEach(System.out::println);
+        return checkGate("p99", overall, 99.0, options.maxP99Millis)
+                & checkGate("p999", overall, 99.9, options.maxP999Millis);
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errors) {
+        out.printf("%-22s %10d %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount(), errors,
+                millis(histogram, 50.0), millis(histogram, 90.0), millis(histogram, 99.0),
+                millis(histogram, 99.9), histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static void writeDistribution(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static boolean checkGate(String label, Histogram histogram, double percentile, double limitMillis) {
+        if (Double.isNaN(limitMillis)) {
+            return true;
+        }
+        double actual = millis(histogram, percentile);
+        boolean passed = actual <= limitMillis;
+        System.out.printf("%s gate: %.2f ms (limit %.2f ms) %s%n", label, actual, limitMillis,
+                passed ? "PASSED" : "FAILED");
+        return passed;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static Scenario[] weightedSchedule(Map<Scenario, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Scenario[] schedule = new Scenario[total];
+        int index = 0;
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[index++] = entry.getKey();
+            }
+        }
+        return schedule;
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static final class ScenarioStats {
+        final Recorder corrected = new Recorder(3);
+        final Recorder service = new Recorder(3);
+        final AtomicLong errors = new AtomicLong();
+
+        void record(long intendedStart, long sentAt, long completedAt, boolean ok) {
+            corrected.recordValue(Math.max(1, (completedAt - intendedStart) / NANOS_PER_MICRO));
+            service.recordValue(Math.max(1, (completedAt - sentAt) / NANOS_PER_MICRO));
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.bank.loanchecker.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Command line options for {@link LoadGenerator}, given as {@code --name value} pairs.
+ */
+final class LoadTestOptions {
+
+    String baseUrl = "http://localhost:8080";
+    int ratePerSecond = 100;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    long seed = 42L;
+    Path outputDir = Path.of("target", "loadtest");
+    int requestTimeoutSeconds = 30;
+    double maxP99Millis = Double.NaN;
+    double maxP999Millis = Double.NaN;
+    Map<Scenario, Integer> mix = parseMix("api=70,emi=20,form=10");
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "--rate" -> options.ratePerSecond = Integer.parseInt(value);
+                case "--warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "--duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "--seed" -> options.seed = Long.parseLong(value);
+                case "--out" -> options.outputDir = Path.of(value);
+                case "--timeout" -> options.requestTimeoutSeconds = Integer.parseInt(value);
+                case "--max-p99-ms" -> options.maxP99Millis = Double.parseDouble(value);
+                case "--max-p999-ms" -> options.maxP999Millis = Double.parseDouble(value);
+                case "--mix" -> options.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (options.ratePerSecond <= 0 || options.durationSeconds <= 0 || options.warmupSeconds < 0) {
+            throw new IllegalArgumentException("Rate and duration must be positive");
+        }
+        return options;
+    }
+
+    static Map<Scenario, Integer> parseMix(String spec) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like api=70: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Scenario.fromKey(pair[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix must contain at least one scenario");
+        }
+        return mix;
+    }
+}
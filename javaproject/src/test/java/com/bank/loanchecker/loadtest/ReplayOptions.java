@@ -0,0 +1,42 @@
+package com.bank.loanchecker.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Command line options for {@link ReplayTool}, given as {@code --name value} pairs.
+ */
+final class ReplayOptions {
+
+    Path captureFile;
+    String baseUrl = "http://localhost:8080";
+    double speed = 1.0;
+    Path outputDir = Path.of("target", "replay");
+    Path baselineDir;
+    int requestTimeoutSeconds = 30;
+
+    static ReplayOptions parse(String[] args) {
+        ReplayOptions options = new ReplayOptions();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--capture" -> options.captureFile = Path.of(value);
+                case "--base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "--speed" -> options.speed = Double.parseDouble(value);
+                case "--out" -> options.outputDir = Path.of(value);
+                case "--baseline" -> options.baselineDir = Path.of(value);
+                case "--timeout" -> options.requestTimeoutSeconds = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (options.captureFile == null) {
+            throw new IllegalArgumentException("--capture is required");
+        }
+        if (!(options.speed > 0)) {
+            throw new IllegalArgumentException("Speed must be positive");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,287 @@
+package com.bank.loanchecker.loadtest;
+
+import com.bank.loanchecker.capture.CaptureLogReader;
+import com.bank.loanchecker.capture.CapturedRequest;
+import com.bank.loanchecker.json.LoanJsonModule;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-drives a capture log recorded by {@code TrafficCaptureFilter} against a locally started
+ * instance, keeping the captured inter-arrival times (divided by {@code --speed}).
+ * <p>
+ * Like {@link LoadGenerator}, latency is measured from each request's intended start time.
+ * Every response is saved to the output directory together with the latency distribution, so
+ * a later replay of the same capture against another build can be compared with it via
+ * {@code --baseline}: eligibility results are compared field by field, other responses by
+ * status and body, and the run fails if any response differs.
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.bank.loanchecker.loadtest.ReplayTool \
+ *     -Dexec.args="--capture capture.lcc --out target/replay-new --baseline target/replay-old --speed 4"
+ * </pre>
+ */
+public final class ReplayTool {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    private static final String RESPONSES_FILE = "responses.dat";
+    private static final String LATENCY_FILE = "replay-corrected.histogram";
+    private static final int MAX_REPORTED_DIFFERENCES = 100;
+
+    private final ReplayOptions options;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new LoanJsonModule());
+    private final Recorder corrected = new Recorder(3);
+    private final Recorder service = new Recorder(3);
+    private final AtomicLong inFlight = new AtomicLong();
+
+    ReplayTool(ReplayOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(options.requestTimeoutSeconds))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        ReplayOptions options = ReplayOptions.parse(args);
+        if (!new ReplayTool(options).run()) {
+            throw new IllegalStateException("Responses differ from the baseline, see "
+                    + options.outputDir.resolve("differences.txt"));
+        }
+    }
+
+    boolean run() throws Exception {
+        List<CapturedRequest> requests = readCapture(options.captureFile);
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException(options.captureFile + " holds no requests");
+        }
+        int[] statuses = new int[requests.size()];
+        byte[][] bodies = new byte[requests.size()][];
+        Histogram captured = new Histogram(3);
+
+        System.out.printf("Replaying %d requests against %s at %.1fx%n", requests.size(), options.baseUrl, options.speed);
+        long firstOffsetMicros = requests.get(0).offsetMicros();
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        for (int i = 0; i < requests.size(); i++) {
+            CapturedRequest request = requests.get(i);
+            captured.recordValue(Math.max(1, request.durationMicros()));
+            long intendedStart = start + (long) ((request.offsetMicros() - firstOffsetMicros) * 1_000 / options.speed);
+            waitUntil(intendedStart);
+            send(toHttpRequest(request), intendedStart, i, statuses, bodies);
+        }
+        awaitOutstanding();
+
+        Files.createDirectories(options.outputDir);
+        Histogram replayed = corrected.getIntervalHistogram();
+        writeResponses(options.outputDir.resolve(RESPONSES_FILE), statuses, bodies);
+        writeHistogram(replayed, options.outputDir.resolve(LATENCY_FILE));
+        writeDistribution(replayed, options.outputDir.resolve("replay-corrected.hgrm"));
+        writeDistribution(service.getIntervalHistogram(), options.outputDir.resolve("replay-service.hgrm"));
+        writeDistribution(captured, options.outputDir.resolve("captured.hgrm"));
+
+        boolean matches = true;
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(options.outputDir.resolve("summary.txt")))) {
+            summary.printf("%-10s %10s %10s %10s %10s %10s %10s%n",
+                    "latency", "requests", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+            printRow(summary, "captured", captured);
+            if (options.baselineDir != null) {
+                printRow(summary, "baseline", readHistogram(options.baselineDir.resolve(LATENCY_FILE)));
+            }
+            printRow(summary, "replay", replayed);
+
+            if (options.baselineDir != null) {
+                long differences = compare(requests, statuses, bodies);
+                summary.printf("%n%d of %d responses differ from %s%n", differences, requests.size(), options.baselineDir);
+                matches = differences == 0;
+            }
+        }
+        Files.readAllLines(options.outputDir.resolve("summary.txt")).forEach(System.out::println);
+        return matches;
+    }
+
+    private static List<CapturedRequest> readCapture(Path file) throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        try (CaptureLogReader reader = new CaptureLogReader(file)) {
+            CapturedRequest request;
+            while ((request = reader.next()) != null) {
+                requests.add(request);
+            }
+        }
+        // Records are written as requests complete; replay them in arrival order
+        requests.sort(Comparator.comparingLong(CapturedRequest::offsetMicros));
+        return requests;
+    }
+
+    private HttpRequest toHttpRequest(CapturedRequest request) {
+        String uri = options.baseUrl + request.path() + (request.query() != null ? "?" + request.query() : "");
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofSeconds(options.requestTimeoutSeconds));
+        if (request.contentType() != null) {
+            builder.header("Content-Type", request.contentType());
+        }
+        HttpRequest.BodyPublisher body = request.body().length > 0
+                ? HttpRequest.BodyPublishers.ofByteArray(request.body())
+                : HttpRequest.BodyPublishers.noBody();
+        return builder.method(request.method(), body).build();
+    }
+
+    private void send(HttpRequest request, long intendedStart, int index, int[] statuses, byte[][] bodies) {
+        long sentAt = System.nanoTime();
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    long completedAt = System.nanoTime();
+                    corrected.recordValue(Math.max(1, (completedAt - intendedStart) / 1_000));
+                    service.recordValue(Math.max(1, (completedAt - sentAt) / 1_000));
+                    // Read back on the main thread once all are done; the lock publishes the writes
+                    synchronized (bodies) {
+                        statuses[index] = failure == null ? response.statusCode() : -1;
+                        bodies[index] = failure == null ? response.body() : new byte[0];
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void awaitOutstanding() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.requestTimeoutSeconds + 5L);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private long compare(List<CapturedRequest> requests, int[] statuses, byte[][] bodies) throws IOException {
+        int[] baselineStatuses = new int[requests.size()];
+        byte[][] baselineBodies = new byte[requests.size()][];
+        readResponses(options.baselineDir.resolve(RESPONSES_FILE), baselineStatuses, baselineBodies);
+
+        long differences = 0;
+        try (PrintStream out = new PrintStream(Files.newOutputStream(options.outputDir.resolve("differences.txt")))) {
+            synchronized (bodies) {
+                for (int i = 0; i < requests.size(); i++) {
+                    String difference = difference(requests.get(i), baselineStatuses[i], baselineBodies[i],
+                            statuses[i], bodies[i]);
+                    if (difference != null && ++differences <= MAX_REPORTED_DIFFERENCES) {
+                        CapturedRequest request = requests.get(i);
+                        out.printf("#%d %s %s: %s%n", i, request.method(), request.path(), difference);
+                    }
+                }
+            }
+        }
+        return differences;
+    }
+
+    private String difference(CapturedRequest request, int baselineStatus, byte[] baselineBody,
+                              int status, byte[] body) {
+        if (baselineStatus != status) {
+            return "status " + baselineStatus + " -> " + status;
+        }
+        if (status == 200 && request.path().equals("/api/check-eligibility")) {
+            try {
+                return resultDifference(objectMapper.readValue(baselineBody, LoanEligibilityResult.class),
+                        objectMapper.readValue(body, LoanEligibilityResult.class));
+            } catch (IOException e) {
+                return "unreadable result: " + e.getMessage();
+            }
+        }
+        return Arrays.equals(baselineBody, body) ? null : "body differs";
+    }
+
+    private static String resultDifference(LoanEligibilityResult baseline, LoanEligibilityResult result) {
+        StringJoiner fields = new StringJoiner(", ");
+        compareField(fields, "eligible", baseline.isEligible(), result.isEligible());
+        compareField(fields, "decision", baseline.getDecision(), result.getDecision());
+        compareField(fields, "approvedAmount", baseline.getApprovedAmount(), result.getApprovedAmount());
+        compareField(fields, "monthlyEMI", baseline.getMonthlyEMI(), result.getMonthlyEMI());
+        compareField(fields, "interestRate", baseline.getInterestRate(), result.getInterestRate());
+        compareField(fields, "tenureYears", baseline.getTenureYears(), result.getTenureYears());
+        compareField(fields, "reason", baseline.getReason(), result.getReason());
+        compareField(fields, "recommendation", baseline.getRecommendation(), result.getRecommendation());
+        return fields.length() == 0 ? null : fields.toString();
+    }
+
+    private static void compareField(StringJoiner fields, String name, Object baseline, Object value) {
+        if (!Objects.equals(baseline, value)) {
+            fields.add(name + " " + baseline + " -> " + value);
+        }
+    }
+
+    private static void writeResponses(Path file, int[] statuses, byte[][] bodies) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(statuses.length);
+            synchronized (bodies) {
+                for (int i = 0; i < statuses.length; i++) {
+                    out.writeInt(statuses[i]);
+                    out.writeInt(bodies[i].length);
+                    out.write(bodies[i]);
+                }
+            }
+        }
+    }
+
+    private static void readResponses(Path file, int[] statuses, byte[][] bodies) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int count = in.readInt();
+            if (count != statuses.length) {
+                throw new IllegalArgumentException(file + " holds " + count + " responses, the capture "
+                        + statuses.length + "; was it replayed from another capture?");
+            }
+            for (int i = 0; i < count; i++) {
+                statuses[i] = in.readInt();
+                bodies[i] = new byte[in.readInt()];
+                in.readFully(bodies[i]);
+            }
+        }
+    }
+
+    private static void writeHistogram(Histogram histogram, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        Files.write(file, Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static Histogram readHistogram(Path file) throws IOException {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Files.readAllBytes(file)), 0);
+        } catch (java.util.zip.DataFormatException e) {
+            throw new IOException("Corrupt histogram " + file, e);
+        }
+    }
+
+    private static void writeDistribution(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram) {
+        out.printf("%-10s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount(),
+                millis(histogram, 50.0), millis(histogram, 90.0), millis(histogram, 99.0),
+                millis(histogram, 99.9), histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
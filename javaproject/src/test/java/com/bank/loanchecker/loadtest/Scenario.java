@@ -0,0 +1,32 @@
+package com.bank.loanchecker.loadtest;
+
+enum Scenario {
+    API_CHECK_ELIGIBILITY("api", "/api/check-eligibility"),
+    CALCULATE_EMI("emi", "/api/calculate-emi"),
+    FORM_CHECK_ELIGIBILITY("form", "/check-eligibility");
+
+    private final String key;
+    private final String path;
+
+    Scenario(String key, String path) {
+        this.key = key;
+        this.path = path;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario " + key + " (expected api, emi or form)");
+    }
+}
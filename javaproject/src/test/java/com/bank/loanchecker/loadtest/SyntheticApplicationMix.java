@@ -0,0 +1,104 @@
+package com.bank.loanchecker.loadtest;
+
+import com.bank.loanchecker.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Pre-builds a pool of requests per scenario from a seeded random mix of applications, so
+ * the generator thread only has to pick one when a request is due. The mix spans every
+ * loan and employment type and deliberately includes applications that end up rejected.
+ */
+final class SyntheticApplicationMix {
+
+    private static final int POOL_SIZE = 1024;
+    private static final String[] NAMES = {"Asha Rao", "Vikram Shah", "Meera Iyer", "Rahul Nair", "Priya Menon"};
+
+    private final HttpRequest[][] pools = new HttpRequest[Scenario.values().length][];
+
+    SyntheticApplicationMix(LoadTestOptions options, ObjectMapper objectMapper) throws Exception {
+        Random random = new Random(options.seed);
+        Duration timeout = Duration.ofSeconds(options.requestTimeoutSeconds);
+        for (Scenario scenario : Scenario.values()) {
+            HttpRequest[] pool = new HttpRequest[POOL_SIZE];
+            for (int i = 0; i < POOL_SIZE; i++) {
+                pool[i] = buildRequest(scenario, createApplication(random, i), options.baseUrl, timeout, objectMapper);
+            }
+            pools[scenario.ordinal()] = pool;
+        }
+    }
+
+    HttpRequest pick(Scenario scenario, Random random) {
+        HttpRequest[] pool = pools[scenario.ordinal()];
+        return pool[random.nextInt(pool.length)];
+    }
+
+    static LoanApplication createApplication(Random random, int index) {
+        LoanType[] loanTypes = LoanType.values();
+        EmploymentType[] employmentTypes = EmploymentType.values();
+        LoanType loanType = loanTypes[random.nextInt(loanTypes.length)];
+
+        double monthlyIncome = 15000 + random.nextInt(40) * 5000;
+        Customer customer = new Customer(
+                NAMES[random.nextInt(NAMES.length)],
+                19 + random.nextInt(46),
+                "applicant" + index + "@example.com",
+                String.valueOf(9000000000L + random.nextInt(100000000)),
+                monthlyIncome,
+                550 + random.nextInt(330),
+                Math.floor(monthlyIncome * random.nextDouble() * 0.5),
+                employmentTypes[random.nextInt(employmentTypes.length)]);
+
+        double span = loanType.getMaxAmount() - loanType.getMinAmount();
+        double requestedAmount = Math.round(loanType.getMinAmount() + span * random.nextDouble() * random.nextDouble());
+        int tenureYears = 1 + random.nextInt(loanType.getMaxTenureYears());
+        return new LoanApplication(customer, loanType, requestedAmount, tenureYears);
+    }
+
+    private static HttpRequest buildRequest(Scenario scenario, LoanApplication application, String baseUrl,
+                                            Duration timeout, ObjectMapper objectMapper) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(timeout);
+        switch (scenario) {
+            case API_CHECK_ELIGIBILITY -> builder
+                    .uri(URI.create(baseUrl + scenario.getPath()))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(application)));
+            case CALCULATE_EMI -> builder
+                    .uri(URI.create(baseUrl + scenario.getPath()
+                            + "?principal=" + application.getRequestedAmount()
+                            + "&interestRate=" + application.getLoanType().getInterestRate()
+                            + "&tenureYears=" + application.getTenureYears()))
+                    .POST(HttpRequest.BodyPublishers.noBody());
+            case FORM_CHECK_ELIGIBILITY -> builder
+                    .uri(URI.create(baseUrl + scenario.getPath()))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(formBody(application)));
+        }
+        return builder.build();
+    }
+
+    private static String formBody(LoanApplication application) {
+        Customer customer = application.getCustomer();
+        return "customer.name=" + encode(customer.getName())
+                + "&customer.age=" + customer.getAge()
+                + "&customer.email=" + encode(customer.getEmail())
+                + "&customer.phoneNumber=" + customer.getPhoneNumber()
+                + "&customer.monthlyIncome=" + customer.getMonthlyIncome()
+                + "&customer.creditScore=" + customer.getCreditScore()
+                + "&customer.existingEMI=" + customer.getExistingEMI()
+                + "&customer.employmentType=" + customer.getEmploymentType().name()
+                + "&loanType=" + application.getLoanType().name()
+                + "&requestedAmount=" + application.getRequestedAmount()
+                + "&tenureYears=" + application.getTenureYears();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
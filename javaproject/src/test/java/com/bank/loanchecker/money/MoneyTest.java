@@ -0,0 +1,99 @@
+package com.bank.loanchecker.money;
+
+import com.bank.loanchecker.model.LoanType;
+import com.bank.loanchecker.rates.LoanTerms;
+import com.bank.loanchecker.rates.RateTable;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private static long referencePaise(double rupees) {
+        return new BigDecimal(rupees).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    private static long referenceWholeRupees(double rupees) {
+        return new BigDecimal(rupees).setScale(0, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    private static void assertMatchesReference(double rupees) {
+        assertEquals(referencePaise(rupees), Money.toPaise(rupees), () -> "toPaise(" + rupees + ")");
+        assertEquals(referenceWholeRupees(rupees), Money.toWholeRupees(rupees), () -> "toWholeRupees(" + rupees + ")");
+    }
+
+    @Test
+    void testRoundingMatchesBigDecimalAroundTies() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 200_000; i++) {
+            long paise = random.nextLong(-10_000_000_000L, 10_000_000_000L);
+            for (double tie : new double[]{(paise + 0.5) / 100, paise + 0.5, paise / 100.0}) {
+                assertMatchesReference(tie);
+                assertMatchesReference(Math.nextUp(tie));
+                assertMatchesReference(Math.nextDown(tie));
+            }
+        }
+    }
+
+    @Test
+    void testRoundingMatchesBigDecimalForArbitraryValues() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 200_000; i++) {
+            double magnitude = Math.pow(10, random.nextInt(-3, 13));
+            assertMatchesReference(random.nextDouble(-1, 1) * magnitude);
+        }
+        for (double value : new double[]{0.0, -0.0, 0.005, 0.015, 1.005, 2.675, 0.125, -0.125, 1e-300, 9.999999999999e12}) {
+            assertMatchesReference(value);
+        }
+    }
+
+    @Test
+    void testToRupeesMatchesBigDecimal() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 100_000; i++) {
+            long paise = random.nextLong(-1_000_000_000_000_000L, 1_000_000_000_000_000L);
+            assertEquals(BigDecimal.valueOf(paise, 2).doubleValue(), Money.toRupees(paise));
+            assertEquals(paise, Money.toPaise(Money.toRupees(paise)));
+        }
+    }
+
+    @Test
+    void testEmiMatchesBigDecimalReference() {
+        RateTable rates = RateTable.defaults();
+        SplittableRandom random = new SplittableRandom(5);
+        for (LoanType loanType : LoanType.values()) {
+            LoanTerms terms = rates.terms(loanType);
+            for (int years = 1; years <= terms.getMaxTenureYears(); years++) {
+                for (int i = 0; i < 200; i++) {
+                    long principal = random.nextLong(Money.toPaise(terms.getMinAmount()), Money.toPaise(terms.getMaxAmount()));
+                    double emi = terms.emi(Money.toRupees(principal), years);
+                    assertEquals(referencePaise(emi), Money.toPaise(emi));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIsWithinShareIsExact() {
+        SplittableRandom random = new SplittableRandom(13);
+        for (int i = 0; i < 100_000; i++) {
+            long available = random.nextLong(0, 1_000_000_000L);
+            long emi = available * 2 / 5 + random.nextLong(-2, 3);
+            boolean expected = BigDecimal.valueOf(emi)
+                    .compareTo(BigDecimal.valueOf(available).multiply(new BigDecimal("0.4"))) <= 0;
+            assertEquals(expected, Money.isWithinShare(emi, available, 2, 5));
+        }
+    }
+
+    @Test
+    void testRejectsValuesOutOfRange() {
+        assertThrows(ArithmeticException.class, () -> Money.toPaise(Double.NaN));
+        assertThrows(ArithmeticException.class, () -> Money.toPaise(Double.POSITIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> Money.toPaise(Money.MAX_RUPEES));
+        assertFalse(Money.isInRange(-Money.MAX_RUPEES));
+    }
+}
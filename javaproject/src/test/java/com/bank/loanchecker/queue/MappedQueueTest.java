@@ -0,0 +1,114 @@
+package com.bank.loanchecker.queue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecordsRollAcrossSegments() throws Exception {
+        MappedQueue queue = new MappedQueue(tempDir, 4096);
+        List<Long> offsets = new ArrayList<>();
+        try (QueueAppender appender = queue.appender()) {
+            for (int i = 0; i < 200; i++) {
+                offsets.add(append(appender, "record-" + i + "-" + "x".repeat(i % 50), 1000L + i));
+            }
+        }
+        assertTrue(Files.exists(queue.segmentFile(2)), "200 records of about 56 bytes take three 4 KiB segments");
+
+        QueueTailer tailer = queue.tailer(ConsumerOffset.NONE);
+        for (int i = 0; i < 200; i++) {
+            assertTrue(tailer.next());
+            assertEquals("record-" + i + "-" + "x".repeat(i % 50), payload(tailer));
+            assertEquals(1000L + i, tailer.timestampMicros());
+            assertEquals(offsets.get(i), tailer.offset());
+            if (i > 0) {
+                assertTrue(offsets.get(i) > offsets.get(i - 1));
+            }
+        }
+        assertFalse(tailer.next());
+    }
+
+    @Test
+    void testTailerResumesAfterOffsetAndSeesNewRecords() throws Exception {
+        MappedQueue queue = new MappedQueue(tempDir, 4096);
+        long second;
+        try (QueueAppender appender = queue.appender()) {
+            append(appender, "first", 1);
+            second = append(appender, "second", 2);
+            append(appender, "third", 3);
+        }
+
+        QueueTailer tailer = queue.tailer(second);
+        assertTrue(tailer.next());
+        assertEquals("third", payload(tailer));
+        assertFalse(tailer.next());
+
+        // A reopened appender continues at the end
+        try (QueueAppender appender = queue.appender()) {
+            append(appender, "fourth", 4);
+        }
+        assertTrue(tailer.next());
+        assertEquals("fourth", payload(tailer));
+    }
+
+    @Test
+    void testOnlyOneAppender() throws Exception {
+        MappedQueue queue = new MappedQueue(tempDir, 4096);
+        try (QueueAppender appender = queue.appender()) {
+            assertThrows(IllegalStateException.class, queue::appender);
+        }
+        // Released on close
+        queue.appender().close();
+    }
+
+    @Test
+    void testRecordLargerThanSegmentRejected() throws Exception {
+        MappedQueue queue = new MappedQueue(tempDir, 4096);
+        try (QueueAppender appender = queue.appender()) {
+            assertThrows(IllegalArgumentException.class, () -> append(appender, "x".repeat(5000), 0));
+        }
+    }
+
+    @Test
+    void testConsumerOffsetPersists() throws Exception {
+        MappedQueue queue = new MappedQueue(tempDir, 4096);
+        try (ConsumerOffset offset = queue.consumerOffset("reports")) {
+            assertEquals(ConsumerOffset.NONE, offset.load());
+            offset.commit(MappedQueue.offset(2, 128));
+        }
+        try (ConsumerOffset offset = queue.consumerOffset("reports")) {
+            assertEquals(MappedQueue.offset(2, 128), offset.load());
+        }
+    }
+
+    @Test
+    void testLatencyBucketsCoverEveryValue() {
+        for (long value = 0; value < 100_000; value++) {
+            int bucket = QueueMetrics.bucket(value);
+            assertTrue(value <= QueueMetrics.upperBound(bucket));
+            assertTrue(bucket == 0 || value > QueueMetrics.upperBound(bucket - 1));
+        }
+        assertEquals(Long.MAX_VALUE, QueueMetrics.upperBound(QueueMetrics.bucket(Long.MAX_VALUE)));
+    }
+
+    private static long append(QueueAppender appender, String payload, long timestamp) throws Exception {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        return appender.append(bytes, 0, bytes.length, timestamp);
+    }
+
+    private static String payload(QueueTailer tailer) {
+        return new String(tailer.payload(), 0, tailer.length(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,204 @@
+package com.bank.loanchecker.queue;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.dedup.DuplicateDetector;
+import com.bank.loanchecker.json.LoanJsonModule;
+import com.bank.loanchecker.model.EligibilityInput;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueConsumerTest {
+
+    private static final String APPROVED = "{\"customer\":{\"name\":\"John Doe\",\"age\":30,\"email\":\"john@email.com\","
+            + "\"phoneNumber\":\"9876543210\",\"monthlyIncome\":50000,\"creditScore\":750,\"existingEMI\":5000,"
+            + "\"employmentType\":\"SALARIED\"},\"loanType\":\"HOME_LOAN\",\"requestedAmount\":2000000,\"tenureYears\":20}";
+    private static final String REJECTED = APPROVED.replace("\"creditScore\":750", "\"creditScore\":550");
+    private static final String INVALID = APPROVED.replace("john@email.com", "not-an-email");
+    private static final String MALFORMED = "{\"customer\":";
+    private static final String UNKNOWN_CUSTOMER = "{\"customerId\":42,\"loanType\":\"HOME_LOAN\","
+            + "\"requestedAmount\":2000000,\"tenureYears\":20}";
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new LoanJsonModule());
+    private final LoanEligibilityService service = new LoanEligibilityService(new RateTableRegistry(), new EligibilityPolicyRegistry());
+    private final List<QueueConsumer> consumers = new ArrayList<>();
+    private CustomerStore customerStore;
+    private DuplicateDetector duplicateDetector = new DuplicateDetector("", 1024, 0.01, 1024);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        customerStore = new CustomerStore(tempDir.resolve("customers"), 16);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (QueueConsumer consumer : consumers) {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    void testDecidesEveryRecordInOrder() throws Exception {
+        String[] kinds = {APPROVED, REJECTED, INVALID, MALFORMED, UNKNOWN_CUSTOMER};
+        List<Long> offsets = appendAll(500, kinds);
+
+        QueueConsumer consumer = start();
+        awaitReceived(consumer, 500);
+
+        List<JsonNode> output = drain(ConsumerOffset.NONE);
+        assertEquals(500, output.size());
+        for (int i = 0; i < 500; i++) {
+            JsonNode line = output.get(i);
+            assertEquals(offsets.get(i), line.get("offset").asLong());
+            switch (i % kinds.length) {
+                case 0 -> assertEquals("APPROVED", line.get("result").get("decision").asText());
+                case 1 -> assertEquals("REJECTED", line.get("result").get("decision").asText());
+                case 2 -> assertEquals("customer.email", line.get("errors").get(0).get("field").asText());
+                case 3 -> assertTrue(line.has("error"));
+                default -> assertEquals("No customer with this id", line.get("error").asText());
+            }
+        }
+
+        QueueStatus status = consumer.status();
+        assertEquals("RUNNING", status.state());
+        assertEquals(500, status.received());
+        assertEquals(200, status.decided());
+        assertEquals(300, status.invalid());
+        assertEquals(offsets.get(499), status.committedOffset());
+        assertNotNull(status.latencyMillis());
+        assertTrue(status.latencyMillis().p50() <= status.latencyMillis().max());
+    }
+
+    @Test
+    void testPicksUpRecordsAppendedWhileRunning() throws Exception {
+        QueueConsumer consumer = start();
+        appendAll(10, APPROVED);
+        awaitReceived(consumer, 10);
+        appendAll(5, REJECTED);
+        awaitReceived(consumer, 15);
+
+        assertEquals(15, drain(ConsumerOffset.NONE).size());
+    }
+
+    @Test
+    void testRestartResumesAfterCommittedOffset() throws Exception {
+        List<Long> offsets = appendAll(20, APPROVED);
+        QueueConsumer first = start();
+        awaitReceived(first, 20);
+        first.stop();
+        consumers.remove(first);
+
+        // Pretend the first run crashed after writing its output but before committing the last five
+        try (ConsumerOffset offset = new MappedQueue(tempDir.resolve("queue/in"), 4096)
+                .consumerOffset(QueueConsumer.CONSUMER)) {
+            offset.commit(offsets.get(14));
+        }
+        appendAll(3, REJECTED);
+
+        QueueConsumer second = start();
+        awaitReceived(second, 8);
+
+        // At least once: the uncommitted five come out again, then the new records
+        List<JsonNode> output = drain(ConsumerOffset.NONE);
+        assertEquals(28, output.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(output.get(15 + i).get("offset").asLong(), output.get(20 + i).get("offset").asLong());
+        }
+        assertEquals("REJECTED", output.get(27).get("result").get("decision").asText());
+    }
+
+    @Test
+    void testRecordThatFailsToDecideGetsAnErrorLine() throws Exception {
+        LoanEligibilityService failing = new LoanEligibilityService(new RateTableRegistry(), new EligibilityPolicyRegistry()) {
+            @Override
+            public LoanEligibilityResult decide(EligibilityInput input) {
+                if (input.getRequestedAmount() == 1234567) {
+                    throw new ArithmeticException("Amount out of range");
+                }
+                return super.decide(input);
+            }
+        };
+        List<Long> offsets = appendAll(3, APPROVED, APPROVED.replace("2000000", "1234567"), REJECTED);
+
+        QueueConsumer consumer = start(failing);
+        awaitReceived(consumer, 3);
+
+        List<JsonNode> output = drain(ConsumerOffset.NONE);
+        assertEquals("APPROVED", output.get(0).get("result").get("decision").asText());
+        assertEquals("Could not decide: Amount out of range", output.get(1).get("error").asText());
+        assertEquals("REJECTED", output.get(2).get("result").get("decision").asText());
+        QueueStatus status = consumer.status();
+        assertEquals("RUNNING", status.state());
+        assertEquals(1, status.invalid());
+        assertEquals(offsets.get(2), status.committedOffset());
+    }
+
+    @Test
+    void testDisabledWithoutDirectory() throws Exception {
+        QueueConsumer consumer = new QueueConsumer(service, new LoanApplicationValidator(), customerStore,
+                duplicateDetector, objectMapper, "", 8, 4096);
+        consumer.start();
+        assertFalse(consumer.isEnabled());
+        assertEquals("DISABLED", consumer.status().state());
+        consumer.stop();
+    }
+
+    private QueueConsumer start() throws Exception {
+        return start(service);
+    }
+
+    private QueueConsumer start(LoanEligibilityService service) throws Exception {
+        QueueConsumer consumer = new QueueConsumer(service, new LoanApplicationValidator(), customerStore,
+                duplicateDetector, objectMapper, tempDir.resolve("queue").toString(), 8, 4096);
+        consumer.start();
+        consumers.add(consumer);
+        return consumer;
+    }
+
+    private List<Long> appendAll(int count, String... records) throws Exception {
+        List<Long> offsets = new ArrayList<>();
+        try (QueueAppender appender = new MappedQueue(tempDir.resolve("queue/in"), 4096).appender()) {
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = records[i % records.length].getBytes(StandardCharsets.UTF_8);
+                offsets.add(appender.append(bytes, 0, bytes.length, MappedQueue.nowMicros()));
+            }
+        }
+        return offsets;
+    }
+
+    private List<JsonNode> drain(long after) throws Exception {
+        QueueTailer tailer = new MappedQueue(tempDir.resolve("queue/out"), 4096).tailer(after);
+        List<JsonNode> lines = new ArrayList<>();
+        while (tailer.next()) {
+            lines.add(objectMapper.readTree(tailer.payload(), 0, tailer.length()));
+        }
+        return lines;
+    }
+
+    private static void awaitReceived(QueueConsumer consumer, long received) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (consumer.status().received() < received) {
+            assertNotEquals("FAILED", consumer.status().state());
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the consumer");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.bank.loanchecker.rates;
+
+import com.bank.loanchecker.model.LoanType;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmiCalculatorTest {
+
+    // The formula the EMI endpoint used to carry inline
+    private static double reference(double principal, double interestRate, int tenureYears) {
+        if (interestRate == 0) {
+            return principal / (tenureYears * 12);
+        }
+        double monthlyRate = interestRate / (12 * 100);
+        int totalMonths = tenureYears * 12;
+        return principal * monthlyRate * Math.pow(1 + monthlyRate, totalMonths) /
+                (Math.pow(1 + monthlyRate, totalMonths) - 1);
+    }
+
+    @Test
+    void testBatchMatchesScalarFormulaExactly() {
+        RateTable table = RateTable.defaults();
+        double[] tableRates = new double[LoanType.values().length];
+        for (LoanType loanType : LoanType.values()) {
+            tableRates[loanType.ordinal()] = loanType.getInterestRate();
+        }
+
+        SplittableRandom random = new SplittableRandom(7);
+        int length = 10_000;
+        double[] principals = new double[length];
+        double[] rates = new double[length];
+        int[] tenures = new int[length];
+        for (int i = 0; i < length; i++) {
+            principals[i] = Math.round(random.nextDouble(1, 50_000_000) * 100) / 100.0;
+            rates[i] = switch (random.nextInt(4)) {
+                case 0 -> tableRates[random.nextInt(tableRates.length)];
+                case 1 -> 0.0;
+                default -> Math.round(random.nextDouble(1, 24) * 100) / 100.0;
+            };
+            tenures[i] = 1 + random.nextInt(35);
+        }
+
+        double[] withTable = new double[length];
+        double[] withoutTable = new double[length];
+        EmiCalculator.emi(table, principals, rates, tenures, withTable);
+        EmiCalculator.emi(null, principals, rates, tenures, withoutTable);
+        for (int i = 0; i < length; i++) {
+            double expected = reference(principals[i], rates[i], tenures[i]);
+            String entry = principals[i] + " at " + rates[i] + "% over " + tenures[i];
+            assertEquals(expected, withTable[i], 0.0, entry);
+            assertEquals(expected, withoutTable[i], 0.0, entry);
+            assertEquals(expected, EmiCalculator.emi(principals[i], rates[i], tenures[i]), 0.0, entry);
+            assertEquals(expected, EmiCalculator.emi(table, principals[i], rates[i], tenures[i]), 0.0, entry);
+        }
+    }
+
+    @Test
+    void testRejectsArraysOfDifferentLengths() {
+        assertThrows(IllegalArgumentException.class, () -> EmiCalculator.emi(null,
+                new double[2], new double[2], new int[1], new double[2]));
+    }
+}
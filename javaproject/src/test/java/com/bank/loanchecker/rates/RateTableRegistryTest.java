@@ -0,0 +1,130 @@
+package com.bank.loanchecker.rates;
+
+import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateTableRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final RateTableRegistry registry = new RateTableRegistry();
+
+    @Test
+    void testCachedFactorsMatchDirectFormula() {
+        double[] principals = {25000, 99999.99, 500000, 1234567.89, 50000000};
+        for (LoanType loanType : LoanType.values()) {
+            LoanTerms terms = registry.current().terms(loanType);
+            double monthlyRate = loanType.getInterestRate() / (12 * 100);
+            for (int years = 1; years <= loanType.getMaxTenureYears() + 2; years++) {
+                int months = years * 12;
+                for (double principal : principals) {
+                    double direct = principal * monthlyRate * Math.pow(1 + monthlyRate, months)
+                            / (Math.pow(1 + monthlyRate, months) - 1);
+                    assertEquals(direct, terms.emi(principal, years), 0.0, loanType + " " + years);
+                }
+                double emi = 12345.67;
+                double principal = emi * ((Math.pow(1 + monthlyRate, months) - 1)
+                        / (monthlyRate * Math.pow(1 + monthlyRate, months)));
+                assertEquals(principal, terms.principalForEmi(emi, years), 0.0, loanType + " " + years);
+            }
+        }
+    }
+
+    @Test
+    void testPublishBumpsVersionAndKeepsUnlistedTypes() {
+        RateTable initial = registry.current();
+        RateTable next = registry.publish(Map.of(LoanType.HOME_LOAN, new RateSpec(7.9, 25, 400000, 60000000)), "test");
+
+        assertSame(next, registry.current());
+        assertEquals(initial.getVersion() + 1, next.getVersion());
+        assertEquals(7.9, next.terms(LoanType.HOME_LOAN).getInterestRate());
+        assertEquals(25, next.terms(LoanType.HOME_LOAN).getMaxTenureYears());
+        assertEquals(9.5, next.terms(LoanType.CAR_LOAN).getInterestRate());
+        assertEquals(7.9, next.getLoanDetails().get("HOME_LOAN").get("interestRate"));
+        assertEquals(LoanType.HOME_LOAN, next.findByInterestRate(7.9).orElseThrow().getLoanType());
+        assertEquals(8.5, initial.terms(LoanType.HOME_LOAN).getInterestRate());
+    }
+
+    @Test
+    void testInvalidTableIsNotPublished() {
+        RateTable initial = registry.current();
+        assertThrows(IllegalArgumentException.class, () ->
+                registry.publish(Map.of(LoanType.CAR_LOAN, new RateSpec(9.5, 7, 3000000, 2000000)), "test"));
+        assertSame(initial, registry.current());
+    }
+
+    @Test
+    void testServiceDecidesWithPublishedRates() {
+        LoanEligibilityService service = new LoanEligibilityService(registry, new EligibilityPolicyRegistry());
+        Customer customer = new Customer("John Doe", 30, "john@email.com", "9876543210",
+                50000.0, 750, 5000.0, EmploymentType.SALARIED);
+        LoanApplication application = new LoanApplication(customer, LoanType.HOME_LOAN, 2000000.0, 20);
+        LoanEligibilityResult before = service.checkEligibility(application);
+
+        registry.publish(Map.of(LoanType.HOME_LOAN, new RateSpec(10.0, 15, 500000, 50000000)), "test");
+        LoanEligibilityResult after = service.checkEligibility(application);
+
+        assertEquals(8.5, before.getInterestRate());
+        assertTrue(before.isEligible());
+        assertEquals(10.0, after.getInterestRate());
+        assertFalse(after.isEligible()); // 20 years now exceeds the 15 year cap
+    }
+
+    @Test
+    void testRateFileKeepsTermsItLeavesOut() throws Exception {
+        registry.publish(Map.of(LoanType.HOME_LOAN, new RateSpec(7.9, 25, 400000, 60000000),
+                LoanType.CAR_LOAN, new RateSpec(9.25, 6, 100000, 2000000)), "admin");
+        Path file = tempDir.resolve("rates.properties");
+        Files.writeString(file, "CAR_LOAN.interestRate=8.75\n");
+
+        RateTable published = registry.publish(file);
+
+        assertEquals(8.75, published.terms(LoanType.CAR_LOAN).getInterestRate());
+        assertEquals(6, published.terms(LoanType.CAR_LOAN).getMaxTenureYears());
+        assertEquals(2000000, published.terms(LoanType.CAR_LOAN).getMaxAmount());
+        assertEquals(7.9, published.terms(LoanType.HOME_LOAN).getInterestRate());
+    }
+
+    @Test
+    void testWatcherPublishesRateFileAndIgnoresBrokenOnes() throws Exception {
+        Path file = tempDir.resolve("rates.properties");
+        replace(file, "PERSONAL_LOAN.interestRate=11.25\nPERSONAL_LOAN.maxAmount=750000\n");
+        RateTableFileWatcher watcher = new RateTableFileWatcher(registry, file.toString());
+        watcher.start();
+        try {
+            RateTable loaded = registry.current();
+            assertEquals(11.25, loaded.terms(LoanType.PERSONAL_LOAN).getInterestRate());
+            assertEquals(750000, loaded.terms(LoanType.PERSONAL_LOAN).getMaxAmount());
+            assertEquals(5, loaded.terms(LoanType.PERSONAL_LOAN).getMaxTenureYears());
+            assertEquals(file.toAbsolutePath().toString(), loaded.getSource());
+
+            replace(file, "PERSONAL_LOAN.interestRate=eleven\n");
+            watcher.reload();
+            assertSame(loaded, registry.current());
+
+            replace(file, "CAR_LOAN.interestRate=9.0\n");
+            watcher.reload();
+            assertEquals(9.0, registry.current().terms(LoanType.CAR_LOAN).getInterestRate());
+        } finally {
+            watcher.stop();
+        }
+    }
+
+    // As the watcher expects: rewriting in place would let it read a half-written file
+    private static void replace(Path file, String content) throws IOException {
+        Path next = Files.writeString(file.resolveSibling(file.getFileName() + ".next"), content);
+        Files.move(next, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,156 @@
+package com.bank.loanchecker.redecision;
+
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.json.LoanJsonModule;
+import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.policy.EligibilityPolicy;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateSpec;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionBookTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new LoanJsonModule());
+    private final RateTableRegistry rateTables = new RateTableRegistry();
+    private final EligibilityPolicyRegistry policies = new EligibilityPolicyRegistry();
+    private final LoanEligibilityService service = new LoanEligibilityService(rateTables, policies);
+    private final List<LoanApplication> applications = new ArrayList<>();
+    private DecisionBook book;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        book = new DecisionBook(service, new LoanApplicationValidator(), new CustomerStore(tempDir, 16),
+                rateTables, policies, objectMapper, 100_000);
+
+        SplittableRandom random = new SplittableRandom(3);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            LoanType loanType = LoanType.values()[random.nextInt(LoanType.values().length)];
+            double income = random.nextInt(10_000, 300_000);
+            Customer customer = new Customer("Applicant " + i, random.nextInt(18, 66), "user" + i + "@example.com",
+                    "9876543210", income, random.nextInt(300, 901), Math.floor(income * random.nextDouble(0, 0.6)),
+                    EmploymentType.values()[random.nextInt(EmploymentType.values().length)]);
+            double requested = Math.floor(random.nextDouble(loanType.getMinAmount() * 0.8, loanType.getMaxAmount() * 1.1));
+            LoanApplication application = new LoanApplication(customer, loanType, requested, random.nextInt(1, 31));
+            applications.add(application);
+            ndjson.append(objectMapper.writeValueAsString(application)).append('\n');
+        }
+        ndjson.append("{\"customer\":\n");
+        BookStatus status = book.load(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3000, status.records());
+        assertEquals(1, status.skipped());
+    }
+
+    @Test
+    void testRedecisionMatchesFullRescore() throws Exception {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int round = 0; round < 40; round++) {
+            Map<Long, JsonNode> before = decideAll();
+            EligibilityPolicy policy = policies.current();
+            switch (random.nextInt(5)) {
+                case 0 -> policies.publish(new EligibilityPolicy(policy.minAge(), policy.maxAge(), policy.minCreditScore(),
+                        random.nextInt(25, 61)));
+                case 1 -> policies.publish(new EligibilityPolicy(policy.minAge(), policy.maxAge(),
+                        random.nextInt(500, 751), policy.maxEmiSharePercent()));
+                case 2 -> policies.publish(new EligibilityPolicy(random.nextInt(18, 26), random.nextInt(55, 66),
+                        policy.minCreditScore(), policy.maxEmiSharePercent()));
+                case 3 -> {
+                    LoanType loanType = LoanType.values()[random.nextInt(LoanType.values().length)];
+                    RateSpec spec = rateTables.current().getRates().get(loanType);
+                    rateTables.publish(Map.of(loanType, new RateSpec(Math.max(0, spec.interestRate() + random.nextInt(-2, 3)),
+                            spec.maxTenureYears(), spec.minAmount(), spec.maxAmount())), "test");
+                }
+                default -> rateTables.publish(Map.of(), "test");
+            }
+            Map<Long, JsonNode> after = decideAll();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            RedecisionSummary summary = book.redecide(out);
+
+            Map<Long, JsonNode> diff = new TreeMap<>();
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            for (int i = 0; i < lines.length - 1; i++) {
+                JsonNode line = objectMapper.readTree(lines[i]);
+                long number = line.get("line").asLong();
+                assertEquals(before.get(number), line.get("before"), lines[i]);
+                assertEquals(after.get(number), line.get("after"), lines[i]);
+                diff.put(number, line.get("after"));
+            }
+            for (long number = 1; number <= applications.size(); number++) {
+                assertEquals(!before.get(number).equals(after.get(number)), diff.containsKey(number),
+                        "round " + round + " line " + number);
+            }
+            assertEquals(diff.size(), summary.changed());
+            assertEquals(summary.changed(), objectMapper.readTree(lines[lines.length - 1]).get("summary").get("changed").asInt());
+            assertTrue(summary.candidates() >= summary.changed());
+        }
+    }
+
+    @Test
+    void testOnlyAffectedRecordsAreDecidedAgain() throws Exception {
+        long personalLoans = applications.stream().filter(a -> a.getLoanType() == LoanType.PERSONAL_LOAN).count();
+        rateTables.publish(Map.of(LoanType.PERSONAL_LOAN, new RateSpec(13.0, 5, 25000, 500000)), "test");
+
+        RedecisionSummary summary = book.redecide(new ByteArrayOutputStream());
+        assertEquals(personalLoans, summary.candidates());
+        assertTrue(summary.changed() > 0);
+        assertEquals(rateTables.current().getVersion(), book.status().rateTableVersion());
+
+        policies.publish(new EligibilityPolicy(21, 60, 600, 45));
+        RedecisionSummary raised = book.redecide(new ByteArrayOutputStream());
+        assertTrue(raised.candidates() < applications.size() / 2, raised.toString());
+
+        RedecisionSummary unchanged = book.redecide(new ByteArrayOutputStream());
+        assertEquals(0, unchanged.candidates());
+        assertEquals(0, unchanged.changed());
+    }
+
+    @Test
+    void testBookIsUnchangedWhenTheClientGoesAway() throws Exception {
+        long version = book.status().rateTableVersion();
+        rateTables.publish(Map.of(LoanType.PERSONAL_LOAN, new RateSpec(13.0, 5, 25000, 500000)), "test");
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> book.redecide(disconnected));
+        assertEquals(version, book.status().rateTableVersion());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RedecisionSummary summary = book.redecide(out);
+        assertTrue(summary.changed() > 0);
+        assertEquals(summary.changed() + 1, out.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertEquals(rateTables.current().getVersion(), book.status().rateTableVersion());
+    }
+
+    private Map<Long, JsonNode> decideAll() {
+        Map<Long, JsonNode> results = new HashMap<>();
+        for (int i = 0; i < applications.size(); i++) {
+            results.put(i + 1L, objectMapper.valueToTree(service.checkEligibility(applications.get(i))));
+        }
+        return results;
+    }
+}
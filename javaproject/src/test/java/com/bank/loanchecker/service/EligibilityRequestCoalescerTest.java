@@ -0,0 +1,138 @@
+package com.bank.loanchecker.service;
+
+import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EligibilityRequestCoalescerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testIdenticalConcurrentRequestsShareOneEvaluation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingService service = new BlockingService(release);
+        EligibilityRequestCoalescer coalescer = new EligibilityRequestCoalescer(service, 100);
+
+        List<Future<LoanEligibilityResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            // Different names and emails do not influence the decision
+            futures.add(executor.submit(() -> coalescer.checkEligibility(createApplication("Applicant " + Thread.currentThread().getId()))));
+        }
+        waitForWaiters(coalescer, 7);
+        release.countDown();
+
+        LoanEligibilityResult first = futures.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<LoanEligibilityResult> future : futures) {
+            assertSame(first, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, service.evaluations.get());
+        assertEquals(7, coalescer.getCoalescedRequests());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    void testDifferentDecisionInputsAreEvaluatedSeparately() {
+        BlockingService service = new BlockingService(new CountDownLatch(0));
+        EligibilityRequestCoalescer coalescer = new EligibilityRequestCoalescer(service, 100);
+
+        LoanApplication first = createApplication("John Doe");
+        LoanApplication second = createApplication("John Doe");
+        second.setRequestedAmount(2500000.0);
+
+        coalescer.checkEligibility(first);
+        coalescer.checkEligibility(second);
+
+        assertEquals(2, service.evaluations.get());
+        assertEquals(0, coalescer.getCoalescedRequests());
+    }
+
+    @Test
+    void testFullTableFallsBackToDirectEvaluation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingService service = new BlockingService(release);
+        EligibilityRequestCoalescer coalescer = new EligibilityRequestCoalescer(service, 0);
+
+        Future<LoanEligibilityResult> a = executor.submit(() -> coalescer.checkEligibility(createApplication("A")));
+        Future<LoanEligibilityResult> b = executor.submit(() -> coalescer.checkEligibility(createApplication("B")));
+        release.countDown();
+
+        assertNotSame(a.get(5, TimeUnit.SECONDS), b.get(5, TimeUnit.SECONDS));
+        assertEquals(2, service.evaluations.get());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    void testFailureIsPropagatedToWaitersAndNotCached() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingService service = new BlockingService(release);
+        service.failure = new IllegalStateException("rule engine down");
+        EligibilityRequestCoalescer coalescer = new EligibilityRequestCoalescer(service, 100);
+
+        Future<LoanEligibilityResult> leader = executor.submit(() -> coalescer.checkEligibility(createApplication("A")));
+        Future<LoanEligibilityResult> follower = executor.submit(() -> coalescer.checkEligibility(createApplication("B")));
+        waitForWaiters(coalescer, 1);
+        release.countDown();
+
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(service.failure, leaderError.getCause());
+        assertSame(service.failure, followerError.getCause());
+
+        service.failure = null;
+        assertNotNull(coalescer.checkEligibility(createApplication("C")));
+        assertEquals(2, service.evaluations.get());
+    }
+
+    private static void waitForWaiters(EligibilityRequestCoalescer coalescer, int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.getCoalescedRequests() < waiters && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static LoanApplication createApplication(String name) {
+        Customer customer = new Customer(name, 30, name.replace(' ', '.') + "@email.com", "9876543210",
+                50000.0, 750, 5000.0, EmploymentType.SALARIED);
+        return new LoanApplication(customer, LoanType.HOME_LOAN, 2000000.0, 20);
+    }
+
+    private static final class BlockingService extends LoanEligibilityService {
+        private final CountDownLatch release;
+        private final AtomicInteger evaluations = new AtomicInteger();
+        private volatile RuntimeException failure;
+
+        BlockingService(CountDownLatch release) {
+            super(new RateTableRegistry(), new EligibilityPolicyRegistry());
+            this.release = release;
+        }
+
+        @Override
+        public LoanEligibilityResult checkEligibility(LoanApplication application) {
+            evaluations.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return super.checkEligibility(application);
+        }
+    }
+}
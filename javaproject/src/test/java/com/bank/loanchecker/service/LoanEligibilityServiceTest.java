@@ -1,19 +1,22 @@
 package com.bank.loanchecker.service;
 
 import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateTableRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 class LoanEligibilityServiceTest {
 
-    @InjectMocks
-    private LoanEligibilityService loanEligibilityService;
+    private final LoanEligibilityService loanEligibilityService =
+            new LoanEligibilityService(new RateTableRegistry(), new EligibilityPolicyRegistry());
 
     private Customer validCustomer;
     private LoanApplication validApplication;
@@ -256,6 +259,73 @@ class LoanEligibilityServiceTest {
         assertEquals("REJECTED", result.getDecision());
     }
 
+    @Test
+    void testAmountNotRepresentableAsMoney_Rejected() {
+        validApplication.setRequestedAmount(1.0E14);
+
+        LoanEligibilityResult result = loanEligibilityService.checkEligibility(validApplication);
+
+        assertFalse(result.isEligible());
+        assertEquals(ReasonCode.BASIC_CRITERIA_NOT_MET, result.getReasonCode());
+        assertTrue((result.getFailedRules() & EligibilityRule.AMOUNT_OUT_OF_RANGE.bit()) != 0);
+    }
+
+    @Test
+    void testEveryFailedRuleIsReported() {
+        validCustomer.setAge(70);
+        validCustomer.setCreditScore(550);
+        validApplication.setTenureYears(40);
+
+        LoanEligibilityResult result = loanEligibilityService.checkEligibility(validApplication);
+
+        assertFalse(result.isEligible());
+        assertEquals(ReasonCode.BASIC_CRITERIA_NOT_MET, result.getReasonCode());
+        assertEquals("Basic eligibility criteria not met", result.getReason());
+        assertEquals(List.of(EligibilityRule.AGE_ABOVE_MAXIMUM, EligibilityRule.CREDIT_SCORE_BELOW_MINIMUM,
+                EligibilityRule.TENURE_TOO_LONG), EligibilityRule.of(result.getFailedRules()));
+    }
+
+    @Test
+    void testAffordabilityRulesReportedAlongsideBasicOnes() {
+        validCustomer.setCreditScore(550);
+        validCustomer.setExistingEMI(45000.0);
+
+        LoanEligibilityResult result = loanEligibilityService.checkEligibility(validApplication);
+
+        assertEquals(ReasonCode.BASIC_CRITERIA_NOT_MET, result.getReasonCode());
+        assertTrue((result.getFailedRules() & EligibilityRule.CREDIT_SCORE_BELOW_MINIMUM.bit()) != 0);
+        assertTrue((result.getFailedRules() & EligibilityRule.AFFORDABILITY_RULES) != 0);
+    }
+
+    @Test
+    void testApprovalHasNoFailedRules() {
+        LoanEligibilityResult result = loanEligibilityService.checkEligibility(validApplication);
+
+        assertEquals(ReasonCode.APPROVED, result.getReasonCode());
+        assertEquals(0, result.getFailedRules());
+    }
+
+    @Test
+    void testRejectForVelocityLeavesTheOriginalAlone() {
+        LoanEligibilityResult approved = loanEligibilityService.checkEligibility(validApplication);
+
+        LoanEligibilityResult rejected = loanEligibilityService.rejectForVelocity(approved);
+
+        assertTrue(approved.isEligible());
+        assertFalse(rejected.isEligible());
+        assertEquals("REJECTED", rejected.getDecision());
+        assertEquals(ReasonCode.VELOCITY_LIMIT_EXCEEDED, rejected.getReasonCode());
+        assertEquals(EligibilityRule.VELOCITY_LIMIT_EXCEEDED.bit(), rejected.getFailedRules());
+        assertEquals(0.0, rejected.getApprovedAmount());
+
+        // An earlier stage that failed stays the reason
+        validCustomer.setCreditScore(550);
+        LoanEligibilityResult basic = loanEligibilityService.rejectForVelocity(
+                loanEligibilityService.checkEligibility(validApplication));
+        assertEquals(ReasonCode.BASIC_CRITERIA_NOT_MET, basic.getReasonCode());
+        assertTrue((basic.getFailedRules() & EligibilityRule.VELOCITY_LIMIT_EXCEEDED.bit()) != 0);
+    }
+
     private double calculateExpectedEMI(double principal, double interestRate, int tenureYears) {
         if (interestRate == 0) {
             return principal / (tenureYears * 12);
@@ -0,0 +1,88 @@
+package com.bank.loanchecker.stress;
+
+import com.bank.loanchecker.money.Money;
+import com.bank.loanchecker.rates.EmiCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StressTestEngineTest {
+
+    // EMI of 17356.13 on 1,00,000 of available income: 17.3% of it
+    private static final StressLoan HOME_LOAN = new StressLoan(0, 2_000_000, 8.5, 20, Money.toPaise(100_000));
+    // EMI of 10258.27 on 27,000: 38% of it, close to the limit
+    private static final StressLoan TIGHT_LOAN = new StressLoan(1, 500_000, 8.5, 5, Money.toPaise(27_000));
+
+    private final List<StressTestEngine> engines = new ArrayList<>();
+
+    private StressTestEngine engine(int threads) {
+        StressTestEngine engine = new StressTestEngine(1_000_000, 200, threads);
+        engines.add(engine);
+        return engine;
+    }
+
+    @AfterEach
+    void shutdown() {
+        engines.forEach(StressTestEngine::shutdown);
+    }
+
+    @Test
+    void testSameSeedReproducesRegardlessOfThreads() throws Exception {
+        List<StressLoan> loans = List.of(HOME_LOAN, TIGHT_LOAN);
+        int paths = 5 * StressTestEngine.CHUNK_PATHS + 17;
+
+        StressReport single = engine(1).run(loans, RateScenario.DEFAULT, paths, 42);
+        StressReport parallel = engine(4).run(loans, RateScenario.DEFAULT, paths, 42);
+        StressReport other = engine(4).run(loans, RateScenario.DEFAULT, paths, 43);
+
+        assertEquals(single, parallel);
+        assertEquals(paths, single.paths());
+        assertNotEquals(single.loans(), other.loans());
+        assertTrue(single.breachProbability() > 0 && single.breachProbability() < 1);
+        assertTrue(single.loans().get(1).breachProbability() > single.loans().get(0).breachProbability());
+    }
+
+    @Test
+    void testFlatRatesNeverBreach() throws Exception {
+        StressReport report = engine(2).run(List.of(HOME_LOAN, TIGHT_LOAN), new RateScenario(12, 0, 0, 500), 3000, 7);
+
+        assertEquals(0.0, report.breachProbability());
+        assertEquals(0.0, report.expectedBreachedLoans());
+        assertEquals(new Quantiles(0, 0, 0, 0, 0), report.breachedLoans());
+        LoanStress tight = report.loans().get(1);
+        assertEquals(1, tight.index());
+        assertEquals(Money.toRupees(Money.toPaise(EmiCalculator.emi(500_000, 8.5, 5))), tight.initialEmi());
+        // Recomputing on the outstanding balance at an unchanged rate keeps the instalment
+        assertEquals(0.379, tight.peakEmiShare().max(), 1e-9);
+        assertEquals(0.379, tight.peakEmiShare().p50(), 1e-9);
+    }
+
+    @Test
+    void testCappedRiseBreachesOnEveryPath() throws Exception {
+        // A certain 3% rise at the first reset pushes the tight loan over 40%
+        StressReport report = engine(2).run(List.of(HOME_LOAN, TIGHT_LOAN), new RateScenario(12, 300, 0, 300), 100, 1);
+
+        assertEquals(1.0, report.breachProbability());
+        assertEquals(1.0, report.expectedBreachedLoans());
+        assertEquals(0.0, report.loans().get(0).breachProbability());
+        assertEquals(1.0, report.loans().get(1).breachProbability());
+        assertTrue(report.loans().get(1).peakEmiShare().p50() > 0.4);
+    }
+
+    @Test
+    void testLimits() {
+        StressTestEngine engine = new StressTestEngine(1000, 1, 1);
+        engines.add(engine);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.run(List.of(), RateScenario.DEFAULT, 10, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.run(List.of(HOME_LOAN, TIGHT_LOAN), RateScenario.DEFAULT, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> engine.run(List.of(HOME_LOAN), RateScenario.DEFAULT, 1001, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateScenario(0, 25, 75, 500));
+        assertThrows(IllegalArgumentException.class, () -> new RateScenario(12, 25, -1, 500));
+    }
+}
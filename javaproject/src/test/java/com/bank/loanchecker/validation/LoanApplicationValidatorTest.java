@@ -0,0 +1,135 @@
+package com.bank.loanchecker.validation;
+
+import com.bank.loanchecker.model.*;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoanApplicationValidatorTest {
+
+    private static final Validator BEAN_VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final LoanApplicationValidator validator = new LoanApplicationValidator();
+
+    @Test
+    void testValidApplication() {
+        LoanApplication application = createValidApplication();
+
+        assertTrue(validator.isValid(application));
+        assertTrue(validator.validate(application).isEmpty());
+        assertMatchesBeanValidation(application);
+    }
+
+    @Test
+    void testAllFieldsMissing() {
+        LoanApplication application = new LoanApplication(new Customer(), null, null, null);
+
+        assertFalse(validator.isValid(application));
+        assertMatchesBeanValidation(application);
+    }
+
+    @Test
+    void testMissingCustomer() {
+        LoanApplication application = createValidApplication();
+        application.setCustomer(null);
+
+        List<FieldViolation> violations = validator.validate(application);
+
+        assertEquals(List.of(new FieldViolation("customer", "NotNull", "Customer information is required")), violations);
+        assertMatchesBeanValidation(application);
+    }
+
+    @Test
+    void testBoundaryValues() {
+        LoanApplication application = createValidApplication();
+        Customer customer = application.getCustomer();
+
+        customer.setName("");
+        customer.setAge(66);
+        customer.setPhoneNumber("");
+        customer.setMonthlyIncome(9999.99);
+        customer.setCreditScore(901);
+        customer.setExistingEMI(-0.0);
+        application.setRequestedAmount(Double.NaN);
+        application.setTenureYears(0);
+        assertMatchesBeanValidation(application);
+
+        customer.setName(" ");
+        customer.setAge(17);
+        customer.setPhoneNumber("98765432101");
+        customer.setMonthlyIncome(Double.NEGATIVE_INFINITY);
+        customer.setCreditScore(299);
+        customer.setExistingEMI(0.0);
+        application.setRequestedAmount(Double.POSITIVE_INFINITY);
+        application.setTenureYears(31);
+        assertMatchesBeanValidation(application);
+
+        customer.setName("x".repeat(101));
+        customer.setPhoneNumber("98765-4321");
+        assertMatchesBeanValidation(application);
+    }
+
+    @Test
+    void testEmailGrammarMatchesBeanValidation() {
+        String[] emails = {
+                "", " ", "john@email.com", "JOHN.DOE@EMAIL.COM", "john", "@email.com", "john@", "john@@email.com",
+                ".john@email.com", "john.@email.com", "jo..hn@email.com", "john@.email.com", "john@email.com.",
+                "john@email..com", "john@-email.com", "john@email-.com", "john@em--ail.com", "john@localhost",
+                "j!#$%&'*+/=?^_`{|}~-@email.com", "john doe@email.com", "john@em ail.com", "john@em_ail!.com",
+                "john(comment)@email.com", "john@" + "a".repeat(63) + ".com", "john@" + "a".repeat(64) + ".com",
+                "a".repeat(64) + "@email.com", "a".repeat(65) + "@email.com",
+                "john@" + ("a".repeat(60) + ".").repeat(4) + "com",
+                "\"john doe\"@email.com", "\"john\\\"doe\"@email.com", "jöhn@email.com", "john@émail.com",
+                "john@[192.168.0.1]", "john@[IPv6:::1]", "john@[300.1.1.1]", "john@email.com\n"
+        };
+        for (String email : emails) {
+            LoanApplication application = createValidApplication();
+            application.getCustomer().setEmail(email);
+            assertMatchesBeanValidation(application);
+        }
+    }
+
+    @Test
+    void testSpringErrorsUseAnnotationCodes() {
+        LoanApplication application = createValidApplication();
+        application.getCustomer().setEmail("invalid-email");
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(application, "loanApplication");
+
+        validator.validate((Object) application, errors);
+
+        assertEquals(1, errors.getErrorCount());
+        assertEquals("Email", errors.getFieldError("customer.email").getCode());
+        assertEquals("Email should be valid", errors.getFieldError("customer.email").getDefaultMessage());
+        assertEquals("invalid-email", errors.getFieldValue("customer.email"));
+    }
+
+    private void assertMatchesBeanValidation(LoanApplication application) {
+        Set<String> expected = BEAN_VALIDATOR.validate(application).stream()
+                .map(LoanApplicationValidatorTest::describe)
+                .collect(Collectors.toSet());
+        Set<String> actual = validator.validate(application).stream()
+                .map(v -> v.field() + ":" + v.code() + ":" + v.message())
+                .collect(Collectors.toSet());
+        assertEquals(expected, actual, () -> "Email: " + (application.getCustomer() == null
+                ? null : application.getCustomer().getEmail()));
+    }
+
+    private static String describe(ConstraintViolation<LoanApplication> violation) {
+        String code = violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName();
+        return violation.getPropertyPath() + ":" + code + ":" + violation.getMessage();
+    }
+
+    private LoanApplication createValidApplication() {
+        Customer customer = new Customer("John Doe", 30, "john.doe@email.com", "9876543210",
+                50000.0, 750, 5000.0, EmploymentType.SALARIED);
+        return new LoanApplication(customer, LoanType.HOME_LOAN, 2000000.0, 20);
+    }
+}
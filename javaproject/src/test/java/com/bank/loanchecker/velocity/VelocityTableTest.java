@@ -0,0 +1,80 @@
+package com.bank.loanchecker.velocity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VelocityTableTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long WINDOW = 60_000;
+
+    @Test
+    void testMemoryStaysBoundedAndIdleKeysAreReused() {
+        VelocityTable table = new VelocityTable(256, 4, 4);
+
+        // Far more distinct keys than entries, each long idle by the time the next arrives
+        for (long key = 1; key <= 100_000; key++) {
+            long at = NOW + key * WINDOW;
+            assertEquals(1, table.record(key, at, at - WINDOW));
+        }
+
+        long last = NOW + 100_000 * WINDOW;
+        assertEquals(256, table.capacity());
+        assertEquals(1, table.activeKeys(last - WINDOW));
+    }
+
+    @Test
+    void testEvictingActiveKeysDoesNotCarryTheirCounts() {
+        VelocityTable table = new VelocityTable(8, 1, 4);
+        for (long key = 1; key <= 8; key++) {
+            table.record(key, NOW, NOW - WINDOW);
+            table.record(key, NOW, NOW - WINDOW);
+        }
+
+        // The table is full of active keys, so a new one evicts one of them and starts from zero
+        assertEquals(1, table.record(1000, NOW + 1, NOW + 1 - WINDOW));
+        assertEquals(8, table.activeKeys(NOW - WINDOW));
+    }
+
+    @Test
+    void testConcurrentRecordsOfOneKeyAreAllCounted() throws Exception {
+        VelocityTable table = new VelocityTable(1024, 4, 65);
+        int threads = 8;
+        int perThread = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    table.record(7, NOW, NOW - WINDOW);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Each write got its own ring slot, and the key was claimed once
+        assertEquals(threads * perThread + 1, table.record(7, NOW, NOW - WINDOW));
+        assertEquals(1, table.activeKeys(NOW - WINDOW));
+    }
+
+    @Test
+    void testRejectsBadGeometry() {
+        assertThrows(IllegalArgumentException.class, () -> new VelocityTable(1024, 3, 4));
+        assertThrows(IllegalArgumentException.class, () -> new VelocityTable(1024, 4, 0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.bank.loanchecker.velocity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VelocityTrackerTest {
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    void testFlagsApplicationsBeyondTheLimitWithinTheWindow() {
+        VelocityTracker tracker = new VelocityTracker(3, 60, 1024, 4, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(tracker.recordApplication("john.doe@email.com", "9876543210"));
+            now.addAndGet(1000);
+        }
+        assertTrue(tracker.recordApplication("john.doe@email.com", "9876543210"));
+
+        // Once the earlier applications have left the window the customer may apply again
+        now.addAndGet(60_000);
+        assertFalse(tracker.recordApplication("john.doe@email.com", "9876543210"));
+    }
+
+    @Test
+    void testCountsEmailAndPhoneSeparately() {
+        VelocityTracker tracker = new VelocityTracker(2, 60, 1024, 4, now::get);
+
+        assertFalse(tracker.recordApplication("a@email.com", "9876543210"));
+        assertFalse(tracker.recordApplication("b@email.com", "9876543210"));
+        assertTrue(tracker.recordApplication("c@email.com", "9876543210"), "Same phone, rotated emails");
+
+        assertFalse(tracker.recordApplication("Jane@Email.com", "9000000001"));
+        assertFalse(tracker.recordApplication("jane@email.com", "9000000002"));
+        assertTrue(tracker.recordApplication("JANE@EMAIL.COM", "9000000003"), "Email case is ignored");
+    }
+
+    @Test
+    void testStoredCustomersAreCountedById() {
+        VelocityTracker tracker = new VelocityTracker(1, 60, 1024, 4, now::get);
+
+        assertFalse(tracker.recordApplication(42L));
+        assertFalse(tracker.recordApplication(43L));
+        assertTrue(tracker.recordApplication(42L));
+    }
+
+    @Test
+    void testZeroLimitDisablesTheCheck() {
+        VelocityTracker tracker = new VelocityTracker(0, 60, 1024, 4, now::get);
+
+        assertFalse(tracker.isEnabled());
+        for (int i = 0; i < 10; i++) {
+            assertFalse(tracker.recordApplication("john.doe@email.com", "9876543210"));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.loanchecker.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "loanchecker.warmup.budget-ms=2000",
+        "spring.main.banner-mode=off",
+        "logging.level.org.springframework=WARN"
+})
+class WarmUpReadinessTest {
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testReadyOnlyAfterWarmUpThroughTheEndpoints() {
+        // The context is handed to the test only once runners, and so the warm-up, have finished
+        WarmUpReport report = warmUpRunner.getReport();
+        assertNotNull(report);
+        assertTrue(report.requests() > 0, "Warm-up should have exercised the endpoints");
+
+        ResponseEntity<String> readiness = restTemplate.getForEntity("/health/readiness", String.class);
+        assertEquals(HttpStatus.OK, readiness.getStatusCode());
+        assertTrue(readiness.getBody().contains("UP"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.bank.loanchecker.warmup;
+
+import com.bank.loanchecker.json.LoanJsonModule;
+import com.bank.loanchecker.model.EmploymentType;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.model.LoanType;
+import com.bank.loanchecker.policy.EligibilityPolicyRegistry;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmUpRunnerTest {
+
+    @Test
+    void testMixCoversEveryLoanAndEmploymentTypeAndOutcome() {
+        LoanEligibilityService service = service();
+        LoanApplicationValidator validator = new LoanApplicationValidator();
+        List<LoanApplication> mix = WarmUpMix.applications();
+
+        Set<String> combinations = new HashSet<>();
+        Set<String> outcomes = new HashSet<>();
+        Set<String> rejections = new HashSet<>();
+        int invalid = 0;
+        for (LoanApplication application : mix) {
+            combinations.add(application.getLoanType() + "/" + application.getCustomer().getEmploymentType());
+            if (validator.validate(application).isEmpty()) {
+                LoanEligibilityResult result = service.checkEligibility(application);
+                outcomes.add(result.getDecision());
+                if (!result.isEligible()) {
+                    rejections.add(result.getReason());
+                }
+            } else {
+                invalid++;
+            }
+        }
+        assertEquals(LoanType.values().length * EmploymentType.values().length, combinations.size());
+        assertEquals(mix.size() / 4, invalid);
+        assertTrue(outcomes.contains("APPROVED"));
+        assertTrue(outcomes.contains("REJECTED"));
+        assertTrue(rejections.size() >= 2, "Expected rejections at more than one stage, got " + rejections);
+    }
+
+    @Test
+    void testWarmUpStaysWithinBudget() throws Exception {
+        WarmUpRunner runner = new WarmUpRunner(service(), new LoanApplicationValidator(),
+                new ObjectMapper().registerModule(new LoanJsonModule()), new StaticApplicationContext(), 1500);
+
+        WarmUpReport report = runner.warmUp();
+
+        assertTrue(report.rounds() > 0);
+        assertTrue(report.decisions() > 0);
+        assertEquals(0, report.requests(), "No web server, so no requests");
+        assertTrue(report.elapsedMillis() < 1500 + 1000, "Took " + report.elapsedMillis() + " ms");
+    }
+
+    @Test
+    void testZeroBudgetSkipsWarmUp() throws Exception {
+        WarmUpRunner runner = new WarmUpRunner(service(), new LoanApplicationValidator(),
+                new ObjectMapper().registerModule(new LoanJsonModule()), new StaticApplicationContext(), 0);
+
+        runner.run(null);
+
+        assertNull(runner.getReport());
+    }
+
+    @Test
+    void testOnlyTheBootTokenFromLoopbackMarksWarmUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/check-eligibility");
+        assertFalse(WarmUpRunner.isWarmUp(request));
+
+        request.addHeader(WarmUpRunner.HEADER, "true");
+        assertFalse(WarmUpRunner.isWarmUp(request), "Any value but the token is real traffic");
+
+        request = new MockHttpServletRequest("POST", "/api/check-eligibility");
+        request.addHeader(WarmUpRunner.HEADER, WarmUpRunner.token());
+        assertTrue(WarmUpRunner.isWarmUp(request));
+
+        request.setRemoteAddr("203.0.113.7");
+        assertFalse(WarmUpRunner.isWarmUp(request), "The token only counts over loopback");
+    }
+
+    private static LoanEligibilityService service() {
+        return new LoanEligibilityService(new RateTableRegistry(), new EligibilityPolicyRegistry());
+    }
+}
@@ -0,0 +1,147 @@
+package com.bank.loanchecker.web;
+
+import com.bank.loanchecker.model.Customer;
+import com.bank.loanchecker.model.LoanApplication;
+import com.bank.loanchecker.model.LoanEligibilityResult;
+import com.bank.loanchecker.model.LoanType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CompiledResultViewResolverTest {
+
+    private SpringTemplateEngine templateEngine;
+    private ThymeleafViewResolver thymeleafViewResolver;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        thymeleafViewResolver = spy(new ThymeleafViewResolver());
+        thymeleafViewResolver.setTemplateEngine(templateEngine);
+        thymeleafViewResolver.setCharacterEncoding("UTF-8");
+        thymeleafViewResolver.setContentType("text/html;charset=UTF-8");
+    }
+
+    @Test
+    void testApprovedPageMatchesThymeleaf() throws Exception {
+        LoanEligibilityResult result = new LoanEligibilityResult(true, "APPROVED",
+                "Congratulations! Your loan application meets all eligibility criteria.",
+                1500000.0, 13215.6789, 8.5, 20, "Consider a shorter tenure to save on interest.");
+        assertMatchesThymeleaf(application("Jane Doe"), result, Locale.US);
+
+        result.setRecommendation(null);
+        result.setInterestRate(10.0);
+        assertMatchesThymeleaf(application("Jane Doe"), result, Locale.US);
+    }
+
+    @Test
+    void testRejectedPageMatchesThymeleaf() throws Exception {
+        LoanEligibilityResult result = new LoanEligibilityResult(false, "REJECTED",
+                "Income < required & EMI \"too high\"", null, null, null, null,
+                "Improve your credit score <b>first</b>");
+        assertMatchesThymeleaf(application("O'Brien <script>"), result, Locale.US);
+
+        // Thymeleaf treats "no" as false
+        result.setRecommendation("no");
+        assertMatchesThymeleaf(application("O'Brien <script>"), result, Locale.US);
+    }
+
+    @Test
+    void testAmountsFollowTheRequestLocale() throws Exception {
+        LoanEligibilityResult result = new LoanEligibilityResult(true, "APPROVED", "Approved",
+                12345678.9, 98765.4321, 9.25, 7, null);
+        assertMatchesThymeleaf(application("Ravi Kumar"), result, new Locale("en", "IN"));
+        assertMatchesThymeleaf(application("Jürgen Müller"), result, Locale.GERMANY);
+    }
+
+    @Test
+    void testMissingValuesAreLeftToThymeleaf() throws Exception {
+        CompiledResultViewResolver resolver = new CompiledResultViewResolver(templateEngine, thymeleafViewResolver, true);
+        View thymeleafView = mock(View.class);
+        doReturn(thymeleafView).when(thymeleafViewResolver).resolveViewName("result", Locale.US);
+        LoanEligibilityResult result = new LoanEligibilityResult(true, "APPROVED", "Approved",
+                1500000.0, 13215.0, null, 20, null);
+        Map<String, Object> model = Map.of("loanApplication", application("Jane Doe"), "result", result);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        resolver.resolveViewName("result", Locale.US).render(model, new MockHttpServletRequest(), response);
+
+        verify(thymeleafView).render(eq(model), any(), eq(response));
+        assertEquals(0, response.getContentLength());
+    }
+
+    @Test
+    void testOnlyTheResultPageWhenEnabled() {
+        CompiledResultViewResolver resolver = new CompiledResultViewResolver(templateEngine, thymeleafViewResolver, true);
+        assertTrue(resolver.isEnabled());
+        assertNull(resolver.resolveViewName("index", Locale.US));
+        assertTrue(resolver.getOrder() < thymeleafViewResolver.getOrder());
+
+        CompiledResultViewResolver disabled = new CompiledResultViewResolver(templateEngine, thymeleafViewResolver, false);
+        assertFalse(disabled.isEnabled());
+        assertNull(disabled.resolveViewName("result", Locale.US));
+    }
+
+    @Test
+    void testViewsAreCachedForBoundedLocales() throws Exception {
+        CompiledResultViewResolver resolver = new CompiledResultViewResolver(templateEngine, thymeleafViewResolver, true);
+        assertSame(resolver.resolveViewName("result", Locale.US), resolver.resolveViewName("result", Locale.US));
+        for (int i = 0; i < 1000; i++) {
+            assertNotNull(resolver.resolveViewName("result", new Locale("x" + i)));
+        }
+        assertTrue(resolver.cachedViews() <= 32);
+
+        LoanEligibilityResult result = new LoanEligibilityResult(true, "APPROVED", "Approved",
+                12345678.9, 98765.4321, 9.25, 7, null);
+        Map<String, Object> model = Map.of("loanApplication", application("Ravi Kumar"), "result", result);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        resolver.resolveViewName("result", Locale.GERMANY).render(model, new MockHttpServletRequest(), response);
+        Context context = new Context(Locale.GERMANY);
+        context.setVariables(model);
+        assertEquals(templateEngine.process("result", context), response.getContentAsString());
+    }
+
+    private void assertMatchesThymeleaf(LoanApplication application, LoanEligibilityResult result, Locale locale)
+            throws Exception {
+        CompiledResultViewResolver resolver = new CompiledResultViewResolver(templateEngine, thymeleafViewResolver, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        resolver.resolveViewName("result", locale).render(
+                Map.of("loanApplication", application, "result", result), new MockHttpServletRequest(), response);
+
+        Context context = new Context(locale);
+        context.setVariable("loanApplication", application);
+        context.setVariable("result", result);
+        assertEquals(templateEngine.process("result", context), response.getContentAsString());
+        assertEquals("text/html;charset=UTF-8", response.getContentType());
+        verify(thymeleafViewResolver, never()).resolveViewName(any(), any());
+    }
+
+    private static LoanApplication application(String name) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setMonthlyIncome(123456.78);
+        customer.setCreditScore(742);
+        return new LoanApplication(customer, LoanType.HOME_LOAN, 2500000.0, 20);
+    }
+}
@@ -0,0 +1,126 @@
+package com.bank.loanchecker.web;
+
+import com.bank.loanchecker.controller.LoanController;
+import com.bank.loanchecker.customer.CustomerStore;
+import com.bank.loanchecker.history.DecisionStore;
+import com.bank.loanchecker.model.*;
+import com.bank.loanchecker.rates.RateTableRegistry;
+import com.bank.loanchecker.service.EligibilityRequestCoalescer;
+import com.bank.loanchecker.service.LoanEligibilityService;
+import com.bank.loanchecker.validation.LoanApplicationValidator;
+import com.bank.loanchecker.velocity.VelocityTracker;
+import com.bank.loanchecker.warmup.WarmUpRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = LoanController.class, properties = "loanchecker.timing.server-timing=true")
+@Import({LoanApplicationValidator.class, EligibilityRequestCoalescer.class, RateTableRegistry.class})
+class ServerTimingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LoanEligibilityService loanEligibilityService;
+
+    @MockBean
+    private CustomerStore customerStore;
+
+    @MockBean
+    private VelocityTracker velocityTracker;
+
+    @MockBean
+    private DecisionStore decisionStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testCheckEligibilityReportsAllStages() throws Exception {
+        Customer customer = new Customer("John Doe", 30, "john@example.com", "9876543210",
+                75000.0, 750, 10000.0, EmploymentType.SALARIED);
+        LoanApplication application = new LoanApplication(customer, LoanType.HOME_LOAN, 2000000.0, 20);
+        when(loanEligibilityService.checkEligibility(any(LoanApplication.class))).thenReturn(
+                new LoanEligibilityResult(true, "APPROVED", "Approved", 2000000.0, 17356.0, 8.5, 20, "None"));
+
+        mockMvc.perform(post("/api/check-eligibility")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(application)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.decision").value("APPROVED"))
+                .andExpect(header().string(ServerTimingFilter.HEADER, allOf(
+                        matchesPattern("(\\w+;dur=\\d+\\.\\d{3})(, \\w+;dur=\\d+\\.\\d{3})*"),
+                        containsString("parse;dur="), containsString("validate;dur="),
+                        containsString("evaluate;dur="), containsString("serialize;dur="),
+                        containsString("total;dur="))));
+    }
+
+    @Test
+    void testCalculateEmiHasNoParseStage() throws Exception {
+        mockMvc.perform(post("/api/calculate-emi")
+                        .param("principal", "1000000")
+                        .param("interestRate", "8.5")
+                        .param("tenureYears", "20"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingFilter.HEADER, allOf(
+                        containsString("evaluate;dur="), not(containsString("parse;dur=")))));
+    }
+
+    @Test
+    void testPagesAreNotTimed() throws Exception {
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    void testStreamedResponsesAreNotBuffered() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(true, 0, 1.0, 16);
+        for (String path : new String[]{"/api/decisions", "/api/jobs/abc/results", "/api/book/redecide"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", path), response, (req, res) -> {
+                res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+                // Written straight through to the client, not held back for the header
+                assertEquals("{}", response.getContentAsString());
+            });
+            assertEquals("{}", response.getContentAsString());
+            assertNull(response.getHeader(ServerTimingFilter.HEADER));
+        }
+    }
+
+    @Test
+    void testJobEventsAreNotTimed() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(true, 0, 1.0, 16);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/jobs/abc/events"), response,
+                (req, res) -> assertSame(response, res));
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    void testWarmUpHeaderWithoutTheTokenIsTimed() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(true, 0, 1.0, 16);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/loan-types");
+        request.addHeader(WarmUpRunner.HEADER, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> assertNotSame(response, res));
+        assertNotNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+}
@@ -0,0 +1,88 @@
+package com.bank.loanchecker.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestRingTest {
+
+    private static RequestTimings timings() {
+        RequestTimings timings = RequestTimings.start();
+        RequestTimings.begin(RequestTimings.Stage.EVALUATE);
+        timings.finish();
+        return timings;
+    }
+
+    @Test
+    void testDropsWhenFullWithoutBlocking() {
+        SlowRequestRing ring = new SlowRequestRing(4);
+        RequestTimings timings = timings();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer("POST", "/api/" + i, 200, timings));
+        }
+        assertFalse(ring.offer("POST", "/api/4", 200, timings));
+        assertEquals(1, ring.getDropped());
+
+        SlowRequestRing.Slot slot = ring.poll();
+        assertEquals("/api/0", slot.path);
+        assertEquals(timings.getTotalNanos(), slot.totalNanos);
+        assertEquals(timings.getStageNanos(RequestTimings.Stage.EVALUATE),
+                slot.stageNanos[RequestTimings.Stage.EVALUATE.ordinal()]);
+        ring.release(slot);
+        assertTrue(ring.offer("POST", "/api/5", 200, timings));
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws Exception {
+        SlowRequestRing ring = new SlowRequestRing(64);
+        RequestTimings timings = timings();
+        int producers = 4;
+        int perProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer("GET", producer + ":" + i, 200, timings)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        Set<String> seen = new HashSet<>();
+        int[] nextPerProducer = new int[producers];
+        while (seen.size() < producers * perProducer) {
+            SlowRequestRing.Slot slot = ring.poll();
+            if (slot == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            String[] parts = slot.path.split(":");
+            int producer = Integer.parseInt(parts[0]);
+            // Each producer's records come out in the order it offered them
+            assertEquals(nextPerProducer[producer]++, Integer.parseInt(parts[1]));
+            assertTrue(seen.add(slot.path));
+            ring.release(slot);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(ring.poll());
+    }
+}